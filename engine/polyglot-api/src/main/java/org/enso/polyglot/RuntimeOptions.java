@@ -142,6 +142,78 @@ public class RuntimeOptions {
   private static final OptionDescriptor WARNINGS_LIMIT_DESCRIPTOR =
       OptionDescriptor.newBuilder(WARNINGS_LIMIT_KEY, WARNINGS_LIMIT).build();
 
+  public static final String DEDUPLICATE_VISUALIZATION_UPDATES =
+      interpreterOptionName("deduplicateVisualizationUpdates");
+
+  @Option(
+      help = "Skips sending visualization updates whose content did not change since the last one.",
+      category = OptionCategory.INTERNAL)
+  public static final OptionKey<Boolean> DEDUPLICATE_VISUALIZATION_UPDATES_KEY =
+      new OptionKey<>(false);
+
+  private static final OptionDescriptor DEDUPLICATE_VISUALIZATION_UPDATES_DESCRIPTOR =
+      OptionDescriptor.newBuilder(
+              DEDUPLICATE_VISUALIZATION_UPDATES_KEY, DEDUPLICATE_VISUALIZATION_UPDATES)
+          .build();
+
+  public static final String EXPRESSION_UPDATES_BATCH_SIZE =
+      interpreterOptionName("expressionUpdatesBatchSize");
+
+  @Option(
+      help =
+          "Maximal number of expression updates coalesced into a single message. The value 1"
+              + " sends every update immediately.",
+      category = OptionCategory.INTERNAL)
+  public static final OptionKey<Integer> EXPRESSION_UPDATES_BATCH_SIZE_KEY = new OptionKey<>(1);
+
+  private static final OptionDescriptor EXPRESSION_UPDATES_BATCH_SIZE_DESCRIPTOR =
+      OptionDescriptor.newBuilder(EXPRESSION_UPDATES_BATCH_SIZE_KEY, EXPRESSION_UPDATES_BATCH_SIZE)
+          .build();
+
+  public static final String RUNTIME_CACHE_MEMORY_BUDGET =
+      interpreterOptionName("runtimeCacheMemoryBudget");
+
+  @Option(
+      help =
+          "Memory budget in megabytes for the cached values of an execution frame. The value 0"
+              + " leaves the eviction of cached values to the garbage collector.",
+      category = OptionCategory.INTERNAL)
+  public static final OptionKey<Integer> RUNTIME_CACHE_MEMORY_BUDGET_KEY = new OptionKey<>(0);
+
+  private static final OptionDescriptor RUNTIME_CACHE_MEMORY_BUDGET_DESCRIPTOR =
+      OptionDescriptor.newBuilder(RUNTIME_CACHE_MEMORY_BUDGET_KEY, RUNTIME_CACHE_MEMORY_BUDGET)
+          .build();
+
+  public static final String PERSISTENT_VALUE_CACHE_SIZE =
+      interpreterOptionName("persistentValueCacheSize");
+
+  @Option(
+      help =
+          "Maximal size in megabytes of the computed values of a module that are persisted in the"
+              + " project directory and restored when the project is opened again. The value 0"
+              + " disables the persistent cache.",
+      category = OptionCategory.INTERNAL)
+  public static final OptionKey<Integer> PERSISTENT_VALUE_CACHE_SIZE_KEY = new OptionKey<>(0);
+
+  private static final OptionDescriptor PERSISTENT_VALUE_CACHE_SIZE_DESCRIPTOR =
+      OptionDescriptor.newBuilder(PERSISTENT_VALUE_CACHE_SIZE_KEY, PERSISTENT_VALUE_CACHE_SIZE)
+          .build();
+
+  public static final String CAPTURE_DATAFLOW_ERROR_TRACES =
+      interpreterOptionName("captureDataflowErrorTraces");
+
+  @Option(
+      help =
+          "Walks the whole stack when a dataflow error is derived from a panic. When disabled,"
+              + " only the location of the panic is recorded.",
+      category = OptionCategory.INTERNAL)
+  public static final OptionKey<Boolean> CAPTURE_DATAFLOW_ERROR_TRACES_KEY =
+      new OptionKey<>(true);
+
+  private static final OptionDescriptor CAPTURE_DATAFLOW_ERROR_TRACES_DESCRIPTOR =
+      OptionDescriptor.newBuilder(CAPTURE_DATAFLOW_ERROR_TRACES_KEY, CAPTURE_DATAFLOW_ERROR_TRACES)
+          .build();
+
   public static final OptionDescriptors OPTION_DESCRIPTORS =
       OptionDescriptors.create(
           Arrays.asList(
@@ -165,7 +237,12 @@ public class RuntimeOptions {
               WAIT_FOR_PENDING_SERIALIZATION_JOBS_DESCRIPTOR,
               USE_GLOBAL_IR_CACHE_LOCATION_DESCRIPTOR,
               ENABLE_EXECUTION_TIMER_DESCRIPTOR,
-              WARNINGS_LIMIT_DESCRIPTOR));
+              WARNINGS_LIMIT_DESCRIPTOR,
+              DEDUPLICATE_VISUALIZATION_UPDATES_DESCRIPTOR,
+              EXPRESSION_UPDATES_BATCH_SIZE_DESCRIPTOR,
+              RUNTIME_CACHE_MEMORY_BUDGET_DESCRIPTOR,
+              CAPTURE_DATAFLOW_ERROR_TRACES_DESCRIPTOR,
+              PERSISTENT_VALUE_CACHE_SIZE_DESCRIPTOR));
 
   /**
    * Canonicalizes the option name by prefixing it with the language name.
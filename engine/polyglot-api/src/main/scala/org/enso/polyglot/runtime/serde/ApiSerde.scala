@@ -1,6 +1,6 @@
 package org.enso.polyglot.runtime.serde
 
-import org.enso.polyglot.runtime.Runtime.ApiEnvelope
+import org.enso.polyglot.runtime.Runtime.{Api, ApiEnvelope}
 import java.nio.ByteBuffer
 import com.github.plokhotnyuk.jsoniter_scala.core.{
   readFromByteBuffer,
@@ -20,13 +20,45 @@ object ApiSerde {
   implicit private val apiEnvelopeCodec: JsonValueCodec[ApiEnvelope] =
     JsonCodecMaker.make[ApiEnvelope](config)
 
+  /** The first byte of a framed message.
+    *
+    * JSON-encoded envelopes always start with `{`, so the marker
+    * unambiguously distinguishes the two encodings.
+    */
+  private val FramedMarker: Byte = 0
+
+  /** The size of the marker and the header length prefix. */
+  private val FrameHeaderSize = 1 + Integer.BYTES
+
   /** Serializes an ApiEnvelope into a byte buffer.
+    *
+    * Visualization updates are encoded as a frame consisting of the marker
+    * byte, the length of the JSON header, the JSON header with the binary
+    * payload stripped, and the raw payload bytes. This avoids encoding the
+    * payload as a JSON array of numbers. Other messages are encoded as JSON.
     *
     * @param message the message to serialize.
     * @return the serialized version of the message.
     */
   def serialize(message: ApiEnvelope): ByteBuffer = {
-    ByteBuffer.wrap(writeToArray(message))
+    message match {
+      case Api.Response(correlationId, update: Api.VisualizationUpdate) =>
+        val header = writeToArray[ApiEnvelope](
+          Api.Response(correlationId, update.copy(data = Array.emptyByteArray))
+        )
+        val buffer = ByteBuffer.allocate(
+          FrameHeaderSize + header.length + update.data.length
+        )
+        buffer
+          .put(FramedMarker)
+          .putInt(header.length)
+          .put(header)
+          .put(update.data)
+          .flip()
+        buffer
+      case _ =>
+        ByteBuffer.wrap(writeToArray(message))
+    }
   }
 
   /** Deserializes a byte buffer into an ApiEnvelope, which can be a Request
@@ -36,5 +68,28 @@ object ApiSerde {
     * @return the deserialized message, if the byte buffer can be deserialized.
     */
   def deserializeApiEnvelope(bytes: ByteBuffer): Try[ApiEnvelope] =
-    Try(readFromByteBuffer[ApiEnvelope](bytes))
+    Try {
+      if (bytes.remaining() > 0 && bytes.get(bytes.position()) == FramedMarker) {
+        deserializeFramed(bytes.duplicate())
+      } else {
+        readFromByteBuffer[ApiEnvelope](bytes)
+      }
+    }
+
+  private def deserializeFramed(frame: ByteBuffer): ApiEnvelope = {
+    frame.get()
+    val headerLength = frame.getInt()
+    val header       = frame.slice().limit(headerLength)
+    frame.position(frame.position() + headerLength)
+    val data = new Array[Byte](frame.remaining())
+    frame.get(data)
+    readFromByteBuffer[ApiEnvelope](header) match {
+      case Api.Response(correlationId, update: Api.VisualizationUpdate) =>
+        Api.Response(correlationId, update.copy(data = data))
+      case envelope =>
+        throw new IllegalArgumentException(
+          s"Unexpected framed message [${envelope.getClass.getName}]."
+        )
+    }
+  }
 }
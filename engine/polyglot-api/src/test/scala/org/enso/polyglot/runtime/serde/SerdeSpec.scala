@@ -138,4 +138,23 @@ class SerdeSpec extends AnyFlatSpec with Matchers {
     libLoaded should equal(e2)
   }
 
+  it should "serialize and deserialize visualization updates in binary frames" in {
+    val data = Array.tabulate[Byte](1 << 16)(_.toByte)
+    val visualizationContext = Api.VisualizationContext(
+      UUID.randomUUID(),
+      UUID.randomUUID(),
+      UUID.randomUUID()
+    )
+    val message: ApiEnvelope =
+      Api.Response(Api.VisualizationUpdate(visualizationContext, data))
+
+    val serialized = ApiSerde.serialize(message)
+    serialized.remaining() should be < data.length + 1024
+
+    val Api.Response(None, update: Api.VisualizationUpdate) =
+      ApiSerde.deserializeApiEnvelope(serialized).get
+    update.visualizationContext shouldEqual visualizationContext
+    update.data shouldEqual data
+  }
+
 }
@@ -185,6 +185,35 @@ public class AtomBenchmarks {
           res = list.mapReverse (adder 1) List.Nil
           res
       """;
+  private static final String GENERATE_WIDE_ATOM_LIST_CODE =
+      """
+      import Standard.Base.Data.List.List
+      import Standard.Base.Data.Numbers
+
+      type Particle
+          Value x y z vx vy vz
+
+      main = length ->
+          generator = acc -> i -> if i == 0 then acc else
+              p = Particle.Value i i+1 i+2 i*0.5 i*1.5 i*2.5
+              @Tail_Call generator (List.Cons p acc) (i - 1)
+
+          res = generator List.Nil length
+          res
+      """;
+  private static final String SUM_WIDE_ATOM_LIST_CODE =
+      """
+      import Standard.Base.Data.List.List
+      import Standard.Base.Data.Numbers
+
+      main = list ->
+          summator = acc -> list -> case list of
+              List.Cons h t -> @Tail_Call summator acc+h.x+h.y+h.z+h.vx+h.vy+h.vz t
+              List.Nil -> acc
+
+          res = summator 0 list
+          res
+      """;
 
   private Context context;
   private Value millionElementsList;
@@ -199,6 +228,9 @@ public class AtomBenchmarks {
   private Value sumListMethods;
   private Value mapReverseList;
   private Value mapReverseListCurry;
+  private Value generateWideAtomList;
+  private Value sumWideAtomList;
+  private Value millionWideAtomsList;
 
   @Setup
   public void initializeBenchmarks(BenchmarkParams params) throws IOException {
@@ -243,6 +275,14 @@ public class AtomBenchmarks {
       case "benchMapReverseListCurry" -> {
         this.mapReverseListCurry = mainMethod(context, name, MAP_REVERSE_LIST_CURRY_CODE);
       }
+      case "benchGenerateWideAtomList" -> {
+        this.generateWideAtomList = mainMethod(context, name, GENERATE_WIDE_ATOM_LIST_CODE);
+      }
+      case "benchSumWideAtomList" -> {
+        var generator = mainMethod(context, name + "Generator", GENERATE_WIDE_ATOM_LIST_CODE);
+        this.millionWideAtomsList = generator.execute(MILLION);
+        this.sumWideAtomList = mainMethod(context, name, SUM_WIDE_ATOM_LIST_CODE);
+      }
       default -> throw new IllegalArgumentException(name);
     }
   }
@@ -328,4 +368,23 @@ public class AtomBenchmarks {
     var res = mapReverseListCurry.execute(millionElementsList);
     bh.consume(res);
   }
+
+  /**
+   * Allocates a million atoms with six numeric fields. The fields are stored unboxed in padded
+   * storage, run with {@code -prof gc} to compare the allocation rate with boxed atoms.
+   */
+  @Benchmark
+  public void benchGenerateWideAtomList(Blackhole bh) {
+    var res = generateWideAtomList.execute(MILLION);
+    bh.consume(res);
+  }
+
+  @Benchmark
+  public void benchSumWideAtomList(Blackhole bh) {
+    var res = sumWideAtomList.execute(millionWideAtomsList);
+    if (!res.fitsInDouble()) {
+      throw new AssertionError("Should return a number");
+    }
+    bh.consume(res);
+  }
 }
@@ -34,6 +34,7 @@ public class WarningBenchmarks {
   private static final int INPUT_DIFF_VEC_SIZE = 10_000;
   private Context ctx;
   private Value vecSumBench;
+  private Value vecMapSumBench;
 
   private Value createVec;
   private Value mapVecWithWarnings;
@@ -82,6 +83,10 @@ public class WarningBenchmarks {
         vec_sum_bench vec =
             vec.fold 0 (x->y->x+y)
 
+        vec_map_sum_bench : Vector Integer -> Integer
+        vec_map_sum_bench vec =
+            vec.map (x-> x + 1) . fold 0 (x->y->x+y)
+
         create_vec size elem =
             Vector.fill size elem
 
@@ -111,6 +116,9 @@ public class WarningBenchmarks {
     vecSumBench =
         Objects.requireNonNull(
             module.invokeMember(MethodNames.Module.EVAL_EXPRESSION, "vec_sum_bench"));
+    vecMapSumBench =
+        Objects.requireNonNull(
+            module.invokeMember(MethodNames.Module.EVAL_EXPRESSION, "vec_map_sum_bench"));
     createVec =
         Objects.requireNonNull(
             module.invokeMember(MethodNames.Module.EVAL_EXPRESSION, "create_vec"));
@@ -147,6 +155,16 @@ public class WarningBenchmarks {
     checkResult(res, INPUT_VEC_SIZE * 42);
   }
 
+  /**
+   * Every element carries the same warning through an arithmetic operation and the sum. The
+   * warning sets of the intermediate values are shared instead of copied.
+   */
+  @Benchmark
+  public void sameWarningVecMapSum() {
+    Value res = vecMapSumBench.execute(sameWarningVec);
+    checkResult(res, INPUT_VEC_SIZE * 43);
+  }
+
   @Benchmark
   public void randomElementsVecSum() {
     Value res = vecSumBench.execute(randomVec);
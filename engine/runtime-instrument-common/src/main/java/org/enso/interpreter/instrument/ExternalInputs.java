@@ -0,0 +1,96 @@
+package org.enso.interpreter.instrument;
+
+import com.oracle.truffle.api.TruffleFile;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The inputs an expression has read from outside of the program sources.
+ *
+ * <p>Every file read by the expression is recorded together with a stamp of its size and
+ * modification time at the moment it was read, so that it can later be checked whether the file
+ * has changed since. Inputs that change between runs, like the current time, or whose changes
+ * cannot be tracked, like the network or a database, cannot be checked and mark the expression as
+ * volatile.
+ */
+public final class ExternalInputs {
+  private final Map<String, String> fileStamps;
+  private boolean isVolatile;
+
+  public ExternalInputs() {
+    this(new TreeMap<>(), false);
+  }
+
+  ExternalInputs(Map<String, String> fileStamps, boolean isVolatile) {
+    this.fileStamps = fileStamps;
+    this.isVolatile = isVolatile;
+  }
+
+  /**
+   * Records a file read by the expression.
+   *
+   * @param path the absolute path of the file
+   * @param stamp the stamp of the file when it was read
+   */
+  void addFile(String path, String stamp) {
+    fileStamps.putIfAbsent(path, stamp);
+  }
+
+  /** Records that the expression read a value that differs between runs. */
+  void markVolatile() {
+    isVolatile = true;
+  }
+
+  /**
+   * @return {@code true} if the expression read a value that differs between runs
+   */
+  public boolean isVolatile() {
+    return isVolatile;
+  }
+
+  /**
+   * @return the stamps of the files read by the expression, keyed by their absolute paths
+   */
+  public Map<String, String> getFileStamps() {
+    return Collections.unmodifiableMap(fileStamps);
+  }
+
+  /**
+   * Checks that none of the recorded files has changed.
+   *
+   * @param currentStamp computes the current stamp of the file with the given absolute path
+   * @return {@code true} if all files still have the recorded stamps
+   */
+  public boolean isUpToDate(Function<String, String> currentStamp) {
+    if (isVolatile) {
+      return false;
+    }
+    for (var entry : fileStamps.entrySet()) {
+      if (!entry.getValue().equals(currentStamp.apply(entry.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes the stamp of a file.
+   *
+   * @param file the file
+   * @return the stamp describing the size and the modification time of the file
+   */
+  public static String stampOf(TruffleFile file) {
+    try {
+      if (!file.exists()) {
+        return "missing";
+      }
+      var size = file.isDirectory() ? -1 : file.size();
+      return size + "@" + file.getLastModifiedTime().toMillis();
+    } catch (IOException | SecurityException e) {
+      return "unreadable";
+    }
+  }
+}
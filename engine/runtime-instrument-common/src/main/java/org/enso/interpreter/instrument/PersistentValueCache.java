@@ -0,0 +1,667 @@
+package org.enso.interpreter.instrument;
+
+import buildinfo.Info;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.source.Source;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import org.enso.interpreter.runtime.EnsoContext;
+import org.enso.interpreter.runtime.Module;
+import org.enso.interpreter.runtime.data.atom.Atom;
+import org.enso.interpreter.runtime.data.atom.AtomNewInstanceNode;
+import org.enso.interpreter.runtime.data.atom.StructsLibrary;
+import org.enso.interpreter.runtime.data.text.Text;
+import org.enso.interpreter.runtime.data.vector.ArrayLikeHelpers;
+import org.enso.interpreter.runtime.number.EnsoBigInteger;
+import org.enso.pkg.Package;
+import org.enso.text.Hex;
+
+/**
+ * Persists the computed values of a module between the runs of the language server.
+ *
+ * <p>The values are stored in the {@code .enso/cache/values/<version>/<module>} directory of the
+ * module's package, one file per expression id. Every file records a digest of the sources of the
+ * package and of the cache preferences of the module, and the stamps of the files the value was
+ * computed from. A persisted value is only restored when the digest still matches and none of those files
+ * has changed. Values that read inputs which differ between runs, like the current time, or whose
+ * changes cannot be tracked, like environment variables, random numbers, the network, databases
+ * or any host object not known to only depend on its arguments, are not persisted.
+ *
+ * <p>Only immutable values that can be restored without re-running any code are persisted:
+ * numbers, booleans, texts, vectors of those, and atoms wrapping a single host object that can be
+ * encoded with a {@code toPersistentBytes} method and decoded with a static {@code
+ * fromPersistentBytes} method of its class, like in-memory tables.
+ *
+ * <p>Saving only encodes the values that changed since the previous save. The values are encoded,
+ * and the files written and deleted, on a background thread, so the execution does not wait for
+ * them.
+ */
+public final class PersistentValueCache {
+  private static final int FORMAT_VERSION = 2;
+  private static final String FILE_SUFFIX = ".bin";
+  private static final String ENCODE_METHOD = "toPersistentBytes";
+  private static final String DECODE_METHOD = "fromPersistentBytes";
+
+  private static final byte LONG = 1;
+  private static final byte DOUBLE = 2;
+  private static final byte BOOLEAN = 3;
+  private static final byte TEXT = 4;
+  private static final byte BIG_INTEGER = 5;
+  private static final byte VECTOR = 6;
+  private static final byte LONG_VECTOR = 7;
+  private static final byte DOUBLE_VECTOR = 8;
+  private static final byte HOST_ATOM = 9;
+
+  /** The digests of module sources, recomputed only when a module gets a new source. */
+  private static final Map<Module, ModuleDigest> MODULE_DIGESTS =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final EnsoContext context;
+  private final Package<TruffleFile> pkg;
+  private final TruffleFile directory;
+  private final long maxBytes;
+  private final Map<UUID, Saved> saved = new HashMap<>();
+  private final Set<UUID> stored = new HashSet<>();
+  private final ExecutorService writer;
+  private String loadedDigest;
+
+  private PersistentValueCache(
+      EnsoContext context, Package<TruffleFile> pkg, TruffleFile directory, long maxBytes) {
+    this.context = context;
+    this.pkg = pkg;
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    this.writer = context.newCachedThreadPool("persistent-value-cache", 0, 1, 16, false);
+  }
+
+  /**
+   * Creates the persistent cache of a module.
+   *
+   * @param context the language context
+   * @param module the module whose values are persisted
+   * @return the cache, or {@code null} if the cache is disabled or the module does not belong to a
+   *     package
+   */
+  public static PersistentValueCache forModule(EnsoContext context, Module module) {
+    var maxBytes = context.getPersistentValueCacheSize();
+    Package<TruffleFile> pkg = module.getPackage();
+    if (maxBytes <= 0 || pkg == null || module.isSynthetic()) {
+      return null;
+    }
+    var root = pkg.getValuesCacheRootForPackage(Info.ensoVersion());
+    return new PersistentValueCache(
+        context, pkg, root.resolve(module.getName().toString()), maxBytes);
+  }
+
+  /**
+   * Loads the persisted values that are still valid.
+   *
+   * <p>The caller decides which of the loaded values are {@link #restore restored}, e.g. only the
+   * ones whose dependencies are restored as well.
+   *
+   * @param weights the cache preferences of the module
+   * @param logger the logger to report failures to
+   * @return the persisted values of the expressions with a positive weight
+   */
+  public synchronized Map<UUID, Entry> load(Map<UUID, Double> weights, TruffleLogger logger) {
+    var entries = new HashMap<UUID, Entry>();
+    if (!directory.isDirectory()) {
+      return entries;
+    }
+    try {
+      loadedDigest = computeStateDigest(weights);
+      for (var file : directory.list()) {
+        var key = keyOf(file);
+        if (key == null) {
+          continue;
+        }
+        stored.add(key);
+        var weight = weights.get(key);
+        if (weight == null || weight <= 0) {
+          continue;
+        }
+        try {
+          var entry = decodeEntry(file.readAllBytes(), loadedDigest);
+          if (entry != null
+              && entry.inputs().isUpToDate(
+                  path -> ExternalInputs.stampOf(context.getPublicTruffleFile(path)))) {
+            entries.put(key, entry);
+          } else {
+            logger.log(Level.FINE, "Discarding stale persisted value [{0}].", file);
+          }
+        } catch (IOException | RuntimeException e) {
+          logger.log(Level.WARNING, "Failed to load persisted value [" + file + "].", e);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to load persisted values [" + directory + "].", e);
+      entries.clear();
+    }
+    return entries;
+  }
+
+  /**
+   * Restores loaded values into the runtime cache.
+   *
+   * @param cache the runtime cache
+   * @param entries the values to restore
+   */
+  public synchronized void restore(RuntimeCache cache, Map<UUID, Entry> entries) {
+    entries.forEach(
+        (key, entry) -> {
+          if (cache.get(key) == null && cache.offer(key, entry.value())) {
+            cache.putInputs(key, entry.inputs());
+            saved.put(
+                key,
+                new Saved(
+                    new WeakReference<>(entry.value()), entry.inputs(), loadedDigest, entry.size()));
+          }
+        });
+  }
+
+  /**
+   * Persists the values of the runtime cache that have a positive weight.
+   *
+   * <p>Values are encoded in the order of their weights, and the ones that do not fit into the size
+   * limit are skipped. Only values that are new or were recomputed since the previous save are
+   * encoded, and files of values that are no longer cached are deleted. Values that read an input
+   * differing between runs or whose changes cannot be tracked are not persisted.
+   *
+   * <p>The values to persist are collected on the calling thread, and then encoded and written on
+   * a background thread, so the execution waits neither for the encoding nor for the disk.
+   *
+   * @param cache the runtime cache
+   * @param logger the logger to report failures to
+   */
+  public void save(RuntimeCache cache, TruffleLogger logger) {
+    String digest;
+    try {
+      digest = computeStateDigest(cache.getWeights());
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to compute the digest of [" + directory + "].", e);
+      return;
+    }
+
+    var weights = cache.getWeights();
+    var keys = new ArrayList<UUID>();
+    weights.forEach(
+        (key, weight) -> {
+          if (weight != null && weight > 0) {
+            keys.add(key);
+          }
+        });
+    keys.sort(Comparator.comparing((UUID key) -> weights.get(key)).reversed());
+
+    var candidates = new ArrayList<Candidate>(keys.size());
+    for (var key : keys) {
+      var value = cache.get(key);
+      var inputs = cache.getInputs(key);
+      if (value != null && (inputs == null || !inputs.isVolatile())) {
+        var stamps = inputs == null ? Map.<String, String>of() : inputs.getFileStamps();
+        candidates.add(new Candidate(key, value, inputs, new TreeMap<>(stamps)));
+      }
+    }
+
+    try {
+      writer.execute(() -> save(digest, candidates, logger));
+    } catch (RejectedExecutionException e) {
+      logger.log(Level.FINE, "Skipping the save of persisted values [{0}].", directory);
+    }
+  }
+
+  private synchronized void save(String digest, List<Candidate> candidates, TruffleLogger logger) {
+    var kept = new HashSet<UUID>();
+    long total = 0;
+    for (var candidate : candidates) {
+      var key = candidate.key();
+      var value = candidate.value();
+      var inputs = candidate.inputs();
+      var previous = saved.get(key);
+      if (previous != null
+          && previous.value().get() == value
+          && previous.inputs() == inputs
+          && previous.digest().equals(digest)) {
+        if (total + previous.size() <= maxBytes) {
+          total += previous.size();
+          kept.add(key);
+        }
+        continue;
+      }
+      var data = encode(value);
+      if (data == null) {
+        continue;
+      }
+      var entry = encodeEntry(digest, new ExternalInputs(candidate.fileStamps(), false), data);
+      if (total + entry.length > maxBytes) {
+        continue;
+      }
+      total += entry.length;
+      kept.add(key);
+      saved.put(key, new Saved(new WeakReference<>(value), inputs, digest, entry.length));
+      stored.add(key);
+      write(key, entry, logger);
+    }
+
+    saved.keySet().retainAll(kept);
+    for (var key : new ArrayList<>(stored)) {
+      if (!kept.contains(key)) {
+        stored.remove(key);
+        delete(key, logger);
+      }
+    }
+  }
+
+  private void write(UUID key, byte[] entry, TruffleLogger logger) {
+    var file = directory.resolve(key + FILE_SUFFIX);
+    var tmp = directory.resolve(key + FILE_SUFFIX + ".tmp");
+    try {
+      directory.createDirectories();
+      try (var out =
+          tmp.newOutputStream(
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        out.write(entry);
+      }
+      tmp.move(file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to persist value [" + file + "].", e);
+    }
+  }
+
+  private void delete(UUID key, TruffleLogger logger) {
+    var file = directory.resolve(key + FILE_SUFFIX);
+    try {
+      if (file.exists()) {
+        file.delete();
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to delete persisted value [" + file + "].", e);
+    }
+  }
+
+  private static UUID keyOf(TruffleFile file) {
+    var name = file.getName();
+    if (name == null || !name.endsWith(FILE_SUFFIX)) {
+      return null;
+    }
+    try {
+      return UUID.fromString(name.substring(0, name.length() - FILE_SUFFIX.length()));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Encodes a persisted entry.
+   *
+   * @param digest the digest of the sources the value was computed from
+   * @param inputs the external inputs the value was computed from
+   * @param value the encoded value
+   * @return the contents of the entry file
+   */
+  static byte[] encodeEntry(String digest, ExternalInputs inputs, byte[] value) {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeInt(FORMAT_VERSION);
+      out.writeUTF(Info.ensoVersion());
+      out.writeUTF(digest);
+      var stamps = inputs.getFileStamps();
+      out.writeInt(stamps.size());
+      for (var stamp : stamps.entrySet()) {
+        out.writeUTF(stamp.getKey());
+        out.writeUTF(stamp.getValue());
+      }
+      out.write(value);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a persisted entry encoded by {@link #encodeEntry}.
+   *
+   * @param data the contents of the entry file
+   * @param digest the digest of the current sources
+   * @return the entry, or {@code null} if it was computed from different sources
+   */
+  static Entry decodeEntry(byte[] data, String digest) throws IOException {
+    try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+      if (in.readInt() != FORMAT_VERSION
+          || !Info.ensoVersion().equals(in.readUTF())
+          || !digest.equals(in.readUTF())) {
+        return null;
+      }
+      var count = in.readInt();
+      var stamps = new TreeMap<String, String>();
+      for (int i = 0; i < count; i++) {
+        stamps.put(in.readUTF(), in.readUTF());
+      }
+      return new Entry(read(in), new ExternalInputs(stamps, false), data.length);
+    }
+  }
+
+  /**
+   * Encodes a value.
+   *
+   * @param value the value to encode
+   * @return the encoded value, or {@code null} if the value cannot be persisted
+   */
+  static byte[] encode(Object value) {
+    if (value == null) {
+      return null;
+    }
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      if (!write(value, out)) {
+        return null;
+      }
+    } catch (IOException e) {
+      return null;
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a value encoded by {@link #encode(Object)}.
+   *
+   * @param data the encoded value
+   * @return the decoded value
+   */
+  static Object decode(byte[] data) throws IOException {
+    try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+      return read(in);
+    }
+  }
+
+  private static boolean write(Object value, DataOutputStream out) throws IOException {
+    if (value instanceof Long l) {
+      out.writeByte(LONG);
+      out.writeLong(l);
+      return true;
+    }
+    if (value instanceof Double d) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(d);
+      return true;
+    }
+    if (value instanceof Boolean b) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean(b);
+      return true;
+    }
+    if (value instanceof Text || value instanceof String) {
+      var str = value.toString().getBytes(StandardCharsets.UTF_8);
+      out.writeByte(TEXT);
+      out.writeInt(str.length);
+      out.write(str);
+      return true;
+    }
+    if (value instanceof EnsoBigInteger big) {
+      var num = big.getValue().toByteArray();
+      out.writeByte(BIG_INTEGER);
+      out.writeInt(num.length);
+      out.write(num);
+      return true;
+    }
+    if (value instanceof Atom atom) {
+      return writeHostAtom(atom, out);
+    }
+    if (ArrayLikeHelpers.isImmutable(value)) {
+      return writeVector(value, out);
+    }
+    return false;
+  }
+
+  private static boolean writeHostAtom(Atom atom, DataOutputStream out) throws IOException {
+    var constructor = atom.getConstructor();
+    if (constructor.getArity() != 1) {
+      return false;
+    }
+    var context = EnsoContext.get(null);
+    var field = StructsLibrary.getUncached().getField(atom, 0);
+    if (!context.isJavaPolyglotObject(field)) {
+      return false;
+    }
+    var iop = InteropLibrary.getUncached();
+    Object data;
+    try {
+      if (!iop.isMemberInvocable(field, ENCODE_METHOD)) {
+        return false;
+      }
+      data = iop.invokeMember(field, ENCODE_METHOD);
+    } catch (InteropException | AbstractTruffleException e) {
+      return false;
+    }
+    if (!context.isJavaPolyglotObject(data)
+        || !(context.asJavaPolyglotObject(data) instanceof byte[] bytes)) {
+      return false;
+    }
+    var type = constructor.getType();
+    out.writeByte(HOST_ATOM);
+    out.writeUTF(type.getDefinitionScope().getModule().getName().toString());
+    out.writeUTF(type.getName());
+    out.writeUTF(constructor.getName());
+    out.writeUTF(context.asJavaPolyglotObject(field).getClass().getName());
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    return true;
+  }
+
+  private static boolean writeVector(Object vector, DataOutputStream out) throws IOException {
+    var iop = InteropLibrary.getUncached();
+    Object[] elements;
+    try {
+      var size = Math.toIntExact(iop.getArraySize(vector));
+      elements = new Object[size];
+      for (int i = 0; i < size; i++) {
+        elements[i] = iop.readArrayElement(vector, i);
+      }
+    } catch (UnsupportedMessageException | InvalidArrayIndexException | ArithmeticException e) {
+      return false;
+    }
+    if (elements.length > 0 && allInstancesOf(elements, Long.class)) {
+      out.writeByte(LONG_VECTOR);
+      out.writeInt(elements.length);
+      for (var element : elements) {
+        out.writeLong((Long) element);
+      }
+      return true;
+    }
+    if (elements.length > 0 && allInstancesOf(elements, Double.class)) {
+      out.writeByte(DOUBLE_VECTOR);
+      out.writeInt(elements.length);
+      for (var element : elements) {
+        out.writeDouble((Double) element);
+      }
+      return true;
+    }
+    out.writeByte(VECTOR);
+    out.writeInt(elements.length);
+    for (var element : elements) {
+      if (!write(element, out)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean allInstancesOf(Object[] elements, Class<?> clazz) {
+    for (var element : elements) {
+      if (!clazz.isInstance(element)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Object read(DataInputStream in) throws IOException {
+    var tag = in.readByte();
+    switch (tag) {
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case BOOLEAN:
+        return in.readBoolean();
+      case TEXT:
+        return Text.create(new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8));
+      case BIG_INTEGER:
+        return new EnsoBigInteger(new BigInteger(in.readNBytes(in.readInt())));
+      case LONG_VECTOR:
+        {
+          var arr = new long[in.readInt()];
+          for (int i = 0; i < arr.length; i++) {
+            arr[i] = in.readLong();
+          }
+          return ArrayLikeHelpers.asVectorFromLongs(arr);
+        }
+      case DOUBLE_VECTOR:
+        {
+          var arr = new double[in.readInt()];
+          for (int i = 0; i < arr.length; i++) {
+            arr[i] = in.readDouble();
+          }
+          return ArrayLikeHelpers.asVectorFromDoubles(arr);
+        }
+      case VECTOR:
+        {
+          var arr = new Object[in.readInt()];
+          for (int i = 0; i < arr.length; i++) {
+            arr[i] = read(in);
+          }
+          return ArrayLikeHelpers.asVectorWithCheckAt(arr);
+        }
+      case HOST_ATOM:
+        return readHostAtom(in);
+      default:
+        throw new IOException("Unknown value tag " + tag + ".");
+    }
+  }
+
+  private static Object readHostAtom(DataInputStream in) throws IOException {
+    var moduleName = in.readUTF();
+    var typeName = in.readUTF();
+    var constructorName = in.readUTF();
+    var className = in.readUTF();
+    var data = in.readNBytes(in.readInt());
+
+    var context = EnsoContext.get(null);
+    var type =
+        context
+            .getTopScope()
+            .getModule(moduleName)
+            .map(module -> module.getScope().getType(typeName, true))
+            .orElse(null);
+    var constructor = type == null ? null : type.getConstructors().get(constructorName);
+    var hostClass = context.lookupJavaClass(className);
+    if (constructor == null || hostClass == null) {
+      throw new IOException(
+          "Cannot restore " + moduleName + "." + typeName + " backed by " + className + ".");
+    }
+    try {
+      var field =
+          InteropLibrary.getUncached()
+              .invokeMember(hostClass, DECODE_METHOD, context.asGuestValue(data));
+      return AtomNewInstanceNode.getUncached().newInstance(constructor, field);
+    } catch (InteropException | AbstractTruffleException e) {
+      throw new IOException("Cannot restore " + moduleName + "." + typeName + ".", e);
+    }
+  }
+
+  private String computeStateDigest(Map<UUID, Double> weights) throws IOException {
+    var digest = newDigest();
+    var modules =
+        context.getTopScope().getModules().stream()
+            .filter(m -> m.getPackage() == pkg)
+            .sorted(Comparator.comparing(m -> m.getName().toString()))
+            .toList();
+    for (var m : modules) {
+      digest.update(moduleDigest(m));
+    }
+    for (var key : weights.keySet().stream().sorted().toList()) {
+      digest.update(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    return Hex.toHexString(digest.digest());
+  }
+
+  private static byte[] moduleDigest(Module module) throws IOException {
+    var source = module.getSource();
+    var cached = MODULE_DIGESTS.get(module);
+    if (cached != null && cached.source().get() == source) {
+      return cached.digest();
+    }
+    var digest = newDigest();
+    digest.update(module.getName().toString().getBytes(StandardCharsets.UTF_8));
+    digest.update(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+    var result = digest.digest();
+    MODULE_DIGESTS.put(module, new ModuleDigest(new WeakReference<>(source), result));
+    return result;
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * A persisted value.
+   *
+   * @param value the restored value
+   * @param inputs the external inputs the value was computed from
+   * @param size the size of the persisted entry in bytes
+   */
+  public record Entry(Object value, ExternalInputs inputs, long size) {}
+
+  /**
+   * A value collected by {@link #save} to be persisted.
+   *
+   * @param key the expression id
+   * @param value the computed value
+   * @param inputs the external inputs of the value in the runtime cache
+   * @param fileStamps a copy of the file stamps of the inputs taken when the value was collected
+   */
+  private record Candidate(
+      UUID key, Object value, ExternalInputs inputs, TreeMap<String, String> fileStamps) {}
+
+  /** A value written by this cache, used to skip re-encoding it when it did not change. */
+  private record Saved(
+      WeakReference<Object> value, ExternalInputs inputs, String digest, long size) {}
+
+  /** The digest of a module computed from a particular version of its source. */
+  private record ModuleDigest(WeakReference<Source> source, byte[] digest) {}
+}
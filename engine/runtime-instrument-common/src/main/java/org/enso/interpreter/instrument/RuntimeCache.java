@@ -4,23 +4,59 @@ import com.oracle.truffle.api.CompilerDirectives;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import org.enso.interpreter.service.ExecutionService;
 
-/** A storage for computed values. */
+/**
+ * A storage for computed values.
+ *
+ * <p>By default, the cached values are held by soft references and the GC decides which of them
+ * are dropped. When a memory budget is set, the cached values are also held strongly, their sizes
+ * are estimated, and when the budget is exceeded the values with the lowest recomputation cost per
+ * byte are evicted first. The values within the budget are only released by this eviction, so the
+ * budget should leave enough room for the rest of the program.
+ */
 public final class RuntimeCache implements java.util.function.Function<String, Object> {
   private final Map<UUID, Reference<Object>> cache = new HashMap<>();
+  private final Map<UUID, BudgetEntry> budgeted = new HashMap<>();
+  private final TreeSet<BudgetEntry> budgetedByScore =
+      new TreeSet<>(
+          Comparator.comparingDouble(BudgetEntry::score).thenComparing(BudgetEntry::key));
+  private final Map<UUID, Object> pinned = new HashMap<>();
   private final Map<UUID, Reference<Object>> expressions = new HashMap<>();
   private final Map<UUID, String> types = new HashMap<>();
   private final Map<UUID, ExecutionService.FunctionCallInfo> calls = new HashMap<>();
+  private final Map<UUID, ExternalInputs> inputs = new HashMap<>();
   private Map<UUID, Double> weights = new HashMap<>();
   private Consumer<UUID> observer;
 
+  private final ToLongFunction<Object> sizeEstimator;
+  private long memoryBudget = 0;
+  private long budgetedBytes = 0;
+  private long evictions = 0;
+  private PersistentValueCache persistentValues;
+
+  public RuntimeCache() {
+    this(ValueSizeEstimator::estimate);
+  }
+
+  /**
+   * Creates a cache with a custom value size estimator.
+   *
+   * @param sizeEstimator returns the estimated size of a value in bytes.
+   */
+  RuntimeCache(ToLongFunction<Object> sizeEstimator) {
+    this.sizeEstimator = sizeEstimator;
+  }
+
   /**
    * Add value to the cache if it is possible.
    *
@@ -28,13 +64,28 @@ public final class RuntimeCache implements java.util.function.Function<String, O
    * @param value the added value.
    * @return {@code true} if the value was added to the cache.
    */
-  @CompilerDirectives.TruffleBoundary
   public boolean offer(UUID key, Object value) {
+    return offer(key, value, 0);
+  }
+
+  /**
+   * Add value to the cache if it is possible.
+   *
+   * @param key the key of an entry.
+   * @param value the added value.
+   * @param costNanos the time it took to compute the value.
+   * @return {@code true} if the value was added to the cache.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public boolean offer(UUID key, Object value, long costNanos) {
     var weight = weights.get(key);
     if (weight != null && weight > 0) {
       var ref = new SoftReference<>(value);
       cache.put(key, ref);
       expressions.put(key, new WeakReference<>(value));
+      if (memoryBudget > 0) {
+        return admit(key, value, weight, costNanos);
+      }
       return true;
     } else {
       var ref = new WeakReference<>(value);
@@ -71,6 +122,8 @@ public final class RuntimeCache implements java.util.function.Function<String, O
 
   /** Remove the value from the cache. */
   public Object remove(UUID key) {
+    release(key);
+    removeInputs(key);
     var ref = cache.remove(key);
     return ref == null ? null : ref.get();
   }
@@ -85,6 +138,146 @@ public final class RuntimeCache implements java.util.function.Function<String, O
   /** Clear the cached values. */
   public void clear() {
     cache.clear();
+    releaseAll();
+    synchronized (this) {
+      inputs.clear();
+    }
+  }
+
+  /**
+   * @return the persistent storage of the values of this cache, or {@code null} if it was not
+   *     created yet.
+   */
+  public PersistentValueCache getPersistentValues() {
+    return persistentValues;
+  }
+
+  /**
+   * Sets the persistent storage of the values of this cache.
+   *
+   * <p>Persisted values are only restored when the storage is created, so that recomputing the
+   * context does not bring back the values it invalidated.
+   *
+   * @param persistentValues the persistent storage
+   */
+  public void setPersistentValues(PersistentValueCache persistentValues) {
+    this.persistentValues = persistentValues;
+  }
+
+  /**
+   * @return the external inputs read while computing the expression, or {@code null} if none were
+   *     recorded.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized ExternalInputs getInputs(UUID key) {
+    return inputs.get(key);
+  }
+
+  /**
+   * Sets the external inputs of an expression whose value was not computed in this cache.
+   *
+   * @param key the expression.
+   * @param expressionInputs the inputs the value was computed from.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void putInputs(UUID key, ExternalInputs expressionInputs) {
+    inputs.put(key, expressionInputs);
+  }
+
+  /** Forgets the external inputs of an expression before it is computed again. */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void removeInputs(UUID key) {
+    inputs.remove(key);
+  }
+
+  /**
+   * Records a file read while computing an expression.
+   *
+   * @param key the expression.
+   * @param path the absolute path of the file.
+   * @param stamp the stamp of the file when it was read.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void recordFileRead(UUID key, String path, String stamp) {
+    inputs.computeIfAbsent(key, k -> new ExternalInputs()).addFile(path, stamp);
+  }
+
+  /** Records that a value differing between runs was read while computing an expression. */
+  @CompilerDirectives.TruffleBoundary
+  public synchronized void recordVolatileRead(UUID key) {
+    inputs.computeIfAbsent(key, k -> new ExternalInputs()).markVolatile();
+  }
+
+  /**
+   * Sets the memory budget of the cached values.
+   *
+   * <p>Values that no longer fit into the new budget are evicted immediately. Changing the budget
+   * does not affect values cached before the budget was enabled.
+   *
+   * @param bytes the budget in bytes, or {@code 0} to leave the eviction to the GC.
+   */
+  @CompilerDirectives.TruffleBoundary
+  public void setMemoryBudget(long bytes) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Negative memory budget: " + bytes);
+    }
+    memoryBudget = bytes;
+    if (bytes == 0) {
+      releaseAll();
+    } else {
+      evictOverBudget();
+    }
+  }
+
+  /**
+   * @return the memory budget in bytes, or {@code 0} if the budget is disabled.
+   */
+  public long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * @return the statistics of the values held within the memory budget.
+   */
+  public Stats getStats() {
+    return new Stats(budgeted.size(), budgetedBytes, memoryBudget, evictions);
+  }
+
+  private boolean admit(UUID key, Object value, double weight, long costNanos) {
+    release(key);
+    var size = Math.max(1, sizeEstimator.applyAsLong(value));
+    var entry = new BudgetEntry(key, size, weight * (Math.max(0, costNanos) + 1) / size);
+    pinned.put(key, value);
+    budgeted.put(key, entry);
+    budgetedByScore.add(entry);
+    budgetedBytes += size;
+    evictOverBudget();
+    return budgeted.containsKey(key);
+  }
+
+  private void release(UUID key) {
+    var entry = budgeted.remove(key);
+    if (entry != null) {
+      budgetedByScore.remove(entry);
+      budgetedBytes -= entry.size();
+      pinned.remove(key);
+    }
+  }
+
+  private void releaseAll() {
+    budgeted.clear();
+    budgetedByScore.clear();
+    budgetedBytes = 0;
+    pinned.clear();
+  }
+
+  private void evictOverBudget() {
+    while (budgetedBytes > memoryBudget && !budgetedByScore.isEmpty()) {
+      var victim = budgetedByScore.first().key();
+      release(victim);
+      cache.remove(victim);
+      evictions++;
+    }
   }
 
   /**
@@ -199,4 +392,23 @@ public final class RuntimeCache implements java.util.function.Function<String, O
       this.observer = previousCallback;
     }
   }
+
+  /**
+   * Statistics of the values held within the memory budget.
+   *
+   * @param entries the number of values held.
+   * @param estimatedBytes the estimated size of the held values.
+   * @param memoryBudget the memory budget, or {@code 0} if disabled.
+   * @param evictions the number of values evicted to stay within the budget.
+   */
+  public record Stats(int entries, long estimatedBytes, long memoryBudget, long evictions) {}
+
+  /**
+   * A value held within the memory budget.
+   *
+   * @param key the key of the value.
+   * @param size the estimated size of the value.
+   * @param score the recomputation cost per byte, scaled by the cache weight.
+   */
+  private record BudgetEntry(UUID key, long size, double score) {}
 }
@@ -0,0 +1,113 @@
+package org.enso.interpreter.instrument;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import org.enso.interpreter.runtime.data.atom.Atom;
+import org.enso.interpreter.runtime.data.atom.StructsLibrary;
+import org.enso.interpreter.runtime.data.text.Text;
+import org.enso.interpreter.runtime.error.WithWarnings;
+
+/**
+ * A cheap, shallow estimate of the memory retained by a computed value.
+ *
+ * <p>The estimate does not walk whole object graphs. It is only meant to rank cached values against
+ * each other, so that large values can be told apart from small ones. Fields of atoms are estimated
+ * up to {@link #MAX_DEPTH} levels deep, which reaches the Java objects wrapped by library types
+ * such as {@code Table} and {@code Column}. Objects with an invocable {@value #SIZE_METHOD} member,
+ * like the in-memory tables and columns, report their own size.
+ */
+final class ValueSizeEstimator {
+  /** The size assumed for values of unknown structure. */
+  static final long DEFAULT_SIZE = 64;
+
+  private static final long HEADER_SIZE = 16;
+  private static final long REFERENCE_SIZE = 8;
+
+  /** The member that objects may expose to report their estimated size in bytes. */
+  static final String SIZE_METHOD = "estimateMemorySize";
+
+  /** How many levels of nested atoms are estimated. */
+  private static final int MAX_DEPTH = 3;
+
+  private ValueSizeEstimator() {}
+
+  /**
+   * Estimates the size of a value.
+   *
+   * @param value the value
+   * @return the estimated size in bytes, always positive
+   */
+  @CompilerDirectives.TruffleBoundary
+  static long estimate(Object value) {
+    return estimate(value, MAX_DEPTH);
+  }
+
+  private static long estimate(Object value, int depth) {
+    if (value == null) {
+      return REFERENCE_SIZE;
+    }
+    if (value instanceof WithWarnings warnings) {
+      return estimate(warnings.getValue(), depth);
+    }
+    if (value instanceof Long || value instanceof Double || value instanceof Boolean) {
+      return HEADER_SIZE;
+    }
+    if (value instanceof String str) {
+      return HEADER_SIZE + 2L * str.length();
+    }
+    if (value instanceof Text text) {
+      return HEADER_SIZE + 2L * text.utf16Length();
+    }
+    if (value instanceof byte[] arr) {
+      return HEADER_SIZE + arr.length;
+    }
+    if (value instanceof long[] arr) {
+      return HEADER_SIZE + 8L * arr.length;
+    }
+    if (value instanceof double[] arr) {
+      return HEADER_SIZE + 8L * arr.length;
+    }
+    if (value instanceof Object[] arr) {
+      return HEADER_SIZE + REFERENCE_SIZE * arr.length;
+    }
+    if (value instanceof Atom atom) {
+      var arity = atom.getConstructor().getArity();
+      var size = HEADER_SIZE + REFERENCE_SIZE * arity;
+      if (depth > 0) {
+        var structs = StructsLibrary.getUncached();
+        for (var i = 0; i < arity; i++) {
+          size += estimate(structs.getField(atom, i), depth - 1);
+        }
+      }
+      return size;
+    }
+    var iop = InteropLibrary.getUncached();
+    if (iop.isMemberInvocable(value, SIZE_METHOD)) {
+      try {
+        var size = iop.invokeMember(value, SIZE_METHOD);
+        if (iop.fitsInLong(size)) {
+          return Math.max(HEADER_SIZE, iop.asLong(size));
+        }
+      } catch (InteropException e) {
+        // Fall back to the estimates below.
+      }
+    }
+    if (iop.hasArrayElements(value)) {
+      try {
+        return HEADER_SIZE + (REFERENCE_SIZE + HEADER_SIZE) * iop.getArraySize(value);
+      } catch (UnsupportedMessageException e) {
+        return DEFAULT_SIZE;
+      }
+    }
+    if (iop.isString(value)) {
+      try {
+        return HEADER_SIZE + 2L * iop.asString(value).length();
+      } catch (UnsupportedMessageException e) {
+        return DEFAULT_SIZE;
+      }
+    }
+    return DEFAULT_SIZE;
+  }
+}
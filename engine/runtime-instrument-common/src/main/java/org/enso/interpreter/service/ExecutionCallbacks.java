@@ -1,10 +1,13 @@
 package org.enso.interpreter.service;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleFile;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
+import org.enso.interpreter.instrument.ExternalInputs;
 import org.enso.interpreter.instrument.MethodCallsCache;
 import org.enso.interpreter.instrument.OneshotExpression;
 import org.enso.interpreter.instrument.RuntimeCache;
@@ -13,6 +16,7 @@ import org.enso.interpreter.instrument.VisualizationHolder;
 import org.enso.interpreter.instrument.profiling.ExecutionTime;
 import org.enso.interpreter.instrument.profiling.ProfilingInfo;
 import org.enso.interpreter.node.callable.FunctionCallInstrumentationNode;
+import org.enso.interpreter.runtime.ExternalInputObserver;
 import org.enso.interpreter.runtime.callable.UnresolvedSymbol;
 import org.enso.interpreter.runtime.data.Type;
 import org.enso.interpreter.runtime.library.dispatch.TypeOfNode;
@@ -23,7 +27,7 @@ import org.enso.interpreter.service.ExecutionService.FunctionCallInfo;
 import org.enso.polyglot.debugger.ExecutedVisualization;
 import org.enso.polyglot.debugger.IdExecutionService;
 
-final class ExecutionCallbacks implements IdExecutionService.Callbacks {
+final class ExecutionCallbacks implements IdExecutionService.Callbacks, ExternalInputObserver {
 
   private final VisualizationHolder visualizationHolder;
   private final UUID nextExecutionItem;
@@ -31,6 +35,7 @@ final class ExecutionCallbacks implements IdExecutionService.Callbacks {
   private final MethodCallsCache methodCallsCache;
   private final UpdatesSynchronizationState syncState;
   private final Map<UUID, FunctionCallInfo> calls = new HashMap<>();
+  private final ArrayDeque<UUID> computedExpressions = new ArrayDeque<>();
   private final Consumer<ExpressionValue> onCachedCallback;
   private final Consumer<ExpressionValue> onComputedCallback;
   private final Consumer<ExpressionCall> functionCallCallback;
@@ -82,9 +87,11 @@ final class ExecutionCallbacks implements IdExecutionService.Callbacks {
     // able to continue the stack execution, and unwind later from the `onReturnValue` callback.
     if (result != null && !nodeId.equals(nextExecutionItem)) {
       callOnCachedCallback(nodeId, result);
+      propagateInputs(nodeId);
       return result;
     }
 
+    enterExpression(nodeId);
     return null;
   }
 
@@ -93,6 +100,7 @@ final class ExecutionCallbacks implements IdExecutionService.Callbacks {
     Object result = info.getResult();
     String resultType = typeOf(result);
     UUID nodeId = info.getId();
+    exitExpression(nodeId);
     String cachedType = cache.getType(nodeId);
     FunctionCallInfo call = functionCallInfoById(nodeId);
     FunctionCallInfo cachedCall = cache.getCall(nodeId);
@@ -109,7 +117,7 @@ final class ExecutionCallbacks implements IdExecutionService.Callbacks {
     // like imports, and the invalidation mechanism can not always track those changes and
     // appropriately invalidate all dependent expressions.
     if (!isPanic) {
-      cache.offer(nodeId, result);
+      cache.offer(nodeId, result, info.getElapsedTime());
       cache.putCall(nodeId, call);
     }
     cache.putType(nodeId, resultType);
@@ -141,6 +149,59 @@ final class ExecutionCallbacks implements IdExecutionService.Callbacks {
     return null;
   }
 
+  /**
+   * Attributes a file read to all expressions being computed, as each of them depends on it.
+   *
+   * @param file the file being read
+   */
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public synchronized void onFileRead(TruffleFile file) {
+    if (!computedExpressions.isEmpty()) {
+      var absoluteFile = file.getAbsoluteFile();
+      var path = absoluteFile.getPath();
+      var stamp = ExternalInputs.stampOf(absoluteFile);
+      for (var nodeId : computedExpressions) {
+        cache.recordFileRead(nodeId, path, stamp);
+      }
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  @Override
+  public synchronized void onVolatileRead() {
+    for (var nodeId : computedExpressions) {
+      cache.recordVolatileRead(nodeId);
+    }
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private synchronized void enterExpression(UUID nodeId) {
+    cache.removeInputs(nodeId);
+    computedExpressions.push(nodeId);
+  }
+
+  @CompilerDirectives.TruffleBoundary
+  private synchronized void exitExpression(UUID nodeId) {
+    if (computedExpressions.contains(nodeId)) {
+      while (!nodeId.equals(computedExpressions.pop())) {}
+    }
+  }
+
+  /** Attributes the inputs of a cached expression to the expressions that use its value. */
+  @CompilerDirectives.TruffleBoundary
+  private synchronized void propagateInputs(UUID nodeId) {
+    var inputs = cache.getInputs(nodeId);
+    if (inputs != null && !computedExpressions.isEmpty()) {
+      for (var user : computedExpressions) {
+        inputs.getFileStamps().forEach((path, stamp) -> cache.recordFileRead(user, path, stamp));
+        if (inputs.isVolatile()) {
+          cache.recordVolatileRead(user);
+        }
+      }
+    }
+  }
+
   @CompilerDirectives.TruffleBoundary
   private void callOnComputedCallback(ExpressionValue expressionValue) {
     onComputedCallback.accept(expressionValue);
@@ -181,6 +181,10 @@ public final class ExecutionService {
     if (src == null) {
       throw new SourceNotFoundException(call.getFunction().getName());
     }
+    var memoryBudget = context.getRuntimeCacheMemoryBudget();
+    if (cache.getMemoryBudget() != memoryBudget) {
+      cache.setMemoryBudget(memoryBudget);
+    }
     var callbacks =
         new ExecutionCallbacks(
             visualizationHolder,
@@ -201,12 +205,17 @@ public final class ExecutionService {
         .put(call.getState().getContainer(), IdExecutionService.class, cache);
 
     Object p = context.getThreadManager().enter();
+    var previousObserver = context.setExternalInputObserver(callbacks);
     try {
       execute.getCallTarget().call(call);
     } finally {
+      context.setExternalInputObserver(previousObserver);
       context.getThreadManager().leave(p);
       eventNodeFactory.ifPresent(EventBinding::dispose);
     }
+    if (memoryBudget > 0 && logger.isLoggable(Level.FINE)) {
+      logger.log(Level.FINE, "Values cached within the memory budget: {0}.", cache.getStats());
+    }
   }
 
   /**
@@ -3,6 +3,9 @@ package org.enso.interpreter.instrument
 import org.enso.pkg.QualifiedName
 import org.enso.polyglot.runtime.Runtime.Api.{ExpressionId, VisualizationId}
 
+import java.security.MessageDigest
+import java.util
+
 import scala.collection.mutable
 
 /** A mutable holder of all visualizations attached to an execution context.
@@ -14,6 +17,10 @@ class VisualizationHolder {
   private val visualizationMap: mutable.Map[ExpressionId, List[Visualization]] =
     mutable.Map.empty.withDefaultValue(List.empty)
 
+  private val sentDigests
+    : mutable.Map[(VisualizationId, ExpressionId), Array[Byte]] =
+    mutable.Map.empty
+
   /** Upserts a visualization.
     *
     * @param visualization the visualization to upsert
@@ -31,6 +38,10 @@ class VisualizationHolder {
     val visualizations = visualizationMap(id)
     val rest           = visualizations.filterNot(_.id == visualization.id)
     visualizationMap.update(id, visualization :: rest)
+    if (specificId == null) {
+      // A new or modified visualization always gets a fresh update.
+      forgetSentUpdates(visualization.id)
+    }
   }
 
   /** Removes a visualization from the holder.
@@ -46,8 +57,54 @@ class VisualizationHolder {
     val visualizations = visualizationMap(expressionId)
     val rest           = visualizations.filterNot(_.id == visualizationId)
     visualizationMap.update(expressionId, rest)
+    forgetSentUpdates(visualizationId)
+  }
+
+  /** Records the payload of a visualization update that is about to be sent.
+    *
+    * Only a digest of the payload is kept, so the memory overhead does not
+    * depend on the size of the visualization data.
+    *
+    * @param visualizationId the visualization identifier
+    * @param expressionId the id of the visualized expression
+    * @param data the serialized visualization data
+    * @return `true` if the data differs from the last update recorded for the
+    *         same visualization and expression, `false` if it is identical
+    */
+  def recordSentUpdate(
+    visualizationId: VisualizationId,
+    expressionId: ExpressionId,
+    data: Array[Byte]
+  ): Boolean = {
+    val digest = MessageDigest.getInstance("SHA-1").digest(data)
+    sentDigests.synchronized {
+      val key = (visualizationId, expressionId)
+      sentDigests.put(key, digest) match {
+        case Some(previous) => !util.Arrays.equals(previous, digest)
+        case None           => true
+      }
+    }
   }
 
+  /** Forgets the last recorded update of a visualization, so that the next
+    * update is sent regardless of its content.
+    *
+    * @param visualizationId the visualization identifier
+    * @param expressionId the id of the visualized expression
+    */
+  def forgetSentUpdate(
+    visualizationId: VisualizationId,
+    expressionId: ExpressionId
+  ): Unit =
+    sentDigests.synchronized {
+      sentDigests.remove((visualizationId, expressionId))
+    }
+
+  private def forgetSentUpdates(visualizationId: VisualizationId): Unit =
+    sentDigests.synchronized {
+      sentDigests.filterInPlace { case ((id, _), _) => id != visualizationId }
+    }
+
   /** Finds all visualizations attached to an expression.
     *
     * @param expressionId the unique identifier of the expression
@@ -0,0 +1,165 @@
+package org.enso.interpreter.instrument.job
+
+import org.enso.interpreter.instrument.UpdatesSynchronizationState
+import org.enso.interpreter.instrument.execution.RuntimeContext
+import org.enso.polyglot.runtime.Runtime.Api
+import org.enso.polyglot.runtime.Runtime.Api.{ContextId, ExpressionId}
+
+import java.util.concurrent.{
+  Executors,
+  ScheduledExecutorService,
+  ScheduledFuture,
+  ThreadFactory,
+  TimeUnit
+}
+
+import scala.collection.mutable
+
+/** Coalesces expression updates of a single program execution into batched
+  * [[Api.ExpressionUpdates]] messages.
+  *
+  * Updates are sent when the number of buffered expressions reaches
+  * `maxSize`, when the oldest buffered update is older than `maxDelayNanos`,
+  * or when the buffer is flushed explicitly. The time limit is enforced by a
+  * flush scheduled when the first update enters an empty buffer, so updates
+  * are not held back while a long-running expression is being computed. A
+  * newer update of an expression is merged into the buffered one, so that
+  * the information only present in the earlier update, like the method call,
+  * is not lost. The
+  * synchronization state of an expression is only marked after its update has
+  * been sent, so an interrupted execution re-sends the updates that were
+  * still pending.
+  *
+  * @param contextId the identifier of the execution context
+  * @param maxSize the maximum number of updates in a single message
+  * @param maxDelayNanos the maximum time an update can stay in the buffer
+  * @param send sends a message to the client
+  * @param scheduler the executor running the time-triggered flushes
+  */
+final class ExpressionUpdatesBuffer(
+  contextId: ContextId,
+  maxSize: Int,
+  maxDelayNanos: Long,
+  send: Api.Response => Unit,
+  scheduler: ScheduledExecutorService
+) {
+
+  private val pending =
+    mutable.LinkedHashMap[ExpressionId, ExpressionUpdatesBuffer.Pending]()
+  private var scheduledFlush: ScheduledFuture[_] = _
+
+  /** Adds an update to the buffer, sending the buffered updates if the size
+    * limit is reached.
+    *
+    * @param update the expression update
+    * @param syncState the synchronization state of the updated expression
+    * @param hasMethodCall whether the update contains a method pointer
+    */
+  def add(
+    update: Api.ExpressionUpdate,
+    syncState: UpdatesSynchronizationState,
+    hasMethodCall: Boolean
+  ): Unit = synchronized {
+    val entry = ExpressionUpdatesBuffer.Pending(update, syncState, hasMethodCall)
+    val merged = pending.remove(update.expressionId) match {
+      case Some(previous) => previous.merge(entry)
+      case None           => entry
+    }
+    pending.put(update.expressionId, merged)
+    if (pending.size >= maxSize) {
+      flush()
+    } else if (scheduledFlush == null) {
+      scheduledFlush = scheduler.schedule(
+        (() => flush()): Runnable,
+        maxDelayNanos,
+        TimeUnit.NANOSECONDS
+      )
+    }
+  }
+
+  /** Sends all buffered updates in a single message. */
+  def flush(): Unit = synchronized {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false)
+      scheduledFlush = null
+    }
+    if (pending.nonEmpty) {
+      val updates = pending.values.toVector
+      pending.clear()
+      send(
+        Api.Response(
+          Api.ExpressionUpdates(contextId, updates.map(_.update).toSet)
+        )
+      )
+      updates.foreach { p =>
+        p.syncState.setExpressionSync(p.update.expressionId)
+        if (p.hasMethodCall) {
+          p.syncState.setMethodPointerSync(p.update.expressionId)
+        }
+      }
+    }
+  }
+}
+
+object ExpressionUpdatesBuffer {
+
+  /** The maximum time in milliseconds an update is kept in the buffer. */
+  val DefaultMaxDelayMillis: Long = 100
+
+  /** Runs the time-triggered flushes of all buffers. The flushes only send
+    * messages and never enter the polyglot context, so a single daemon thread
+    * is shared by all executions.
+    */
+  private lazy val flushScheduler: ScheduledExecutorService =
+    Executors.newSingleThreadScheduledExecutor(new ThreadFactory {
+      override def newThread(r: Runnable): Thread = {
+        val thread = new Thread(r, "expression-updates-flusher")
+        thread.setDaemon(true)
+        thread
+      }
+    })
+
+  /** Creates a buffer configured by the runtime options.
+    *
+    * @param contextId the identifier of the execution context
+    * @param ctx the runtime context
+    * @return a new buffer
+    */
+  def apply(contextId: ContextId)(implicit
+    ctx: RuntimeContext
+  ): ExpressionUpdatesBuffer =
+    new ExpressionUpdatesBuffer(
+      contextId,
+      ctx.executionService.getContext.getExpressionUpdatesBatchSize,
+      DefaultMaxDelayMillis * 1000000L,
+      ctx.endpoint.sendToClient,
+      flushScheduler
+    )
+
+  private case class Pending(
+    update: Api.ExpressionUpdate,
+    syncState: UpdatesSynchronizationState,
+    hasMethodCall: Boolean
+  ) {
+
+    /** Merges a newer update of the same expression into this one.
+      *
+      * The newer values take precedence, but a method call or profiling
+      * information missing from the newer update is kept from this one, and
+      * the type is reported as changed if either update changed it.
+      *
+      * @param newer the newer update
+      * @return the merged update
+      */
+    def merge(newer: Pending): Pending = {
+      val merged = newer.update.copy(
+        methodCall = newer.update.methodCall.orElse(update.methodCall),
+        profilingInfo =
+          if (newer.update.profilingInfo.nonEmpty) newer.update.profilingInfo
+          else update.profilingInfo,
+        typeChanged = newer.update.typeChanged || update.typeChanged
+      )
+      Pending(merged, newer.syncState, newer.hasMethodCall || hasMethodCall)
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package org.enso.interpreter.instrument.job
 
 import com.oracle.truffle.api.exception.AbstractTruffleException
+import org.enso.compiler.core.Implicits.AsMetadata
+import org.enso.compiler.core.ir.Name
+import org.enso.compiler.pass.analyse.DataflowAnalysis
 import org.enso.interpreter.instrument.{
   InstrumentFrame,
   MethodCallsCache,
+  PersistentValueCache,
   RuntimeCache,
   UpdatesSynchronizationState,
   Visualization,
@@ -17,6 +21,7 @@ import org.enso.interpreter.instrument.execution.{
 }
 import org.enso.interpreter.instrument.profiling.ExecutionTime
 import org.enso.interpreter.node.callable.FunctionCallInstrumentationNode.FunctionCall
+import org.enso.interpreter.runtime.Module
 import org.enso.interpreter.runtime.library.dispatch.TypeOfNode
 import org.enso.interpreter.runtime.`type`.{Types, TypesGen}
 import org.enso.interpreter.runtime.data.atom.AtomConstructor
@@ -62,12 +67,14 @@ object ProgramExecutionSupport {
     * @param contextId an identifier of an execution context
     * @param executionFrame an execution frame
     * @param callStack a call stack
+    * @param updatesBuffer a buffer coalescing the expression updates
     */
   @scala.annotation.tailrec
   final private def executeProgram(
     contextId: Api.ContextId,
     executionFrame: ExecutionFrame,
-    callStack: List[LocalCallFrame]
+    callStack: List[LocalCallFrame],
+    updatesBuffer: ExpressionUpdatesBuffer
   )(implicit ctx: RuntimeContext): Unit = {
     val logger           = ctx.executionService.getLogger
     val methodCallsCache = new MethodCallsCache
@@ -75,14 +82,15 @@ object ProgramExecutionSupport {
 
     val onCachedMethodCallCallback: Consumer[ExpressionValue] = { value =>
       logger.log(Level.FINEST, s"ON_CACHED_CALL ${value.getExpressionId}")
-      sendExpressionUpdate(contextId, executionFrame.syncState, value)
+      sendExpressionUpdate(updatesBuffer, executionFrame.syncState, value)
     }
 
     val onCachedValueCallback: Consumer[ExpressionValue] = { value =>
       if (callStack.isEmpty) {
         logger.log(Level.FINEST, s"ON_CACHED_VALUE ${value.getExpressionId}")
-        sendExpressionUpdate(contextId, executionFrame.syncState, value)
+        sendExpressionUpdate(updatesBuffer, executionFrame.syncState, value)
         sendVisualizationUpdates(
+          updatesBuffer,
           contextId,
           executionFrame.cache,
           executionFrame.syncState,
@@ -94,8 +102,9 @@ object ProgramExecutionSupport {
     val onComputedValueCallback: Consumer[ExpressionValue] = { value =>
       if (callStack.isEmpty) {
         logger.log(Level.FINEST, s"ON_COMPUTED ${value.getExpressionId}")
-        sendExpressionUpdate(contextId, executionFrame.syncState, value)
+        sendExpressionUpdate(updatesBuffer, executionFrame.syncState, value)
         sendVisualizationUpdates(
+          updatesBuffer,
           contextId,
           executionFrame.cache,
           executionFrame.syncState,
@@ -123,6 +132,7 @@ object ProgramExecutionSupport {
                 executedVisualization.result(),
                 executedVisualization.error()
               )
+            updatesBuffer.flush()
             sendVisualizationUpdate(
               visualizationResult,
               contextId,
@@ -160,6 +170,7 @@ object ProgramExecutionSupport {
                 executedVisualization.result(),
                 executedVisualization.error()
               )
+            updatesBuffer.flush()
             sendVisualizationUpdate(
               visualizationResult,
               contextId,
@@ -219,7 +230,7 @@ object ProgramExecutionSupport {
                 item.cache,
                 item.syncState
               )
-            executeProgram(contextId, executionFrame, tail)
+            executeProgram(contextId, executionFrame, tail, updatesBuffer)
           case None =>
             ()
         }
@@ -265,19 +276,125 @@ object ProgramExecutionSupport {
       }
 
     val (explicitCallOpt, localCalls) = unwind(stack, Nil, Nil)
+    val updatesBuffer                 = ExpressionUpdatesBuffer(contextId)
+    val persistentCache               = stack.lastOption.flatMap(persistentCacheOf)
     val executionResult: Either[Option[Api.ExecutionResult], Unit] = for {
       stackItem <-
         explicitCallOpt.toRight(
           Some(Api.ExecutionResult.Failure("Execution stack is empty.", None))
         )
       _ <-
-        Try(executeProgram(contextId, stackItem, localCalls)).toEither.left
+        Try {
+          try executeProgram(contextId, stackItem, localCalls, updatesBuffer)
+          finally updatesBuffer.flush()
+        }.toEither.left
           .map(onExecutionError(stackItem.item, _))
     } yield ()
+    if (executionResult.isRight) {
+      persistentCache.foreach { case (persisted, cache) =>
+        persisted.save(cache, logger)
+      }
+    }
     logger.log(Level.FINEST, s"Execution finished: $executionResult")
     executionResult.fold(identity, _ => None)
   }
 
+  /** Returns the persistent cache of the bottom frame of the stack, creating
+    * it and restoring the persisted values on the first execution of the
+    * frame.
+    *
+    * Only calls of methods without arguments are persisted, because their
+    * values only depend on the sources of the project and the external inputs
+    * that are tracked by the cache.
+    *
+    * @param frame the bottom frame of the stack
+    * @param ctx the runtime context
+    * @return the persistent cache and the runtime cache of the frame
+    */
+  private def persistentCacheOf(
+    frame: InstrumentFrame
+  )(implicit
+    ctx: RuntimeContext
+  ): Option[(PersistentValueCache, RuntimeCache)] =
+    frame match {
+      case InstrumentFrame(
+            Api.StackItem.ExplicitCall(methodPointer, None, arguments),
+            cache,
+            _
+          ) if arguments.isEmpty =>
+        val context = ctx.executionService.getContext
+        Option(cache.getPersistentValues)
+          .orElse {
+            if (context.getPersistentValueCacheSize > 0) {
+              context
+                .findModule(methodPointer.module)
+                .toScala
+                .flatMap { module =>
+                  Option(PersistentValueCache.forModule(context, module)).map {
+                    persisted =>
+                      cache.setPersistentValues(persisted)
+                      restorePersistedValues(module, persisted, cache)
+                      persisted
+                  }
+                }
+            } else {
+              None
+            }
+          }
+          .map((_, cache))
+      case _ =>
+        None
+    }
+
+  /** Offers the persisted values to the runtime cache.
+    *
+    * A value is only restored when all the cached expressions it depends on
+    * are restored as well. Otherwise an expression reading an input that is
+    * not tracked, e.g. through a value that is recomputed on every run, could
+    * be restored while its dependency is computed again.
+    *
+    * @param module the module of the executed method
+    * @param persisted the persistent cache
+    * @param cache the runtime cache
+    * @param ctx the runtime context
+    */
+  private def restorePersistedValues(
+    module: Module,
+    persisted: PersistentValueCache,
+    cache: RuntimeCache
+  )(implicit ctx: RuntimeContext): Unit = {
+    val weights = cache.getWeights
+    val loaded  = persisted.load(weights, ctx.executionService.getLogger)
+    if (!loaded.isEmpty) {
+      module.getIr.getMetadata(DataflowAnalysis).foreach { metadata =>
+        val irById = module.getIr.preorder.flatMap { ir =>
+          ir.getExternalId.filter(loaded.containsKey).map(_ -> ir)
+        }.toMap
+        val restorable = new java.util.HashMap[UUID, PersistentValueCache.Entry]
+        loaded.forEach { (key, entry) =>
+          val dependencies = irById
+            .get(key)
+            .map {
+              case name: Name.Literal =>
+                DataflowAnalysis.DependencyInfo.Type.Dynamic(name.name, Some(key))
+              case ir =>
+                DataflowAnalysis.DependencyInfo.Type
+                  .Static(ir.getId, ir.getExternalId)
+            }
+            .map(metadata.dependencies.getExternal(_).getOrElse(Set()))
+          val isRestorable = dependencies.exists(_.forall { dependency =>
+            val weight = weights.get(dependency)
+            weight == null || weight <= 0 || loaded.containsKey(dependency)
+          })
+          if (isRestorable) {
+            restorable.put(key, entry)
+          }
+        }
+        persisted.restore(cache, restorable)
+      }
+    }
+  }
+
   /** Execution error handler.
     *
     * @param item the stack item being executed
@@ -373,7 +490,7 @@ object ProgramExecutionSupport {
   }
 
   private def sendExpressionUpdate(
-    contextId: ContextId,
+    updatesBuffer: ExpressionUpdatesBuffer,
     syncState: UpdatesSynchronizationState,
     value: ExpressionValue
   )(implicit ctx: RuntimeContext): Unit = {
@@ -480,42 +597,34 @@ object ProgramExecutionSupport {
 
           Api.ExpressionUpdate.Payload.Value(warnings, schema)
       }
-      ctx.endpoint.sendToClient(
-        Api.Response(
-          Api.ExpressionUpdates(
-            contextId,
-            Set(
-              Api.ExpressionUpdate(
-                value.getExpressionId,
-                Option(value.getType),
-                methodCall,
-                value.getProfilingInfo.map { case e: ExecutionTime =>
-                  Api.ProfilingInfo.ExecutionTime(e.getNanoTimeElapsed)
-                }.toVector,
-                value.wasCached(),
-                value.isTypeChanged || value.isFunctionCallChanged,
-                payload
-              )
-            )
-          )
-        )
+      updatesBuffer.add(
+        Api.ExpressionUpdate(
+          value.getExpressionId,
+          Option(value.getType),
+          methodCall,
+          value.getProfilingInfo.map { case e: ExecutionTime =>
+            Api.ProfilingInfo.ExecutionTime(e.getNanoTimeElapsed)
+          }.toVector,
+          value.wasCached(),
+          value.isTypeChanged || value.isFunctionCallChanged,
+          payload
+        ),
+        syncState,
+        methodCall.isDefined
       )
-
-      syncState.setExpressionSync(expressionId)
-      if (methodCall.isDefined) {
-        syncState.setMethodPointerSync(expressionId)
-      }
     }
   }
 
   /** Find visualizations for the provided expression value, compute and send
     * the updates.
     *
+    * @param updatesBuffer the buffer of pending expression updates
     * @param contextId the identifier of an execution context
     * @param value the computed value
     * @param ctx the runtime context
     */
   private def sendVisualizationUpdates(
+    updatesBuffer: ExpressionUpdatesBuffer,
     contextId: ContextId,
     runtimeCache: RuntimeCache,
     syncState: UpdatesSynchronizationState,
@@ -527,6 +636,10 @@ object ProgramExecutionSupport {
           contextId,
           value.getExpressionId
         )
+      if (visualizations.nonEmpty) {
+        // Keep the expression updates ahead of the visualization updates.
+        updatesBuffer.flush()
+      }
       visualizations.foreach { visualization =>
         val v = if (visualization.expressionId == value.getExpressionId) {
           value.getValue
@@ -637,6 +750,9 @@ object ProgramExecutionSupport {
             )
           )
         }
+        ctx.contextManager
+          .getVisualizationHolder(contextId)
+          .forgetSentUpdate(visualizationId, expressionId)
         ctx.endpoint.sendToClient(
           Api.Response(
             Api.VisualizationEvaluationFailed(
@@ -655,18 +771,33 @@ object ProgramExecutionSupport {
           s"Visualization executed [{0}].",
           expressionId
         )
-        ctx.endpoint.sendToClient(
-          Api.Response(
-            Api.VisualizationUpdate(
-              Api.VisualizationContext(
-                visualizationId,
-                contextId,
-                expressionId
-              ),
-              data
+        if (
+          isVisualizationDataChanged(
+            contextId,
+            visualizationId,
+            expressionId,
+            data
+          )
+        ) {
+          ctx.endpoint.sendToClient(
+            Api.Response(
+              Api.VisualizationUpdate(
+                Api.VisualizationContext(
+                  visualizationId,
+                  contextId,
+                  expressionId
+                ),
+                data
+              )
             )
           )
-        )
+        } else {
+          ctx.executionService.getLogger.log(
+            Level.FINEST,
+            "Visualization [{0}] of [{1}] did not change. Skipping the update.",
+            Array[Object](visualizationId, expressionId)
+          )
+        }
         Completion.Done
     }
     if (result != Completion.Interrupted) {
@@ -674,6 +805,30 @@ object ProgramExecutionSupport {
     }
   }
 
+  /** Check if the visualization data should be sent to the client.
+    *
+    * When the deduplication of visualization updates is enabled, the data is
+    * compared against the last update sent for the same visualization and
+    * expression, and identical payloads are suppressed.
+    *
+    * @param contextId an identifier of an execution context
+    * @param visualizationId the id of the visualization
+    * @param expressionId the id of expression to visualise
+    * @param data the serialized visualization result
+    * @param ctx the runtime context
+    * @return `true` if the update should be sent
+    */
+  private def isVisualizationDataChanged(
+    contextId: ContextId,
+    visualizationId: UUID,
+    expressionId: UUID,
+    data: Array[Byte]
+  )(implicit ctx: RuntimeContext): Boolean =
+    !ctx.executionService.getContext.isVisualizationUpdatesDeduplication ||
+    ctx.contextManager
+      .getVisualizationHolder(contextId)
+      .recordSentUpdate(visualizationId, expressionId, data)
+
   /** Compute the visualization of the expression value and send an update.
     *
     * @param contextId an identifier of an execution context
@@ -0,0 +1,86 @@
+package org.enso.interpreter.instrument;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Map;
+import org.enso.interpreter.runtime.data.text.Text;
+import org.enso.interpreter.runtime.number.EnsoBigInteger;
+import org.junit.Test;
+
+public class PersistentValueCacheTest {
+  @Test
+  public void roundTripPrimitiveValues() throws Exception {
+    assertEquals(42L, roundTrip(42L));
+    assertEquals(Math.PI, roundTrip(Math.PI));
+    assertEquals(true, roundTrip(true));
+  }
+
+  @Test
+  public void roundTripText() throws Exception {
+    var restored = roundTrip(Text.create("Hello ", "Wörld"));
+    assertTrue(restored instanceof Text);
+    assertEquals("Hello Wörld", restored.toString());
+  }
+
+  @Test
+  public void roundTripBigInteger() throws Exception {
+    var big = BigInteger.TWO.pow(100).negate();
+    var restored = roundTrip(new EnsoBigInteger(big));
+    assertTrue(restored instanceof EnsoBigInteger);
+    assertEquals(big, ((EnsoBigInteger) restored).getValue());
+  }
+
+  @Test
+  public void skipUnsupportedValues() {
+    assertNull(PersistentValueCache.encode(null));
+    assertNull(PersistentValueCache.encode(new Object()));
+  }
+
+  @Test
+  public void roundTripEntryWithFileStamps() throws Exception {
+    var inputs = new ExternalInputs();
+    inputs.addFile("/data/a.csv", "10@1000");
+    inputs.addFile("/data/b.csv", "20@2000");
+    var data = PersistentValueCache.encodeEntry("digest", inputs, PersistentValueCache.encode(42L));
+
+    var entry = PersistentValueCache.decodeEntry(data, "digest");
+    assertEquals(42L, entry.value());
+    assertEquals(inputs.getFileStamps(), entry.inputs().getFileStamps());
+    assertEquals(data.length, entry.size());
+  }
+
+  @Test
+  public void discardEntryOfDifferentSources() throws Exception {
+    var data =
+        PersistentValueCache.encodeEntry(
+            "digest", new ExternalInputs(), PersistentValueCache.encode(42L));
+    assertNull(PersistentValueCache.decodeEntry(data, "other-digest"));
+  }
+
+  @Test
+  public void detectChangedFiles() {
+    var inputs = new ExternalInputs();
+    inputs.addFile("/data/a.csv", "10@1000");
+    inputs.addFile("/data/a.csv", "11@1001");
+
+    assertTrue(inputs.isUpToDate(Map.of("/data/a.csv", "10@1000")::get));
+    assertFalse(inputs.isUpToDate(Map.of("/data/a.csv", "11@1001")::get));
+    assertFalse(inputs.isUpToDate(path -> "missing"));
+  }
+
+  @Test
+  public void volatileInputsAreNeverUpToDate() {
+    var inputs = new ExternalInputs();
+    inputs.markVolatile();
+    assertTrue(inputs.isVolatile());
+    assertFalse(inputs.isUpToDate(path -> "missing"));
+  }
+
+  private static Object roundTrip(Object value) throws Exception {
+    return PersistentValueCache.decode(PersistentValueCache.encode(value));
+  }
+}
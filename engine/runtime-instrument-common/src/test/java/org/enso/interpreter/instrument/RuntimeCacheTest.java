@@ -8,6 +8,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.UUID;
@@ -40,6 +42,24 @@ public class RuntimeCacheTest {
     assertNull(cache.get(key));
   }
 
+  @Test
+  public void recordExternalInputs() {
+    var cache = new RuntimeCache();
+    var key = UUID.randomUUID();
+    cache.setWeights(Map.of(key, 1.0));
+    assertTrue(cache.offer(key, 42L));
+    assertNull(cache.getInputs(key));
+
+    cache.recordFileRead(key, "/data/a.csv", "10@1000");
+    assertEquals(Map.of("/data/a.csv", "10@1000"), cache.getInputs(key).getFileStamps());
+    assertFalse(cache.getInputs(key).isVolatile());
+    cache.recordVolatileRead(key);
+    assertTrue(cache.getInputs(key).isVolatile());
+
+    cache.remove(key);
+    assertNull(cache.getInputs(key));
+  }
+
   @Test
   public void cacheTypes() {
     var cache = new RuntimeCache();
@@ -149,6 +169,89 @@ public class RuntimeCacheTest {
     assertTrue("Two queries to the cache: " + queried, queried.contains(key2));
   }
 
+  @Test
+  public void evictCheapestValuesOverBudget() {
+    var cache = new RuntimeCache(v -> (Long) v);
+    var cheap = UUID.randomUUID();
+    var expensive = UUID.randomUUID();
+    var large = UUID.randomUUID();
+    cache.setWeights(Map.of(cheap, 1.0, expensive, 1.0, large, 1.0));
+    cache.setMemoryBudget(200);
+
+    assertTrue(cache.offer(cheap, 100L, 10));
+    assertTrue(cache.offer(expensive, 100L, 1_000_000));
+    assertEquals(new RuntimeCache.Stats(2, 200, 200, 0), cache.getStats());
+
+    assertTrue("Most expensive per byte", cache.offer(large, 50L, 1_000_000));
+    assertNull("Cheapest value per byte is evicted", cache.get(cheap));
+    assertEquals(100L, cache.get(expensive));
+    assertEquals(50L, cache.get(large));
+    assertEquals(new RuntimeCache.Stats(2, 150, 200, 1), cache.getStats());
+
+    assertEquals(100L, cache.remove(expensive));
+    assertEquals(new RuntimeCache.Stats(1, 50, 200, 1), cache.getStats());
+  }
+
+  @Test
+  public void rejectValuesLargerThanBudget() {
+    var cache = new RuntimeCache(v -> (Long) v);
+    var key = UUID.randomUUID();
+    cache.setWeights(Map.of(key, 1.0));
+    cache.setMemoryBudget(10);
+
+    assertFalse(cache.offer(key, 100L, 1_000_000));
+    assertNull(cache.get(key));
+    assertEquals(100L, cache.getAnyValue(key));
+    assertEquals(new RuntimeCache.Stats(0, 0, 10, 1), cache.getStats());
+  }
+
+  @Test
+  public void shrinkBudget() {
+    var cache = new RuntimeCache(v -> (Long) v);
+    var key1 = UUID.randomUUID();
+    var key2 = UUID.randomUUID();
+    cache.setWeights(Map.of(key1, 1.0, key2, 1.0));
+    cache.setMemoryBudget(1000);
+
+    assertTrue(cache.offer(key1, 100L, 1));
+    assertTrue(cache.offer(key2, 100L, 1_000));
+
+    cache.setMemoryBudget(150);
+    assertNull(cache.get(key1));
+    assertEquals(100L, cache.get(key2));
+    assertEquals(1, cache.getStats().evictions());
+  }
+
+  @Test
+  public void evictLowestScoresFirst() {
+    var cache = new RuntimeCache(v -> 10);
+    var keys = new ArrayList<UUID>();
+    var weights = new HashMap<UUID, Double>();
+    for (var i = 0; i < 100; i++) {
+      var key = UUID.randomUUID();
+      keys.add(key);
+      weights.put(key, 1.0);
+    }
+    cache.setWeights(weights);
+    cache.setMemoryBudget(100);
+
+    // Offer the values in an order unrelated to their costs.
+    for (var i = 0; i < keys.size(); i++) {
+      var cost = (i * 37) % keys.size();
+      cache.offer(keys.get(cost), (long) cost, cost);
+    }
+
+    assertEquals(new RuntimeCache.Stats(10, 100, 100, 90), cache.getStats());
+    for (var i = 0; i < keys.size(); i++) {
+      var value = cache.get(keys.get(i));
+      if (i < 90) {
+        assertNull("Value " + i + " is evicted", value);
+      } else {
+        assertEquals("Value " + i + " is kept", (long) i, value);
+      }
+    }
+  }
+
   private static void assertGC(String msg, boolean expectGC, Reference<?> ref) {
     for (var i = 1; i < Integer.MAX_VALUE / 2; i *= 2) {
       if (ref.get() == null) {
@@ -0,0 +1,102 @@
+package org.enso.interpreter.instrument;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import org.enso.interpreter.runtime.data.text.Text;
+import org.junit.Test;
+
+public class ValueSizeEstimatorTest {
+  @Test
+  public void primitiveValues() {
+    assertTrue(ValueSizeEstimator.estimate(42L) > 0);
+    assertEquals(
+        ValueSizeEstimator.estimate(new long[0]) + 8000,
+        ValueSizeEstimator.estimate(new long[1000]));
+  }
+
+  @Test
+  public void concatenatedTexts() {
+    var concatenated = Text.create(Text.create("abc"), Text.create("żółw"));
+    assertEquals(7, concatenated.utf16Length());
+    assertEquals(
+        ValueSizeEstimator.estimate(Text.create("abcżółw")),
+        ValueSizeEstimator.estimate(concatenated));
+  }
+
+  @Test
+  public void valuesReportingTheirSize() {
+    var size = 2L * 1024 * 1024 * 1024;
+    assertEquals(size, ValueSizeEstimator.estimate(new Sized(size)));
+  }
+
+  @Test
+  public void unknownValues() {
+    var unknown = new TruffleObject() {};
+    assertEquals(ValueSizeEstimator.DEFAULT_SIZE, ValueSizeEstimator.estimate(unknown));
+  }
+
+  @ExportLibrary(InteropLibrary.class)
+  static final class Sized implements TruffleObject {
+    private final long size;
+
+    private Sized(long size) {
+      this.size = size;
+    }
+
+    @ExportMessage
+    boolean hasMembers() {
+      return true;
+    }
+
+    @ExportMessage
+    Object getMembers(boolean includeInternal) {
+      return new Members();
+    }
+
+    @ExportMessage
+    boolean isMemberInvocable(String member) {
+      return ValueSizeEstimator.SIZE_METHOD.equals(member);
+    }
+
+    @ExportMessage
+    Object invokeMember(String member, Object[] arguments) throws UnknownIdentifierException {
+      if (!isMemberInvocable(member)) {
+        throw UnknownIdentifierException.create(member);
+      }
+      return size;
+    }
+  }
+
+  @ExportLibrary(InteropLibrary.class)
+  static final class Members implements TruffleObject {
+    @ExportMessage
+    boolean hasArrayElements() {
+      return true;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return 1;
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      return index == 0;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      if (index != 0) {
+        throw InvalidArrayIndexException.create(index);
+      }
+      return ValueSizeEstimator.SIZE_METHOD;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package org.enso.interpreter.instrument.job
+
+import org.enso.interpreter.instrument.UpdatesSynchronizationState
+import org.enso.polyglot.runtime.Runtime.Api
+import org.scalatest.BeforeAndAfterAll
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+import java.util.UUID
+import java.util.concurrent.{
+  Executors,
+  LinkedBlockingQueue,
+  ScheduledExecutorService,
+  TimeUnit
+}
+
+class ExpressionUpdatesBufferTest
+    extends AnyWordSpec
+    with Matchers
+    with BeforeAndAfterAll {
+
+  private val contextId = UUID.randomUUID()
+  private val scheduler: ScheduledExecutorService =
+    Executors.newSingleThreadScheduledExecutor()
+
+  override def afterAll(): Unit = scheduler.shutdownNow()
+
+  private def update(
+    expressionId: UUID,
+    expressionType: String
+  ): Api.ExpressionUpdate =
+    Api.ExpressionUpdate(
+      expressionId,
+      Some(expressionType),
+      None,
+      Vector(),
+      false,
+      true,
+      Api.ExpressionUpdate.Payload.Value()
+    )
+
+  private def newBuffer(
+    maxSize: Int,
+    maxDelayMillis: Long
+  ): (ExpressionUpdatesBuffer, LinkedBlockingQueue[Api.Response]) = {
+    val sent = new LinkedBlockingQueue[Api.Response]()
+    val buffer = new ExpressionUpdatesBuffer(
+      contextId,
+      maxSize,
+      TimeUnit.MILLISECONDS.toNanos(maxDelayMillis),
+      response => sent.add(response),
+      scheduler
+    )
+    (buffer, sent)
+  }
+
+  private def updatesOf(response: Api.Response): Set[Api.ExpressionUpdate] =
+    response match {
+      case Api.Response(None, Api.ExpressionUpdates(`contextId`, updates)) =>
+        updates
+      case _ =>
+        fail(s"Unexpected response $response")
+    }
+
+  "ExpressionUpdatesBuffer" should {
+
+    "keep only the latest update of an expression" in {
+      val (buffer, sent) = newBuffer(10, 60000)
+      val syncState      = new UpdatesSynchronizationState
+      val x              = UUID.randomUUID()
+      val y              = UUID.randomUUID()
+
+      buffer.add(update(x, "Integer"), syncState, hasMethodCall = false)
+      buffer.add(update(y, "Text"), syncState, hasMethodCall = false)
+      buffer.add(update(x, "Float"), syncState, hasMethodCall = false)
+      sent shouldBe empty
+      syncState.isExpressionSync(x) shouldBe false
+
+      buffer.flush()
+      sent.size shouldEqual 1
+      updatesOf(sent.poll()) shouldEqual Set(
+        update(x, "Float"),
+        update(y, "Text")
+      )
+      syncState.isExpressionSync(x) shouldBe true
+      syncState.isExpressionSync(y) shouldBe true
+    }
+
+    "keep the method call of an earlier update of an expression" in {
+      val (buffer, sent) = newBuffer(10, 60000)
+      val syncState      = new UpdatesSynchronizationState
+      val x              = UUID.randomUUID()
+      val methodCall = Api.MethodCall(
+        Api.MethodPointer("Main", "Main", "foo"),
+        Vector()
+      )
+
+      buffer.add(
+        update(x, "Integer").copy(methodCall = Some(methodCall)),
+        syncState,
+        hasMethodCall = true
+      )
+      buffer.add(
+        update(x, "Float").copy(typeChanged = false),
+        syncState,
+        hasMethodCall = false
+      )
+
+      buffer.flush()
+      updatesOf(sent.poll()) shouldEqual Set(
+        update(x, "Float").copy(methodCall = Some(methodCall))
+      )
+      syncState.isMethodPointerSync(x) shouldBe true
+    }
+
+    "send the updates once the size limit is reached" in {
+      val (buffer, sent) = newBuffer(3, 60000)
+      val syncState      = new UpdatesSynchronizationState
+      val ids            = Vector.fill(7)(UUID.randomUUID())
+
+      ids.foreach { id =>
+        buffer.add(update(id, "Integer"), syncState, hasMethodCall = true)
+      }
+      sent.size shouldEqual 2
+      updatesOf(sent.poll()).map(_.expressionId) shouldEqual ids.take(3).toSet
+      updatesOf(sent.poll()).map(_.expressionId) shouldEqual ids
+        .slice(3, 6)
+        .toSet
+      syncState.isMethodPointerSync(ids(5)) shouldBe true
+      syncState.isExpressionSync(ids(6)) shouldBe false
+
+      buffer.flush()
+      updatesOf(sent.poll()).map(_.expressionId) shouldEqual Set(ids(6))
+    }
+
+    "send the updates once the time limit is reached without further updates" in {
+      val (buffer, sent) = newBuffer(100, 50)
+      val syncState      = new UpdatesSynchronizationState
+      val x              = UUID.randomUUID()
+
+      buffer.add(update(x, "Integer"), syncState, hasMethodCall = false)
+      val response = sent.poll(10, TimeUnit.SECONDS)
+      response should not be null
+      updatesOf(response) shouldEqual Set(update(x, "Integer"))
+      syncState.isExpressionSync(x) shouldBe true
+
+      buffer.flush()
+      sent.poll(200, TimeUnit.MILLISECONDS) shouldBe null
+    }
+
+    "not send a time-triggered message after an explicit flush" in {
+      val (buffer, sent) = newBuffer(100, 50)
+      val syncState      = new UpdatesSynchronizationState
+
+      buffer.add(update(UUID.randomUUID(), "Integer"), syncState, false)
+      buffer.flush()
+      sent.size shouldEqual 1
+      sent.poll()
+      sent.poll(200, TimeUnit.MILLISECONDS) shouldBe null
+    }
+  }
+}
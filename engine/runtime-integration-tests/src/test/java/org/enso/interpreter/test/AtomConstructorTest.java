@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.List;
 import java.util.function.Function;
 import org.enso.common.MethodNames;
 import org.enso.interpreter.runtime.data.atom.Atom;
@@ -77,6 +78,35 @@ public class AtomConstructorTest {
     assertLessArguments("getUncached() with priming", uncachedFactory);
   }
 
+  @Test
+  public void wideAtomsUsePaddedUnboxedStorage() {
+    var code = """
+        type Wide
+            A a b c d e f
+        """;
+    var module = ctx.eval("enso", code);
+    var consA = module.invokeMember(MethodNames.Module.EVAL_EXPRESSION, "Wide.A");
+    var cons = (AtomConstructor) ContextUtils.unwrapValue(ctx, consA);
+    var node = AtomNewInstanceNode.create();
+    Function<Object[], Atom> createFactory = args -> node.newInstance(cons, args);
+    Function<Object[], Atom> uncachedFactory =
+        args -> AtomNewInstanceNode.getUncached().newInstance(cons, args);
+
+    for (var factory : List.of(createFactory, uncachedFactory)) {
+      var boxed = factory.apply(new Object[] {"a", "b", "c", "d", "e", "f"});
+      assertEquals("all texts", "BoxingAtom", boxed.getClass().getSimpleName());
+      assertValues("all texts", boxed, "a", "b", "c", "d", "e", "f");
+
+      var numbers = factory.apply(new Object[] {1L, 2.0, 3L, 4.0, 5L, 6.0});
+      assertEquals("all numbers", "Layout_Atom_8_0", numbers.getClass().getSimpleName());
+      assertValues("all numbers", numbers, 1L, 2.0, 3L, 4.0, 5L, 6.0);
+
+      var mixed = factory.apply(new Object[] {1L, "b", 3.0, "d", 5L, "f"});
+      assertEquals("mixed", "Layout_Atom_4_4", mixed.getClass().getSimpleName());
+      assertValues("mixed", mixed, 1L, "b", 3.0, "d", 5L, "f");
+    }
+  }
+
   private static void assertAtomFactory(String msg, Function<java.lang.Object[], Atom> factory) {
     var boxed = factory.apply(new Object[] {"a", "b", "c"});
     assertEquals(msg + " all texts", "BoxingAtom", boxed.getClass().getSimpleName());
@@ -0,0 +1,92 @@
+package org.enso.interpreter.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.enso.polyglot.RuntimeOptions;
+import org.enso.test.utils.ContextUtils;
+import org.graalvm.polyglot.Context;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DataflowErrorTraceTest {
+  private static Context ctx;
+  private static Context ctxWithTraces;
+
+  /** How many nested calls lead to the creation of the errors in the tested code. */
+  private static final int DEPTH = 10;
+
+  @BeforeClass
+  public static void prepareCtx() {
+    ctx =
+        ContextUtils.defaultContextBuilder()
+            .option(RuntimeOptions.CAPTURE_DATAFLOW_ERROR_TRACES, "false")
+            .build();
+    ctxWithTraces = ContextUtils.defaultContextBuilder().build();
+  }
+
+  @AfterClass
+  public static void disposeCtx() {
+    ctx.close();
+    ctxWithTraces.close();
+  }
+
+  private static final String INDEX_OUT_OF_BOUNDS =
+      """
+      from Standard.Base import all
+      import Standard.Base.Errors.Common.Index_Out_Of_Bounds
+
+      nested n = if n == 0 then [1, 2, 3] . at 10 else nested n-1
+
+      main =
+          r = nested %d
+          [r.catch Index_Out_Of_Bounds e-> e.index, r.stack_trace.length]
+      """
+          .formatted(DEPTH);
+
+  private static final String RECOVERED_PANIC =
+      """
+      from Standard.Base import all
+
+      nested n = if n == 0 then Panic.throw "foo" else nested n-1
+
+      main =
+          err = Panic.recover Any (nested %d)
+          [err.is_error, err.catch Any e-> e, err.stack_trace.length]
+      """
+          .formatted(DEPTH);
+
+  @Test
+  public void indexOutOfBoundsWithoutTrace() {
+    var res = ContextUtils.evalModule(ctx, INDEX_OUT_OF_BOUNDS);
+    assertEquals(10, res.getArrayElement(0).asInt());
+    assertEquals(
+        "Only the location of the error is recorded", 1, res.getArrayElement(1).asInt());
+  }
+
+  @Test
+  public void indexOutOfBoundsWithTrace() {
+    var res = ContextUtils.evalModule(ctxWithTraces, INDEX_OUT_OF_BOUNDS);
+    assertEquals(10, res.getArrayElement(0).asInt());
+    var length = res.getArrayElement(1).asInt();
+    assertTrue("The whole stack is recorded: " + length, length > DEPTH);
+  }
+
+  @Test
+  public void recoveredPanicWithoutTrace() {
+    var res = ContextUtils.evalModule(ctx, RECOVERED_PANIC);
+    assertTrue("Recovered value is an error", res.getArrayElement(0).asBoolean());
+    assertEquals("foo", res.getArrayElement(1).asString());
+    assertEquals(
+        "Only the location of the panic is recorded", 1, res.getArrayElement(2).asInt());
+  }
+
+  @Test
+  public void recoveredPanicWithTrace() {
+    var res = ContextUtils.evalModule(ctxWithTraces, RECOVERED_PANIC);
+    assertTrue("Recovered value is an error", res.getArrayElement(0).asBoolean());
+    var length = res.getArrayElement(2).asInt();
+    assertTrue("The whole stack is recorded: " + length, length > DEPTH);
+  }
+}
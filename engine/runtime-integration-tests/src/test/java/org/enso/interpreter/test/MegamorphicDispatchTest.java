@@ -0,0 +1,108 @@
+package org.enso.interpreter.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.enso.common.MethodNames;
+import org.enso.test.utils.ContextUtils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class MegamorphicDispatchTest {
+  private static Context ctx;
+
+  @BeforeClass
+  public static void prepareCtx() {
+    ctx = ContextUtils.createDefaultContext();
+  }
+
+  @AfterClass
+  public static void disposeCtx() {
+    ctx.close();
+  }
+
+  @Test
+  public void callSiteSeeingManyTypesUsesResolvedMethodTables() {
+    var types = new StringBuilder();
+    var values = new StringBuilder();
+    for (int i = 0; i < 16; i++) {
+      types.append("type T").append(i).append("\n");
+      types.append("    V").append(i).append("\n");
+      types.append("    value self = ").append(i).append("\n\n");
+      values.append(i == 0 ? "" : ", ").append("T").append(i).append(".V").append(i);
+    }
+    var code =
+        """
+        from Standard.Base import all
+
+        %s
+        sum_values vec = vec.fold 0 acc-> v-> acc + v.value
+
+        main =
+            vec = [%s]
+            0.up_to 10 . fold 0 acc-> _-> acc + sum_values vec
+        """
+            .formatted(types, values);
+    var statistics = ContextUtils.leakContext(ctx).getMethodDispatchStatistics();
+    var callSitesBefore = statistics.getMegamorphicCallSites();
+    var hitsBefore = statistics.getMegamorphicCacheHits();
+
+    var res = ContextUtils.evalModule(ctx, code);
+
+    assertEquals(10 * (15 * 16 / 2), res.asInt());
+    assertTrue(
+        "The value call site went megamorphic: " + statistics,
+        statistics.getMegamorphicCallSites() > callSitesBefore);
+    assertTrue(
+        "Repeated lookups are answered by the method tables: " + statistics,
+        statistics.getMegamorphicCacheHits() > hitsBefore);
+  }
+
+  @Test
+  public void redefinedMethodIsNotServedFromStaleTable() {
+    var sumValues =
+        ContextUtils.getMethodFromModule(
+            ctx,
+            """
+            from Standard.Base import all
+
+            sum_values vec = vec.fold 0 acc-> v-> acc + v.value
+            """,
+            "sum_values");
+    var typesModule = ctx.eval(Source.create("enso", typesWithValues(0)));
+    var statistics = ContextUtils.leakContext(ctx).getMethodDispatchStatistics();
+    var callSitesBefore = statistics.getMegamorphicCallSites();
+
+    var values = typesModule.invokeMember(MethodNames.Module.EVAL_EXPRESSION, "make_values");
+    assertEquals(15 * 16 / 2, sumValues.execute(values).asInt());
+    assertTrue(
+        "The value call site went megamorphic before the redefinition: " + statistics,
+        statistics.getMegamorphicCallSites() > callSitesBefore);
+
+    typesModule.invokeMember(MethodNames.Module.SET_SOURCE, typesWithValues(100));
+    var redefined = typesModule.invokeMember(MethodNames.Module.EVAL_EXPRESSION, "make_values");
+    assertEquals(16 * 100 + 15 * 16 / 2, sumValues.execute(redefined).asInt());
+  }
+
+  /** Defines more types with a {@code value} method than the inline cache of a call site holds. */
+  private static String typesWithValues(int offset) {
+    var types = new StringBuilder();
+    var values = new StringBuilder();
+    for (int i = 0; i < 16; i++) {
+      types.append("type T").append(i).append("\n");
+      types.append("    V").append(i).append("\n");
+      types.append("    value self = ").append(offset + i).append("\n\n");
+      values.append(i == 0 ? "" : ", ").append("T").append(i).append(".V").append(i);
+    }
+    return """
+        from Standard.Base import all
+
+        %s
+        make_values = [%s]
+        """
+        .formatted(types, values);
+  }
+}
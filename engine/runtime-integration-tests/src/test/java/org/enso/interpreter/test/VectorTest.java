@@ -151,6 +151,45 @@ public class VectorTest {
     assertEquals("Hundred elements", 100, hundred.asInt());
   }
 
+  @Test
+  public void mappedBooleansAndTextsUseCompactStorage() throws Exception {
+    var res =
+        ContextUtils.evalModule(
+            ctx,
+            """
+    from Standard.Base import all
+
+    main =
+        bools = 0.up_to 100 . to_vector . map (i-> i % 3 == 0)
+        texts = ["a", "b", "c"].map (_ + "!")
+        mixed = [True, "a"].map x-> x
+        [bools, texts, mixed]
+    """);
+
+    var bools = res.getArrayElement(0);
+    assertEquals(100, bools.getArraySize());
+    for (var i = 0; i < 100; i++) {
+      assertEquals("Element " + i, i % 3 == 0, bools.getArrayElement(i).asBoolean());
+    }
+    assertStorage("Vector$BitPackedBooleans", bools);
+
+    var texts = res.getArrayElement(1);
+    assertEquals(3, texts.getArraySize());
+    assertEquals("b!", texts.getArrayElement(1).asString());
+    assertStorage("Vector$CompactTexts", texts);
+
+    var mixed = res.getArrayElement(2);
+    assertTrue(mixed.getArrayElement(0).asBoolean());
+    assertEquals("a", mixed.getArrayElement(1).asString());
+    assertStorage("Vector$EnsoOnly", mixed);
+  }
+
+  private static void assertStorage(String expectedSuffix, Value vector) {
+    var raw = ContextUtils.unwrapValue(ctx, vector);
+    var name = raw.getClass().getName();
+    assertTrue("Expecting " + expectedSuffix + " but got " + name, name.endsWith(expectedSuffix));
+  }
+
   private static final BitSet QUERIED = new BitSet();
 
   public static List<String> lazyList() {
@@ -3,6 +3,7 @@ package org.enso.interpreter.test;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -72,6 +73,20 @@ public class WarningsTest {
         new Object[] {warn1, warn2}, with2.getWarningsArray(WarningsLibrary.getUncached(), false));
   }
 
+  @Test
+  public void appendingPresentWarningsSharesTheValue() {
+    var warn1 = Warning.create(ensoContext, "w1", this);
+    var warn2 = Warning.create(ensoContext, "w2", this);
+
+    var with = WithWarnings.wrap(ensoContext, 42L, warn1, warn2);
+    var again = WithWarnings.wrap(ensoContext, with, warn2, warn1, warn1);
+
+    assertSame("No new wrapper for already attached warnings", with, again);
+    assertEquals(2, again.getWarningsCount());
+    Assert.assertArrayEquals(
+        new Object[] {warn1, warn2}, again.getWarningsArray(WarningsLibrary.getUncached(), false));
+  }
+
   @Test
   public void wrapAndUnwrap() {
     var value = 42;
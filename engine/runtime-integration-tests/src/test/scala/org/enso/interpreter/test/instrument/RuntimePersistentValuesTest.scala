@@ -0,0 +1,207 @@
+package org.enso.interpreter.test.instrument
+
+import org.apache.commons.io.FileUtils
+import org.enso.interpreter.test.Metadata
+import org.enso.common.LanguageInfo
+import org.enso.pkg.{Package, PackageManager}
+import org.enso.polyglot.RuntimeOptions
+import org.enso.polyglot.RuntimeServerInfo
+import org.enso.polyglot.runtime.Runtime.Api
+import org.graalvm.polyglot.Context
+import org.scalatest.BeforeAndAfterEach
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.io.{ByteArrayOutputStream, File}
+import java.nio.file.{Files, Path, Paths}
+import java.util.UUID
+
+@scala.annotation.nowarn("msg=multiarg infix syntax")
+class RuntimePersistentValuesTest
+    extends AnyFlatSpec
+    with Matchers
+    with BeforeAndAfterEach {
+
+  // === Test Utilities =======================================================
+
+  var projectDir: Path = _
+
+  /** A runtime server of the project shared by all the runs of a test, so
+    * that the values persisted by one run can be restored by the next one.
+    */
+  class TestContext(root: File) extends InstrumentTestContext("Test") {
+    override val pkg: Package[File] =
+      PackageManager.Default.fromDirectory(root).get
+
+    val out: ByteArrayOutputStream = new ByteArrayOutputStream()
+    val context =
+      Context
+        .newBuilder(LanguageInfo.ID)
+        .allowExperimentalOptions(true)
+        .allowAllAccess(true)
+        .option(RuntimeOptions.PROJECT_ROOT, pkg.root.getAbsolutePath)
+        .option(
+          RuntimeOptions.LOG_LEVEL,
+          java.util.logging.Level.WARNING.getName
+        )
+        .option(RuntimeOptions.INTERPRETER_SEQUENTIAL_COMMAND_EXECUTION, "true")
+        .option(RuntimeOptions.ENABLE_PROJECT_SUGGESTIONS, "false")
+        .option(RuntimeOptions.ENABLE_GLOBAL_SUGGESTIONS, "false")
+        .option(RuntimeOptions.ENABLE_EXECUTION_TIMER, "false")
+        .option(
+          RuntimeOptions.DISABLE_IR_CACHES,
+          InstrumentTestContext.DISABLE_IR_CACHE
+        )
+        .option(RuntimeOptions.PERSISTENT_VALUE_CACHE_SIZE, "1000000")
+        .option(RuntimeServerInfo.ENABLE_OPTION, "true")
+        .option(RuntimeOptions.INTERACTIVE_MODE, "true")
+        .option(
+          RuntimeOptions.LANGUAGE_HOME_OVERRIDE,
+          Paths
+            .get("../../test/micro-distribution/component")
+            .toFile
+            .getAbsolutePath
+        )
+        .option(RuntimeOptions.EDITION_OVERRIDE, "0.0.0-dev")
+        .logHandler(System.err)
+        .out(out)
+        .serverTransport(runtimeServerEmulator.makeServerTransport)
+        .build()
+
+    def send(msg: Api.Request): Unit = runtimeServerEmulator.sendToRuntime(msg)
+
+    def consumeOut: List[String] = {
+      val result = out.toString
+      out.reset()
+      result.linesIterator.toList
+    }
+
+    def executionComplete(contextId: UUID): Api.Response =
+      Api.Response(Api.ExecutionComplete(contextId))
+  }
+
+  override protected def beforeEach(): Unit = {
+    projectDir = Files.createTempDirectory("enso-persistent-values")
+    PackageManager.Default.create(projectDir.toFile, "Test", "Enso_Test")
+  }
+
+  override protected def afterEach(): Unit = {
+    FileUtils.deleteQuietly(projectDir.toFile)
+  }
+
+  /** Starts a runtime server of the project, executes the main method and
+    * shuts the server down, which waits for the values to be persisted.
+    *
+    * @param contents the contents of the main module
+    * @return the standard output of the execution
+    */
+  def run(contents: String): List[String] = {
+    val context = new TestContext(projectDir.toFile)
+    try {
+      context.init()
+      val Some(Api.Response(_, Api.InitializedNotification())) =
+        context.receive
+      val contextId  = UUID.randomUUID()
+      val requestId  = UUID.randomUUID()
+      val moduleName = "Enso_Test.Test.Main"
+      val mainFile   = context.pkg.mainFile
+
+      context.send(Api.Request(requestId, Api.CreateContextRequest(contextId)))
+      context.receive shouldEqual Some(
+        Api.Response(requestId, Api.CreateContextResponse(contextId))
+      )
+      context.send(
+        Api.Request(requestId, Api.OpenFileRequest(mainFile, contents))
+      )
+      context.receive shouldEqual Some(
+        Api.Response(Some(requestId), Api.OpenFileResponse)
+      )
+      context.send(
+        Api.Request(
+          requestId,
+          Api.PushContextRequest(
+            contextId,
+            Api.StackItem.ExplicitCall(
+              Api.MethodPointer(moduleName, moduleName, "main"),
+              None,
+              Vector()
+            )
+          )
+        )
+      )
+      val responses = Iterator
+        .continually(context.receive)
+        .takeWhile(_.isDefined)
+        .flatten
+        .takeWhile(_ != context.executionComplete(contextId))
+        .toList
+      responses should contain(
+        Api.Response(requestId, Api.PushContextResponse(contextId))
+      )
+      context.consumeOut
+    } finally {
+      context.close()
+    }
+  }
+
+  /** A main module computing a value from the given expression, reporting
+    * every time the value is computed.
+    *
+    * @param imports the imports of the module
+    * @param expression the expression computing the value
+    * @return the contents of the main module
+    */
+  def mainComputing(imports: String, expression: String): String = {
+    val metadata = new Metadata
+    val code =
+      s"""from Standard.Base import all
+         |$imports
+         |
+         |compute =
+         |    IO.println "Computing"
+         |    $expression
+         |
+         |main =
+         |    x = compute
+         |    IO.println x
+         |""".stripMargin.linesIterator.mkString("\n")
+    metadata.addItem(code.indexOf("x = compute") + 4, 7)
+    metadata.appendToCode(code)
+  }
+
+  // === The Tests ==========================================================
+
+  "Persistent values" should "be recomputed when a file they read changes" in {
+    val dataFile = projectDir.resolve("data.txt")
+    Files.writeString(dataFile, "abc")
+    val path = dataFile.toAbsolutePath.toString.replace("\\", "\\\\")
+    val contents = mainComputing(
+      "import Standard.Base.System.File",
+      s"""(File.get_file "$path").size_builtin"""
+    )
+
+    run(contents) shouldEqual List("Computing", "3")
+    run(contents) shouldEqual List("3")
+
+    Files.writeString(dataFile, "abcdef")
+    run(contents) shouldEqual List("Computing", "6")
+    run(contents) shouldEqual List("6")
+  }
+
+  it should "not persist values read from inputs that cannot be tracked" in {
+    val contents = mainComputing(
+      "polyglot java import java.util.UUID",
+      "UUID.randomUUID.toString.length"
+    )
+
+    run(contents) shouldEqual List("Computing", "36")
+    run(contents) shouldEqual List("Computing", "36")
+  }
+
+  it should "persist values computed from the sources only" in {
+    val contents = mainComputing("", "6 * 7")
+
+    run(contents) shouldEqual List("Computing", "42")
+    run(contents) shouldEqual List("42")
+  }
+}
@@ -22,8 +22,11 @@ class RuntimeVisualizationsTest extends AnyFlatSpec with Matchers {
 
   // === Test Utilities =======================================================
 
-  class TestContext(packageName: String, sequentialExecution: Boolean)
-      extends InstrumentTestContext(packageName) {
+  class TestContext(
+    packageName: String,
+    sequentialExecution: Boolean,
+    deduplicateVisualizationUpdates: Boolean
+  ) extends InstrumentTestContext(packageName) {
 
     val out: ByteArrayOutputStream = new ByteArrayOutputStream()
     val context =
@@ -44,6 +47,10 @@ class RuntimeVisualizationsTest extends AnyFlatSpec with Matchers {
         .option(RuntimeOptions.ENABLE_PROJECT_SUGGESTIONS, "false")
         .option(RuntimeOptions.ENABLE_GLOBAL_SUGGESTIONS, "false")
         .option(RuntimeOptions.ENABLE_EXECUTION_TIMER, "false")
+        .option(
+          RuntimeOptions.DEDUPLICATE_VISUALIZATION_UPDATES,
+          deduplicateVisualizationUpdates.toString
+        )
         .option(RuntimeServerInfo.ENABLE_OPTION, "true")
         .option(RuntimeOptions.INTERACTIVE_MODE, "true")
         .option(
@@ -303,9 +310,14 @@ class RuntimeVisualizationsTest extends AnyFlatSpec with Matchers {
   }
 
   def withContext(
-    sequentialExecution: Boolean = true
+    sequentialExecution: Boolean             = true,
+    deduplicateVisualizationUpdates: Boolean = false
   )(f: TestContext => Unit): Unit = {
-    val context = new TestContext("Test", sequentialExecution)
+    val context = new TestContext(
+      "Test",
+      sequentialExecution,
+      deduplicateVisualizationUpdates
+    )
     try {
       context.init()
       val Some(Api.Response(_, Api.InitializedNotification())) = context.receive
@@ -596,6 +608,162 @@ class RuntimeVisualizationsTest extends AnyFlatSpec with Matchers {
       data2.sameElements("6".getBytes) shouldBe true
   }
 
+  it should "not emit unchanged visualization update when deduplication is enabled" in withContext(
+    deduplicateVisualizationUpdates = true
+  ) { context =>
+    val contents   = context.Main.code
+    val mainFile   = context.writeMain(contents)
+    val moduleName = "Enso_Test.Test.Main"
+    val visualizationFile =
+      context.writeInSrcDir("Visualization", context.Visualization.code)
+
+    val contextId       = UUID.randomUUID()
+    val requestId       = UUID.randomUUID()
+    val visualizationId = UUID.randomUUID()
+
+    // open files
+    context.send(
+      Api.Request(
+        requestId,
+        Api.OpenFileRequest(
+          visualizationFile,
+          context.Visualization.code
+        )
+      )
+    )
+    context.receive shouldEqual Some(
+      Api.Response(Some(requestId), Api.OpenFileResponse)
+    )
+    context.send(
+      Api.Request(requestId, Api.OpenFileRequest(mainFile, contents))
+    )
+    context.receive shouldEqual Some(
+      Api.Response(Some(requestId), Api.OpenFileResponse)
+    )
+
+    // create context
+    context.send(Api.Request(requestId, Api.CreateContextRequest(contextId)))
+    context.receive shouldEqual Some(
+      Api.Response(requestId, Api.CreateContextResponse(contextId))
+    )
+
+    // push main
+    val item1 = Api.StackItem.ExplicitCall(
+      Api.MethodPointer(moduleName, "Enso_Test.Test.Main", "main"),
+      None,
+      Vector()
+    )
+    context.send(
+      Api.Request(requestId, Api.PushContextRequest(contextId, item1))
+    )
+    context.receiveNIgnorePendingExpressionUpdates(
+      5
+    ) should contain theSameElementsAs Seq(
+      Api.Response(requestId, Api.PushContextResponse(contextId)),
+      context.Main.Update.mainX(contextId),
+      context.Main.Update.mainY(contextId),
+      context.Main.Update.mainZ(contextId),
+      context.executionComplete(contextId)
+    )
+
+    // attach visualization
+    context.send(
+      Api.Request(
+        requestId,
+        Api.AttachVisualization(
+          visualizationId,
+          context.Main.idMainX,
+          Api.VisualizationConfiguration(
+            contextId,
+            Api.VisualizationExpression.Text(
+              "Enso_Test.Test.Visualization",
+              "x -> encode x",
+              Vector()
+            ),
+            "Enso_Test.Test.Visualization"
+          )
+        )
+      )
+    )
+    val attachVisualizationResponses = context.receiveN(2)
+    attachVisualizationResponses should contain(
+      Api.Response(requestId, Api.VisualizationAttached())
+    )
+    val expectedExpressionId = context.Main.idMainX
+    val Some(data) = attachVisualizationResponses.collectFirst {
+      case Api.Response(
+            None,
+            Api.VisualizationUpdate(
+              Api.VisualizationContext(
+                `visualizationId`,
+                `contextId`,
+                `expectedExpressionId`
+              ),
+              data
+            )
+          ) =>
+        data
+    }
+    data.sameElements("6".getBytes) shouldBe true
+
+    // recompute invalidating x, the visualization result stays the same
+    context.send(
+      Api.Request(
+        requestId,
+        Api.RecomputeContextRequest(
+          contextId,
+          Some(
+            Api.InvalidatedExpressions.Expressions(
+              Vector(context.Main.idMainX)
+            )
+          ),
+          None
+        )
+      )
+    )
+    val recomputeResponses = context.receiveNIgnoreExpressionUpdates(2)
+    recomputeResponses should contain theSameElementsAs Seq(
+      Api.Response(requestId, Api.RecomputeContextResponse(contextId)),
+      context.executionComplete(contextId)
+    )
+
+    // modify the file, the visualization result changes
+    context.send(
+      Api.Request(
+        Api.EditFileNotification(
+          mainFile,
+          Seq(
+            TextEdit(
+              model.Range(model.Position(4, 8), model.Position(4, 9)),
+              "5"
+            )
+          ),
+          execute = true,
+          idMap   = None
+        )
+      )
+    )
+    val editFileResponses = context.receiveNIgnoreExpressionUpdates(2)
+    editFileResponses should contain(
+      context.executionComplete(contextId)
+    )
+    val Some(data1) = editFileResponses.collectFirst {
+      case Api.Response(
+            None,
+            Api.VisualizationUpdate(
+              Api.VisualizationContext(
+                `visualizationId`,
+                `contextId`,
+                `expectedExpressionId`
+              ),
+              data
+            )
+          ) =>
+        data
+    }
+    data1.sameElements("5".getBytes) shouldBe true
+  }
+
   it should "emit visualization update when expression is modified" in withContext() {
     context =>
       val contents   = context.Main.code
@@ -80,6 +80,9 @@ public abstract class InvokeMethodNode extends BaseNode {
   private final int thisArgumentPosition;
   private final boolean onBoundary;
 
+  /** Whether this call site has switched to the megamorphic dispatch. */
+  private @CompilerDirectives.CompilationFinal boolean megamorphic;
+
   /**
    * Creates a new node for method invocation.
    *
@@ -183,6 +186,30 @@ public abstract class InvokeMethodNode extends BaseNode {
     return function;
   }
 
+  /**
+   * Resolves a method for a megamorphic call site. The result is looked up in, and remembered by,
+   * the resolved-method table of the receiver type, so that a call site seeing many types does not
+   * walk the type hierarchy and the scopes on every call.
+   */
+  @CompilerDirectives.TruffleBoundary
+  private Function resolveMegamorphicFunction(
+      UnresolvedSymbol symbol, Type selfTpe, MethodResolverNode methodResolverNode) {
+    var ctx = EnsoContext.get(this);
+    var statistics = ctx.getMethodDispatchStatistics();
+    var version = ctx.getMethodsVersion();
+    var function = selfTpe.getResolvedMethod(version, symbol.getScope(), symbol.getName());
+    if (function != null) {
+      statistics.recordMegamorphicLookup(true);
+      return function;
+    }
+    statistics.recordMegamorphicLookup(false);
+    function = resolveFunction(symbol, selfTpe, methodResolverNode);
+    if (function != null) {
+      selfTpe.cacheResolvedMethod(version, symbol.getScope(), symbol.getName(), function);
+    }
+    return function;
+  }
+
   private boolean typeCanOverride(MethodRootNode node, EnsoContext ctx) {
     Type methodOwnerType = node.getType();
     Builtins builtins = ctx.getBuiltins();
@@ -207,8 +234,13 @@ public abstract class InvokeMethodNode extends BaseNode {
       Object[] arguments,
       @Shared("types") @CachedLibrary(limit = "10") TypesLibrary typesLibrary,
       @Shared("methodResolverNode") @Cached MethodResolverNode methodResolverNode) {
+    if (!megamorphic) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      megamorphic = true;
+      EnsoContext.get(this).getMethodDispatchStatistics().recordMegamorphicCallSite();
+    }
     Type selfTpe = typesLibrary.getType(self);
-    Function function = resolveFunction(symbol, selfTpe, methodResolverNode);
+    Function function = resolveMegamorphicFunction(symbol, selfTpe, methodResolverNode);
     if (function == null) {
       var ctx = EnsoContext.get(this);
       var imported =
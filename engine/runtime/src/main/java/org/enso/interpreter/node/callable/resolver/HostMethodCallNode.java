@@ -219,6 +219,7 @@ public abstract class HostMethodCallNode extends Node {
       @Shared("interop") @CachedLibrary(limit = "LIB_LIMIT") InteropLibrary members,
       @Shared("hostValueToEnsoNode") @Cached HostValueToEnsoNode hostValueToEnsoNode) {
     var ctx = EnsoContext.get(this);
+    ctx.notifyHostCall(self, symbol);
     try {
       return hostValueToEnsoNode.execute(members.invokeMember(self, symbol, args));
     } catch (UnsupportedMessageException | UnknownIdentifierException e) {
@@ -254,6 +255,7 @@ public abstract class HostMethodCallNode extends Node {
       throw new PanicException(
           EnsoContext.get(this).getBuiltins().error().makeArityError(0, 0, args.length), this);
     }
+    EnsoContext.get(this).notifyHostCall(self, symbol);
     try {
       return hostValueToEnsoNode.execute(members.readMember(self, symbol));
     } catch (UnsupportedMessageException | UnknownIdentifierException e) {
@@ -269,6 +271,7 @@ public abstract class HostMethodCallNode extends Node {
       Object[] args,
       @Shared("interop") @CachedLibrary(limit = "LIB_LIMIT") InteropLibrary instances,
       @Shared("hostValueToEnsoNode") @Cached HostValueToEnsoNode hostValueToEnsoNode) {
+    EnsoContext.get(this).notifyHostCall(self, symbol);
     try {
       return hostValueToEnsoNode.execute(instances.instantiate(self, args));
     } catch (UnsupportedMessageException e) {
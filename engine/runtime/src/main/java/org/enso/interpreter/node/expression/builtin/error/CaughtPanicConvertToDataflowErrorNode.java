@@ -35,7 +35,10 @@ public abstract class CaughtPanicConvertToDataflowErrorNode extends Node {
     var payload = structs.getField(self, 0);
     var originalException = structs.getField(self, 1);
     if (interopLibrary.isException(originalException)) {
-      return DataflowError.withTrace(payload, (AbstractTruffleException) originalException);
+      return DataflowError.withTrace(
+          payload,
+          (AbstractTruffleException) originalException,
+          EnsoContext.get(this).isCaptureDataflowErrorTraces());
     } else {
       throw new PanicException(
           builtins
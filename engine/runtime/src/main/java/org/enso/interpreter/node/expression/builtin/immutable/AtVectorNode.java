@@ -26,7 +26,11 @@ public class AtVectorNode extends Node {
       var len = len(arrayLike);
       var ctx = EnsoContext.get(this);
       var payload = ctx.getBuiltins().error().makeIndexOutOfBounds(index, len);
-      return DataflowError.withTrace(payload, new PanicException(payload, this));
+      if (ctx.isCaptureDataflowErrorTraces()) {
+        return DataflowError.withTrace(payload, new PanicException(payload, this));
+      } else {
+        return DataflowError.withoutTrace(payload, this);
+      }
     }
   }
 
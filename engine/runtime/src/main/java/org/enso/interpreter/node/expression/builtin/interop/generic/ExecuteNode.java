@@ -34,6 +34,7 @@ public abstract class ExecuteNode extends Node {
   @Specialization
   Object doExecute(
       Object callable, Object arguments, @Cached("build()") ArrayLikeCoerceToArrayNode coerce) {
+    EnsoContext.get(this).notifyHostCall(callable, "execute");
     try {
       return hostValueToEnsoNode.execute(library.execute(callable, coerce.execute(arguments)));
     } catch (UnsupportedMessageException | ArityException | UnsupportedTypeException e) {
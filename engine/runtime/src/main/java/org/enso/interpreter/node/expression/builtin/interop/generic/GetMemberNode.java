@@ -24,8 +24,10 @@ public class GetMemberNode extends Node {
   private final BranchProfile err = BranchProfile.create();
 
   Object execute(Object object, Object member_name) {
+    var symbol = expectStringNode.execute(member_name);
+    EnsoContext.get(this).notifyHostCall(object, symbol);
     try {
-      var value = library.readMember(object, expectStringNode.execute(member_name));
+      var value = library.readMember(object, symbol);
       return fromHost.execute(value);
     } catch (UnsupportedMessageException | UnknownIdentifierException e) {
       err.enter();
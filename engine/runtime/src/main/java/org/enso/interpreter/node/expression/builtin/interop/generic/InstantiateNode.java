@@ -34,6 +34,7 @@ public abstract class InstantiateNode extends Node {
   @Specialization
   Object doExecute(
       Object constructor, Object arguments, @Cached("build()") ArrayLikeCoerceToArrayNode coerce) {
+    EnsoContext.get(this).notifyHostCall(constructor, "new");
     try {
       var value = library.instantiate(constructor, coerce.execute(arguments));
       return fromHost.execute(value);
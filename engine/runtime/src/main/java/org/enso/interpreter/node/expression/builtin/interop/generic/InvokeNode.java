@@ -38,9 +38,10 @@ public abstract class InvokeNode extends Node {
       Object name,
       Object arguments,
       @Cached("build()") ArrayLikeCoerceToArrayNode coerce) {
+    var symbol = expectStringNode.execute(name);
+    EnsoContext.get(this).notifyHostCall(target, symbol);
     try {
-      return library.invokeMember(
-          target, expectStringNode.execute(name), coerce.execute(arguments));
+      return library.invokeMember(target, symbol, coerce.execute(arguments));
     } catch (UnsupportedMessageException
         | ArityException
         | UnsupportedTypeException
@@ -23,10 +23,11 @@ public abstract class ReadlnNode extends Node {
   @Specialization
   @TruffleBoundary
   Text doRead() {
+    var ctx = EnsoContext.get(this);
+    ctx.notifyVolatileRead();
     try {
-      return Text.create(EnsoContext.get(this).getInReader().readLine());
+      return Text.create(ctx.getInReader().readLine());
     } catch (IOException e) {
-      var ctx = EnsoContext.get(this);
       throw ctx.raiseAssertionPanic(this, null, e);
     }
   }
@@ -99,11 +99,16 @@ public final class EnsoContext {
   private final DistributionManager distributionManager;
   private final LockManager lockManager;
   private final AtomicLong clock = new AtomicLong();
+  private final MethodDispatchStatistics methodDispatchStatistics = new MethodDispatchStatistics();
+  private final AtomicLong methodsVersion = new AtomicLong();
+  private volatile ExternalInputObserver externalInputObserver;
+  private ExecutorService parallelExecutor;
 
   private final Shape rootStateShape = Shape.newBuilder().layout(State.Container.class).build();
   private ExecutionEnvironment executionEnvironment;
 
   private final int warningsLimit;
+  private final boolean captureDataflowErrorTraces;
 
   /**
    * Creates a new Enso context.
@@ -155,6 +160,7 @@ public final class EnsoContext {
     this.lockManager = lockManager;
     this.distributionManager = distributionManager;
     this.warningsLimit = getOption(RuntimeOptions.WARNINGS_LIMIT_KEY);
+    this.captureDataflowErrorTraces = getOption(RuntimeOptions.CAPTURE_DATAFLOW_ERROR_TRACES_KEY);
   }
 
   /** Perform expensive initialization logic for the context. */
@@ -260,6 +266,9 @@ public final class EnsoContext {
     threadManager.shutdown();
     resourceManager.shutdown();
     compiler.shutdown(shouldWaitForPendingSerializationJobs);
+    if (methodDispatchStatistics.getMegamorphicCallSites() > 0) {
+      logger.log(Level.FINE, "{0}", methodDispatchStatistics);
+    }
   }
 
   private boolean shouldAssertionsBeEnabled() {
@@ -717,6 +726,36 @@ public final class EnsoContext {
     return getOption(RuntimeOptions.ENABLE_GLOBAL_SUGGESTIONS_KEY);
   }
 
+  /**
+   * Checks value of {@link RuntimeOptions#DEDUPLICATE_VISUALIZATION_UPDATES_KEY}.
+   *
+   * @return the value of the option
+   */
+  public boolean isVisualizationUpdatesDeduplication() {
+    return getOption(RuntimeOptions.DEDUPLICATE_VISUALIZATION_UPDATES_KEY);
+  }
+
+  /** The maximal number of expression updates sent in a single message, at least 1. */
+  public int getExpressionUpdatesBatchSize() {
+    var n = getOption(RuntimeOptions.EXPRESSION_UPDATES_BATCH_SIZE_KEY);
+    return n == null || n < 1 ? 1 : n;
+  }
+
+  /** The memory budget of the runtime cache in bytes, or 0 if the budget is disabled. */
+  public long getRuntimeCacheMemoryBudget() {
+    var n = getOption(RuntimeOptions.RUNTIME_CACHE_MEMORY_BUDGET_KEY);
+    return n == null || n < 0 ? 0 : n * 1024L * 1024L;
+  }
+
+  /**
+   * The maximal size in bytes of the persisted values of a module, or 0 if the persistent value
+   * cache is disabled.
+   */
+  public long getPersistentValueCacheSize() {
+    var n = getOption(RuntimeOptions.PERSISTENT_VALUE_CACHE_SIZE_KEY);
+    return n == null || n < 0 ? 0 : n * 1024L * 1024L;
+  }
+
   /** The job parallelism or 1 */
   public int getJobParallelism() {
     var n = getOption(RuntimeOptions.JOB_PARALLELISM_KEY);
@@ -748,6 +787,36 @@ public final class EnsoContext {
     return threadExecutors.newFixedThreadPool(parallel, name, systemThreads);
   }
 
+  /**
+   * Returns the number of threads used to evaluate pure functions in parallel. It is the value of
+   * the {@link RuntimeOptions#JOB_PARALLELISM job parallelism} option when the option is set, and
+   * the number of available processors otherwise.
+   *
+   * @return the number of threads used to evaluate pure functions in parallel
+   */
+  public int getParallelism() {
+    if (environment.getOptions().hasBeenSet(RuntimeOptions.JOB_PARALLELISM_KEY)) {
+      var n = getOption(RuntimeOptions.JOB_PARALLELISM_KEY);
+      return n == null || n < 1 ? 1 : n;
+    }
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Returns the pool of threads used to evaluate pure functions in parallel, for example by {@code
+   * Vector.map_parallel}. The pool is created on first use and shut down with the context.
+   *
+   * @return the executor running parallel evaluations
+   */
+  public synchronized ExecutorService getParallelExecutor() {
+    if (parallelExecutor == null) {
+      parallelExecutor =
+          threadExecutors.newFixedThreadPool(
+              Math.max(1, getParallelism() - 1), "enso-parallel", false);
+    }
+    return parallelExecutor;
+  }
+
   /**
    * @return the thread manager for this context.
    */
@@ -831,6 +900,90 @@ public final class EnsoContext {
     return clock.getAndIncrement();
   }
 
+  /**
+   * @return the statistics of method dispatch in this context
+   */
+  public MethodDispatchStatistics getMethodDispatchStatistics() {
+    return methodDispatchStatistics;
+  }
+
+  /**
+   * Returns the current version of method definitions in this context. Methods resolved for an
+   * older version may no longer be valid.
+   *
+   * @return the current version of method definitions
+   */
+  public long getMethodsVersion() {
+    return methodsVersion.get();
+  }
+
+  /**
+   * Changes the version of method definitions, invalidating all methods resolved in this context.
+   * Called whenever a method is registered, an import or export is added or a module scope is
+   * rebuilt.
+   */
+  public void invalidateResolvedMethods() {
+    methodsVersion.incrementAndGet();
+  }
+
+  /**
+   * Sets the observer of the external inputs read by the running program.
+   *
+   * @param observer the new observer, or {@code null} to stop observing
+   * @return the previously set observer
+   */
+  public ExternalInputObserver setExternalInputObserver(ExternalInputObserver observer) {
+    var previous = externalInputObserver;
+    externalInputObserver = observer;
+    return previous;
+  }
+
+  /**
+   * Notifies the external input observer that a file is being read.
+   *
+   * @param file the file being read
+   */
+  @TruffleBoundary
+  public void notifyFileRead(TruffleFile file) {
+    var observer = externalInputObserver;
+    if (observer != null) {
+      observer.onFileRead(file);
+    }
+  }
+
+  /** Notifies the external input observer that a value differing between runs is being read. */
+  @TruffleBoundary
+  public void notifyVolatileRead() {
+    var observer = externalInputObserver;
+    if (observer != null) {
+      observer.onVolatileRead();
+    }
+  }
+
+  /**
+   * Notifies the external input observer that a host object is being called.
+   *
+   * <p>Calls that may read inputs which cannot be tracked, like the network, a database,
+   * environment variables or random numbers, are reported as reads of values differing between
+   * runs.
+   *
+   * @param receiver the receiver of the call
+   * @param symbol the name of the called method, read field or instantiated class
+   */
+  public void notifyHostCall(Object receiver, String symbol) {
+    if (externalInputObserver != null) {
+      notifyUntrackedHostCall(receiver, symbol);
+    }
+  }
+
+  @TruffleBoundary
+  private void notifyUntrackedHostCall(Object receiver, String symbol) {
+    var observer = externalInputObserver;
+    if (observer != null && !TrackedHostCalls.isTracked(this, receiver, symbol)) {
+      observer.onVolatileRead();
+    }
+  }
+
   public ExecutionEnvironment getExecutionEnvironment() {
     return executionEnvironment;
   }
@@ -845,6 +998,14 @@ public final class EnsoContext {
     return this.warningsLimit;
   }
 
+  /**
+   * Checks whether dataflow errors derived from panics capture the whole stack trace, see {@link
+   * RuntimeOptions#CAPTURE_DATAFLOW_ERROR_TRACES_KEY}.
+   */
+  public boolean isCaptureDataflowErrorTraces() {
+    return this.captureDataflowErrorTraces;
+  }
+
   public Shape getRootStateShape() {
     return rootStateShape;
   }
@@ -0,0 +1,26 @@
+package org.enso.interpreter.runtime;
+
+import com.oracle.truffle.api.TruffleFile;
+
+/**
+ * Observes the inputs of a running program that do not come from its sources.
+ *
+ * <p>The builtins reading files or the current time, and the calls to host objects that may read
+ * anything else, report those reads to the observer registered in the {@link EnsoContext}, so that
+ * values depending on them are not assumed to be reproducible from the sources alone.
+ */
+public interface ExternalInputObserver {
+
+  /**
+   * Called when a file, or the listing of a directory, is read.
+   *
+   * @param file the file being read
+   */
+  void onFileRead(TruffleFile file);
+
+  /**
+   * Called when a value that differs between runs, like the current time, or an input whose changes
+   * cannot be tracked, like a network resource or a database, is read.
+   */
+  void onVolatileRead();
+}
@@ -0,0 +1,67 @@
+package org.enso.interpreter.runtime;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how method call sites of a context are dispatched.
+ *
+ * <p>A call site becomes megamorphic once it has seen more receiver types than its inline cache
+ * can hold. From then on every call is resolved through the per-type method tables, and the
+ * counters record how often those tables could answer the lookup.
+ */
+public final class MethodDispatchStatistics {
+  private final LongAdder megamorphicCallSites = new LongAdder();
+  private final LongAdder megamorphicLookups = new LongAdder();
+  private final LongAdder megamorphicCacheHits = new LongAdder();
+
+  MethodDispatchStatistics() {}
+
+  /** Records a call site that has switched to the megamorphic dispatch. */
+  public void recordMegamorphicCallSite() {
+    megamorphicCallSites.increment();
+  }
+
+  /**
+   * Records a method lookup performed by a megamorphic call site.
+   *
+   * @param cacheHit whether the lookup was answered by the per-type method table
+   */
+  public void recordMegamorphicLookup(boolean cacheHit) {
+    megamorphicLookups.increment();
+    if (cacheHit) {
+      megamorphicCacheHits.increment();
+    }
+  }
+
+  /**
+   * @return the number of call sites that switched to the megamorphic dispatch
+   */
+  public long getMegamorphicCallSites() {
+    return megamorphicCallSites.sum();
+  }
+
+  /**
+   * @return the number of method lookups performed by megamorphic call sites
+   */
+  public long getMegamorphicLookups() {
+    return megamorphicLookups.sum();
+  }
+
+  /**
+   * @return the number of megamorphic lookups answered by the per-type method tables
+   */
+  public long getMegamorphicCacheHits() {
+    return megamorphicCacheHits.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "MethodDispatchStatistics[megamorphicCallSites="
+        + getMegamorphicCallSites()
+        + ", megamorphicLookups="
+        + getMegamorphicLookups()
+        + ", megamorphicCacheHits="
+        + getMegamorphicCacheHits()
+        + "]";
+  }
+}
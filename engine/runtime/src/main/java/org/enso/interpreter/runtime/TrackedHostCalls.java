@@ -0,0 +1,114 @@
+package org.enso.interpreter.runtime;
+
+import java.util.Set;
+import org.enso.interpreter.runtime.data.EnsoObject;
+
+/**
+ * Decides which calls to host objects keep the result of a computation reproducible from its
+ * sources and the files it has read.
+ *
+ * <p>Only classes known not to read anything on their own are trusted: the core Java classes and
+ * the helpers of the standard library, which get their files from builtins reporting the reads.
+ * Anything else, like the network, databases, environment variables, random numbers or objects of
+ * other languages, may read inputs that cannot be tracked.
+ */
+final class TrackedHostCalls {
+  private static final String[] TRACKED_PACKAGES = {
+    "java.lang.",
+    "java.math.",
+    "java.text.",
+    "java.time.",
+    "java.util.",
+    "java.io.",
+    "java.nio.charset.",
+    "com.ibm.icu.",
+    "org.enso.base.",
+    "org.enso.table."
+  };
+
+  private static final String[] UNTRACKED_PACKAGES = {
+    "java.lang.invoke.",
+    "java.lang.management.",
+    "java.lang.reflect.",
+    "java.util.concurrent.",
+    "java.util.prefs.",
+    "org.enso.base.enso_cloud.",
+    "org.enso.base.net.",
+    "org.enso.base.random."
+  };
+
+  private static final Set<String> UNTRACKED_CLASSES =
+      Set.of(
+          "java.io.Console",
+          "java.io.FileInputStream",
+          "java.io.FileReader",
+          "java.io.RandomAccessFile",
+          "java.lang.ClassLoader",
+          "java.lang.Process",
+          "java.lang.ProcessBuilder",
+          "java.lang.ProcessHandle",
+          "java.lang.Runtime",
+          "java.lang.System",
+          "java.lang.Thread",
+          "java.time.Clock",
+          "java.util.Random",
+          "java.util.Scanner",
+          "java.util.ServiceLoader",
+          "java.util.SplittableRandom",
+          "java.util.UUID",
+          "org.enso.base.CurrentEnsoProject",
+          "org.enso.base.Environment_Utils");
+
+  /** Methods reading the clock or the settings of the machine, whatever class declares them. */
+  private static final Set<String> UNTRACKED_SYMBOLS =
+      Set.of("now", "today", "systemDefault", "getDefault", "getenv", "getProperty");
+
+  private static final ClassValue<Boolean> TRACKED =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          return type.isArray() || isTrackedClass(type.getName());
+        }
+      };
+
+  private TrackedHostCalls() {}
+
+  /**
+   * Checks whether a call to a host object only depends on its arguments.
+   *
+   * @param context the language context
+   * @param receiver the receiver of the call
+   * @param symbol the name of the called method, read field or instantiated class
+   * @return {@code true} if the call reads no inputs that cannot be tracked
+   */
+  static boolean isTracked(EnsoContext context, Object receiver, String symbol) {
+    if (receiver instanceof EnsoObject) {
+      return true;
+    }
+    if (!context.isJavaPolyglotObject(receiver) || UNTRACKED_SYMBOLS.contains(symbol)) {
+      return false;
+    }
+    var hostObject = context.asJavaPolyglotObject(receiver);
+    if (hostObject == null) {
+      return true;
+    }
+    var type = hostObject instanceof Class<?> staticReceiver ? staticReceiver : hostObject.getClass();
+    return TRACKED.get(type);
+  }
+
+  private static boolean isTrackedClass(String name) {
+    if (UNTRACKED_CLASSES.contains(name) || startsWithAny(name, UNTRACKED_PACKAGES)) {
+      return false;
+    }
+    return startsWithAny(name, TRACKED_PACKAGES);
+  }
+
+  private static boolean startsWithAny(String name, String[] prefixes) {
+    for (var prefix : prefixes) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
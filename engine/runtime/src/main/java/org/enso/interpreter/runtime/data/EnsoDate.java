@@ -28,6 +28,7 @@ public final class EnsoDate implements EnsoObject {
   @Builtin.Method(description = "Return current Date", autoRegister = false)
   @CompilerDirectives.TruffleBoundary
   public static EnsoDate today() {
+    EnsoContext.get(null).notifyVolatileRead();
     return new EnsoDate(LocalDate.now());
   }
 
@@ -43,6 +43,7 @@ public final class EnsoDateTime implements EnsoObject {
   @Builtin.Method(description = "Return current DateTime", autoRegister = false)
   @CompilerDirectives.TruffleBoundary
   public static EnsoDateTime now() {
+    EnsoContext.get(null).notifyVolatileRead();
     return new EnsoDateTime(ZonedDateTime.now());
   }
 
@@ -3,6 +3,7 @@ package org.enso.interpreter.runtime.data;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.interop.ArityException;
@@ -19,22 +20,30 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.FileSystemException;
+import java.nio.file.FileSystems;
 import java.nio.file.LinkOption;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.NotDirectoryException;
 import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import org.enso.interpreter.dsl.Builtin;
 import org.enso.interpreter.runtime.EnsoContext;
@@ -195,6 +204,7 @@ public final class EnsoFile implements EnsoObject {
       EnsoContext ctx)
       throws IOException {
     var options = namesToValues(opts, lengthNode, atNode, ctx, StandardOpenOption::valueOf);
+    ctx.notifyFileRead(this.truffleFile);
     var is = this.truffleFile.newInputStream(options.toArray(OpenOption[]::new));
     return new EnsoInputStream(is);
   }
@@ -425,6 +435,7 @@ public final class EnsoFile implements EnsoObject {
   @Builtin.WrapException(from = IOException.class)
   @TruffleBoundary
   public EnsoObject readLastBytes(long n) throws IOException {
+    EnsoContext.get(null).notifyFileRead(this.truffleFile);
     try (SeekableByteChannel channel =
         this.truffleFile.newByteChannel(Set.of(StandardOpenOption.READ))) {
       int bytesToRead = Math.toIntExact(Math.min(channel.size(), n));
@@ -439,6 +450,63 @@ public final class EnsoFile implements EnsoObject {
     }
   }
 
+  /**
+   * Maps a region of the file into memory, read-only.
+   *
+   * <p>The returned array is backed directly by the mapped buffer, so only the pages that are
+   * actually read are loaded from the disk. If the underlying file system does not support memory
+   * mapping, the region is read into memory instead.
+   *
+   * @param offset the position in the file where the region starts
+   * @param length the maximal length of the region; the region ends at the end of the file if the
+   *     file is shorter
+   * @return an array of bytes backed by the mapped region
+   * @throws IllegalArgumentException if the offset or the length is negative
+   * @throws IOException if the offset is beyond the end of the file or the file cannot be read
+   */
+  @Builtin.Method(name = "map_bytes_builtin")
+  @Builtin.WrapException(from = IOException.class)
+  @Builtin.WrapException(from = IllegalArgumentException.class)
+  @TruffleBoundary
+  public EnsoObject mapBytes(long offset, long length) throws IOException {
+    if (offset < 0) {
+      throw new IllegalArgumentException(
+          "The offset must not be negative, but was " + offset + ".");
+    }
+    if (length < 0) {
+      throw new IllegalArgumentException(
+          "The length must not be negative, but was " + length + ".");
+    }
+    EnsoContext.get(null).notifyFileRead(this.truffleFile);
+    try (SeekableByteChannel channel =
+        this.truffleFile.newByteChannel(Set.of(StandardOpenOption.READ))) {
+      var size = channel.size();
+      if (offset > size) {
+        throw new IOException(
+            "The offset " + offset + " is outside of the file of " + size + " bytes.");
+      }
+      var available = size - offset;
+      var regionLength = Math.min(length, available);
+      if (regionLength > Integer.MAX_VALUE) {
+        throw new IOException(
+            "Cannot map "
+                + regionLength
+                + " bytes at once, the maximum is "
+                + Integer.MAX_VALUE
+                + ". Map the file in smaller regions.");
+      }
+      if (channel instanceof FileChannel fileChannel) {
+        var mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, regionLength);
+        return ArrayLikeHelpers.wrapBuffer(mapped);
+      }
+      channel.position(offset);
+      ByteBuffer buffer = ByteBuffer.allocate((int) regionLength);
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {}
+      buffer.flip();
+      return ArrayLikeHelpers.wrapBuffer(buffer);
+    }
+  }
+
   @Builtin.Method(name = "resolve")
   @Builtin.Specialize
   public EnsoFile resolve(String subPath) {
@@ -505,6 +573,13 @@ public final class EnsoFile implements EnsoObject {
     return Text.create(this.truffleFile.getPath());
   }
 
+  @Builtin.Method(name = "record_read_builtin")
+  @TruffleBoundary
+  public void recordRead() {
+    // Libraries opening the file by its path report the read before handing the path over.
+    EnsoContext.get(null).notifyFileRead(this.truffleFile);
+  }
+
   @Builtin.Method
   @TruffleBoundary
   public boolean isAbsolute() {
@@ -609,10 +684,265 @@ public final class EnsoFile implements EnsoObject {
   @Builtin.WrapException(from = IOException.class)
   @TruffleBoundary
   public EnsoObject list() throws IOException {
+    EnsoContext.get(null).notifyFileRead(this.truffleFile);
     return ArrayLikeHelpers.wrapEnsoObjects(
         this.truffleFile.list().stream().map(EnsoFile::new).toArray(EnsoFile[]::new));
   }
 
+  /**
+   * Lists this file and all its descendants.
+   *
+   * <p>Sub-directories are walked in parallel, but the result is in the same order as a sequential
+   * pre-order walk would produce. Files are filtered by matching the glob against their path
+   * relative to this file, before they are wrapped. Symbolic links to directories are followed,
+   * except for links to a directory that is already being walked above them, which are listed
+   * without being walked again, so that the walk does not loop.
+   *
+   * @param glob the glob to filter the files with, or an empty text to return all files
+   * @return an array of the matching files
+   */
+  @Builtin.Method(name = "list_descendants_array")
+  @Builtin.WrapException(from = IOException.class)
+  @TruffleBoundary
+  public EnsoObject listDescendants(String glob) throws IOException {
+    var context = EnsoContext.get(null);
+    context.notifyFileRead(this.truffleFile);
+    var matcher = glob.isEmpty() ? null : FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    var files = new DescendantsWalker(context, this.truffleFile, matcher).walk();
+    return ArrayLikeHelpers.wrapEnsoObjects(
+        files.stream().map(EnsoFile::new).toArray(EnsoFile[]::new));
+  }
+
+  /**
+   * Walks a directory tree on the calling thread and the threads of the {@link
+   * EnsoContext#getParallelExecutor() parallel executor}.
+   *
+   * <p>Every directory is listed once by whichever thread claims it. The listing keeps the matching
+   * files and the sub-directories in their original order, and the final result is assembled from
+   * these listings in a single pass once the whole tree is listed. The threads check for interrupts
+   * between directories, and an interrupt or the first failure stops the remaining work.
+   */
+  private static final class DescendantsWalker {
+    private final EnsoContext context;
+    private final TruffleFile root;
+    private final PathMatcher matcher;
+    private final ArrayDeque<Directory> queue = new ArrayDeque<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private int pendingDirectories;
+
+    private DescendantsWalker(EnsoContext context, TruffleFile root, PathMatcher matcher) {
+      this.context = context;
+      this.root = root;
+      this.matcher = matcher;
+    }
+
+    List<TruffleFile> walk() throws IOException {
+      var rootMatches = matches(root);
+      if (!root.isDirectory()) {
+        return rootMatches ? List.of(root) : List.of();
+      }
+      var top = new Directory(root, rootMatches, null, root.getCanonicalFile());
+      schedule(top);
+      try {
+        // The root is listed first, so that helpers are only started if there are sub-directories.
+        process(claim());
+        startHelpers();
+        TruffleSafepoint.setBlockedThreadInterruptible(null, DescendantsWalker::participate, this);
+      } catch (RuntimeException | Error e) {
+        // the helpers skip the directories they claim from now on
+        fail(e);
+        throw e;
+      }
+      var e = failure.get();
+      if (e instanceof IOException io) {
+        throw io;
+      } else if (e instanceof RuntimeException re) {
+        throw re;
+      } else if (e instanceof Error err) {
+        throw err;
+      }
+      return assemble(top);
+    }
+
+    private void startHelpers() {
+      var helpers = Math.min(context.getParallelism() - 1, pendingDirectories());
+      var executor = context.getParallelExecutor();
+      for (int i = 0; i < helpers; i++) {
+        try {
+          executor.execute(this::participateManaged);
+        } catch (RejectedExecutionException e) {
+          break;
+        }
+      }
+    }
+
+    private void participateManaged() {
+      var threadManager = context.getThreadManager();
+      var token = threadManager.enter();
+      try {
+        TruffleSafepoint.setBlockedThreadInterruptible(null, DescendantsWalker::participate, this);
+      } catch (RuntimeException | Error e) {
+        fail(e);
+      } finally {
+        threadManager.leave(token);
+      }
+    }
+
+    /** Lists the queued directories until the whole tree is listed or the walk fails. */
+    private void participate() throws InterruptedException {
+      while (true) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        var directory = claim();
+        if (directory != null) {
+          process(directory);
+        } else if (!awaitWork()) {
+          return;
+        }
+      }
+    }
+
+    private void process(Directory directory) {
+      try {
+        if (failure.get() == null) {
+          list(directory);
+        }
+      } catch (IOException | RuntimeException | Error e) {
+        fail(e);
+      } finally {
+        complete();
+      }
+    }
+
+    private void list(Directory directory) throws IOException {
+      var children = directory.file.list();
+      var entries = new ArrayList<Object>(children.size());
+      for (var child : children) {
+        var childMatches = matches(child);
+        var subDirectory = subDirectory(directory, child, childMatches);
+        if (subDirectory != null) {
+          entries.add(subDirectory);
+          schedule(subDirectory);
+        } else if (childMatches) {
+          entries.add(child);
+        }
+      }
+      directory.entries = entries;
+    }
+
+    /**
+     * Checks whether a child should be walked as a directory.
+     *
+     * @return the directory to walk, or {@code null} if the child is a file, a broken link or a
+     *     link to a directory being walked above it
+     */
+    private static Directory subDirectory(Directory parent, TruffleFile child, boolean matches)
+        throws IOException {
+      var attributes =
+          child.getAttributes(
+              List.of(TruffleFile.IS_DIRECTORY, TruffleFile.IS_SYMBOLIC_LINK),
+              LinkOption.NOFOLLOW_LINKS);
+      if (attributes.get(TruffleFile.IS_DIRECTORY)) {
+        return new Directory(child, matches, parent, parent.realPath.resolve(child.getName()));
+      }
+      if (!attributes.get(TruffleFile.IS_SYMBOLIC_LINK) || !child.isDirectory()) {
+        return null;
+      }
+      var realPath = child.getCanonicalFile();
+      for (var ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+        if (ancestor.realPath.equals(realPath)) {
+          return null;
+        }
+      }
+      return new Directory(child, matches, parent, realPath);
+    }
+
+    private boolean matches(TruffleFile file) {
+      return matcher == null || matcher.matches(Path.of(root.relativize(file).getPath()));
+    }
+
+    private synchronized Directory claim() {
+      return queue.poll();
+    }
+
+    private synchronized void schedule(Directory directory) {
+      pendingDirectories++;
+      queue.add(directory);
+      notifyAll();
+    }
+
+    private synchronized void complete() {
+      pendingDirectories--;
+      if (pendingDirectories == 0) {
+        notifyAll();
+      }
+    }
+
+    private synchronized int pendingDirectories() {
+      return pendingDirectories;
+    }
+
+    private synchronized void fail(Throwable e) {
+      failure.compareAndSet(null, e);
+      notifyAll();
+    }
+
+    /**
+     * Waits until there is a directory to list or the walk is finished.
+     *
+     * @return {@code true} if there are directories to list
+     */
+    private synchronized boolean awaitWork() throws InterruptedException {
+      while (queue.isEmpty() && pendingDirectories > 0 && failure.get() == null) {
+        wait();
+      }
+      return !queue.isEmpty() && failure.get() == null;
+    }
+
+    private static List<TruffleFile> assemble(Directory top) {
+      var result = new ArrayList<TruffleFile>();
+      if (top.matches) {
+        result.add(top.file);
+      }
+      var stack = new ArrayDeque<Iterator<Object>>();
+      stack.push(top.entries.iterator());
+      while (!stack.isEmpty()) {
+        var entries = stack.peek();
+        if (!entries.hasNext()) {
+          stack.pop();
+          continue;
+        }
+        var entry = entries.next();
+        if (entry instanceof Directory directory) {
+          if (directory.matches) {
+            result.add(directory.file);
+          }
+          stack.push(directory.entries.iterator());
+        } else {
+          result.add((TruffleFile) entry);
+        }
+      }
+      return result;
+    }
+  }
+
+  /** A directory of the walked tree, with its matching files and sub-directories once listed. */
+  private static final class Directory {
+    private final TruffleFile file;
+    private final boolean matches;
+    private final Directory parent;
+    private final TruffleFile realPath;
+    private List<Object> entries = List.of();
+
+    private Directory(TruffleFile file, boolean matches, Directory parent, TruffleFile realPath) {
+      this.file = file;
+      this.matches = matches;
+      this.parent = parent;
+      this.realPath = realPath;
+    }
+  }
+
   @Builtin.Method
   @TruffleBoundary
   public EnsoFile relativize(EnsoFile other) {
@@ -642,6 +972,7 @@ public final class EnsoFile implements EnsoObject {
   @Builtin.WrapException(from = IOException.class)
   @TruffleBoundary
   public long getSize() throws IOException {
+    EnsoContext.get(null).notifyFileRead(this.truffleFile);
     if (this.truffleFile.isDirectory()) {
       throw new IOException("size can only be called on files.");
     }
@@ -48,6 +48,7 @@ public final class EnsoTimeOfDay implements EnsoObject {
   @Builtin.Method(description = "Gets a value of hour", autoRegister = false)
   @CompilerDirectives.TruffleBoundary
   public static EnsoTimeOfDay now() {
+    EnsoContext.get(null).notifyVolatileRead();
     return new EnsoTimeOfDay(LocalTime.now());
   }
 
@@ -14,6 +14,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.enso.interpreter.Constants;
 import org.enso.interpreter.EnsoLanguage;
 import org.enso.interpreter.node.ConstantNode;
@@ -40,6 +41,7 @@ public final class Type implements EnsoObject {
   private final boolean isProjectPrivate;
 
   private boolean gettersGenerated;
+  private volatile ResolvedMethods resolvedMethods;
 
   private Type(
       String name,
@@ -128,6 +130,48 @@ public final class Type implements EnsoObject {
     return name;
   }
 
+  /**
+   * Looks up a method previously resolved for this type by {@link #cacheResolvedMethod}.
+   *
+   * @param version the current {@link EnsoContext#getMethodsVersion() version} of method
+   *     definitions
+   * @param scope the scope the method is resolved from
+   * @param name the method name
+   * @return the resolved method or {@code null} if it is not known for this version
+   */
+  @CompilerDirectives.TruffleBoundary
+  public Function getResolvedMethod(long version, ModuleScope scope, String name) {
+    var methods = resolvedMethods;
+    if (methods == null || methods.version() != version) {
+      return null;
+    }
+    return methods.functions().get(new ResolvedMethodKey(scope, name));
+  }
+
+  /**
+   * Remembers a method resolved for this type, so that megamorphic call sites can find it without
+   * walking the type hierarchy and the scopes again. The table is dropped as soon as method
+   * definitions change.
+   *
+   * @param version the {@link EnsoContext#getMethodsVersion() version} of method definitions the
+   *     method was resolved in
+   * @param scope the scope the method was resolved from
+   * @param name the method name
+   * @param function the resolved method
+   */
+  @CompilerDirectives.TruffleBoundary
+  public void cacheResolvedMethod(long version, ModuleScope scope, String name, Function function) {
+    var methods = resolvedMethods;
+    if (methods == null || methods.version() != version) {
+      if (version != EnsoContext.get(null).getMethodsVersion()) {
+        return;
+      }
+      methods = new ResolvedMethods(version, new ConcurrentHashMap<>());
+      resolvedMethods = methods;
+    }
+    methods.functions().put(new ResolvedMethodKey(scope, name), function);
+  }
+
   public ModuleScope getDefinitionScope() {
     return definitionScope.asModuleScope();
   }
@@ -403,4 +447,9 @@ public final class Type implements EnsoObject {
     var b = EnsoContext.get(lib).getBuiltins();
     return this == b.nothing();
   }
+
+  private record ResolvedMethodKey(ModuleScope scope, String name) {}
+
+  private record ResolvedMethods(
+      long version, ConcurrentHashMap<ResolvedMethodKey, Function> functions) {}
 }
@@ -17,11 +17,16 @@ final class AtomLayoutInstanceNode extends Node {
   AtomLayoutInstanceNode(AtomConstructor constructor, Layout layout) {
     this.constructor = constructor;
     this.layout = layout;
-    this.argReaderNodes = new ReadAtIndexNode[layout.arity()];
+    this.argReaderNodes = new ReadAtIndexNode[layout.storageSize()];
     for (int i = 0; i < layout.arity(); i++) {
       this.argReaderNodes[layout.getFieldToStorage()[i]] =
           ReadAtIndexNode.create(i, layout.isDoubleAt(i));
     }
+    for (int i = 0; i < argReaderNodes.length; i++) {
+      if (argReaderNodes[i] == null) {
+        argReaderNodes[i] = new PaddingNode(i < layout.unboxedSlots() ? 0L : null);
+      }
+    }
     this.instantiator = layout.getInstantiatorFactory().createNode();
   }
 
@@ -39,7 +44,10 @@ final class AtomLayoutInstanceNode extends Node {
     if (cons.getBoxedLayout() == layout) {
       return node.execute(cons, layout, arguments);
     }
-    var newArgs = new Object[arguments.length];
+    var newArgs = new Object[layout.storageSize()];
+    for (int i = 0; i < layout.unboxedSlots(); i++) {
+      newArgs[i] = 0L;
+    }
     var order = layout.getFieldToStorage();
     for (int i = 0; i < order.length; i++) {
       var v = arguments[i];
@@ -92,4 +100,19 @@ final class AtomLayoutInstanceNode extends Node {
       return Double.doubleToRawLongBits((double) args[index]);
     }
   }
+
+  /** Provides the value of a storage field not used by the layout. */
+  static class PaddingNode extends ReadAtIndexNode {
+    private final Object value;
+
+    PaddingNode(Object value) {
+      super(-1);
+      this.value = value;
+    }
+
+    @Override
+    public Object execute(Object[] args) {
+      return value;
+    }
+  }
 }
@@ -13,12 +13,24 @@ import org.enso.interpreter.runtime.callable.argument.ArgumentDefinition;
  * the mapping between logical and actual storage of fields. The {@link LayoutSpec} annotation will
  * also generate the necessary atom subclasses and a {@link LayoutFactory}, which exposes dynamic
  * access to the generated classes for use in the {@link #create(int, long)} method. This is quite
- * useful, as with the current parameters, we generate 180 different getter nodes and similar
- * numbers of other nodes participating in this system.
+ * useful, as with the current parameters, we generate several hundred different getter nodes and
+ * similar numbers of other nodes participating in this system.
+ *
+ * <p>Atoms with up to {@link #MAX_FIELDS} fields get a storage class for every combination of
+ * unboxed and boxed fields. Wider atoms, up to {@link #MAX_PADDED_FIELDS} fields, round both
+ * numbers up to a multiple of {@link #PADDING_GROUP}. The unused storage fields cost a few bytes
+ * per instance, but keep the number of generated classes small while still avoiding a box per
+ * numeric field.
  */
-@LayoutSpec(minFields = Layout.MIN_FIELDS, maxFields = Layout.MAX_FIELDS)
+@LayoutSpec(
+    minFields = Layout.MIN_FIELDS,
+    maxFields = Layout.MAX_FIELDS,
+    maxPaddedFields = Layout.MAX_PADDED_FIELDS,
+    paddingGroup = Layout.PADDING_GROUP)
 class Layout {
   static final int MAX_FIELDS = 4;
+  static final int MAX_PADDED_FIELDS = 12;
+  static final int PADDING_GROUP = 4;
   static final int MIN_FIELDS = 1;
 
   /** Helpers for reading compressed field data this layout holds. */
@@ -47,6 +59,8 @@ class Layout {
 
   // this will work until 32 fields, then we need to fall back to all-unboxed
   final long inputFlags;
+  private final int unboxedSlots;
+  private final int storageSize;
   private final @CompilerDirectives.CompilationFinal(dimensions = 1) int[] fieldToStorage;
   private final @CompilerDirectives.CompilationFinal(dimensions = 1) NodeFactory<
           ? extends UnboxingAtom.FieldGetterNode>[]
@@ -67,6 +81,8 @@ class Layout {
 
   private Layout(
       long inputFlags,
+      int unboxedSlots,
+      int storageSize,
       int[] fieldToStorage,
       NodeFactory<? extends UnboxingAtom.FieldGetterNode>[] fieldGetterFactories,
       NodeFactory<? extends UnboxingAtom.FieldSetterNode>[] fieldSetterFactories,
@@ -74,6 +90,8 @@ class Layout {
       ArgumentDefinition[] args) {
     this.args = args;
     this.inputFlags = inputFlags;
+    this.unboxedSlots = unboxedSlots;
+    this.storageSize = storageSize;
     this.fieldToStorage = fieldToStorage;
     this.instantiatorFactory = instantiatorFactory;
     this.fieldGetterFactories = fieldGetterFactories;
@@ -96,7 +114,22 @@ class Layout {
   }
 
   public static boolean isAritySupported(int arity) {
-    return arity >= MIN_FIELDS && arity <= MAX_FIELDS;
+    return arity >= MIN_FIELDS && arity <= MAX_PADDED_FIELDS;
+  }
+
+  /**
+   * Computes the number of storage fields used to hold fields of one kind.
+   *
+   * @param arity the arity of the atom
+   * @param count the number of unboxed or boxed fields of the atom
+   * @return {@code count} for narrow atoms, {@code count} rounded up to a multiple of {@link
+   *     #PADDING_GROUP} for wide atoms
+   */
+  static int storageSlots(int arity, int count) {
+    if (arity <= MAX_FIELDS) {
+      return count;
+    }
+    return (count + PADDING_GROUP - 1) / PADDING_GROUP * PADDING_GROUP;
   }
 
   final Layout copy(long typeFlags) {
@@ -116,10 +149,12 @@ class Layout {
     int numLong = Flags.countLongs(typeFlags);
     int numUnboxed = numDouble + numLong;
     int numBoxed = arity - numUnboxed;
+    int unboxedSlots = storageSlots(arity, numUnboxed);
+    int boxedSlots = storageSlots(arity, numBoxed);
     int[] fieldToStorage = new int[arity];
     int lastDouble = 0;
     int lastLong = numDouble;
-    int lastBoxed = numUnboxed;
+    int lastBoxed = unboxedSlots;
     for (int cur = 0; cur < arity; cur++) {
       if (Flags.isDoubleAt(typeFlags, cur)) {
         fieldToStorage[cur] = lastDouble++;
@@ -130,7 +165,15 @@ class Layout {
       }
     }
     return createNew(
-        isAritySupported(arity), fieldToStorage, typeFlags, numDouble, numLong, numBoxed, args);
+        isAritySupported(arity),
+        fieldToStorage,
+        typeFlags,
+        numDouble,
+        numLong,
+        numBoxed,
+        unboxedSlots,
+        boxedSlots,
+        args);
   }
 
   static Layout createBoxed(ArgumentDefinition[] args) {
@@ -138,7 +181,7 @@ class Layout {
     for (var i = 0; i < arr.length; i++) {
       arr[i] = i;
     }
-    return createNew(false, arr, 0, 0, 0, args.length, args);
+    return createNew(false, arr, 0, 0, 0, args.length, 0, args.length, args);
   }
 
   @SuppressWarnings("unchecked")
@@ -149,11 +192,13 @@ class Layout {
       int numDouble,
       int numLong,
       int numBoxed,
+      int unboxedSlots,
+      int boxedSlots,
       ArgumentDefinition[] args) {
-    var numUnboxed = numDouble + numLong;
     var storageGetterFactories =
         useUnboxed
-            ? LayoutFactory.getFieldGetterNodeFactories(numDouble, numLong, numBoxed)
+            ? LayoutFactory.getFieldGetterNodeFactories(
+                numDouble, numLong, numBoxed, unboxedSlots, boxedSlots)
             : BoxingAtom.getFieldGetterNodeFactories(fieldToStorage.length);
     var getterFactories = new NodeFactory[fieldToStorage.length];
     for (int i = 0; i < fieldToStorage.length; i++) {
@@ -162,7 +207,7 @@ class Layout {
 
     var storageSetterFactories =
         useUnboxed
-            ? LayoutFactory.getFieldSetterNodeFactories(numDouble, numLong, numBoxed)
+            ? LayoutFactory.getFieldSetterNodeFactories(numBoxed, unboxedSlots, boxedSlots)
             : BoxingAtom.getFieldSetterNodeFactories(fieldToStorage.length);
     var setterFactories = new NodeFactory[fieldToStorage.length];
     for (int i = 0; i < fieldToStorage.length; i++) {
@@ -176,11 +221,18 @@ class Layout {
 
     var instantiatorFactory =
         useUnboxed
-            ? LayoutFactory.getInstantiatorNodeFactory(numUnboxed, numBoxed)
+            ? LayoutFactory.getInstantiatorNodeFactory(unboxedSlots, boxedSlots)
             : BoxingAtom.FACTORY;
 
     return new Layout(
-        typeFlags, fieldToStorage, getterFactories, setterFactories, instantiatorFactory, args);
+        typeFlags,
+        unboxedSlots,
+        unboxedSlots + boxedSlots,
+        fieldToStorage,
+        getterFactories,
+        setterFactories,
+        instantiatorFactory,
+        args);
   }
 
   public UnboxingAtom.FieldGetterNode[] getUncachedFieldGetters() {
@@ -225,6 +277,20 @@ class Layout {
     return fieldToStorage;
   }
 
+  /**
+   * @return the number of storage fields of the atom, including the unused padding ones
+   */
+  public int storageSize() {
+    return storageSize;
+  }
+
+  /**
+   * @return the number of unboxed storage fields of the atom, including the unused padding ones
+   */
+  public int unboxedSlots() {
+    return unboxedSlots;
+  }
+
   public NodeFactory<? extends UnboxingAtom.InstantiatorNode> getInstantiatorFactory() {
     return instantiatorFactory;
   }
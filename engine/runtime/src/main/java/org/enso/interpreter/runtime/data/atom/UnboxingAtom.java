@@ -52,7 +52,8 @@ import com.oracle.truffle.api.nodes.Node;
  *       {@link Double} fields before the {@link Long} fields, but this is not required or enforced
  *       by this class.
  *   <li>These design choices mean that to enable optimal storage of N-field atoms, we need N+1
- *       different subclasses.
+ *       different subclasses. Wider atoms therefore reuse subclasses with padded storage, which
+ *       round the number of unboxed and boxed fields up, see {@link Layout#storageSlots}.
  * </ul>
  */
 @ExportLibrary(StructsLibrary.class)
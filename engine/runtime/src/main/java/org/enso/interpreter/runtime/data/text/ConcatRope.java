@@ -4,6 +4,7 @@ package org.enso.interpreter.runtime.data.text;
 public class ConcatRope {
   private final Object left;
   private final Object right;
+  private final long utf16Length;
 
   /**
    * Creates a new rope concatenating the arguments.
@@ -14,6 +15,18 @@ public class ConcatRope {
   public ConcatRope(Object left, Object right) {
     this.left = left;
     this.right = right;
+    this.utf16Length = utf16Length(left) + utf16Length(right);
+  }
+
+  /**
+   * @return the number of UTF-16 code units of the concatenated text.
+   */
+  public long getUtf16Length() {
+    return utf16Length;
+  }
+
+  static long utf16Length(Object operand) {
+    return operand instanceof String s ? s.length() : ((ConcatRope) operand).utf16Length;
   }
 
   /**
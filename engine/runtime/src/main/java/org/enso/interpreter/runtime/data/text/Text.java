@@ -70,6 +70,16 @@ public final class Text implements EnsoObject {
     return l;
   }
 
+  /**
+   * Computes the number of UTF-16 code units of this text, without flattening it into a single
+   * string.
+   *
+   * @return the number of UTF-16 code units
+   */
+  public long utf16Length() {
+    return ConcatRope.utf16Length(contents);
+  }
+
   @Builtin.Method(
       description =
           """
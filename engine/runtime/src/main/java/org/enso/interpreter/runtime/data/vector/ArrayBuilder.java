@@ -12,6 +12,7 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
 import java.util.Arrays;
 import org.enso.interpreter.runtime.data.EnsoObject;
+import org.enso.interpreter.runtime.data.text.Text;
 import org.enso.interpreter.runtime.error.WarningsLibrary;
 
 @ExportLibrary(InteropLibrary.class)
@@ -51,7 +52,11 @@ final class ArrayBuilder implements EnsoObject {
       if (warnings.hasWarnings(e)) {
         nonTrivialEnsoValue = true;
       } else {
-        var isEnsoValue = e instanceof EnsoObject || e instanceof Long || e instanceof Double;
+        var isEnsoValue =
+            e instanceof EnsoObject
+                || e instanceof Long
+                || e instanceof Double
+                || e instanceof Boolean;
         if (!isEnsoValue) {
           nonTrivialEnsoValue = true;
         }
@@ -91,6 +96,22 @@ final class ArrayBuilder implements EnsoObject {
         primitiveArray = null;
         addToObjectArray(e);
       }
+    } else if (primitiveArray instanceof boolean[] booleanArray) {
+      if (e instanceof Boolean b) {
+        if (size == booleanArray.length) {
+          CompilerDirectives.transferToInterpreter();
+          primitiveArray = booleanArray = Arrays.copyOf(booleanArray, size * 2);
+        }
+        booleanArray[size++] = b;
+      } else {
+        CompilerDirectives.transferToInterpreter();
+        objectArray = new Object[booleanArray.length];
+        for (int i = 0; i < size; i++) {
+          objectArray[i] = booleanArray[i];
+        }
+        primitiveArray = null;
+        addToObjectArray(e);
+      }
     } else {
       assert objectArray == null;
       assert primitiveArray == null;
@@ -106,6 +127,17 @@ final class ArrayBuilder implements EnsoObject {
           arr[0] = d;
           primitiveArray = arr;
         }
+        case Boolean b -> {
+          var arr = new boolean[initialCapacity];
+          arr[0] = b;
+          primitiveArray = arr;
+        }
+        case Text t -> {
+          // stays a Text[] as long as only texts are added
+          var arr = new Text[initialCapacity];
+          arr[0] = t;
+          objectArray = arr;
+        }
         default -> {
           var arr = new Object[initialCapacity];
           arr[0] = e;
@@ -117,6 +149,10 @@ final class ArrayBuilder implements EnsoObject {
   }
 
   private void addToObjectArray(Object e) {
+    if (objectArray instanceof Text[] && !(e instanceof Text)) {
+      CompilerDirectives.transferToInterpreter();
+      objectArray = Arrays.copyOf(objectArray, objectArray.length, Object[].class);
+    }
     if (size == objectArray.length) {
       CompilerDirectives.transferToInterpreter();
       objectArray = Arrays.copyOf(objectArray, size * 2);
@@ -134,6 +170,8 @@ final class ArrayBuilder implements EnsoObject {
           return longArray[index];
         } else if (primitiveArray instanceof double[] doubleArray) {
           return doubleArray[index];
+        } else if (primitiveArray instanceof boolean[] booleanArray) {
+          return booleanArray[index];
         }
       }
       throw new ArrayIndexOutOfBoundsException();
@@ -150,6 +188,8 @@ final class ArrayBuilder implements EnsoObject {
       return longArray.length == size ? longArray : Arrays.copyOf(longArray, size);
     } else if (primitiveArray instanceof double[] doubleArray) {
       return doubleArray.length == size ? doubleArray : Arrays.copyOf(doubleArray, size);
+    } else if (primitiveArray instanceof boolean[] booleanArray) {
+      return booleanArray.length == size ? booleanArray : Arrays.copyOf(booleanArray, size);
     } else {
       return null;
     }
@@ -233,6 +273,12 @@ final class ArrayBuilder implements EnsoObject {
     if (res instanceof double[] doubles) {
       return Vector.fromDoubleArray(doubles);
     }
+    if (res instanceof boolean[] booleans) {
+      return Vector.fromBooleanArray(booleans);
+    }
+    if (res instanceof Text[] texts && !nonTrivialEnsoValue) {
+      return Vector.fromTextArray(texts);
+    }
     if (nonTrivialEnsoValue) {
       return Vector.fromInteropArray(Array.wrap((Object[]) res));
     } else {
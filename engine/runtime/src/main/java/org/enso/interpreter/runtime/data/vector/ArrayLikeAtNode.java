@@ -51,6 +51,16 @@ public abstract class ArrayLikeAtNode extends Node {
     return self.readArrayElement(index);
   }
 
+  @Specialization
+  Object vectorBooleanAt(Vector.BitPackedBooleans self, long index) throws InvalidArrayIndexException {
+    return self.readArrayElement(index);
+  }
+
+  @Specialization
+  Object vectorTextAt(Vector.CompactTexts self, long index) throws InvalidArrayIndexException {
+    return self.readArrayElement(index);
+  }
+
   @Specialization
   Object vectorAt(
       Vector.Generic self,
@@ -8,6 +8,7 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import java.nio.ByteBuffer;
 import org.enso.interpreter.dsl.Builtin;
 import org.enso.interpreter.node.callable.dispatch.InvokeFunctionNode;
+import org.enso.interpreter.runtime.EnsoContext;
 import org.enso.interpreter.runtime.callable.function.Function;
 import org.enso.interpreter.runtime.data.EnsoObject;
 import org.enso.interpreter.runtime.error.DataflowError;
@@ -100,6 +101,18 @@ public final class ArrayLikeHelpers {
     return target.asVector();
   }
 
+  @Builtin.Method(
+      name = "vector_from_function_parallel",
+      description =
+          "Creates new Vector with given length, computing the elements on several threads.")
+  @Builtin.Specialize()
+  @SuppressWarnings("generic-enso-builtin-type")
+  @CompilerDirectives.TruffleBoundary
+  public static Object vectorFromFunctionParallel(long length, Function fun, State state) {
+    var ctx = EnsoContext.get(null);
+    return ParallelVectorBuilder.vectorFromFunction(ctx, Math.toIntExact(length), fun, state);
+  }
+
   @Builtin.Method(
       name = "vector_to_array",
       description = "Returns an Array representation of this Vector.")
@@ -112,6 +125,41 @@ public final class ArrayLikeHelpers {
     }
   }
 
+  @Builtin.Method(
+      name = "vector_to_primitive_array",
+      description =
+          "Returns a copy of the values of a Vector of Integers or Floats as a Java array, or"
+              + " Nothing for other vectors.")
+  @SuppressWarnings("generic-enso-builtin-type")
+  @CompilerDirectives.TruffleBoundary
+  public static Object vectorToPrimitiveArray(Object obj) {
+    var ctx = EnsoContext.get(null);
+    if (obj instanceof Vector.Long vector) {
+      return ctx.asGuestValue(vector.toLongArray());
+    }
+    if (obj instanceof Vector.Double vector) {
+      return ctx.asGuestValue(vector.toDoubleArray());
+    }
+    return ctx.getBuiltins().nothing();
+  }
+
+  @Builtin.Method(
+      name = "vector_from_primitive_array",
+      description =
+          "Creates a Vector backed by a Java long[] or double[]. The array is not copied, so it"
+              + " must not be modified afterwards.")
+  @SuppressWarnings("generic-enso-builtin-type")
+  @CompilerDirectives.TruffleBoundary
+  public static Object vectorFromPrimitiveArray(Object obj) {
+    var ctx = EnsoContext.get(null);
+    var arr = ctx.isJavaPolyglotObject(obj) ? ctx.asJavaPolyglotObject(obj) : obj;
+    return switch (arr) {
+      case long[] longs -> Vector.fromLongArray(longs);
+      case double[] doubles -> Vector.fromDoubleArray(doubles);
+      default -> Vector.fromInteropArray(obj);
+    };
+  }
+
   @Builtin.Method(name = "new_vector_builder", description = "Returns new vector builder.")
   @SuppressWarnings("generic-enso-builtin-type")
   public static Object newVectorBuilder(long capacity) {
@@ -146,6 +194,14 @@ public final class ArrayLikeHelpers {
     return Vector.fromInteropArray(storage);
   }
 
+  public static EnsoObject asVectorFromLongs(long[] arr) {
+    return Vector.fromLongArray(arr);
+  }
+
+  public static EnsoObject asVectorFromDoubles(double[] arr) {
+    return Vector.fromDoubleArray(arr);
+  }
+
   public static EnsoObject asVectorEnsoObjects(EnsoObject... arr) {
     return Vector.fromEnsoOnlyArray(arr);
   }
@@ -41,6 +41,16 @@ public abstract class ArrayLikeLengthNode extends Node {
     return self.getArraySize();
   }
 
+  @Specialization
+  static long vectorBooleanLength(Vector.BitPackedBooleans self) {
+    return self.getArraySize();
+  }
+
+  @Specialization
+  static long vectorTextLength(Vector.CompactTexts self) {
+    return self.getArraySize();
+  }
+
   @Specialization
   long vectorLength(
       Vector.Generic self, @Exclusive @CachedLibrary(limit = "3") InteropLibrary iop) {
@@ -3,10 +3,12 @@ package org.enso.interpreter.runtime.data.vector;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.enso.interpreter.runtime.EnsoContext;
 import org.enso.interpreter.runtime.data.EnsoObject;
 import org.enso.interpreter.runtime.data.Type;
@@ -45,6 +47,73 @@ final class ArrayOverBuffer implements EnsoObject {
     return buffer.remaining();
   }
 
+  //
+  // messages for the buffer interop, so that host code can read the bytes without converting each
+  // element
+  //
+
+  @ExportMessage
+  boolean hasBufferElements() {
+    return true;
+  }
+
+  @ExportMessage
+  boolean isBufferWritable() {
+    return false;
+  }
+
+  @ExportMessage
+  long getBufferSize() {
+    return buffer.remaining();
+  }
+
+  @ExportMessage
+  byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+    return buffer.get(checkOffset(byteOffset, Byte.BYTES));
+  }
+
+  @ExportMessage
+  void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length)
+      throws InvalidBufferOffsetException {
+    buffer.get(checkOffset(byteOffset, length), destination, destinationOffset, length);
+  }
+
+  @ExportMessage
+  short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return ordered(order).getShort(checkOffset(byteOffset, Short.BYTES));
+  }
+
+  @ExportMessage
+  int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return ordered(order).getInt(checkOffset(byteOffset, Integer.BYTES));
+  }
+
+  @ExportMessage
+  long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return ordered(order).getLong(checkOffset(byteOffset, Long.BYTES));
+  }
+
+  @ExportMessage
+  float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return ordered(order).getFloat(checkOffset(byteOffset, Float.BYTES));
+  }
+
+  @ExportMessage
+  double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+    return ordered(order).getDouble(checkOffset(byteOffset, Double.BYTES));
+  }
+
+  private int checkOffset(long byteOffset, int length) throws InvalidBufferOffsetException {
+    if (byteOffset < 0 || length < 0 || byteOffset > buffer.remaining() - length) {
+      throw InvalidBufferOffsetException.create(byteOffset, length);
+    }
+    return buffer.position() + (int) byteOffset;
+  }
+
+  private ByteBuffer ordered(ByteOrder order) {
+    return buffer.duplicate().order(order);
+  }
+
   @ExportMessage
   boolean hasType() {
     return true;
@@ -0,0 +1,164 @@
+package org.enso.interpreter.runtime.data.vector;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.enso.interpreter.node.callable.InteropApplicationNodeGen;
+import org.enso.interpreter.runtime.EnsoContext;
+import org.enso.interpreter.runtime.callable.function.Function;
+import org.enso.interpreter.runtime.error.DataflowError;
+import org.enso.interpreter.runtime.error.WarningsLibrary;
+import org.enso.interpreter.runtime.state.State;
+import org.enso.polyglot.debugger.IdExecutionService;
+
+/**
+ * Builds a vector by evaluating a function for every index on several threads.
+ *
+ * <p>The indices are split into chunks. The calling thread and the threads of the {@link
+ * EnsoContext#getParallelExecutor() parallel executor} claim chunks until none is left, so the
+ * computation always makes progress even when all the pool threads are busy, e.g. with an outer
+ * parallel computation. Every worker registers with the {@link
+ * org.enso.interpreter.runtime.ThreadManager} and can be interrupted like the calling thread.
+ *
+ * <p>Every element is computed with the state of the caller. The function must not depend on the
+ * order of evaluation. The results are assembled in index order; the first dataflow error, by
+ * index, is returned instead of the vector.
+ *
+ * <p>An execution observed by the {@link IdExecutionService}, like the one of the IDE, is computed
+ * on the calling thread only, because the instruments recording the computed values expect to be
+ * called from the thread running the program.
+ */
+final class ParallelVectorBuilder {
+  /** Vectors shorter than this are computed on the calling thread. */
+  static final int MIN_PARALLEL_LENGTH = 64;
+
+  /** The number of chunks each thread gets on average, to balance uneven workloads. */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final EnsoContext context;
+  private final Function function;
+  private final State state;
+  private final Object[] results;
+  private final int chunkSize;
+  private final int chunkCount;
+  private final AtomicInteger nextChunk = new AtomicInteger();
+  private final CountDownLatch remainingChunks;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  private ParallelVectorBuilder(
+      EnsoContext context, Function function, State state, int length, int threads) {
+    this.context = context;
+    this.function = function;
+    this.state = state;
+    this.results = new Object[length];
+    var chunks = Math.max(1, threads * CHUNKS_PER_THREAD);
+    this.chunkSize = Math.max(1, (length + chunks - 1) / chunks);
+    this.chunkCount = (length + chunkSize - 1) / chunkSize;
+    this.remainingChunks = new CountDownLatch(chunkCount);
+  }
+
+  /**
+   * Creates a vector of the given length, computing the elements in parallel.
+   *
+   * @param context the language context
+   * @param length the length of the vector
+   * @param function the function computing an element from its index
+   * @param state the state of the caller
+   * @return the vector, or the first dataflow error returned by the function
+   */
+  @CompilerDirectives.TruffleBoundary
+  static Object vectorFromFunction(
+      EnsoContext context, int length, Function function, State state) {
+    var threads = context.getParallelism();
+    if (length < MIN_PARALLEL_LENGTH || threads <= 1 || isInstrumented(state)) {
+      var builder = new ParallelVectorBuilder(context, function, state, length, 1);
+      builder.computeChunks();
+      builder.rethrowFailure();
+      return builder.assemble();
+    }
+    var builder = new ParallelVectorBuilder(context, function, state, length, threads);
+    builder.compute(threads - 1);
+    return builder.assemble();
+  }
+
+  private static boolean isInstrumented(State state) {
+    return DynamicObjectLibrary.getUncached()
+        .containsKey(state.getContainer(), IdExecutionService.class);
+  }
+
+  private void compute(int helpers) {
+    var executor = context.getParallelExecutor();
+    for (int i = 0; i < Math.min(helpers, chunkCount - 1); i++) {
+      try {
+        executor.execute(this::computeChunksManaged);
+      } catch (RejectedExecutionException e) {
+        break;
+      }
+    }
+    try {
+      computeChunks();
+      TruffleSafepoint.setBlockedThreadInterruptible(null, CountDownLatch::await, remainingChunks);
+    } catch (RuntimeException | Error e) {
+      // the helpers skip the chunks they claim from now on
+      failure.compareAndSet(null, e);
+      throw e;
+    }
+    rethrowFailure();
+  }
+
+  private void computeChunksManaged() {
+    var threadManager = context.getThreadManager();
+    var token = threadManager.enter();
+    try {
+      computeChunks();
+    } finally {
+      threadManager.leave(token);
+    }
+  }
+
+  private void computeChunks() {
+    var application = InteropApplicationNodeGen.getUncached();
+    for (var chunk = nextChunk.getAndIncrement();
+        chunk < chunkCount;
+        chunk = nextChunk.getAndIncrement()) {
+      try {
+        if (failure.get() == null) {
+          var end = Math.min(results.length, (chunk + 1) * chunkSize);
+          for (int i = chunk * chunkSize; i < end; i++) {
+            results[i] = application.execute(function, state, new Object[] {(long) i});
+          }
+        }
+      } catch (RuntimeException | Error e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        remainingChunks.countDown();
+      }
+    }
+  }
+
+  private void rethrowFailure() {
+    var e = failure.get();
+    if (e instanceof RuntimeException re) {
+      throw re;
+    }
+    if (e instanceof Error err) {
+      throw err;
+    }
+  }
+
+  private Object assemble() {
+    var warnings = WarningsLibrary.getUncached();
+    var builder = ArrayBuilder.newBuilder(results.length);
+    for (var value : results) {
+      if (value instanceof DataflowError) {
+        return value;
+      }
+      builder.add(value, warnings);
+    }
+    return builder.asVector();
+  }
+}
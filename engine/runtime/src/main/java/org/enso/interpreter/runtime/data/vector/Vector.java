@@ -5,16 +5,19 @@ import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
+import java.nio.ByteOrder;
 import org.enso.interpreter.dsl.Builtin;
 import org.enso.interpreter.node.expression.builtin.interop.syntax.HostValueToEnsoNode;
 import org.enso.interpreter.runtime.EnsoContext;
 import org.enso.interpreter.runtime.data.EnsoObject;
 import org.enso.interpreter.runtime.data.Type;
+import org.enso.interpreter.runtime.data.text.Text;
 import org.enso.interpreter.runtime.error.Warning;
 import org.enso.interpreter.runtime.error.WarningsLibrary;
 import org.enso.interpreter.runtime.error.WithWarnings;
@@ -131,6 +134,28 @@ abstract class Vector implements EnsoObject {
     }
   }
 
+  static Vector fromBooleanArray(boolean[] arr) {
+    if (arr == null || arr.length == 0) {
+      return EMPTY_VECTOR;
+    } else {
+      var bits = new long[(arr.length + 63) >>> 6];
+      for (int i = 0; i < arr.length; i++) {
+        if (arr[i]) {
+          bits[i >>> 6] |= 1L << i;
+        }
+      }
+      return new BitPackedBooleans(bits, arr.length);
+    }
+  }
+
+  static Vector fromTextArray(Text[] arr) {
+    if (arr == null || arr.length == 0) {
+      return EMPTY_VECTOR;
+    } else {
+      return new CompactTexts(arr);
+    }
+  }
+
   static Vector fromEnsoOnlyArray(Object[] arr) {
     if (arr == null || arr.length == 0) {
       return EMPTY_VECTOR;
@@ -280,6 +305,87 @@ abstract class Vector implements EnsoObject {
       }
     }
 
+    //
+    // buffer messages are delegated, so that a vector over a byte buffer stays readable as a buffer
+    //
+
+    @ExportMessage
+    boolean hasBufferElements(
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop) {
+      return interop.hasBufferElements(storage);
+    }
+
+    @ExportMessage
+    long getBufferSize(
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException {
+      return interop.getBufferSize(storage);
+    }
+
+    @ExportMessage
+    byte readBufferByte(
+        long byteOffset,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      return interop.readBufferByte(storage, byteOffset);
+    }
+
+    @ExportMessage
+    void readBuffer(
+        long byteOffset,
+        byte[] destination,
+        int destinationOffset,
+        int length,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      interop.readBuffer(storage, byteOffset, destination, destinationOffset, length);
+    }
+
+    @ExportMessage
+    short readBufferShort(
+        ByteOrder order,
+        long byteOffset,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      return interop.readBufferShort(storage, order, byteOffset);
+    }
+
+    @ExportMessage
+    int readBufferInt(
+        ByteOrder order,
+        long byteOffset,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      return interop.readBufferInt(storage, order, byteOffset);
+    }
+
+    @ExportMessage
+    long readBufferLong(
+        ByteOrder order,
+        long byteOffset,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      return interop.readBufferLong(storage, order, byteOffset);
+    }
+
+    @ExportMessage
+    float readBufferFloat(
+        ByteOrder order,
+        long byteOffset,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      return interop.readBufferFloat(storage, order, byteOffset);
+    }
+
+    @ExportMessage
+    double readBufferDouble(
+        ByteOrder order,
+        long byteOffset,
+        @Cached.Shared(value = "interop") @CachedLibrary(limit = "3") InteropLibrary interop)
+        throws UnsupportedMessageException, InvalidBufferOffsetException {
+      return interop.readBufferDouble(storage, order, byteOffset);
+    }
+
     @ExportMessage
     boolean hasWarnings(
         @Cached.Shared(value = "warnsLib") @CachedLibrary(limit = "3") WarningsLibrary warnings) {
@@ -318,6 +424,11 @@ abstract class Vector implements EnsoObject {
       this.storage = storage;
     }
 
+    /** Returns a copy of the values of this vector. */
+    final double[] toDoubleArray() {
+      return storage.clone();
+    }
+
     @ExportMessage
     long getArraySize() {
       return storage.length;
@@ -381,6 +492,11 @@ abstract class Vector implements EnsoObject {
       this.storage = storage;
     }
 
+    /** Returns a copy of the values of this vector. */
+    final long[] toLongArray() {
+      return storage.clone();
+    }
+
     @ExportMessage
     long getArraySize() {
       return storage.length;
@@ -421,4 +537,107 @@ abstract class Vector implements EnsoObject {
       return false;
     }
   }
+
+  /** A vector of booleans packed into the bits of a {@code long[]}. */
+  @ExportLibrary(value = InteropLibrary.class)
+  @ExportLibrary(value = WarningsLibrary.class)
+  static final class BitPackedBooleans extends Vector {
+    private final long[] bits;
+    private final int size;
+
+    private BitPackedBooleans(long[] bits, int size) {
+      this.bits = bits;
+      this.size = size;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return size;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      if (index < 0 || index >= size) {
+        throw InvalidArrayIndexException.create(index);
+      }
+      var i = (int) index;
+      return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      return index < size && index >= 0;
+    }
+
+    @ExportMessage
+    boolean hasWarnings() {
+      return false;
+    }
+
+    @ExportMessage
+    Warning[] getWarnings(Node location, boolean shouldWrap) throws UnsupportedMessageException {
+      return new Warning[0];
+    }
+
+    @ExportMessage
+    BitPackedBooleans removeWarnings() {
+      return this;
+    }
+
+    @ExportMessage
+    boolean isLimitReached() {
+      return false;
+    }
+  }
+
+  /** A vector whose elements are all texts without warnings. */
+  @ExportLibrary(value = InteropLibrary.class)
+  @ExportLibrary(value = WarningsLibrary.class)
+  static final class CompactTexts extends Vector {
+    private final Text[] storage;
+
+    private CompactTexts(Text[] storage) {
+      this.storage = storage;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+      return storage.length;
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+      try {
+        return storage[Math.toIntExact(index)];
+      } catch (ArithmeticException | IndexOutOfBoundsException ex) {
+        throw InvalidArrayIndexException.create(index);
+      }
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+      var size = storage.length;
+      return index < size && index >= 0;
+    }
+
+    @ExportMessage
+    boolean hasWarnings() {
+      return false;
+    }
+
+    @ExportMessage
+    Warning[] getWarnings(Node location, boolean shouldWrap) throws UnsupportedMessageException {
+      return new Warning[0];
+    }
+
+    @ExportMessage
+    CompactTexts removeWarnings() {
+      return this;
+    }
+
+    @ExportMessage
+    boolean isLimitReached() {
+      return false;
+    }
+  }
 }
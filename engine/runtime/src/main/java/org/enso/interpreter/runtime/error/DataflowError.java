@@ -78,6 +78,27 @@ public final class DataflowError extends AbstractTruffleException implements Ens
     return result;
   }
 
+  /**
+   * Construct a new dataflow error derived from the provided exception.
+   *
+   * <p>Walking the stack is the dominant cost of creating an error, so it can be skipped when the
+   * error is created in a hot loop. In that case only the location of the prototype is recorded and
+   * the one-element stack trace is materialized lazily by {@code getExceptionStackTrace}.
+   *
+   * @param payload the user-provided value carried by the error
+   * @param prototype the exception to derive the stacktrace or location from
+   * @param captureTrace whether to capture the whole stack trace
+   * @return a new dataflow error
+   */
+  public static DataflowError withTrace(
+      Object payload, AbstractTruffleException prototype, boolean captureTrace) {
+    if (captureTrace) {
+      return withTrace(payload, prototype);
+    } else {
+      return withoutTrace(payload, prototype.getLocation());
+    }
+  }
+
   private DataflowError(Object payload, Node location) {
     super(null, null, 1, location);
     this.payload = payload;
@@ -29,6 +29,9 @@ public final class Warning implements EnsoObject {
   private final ArrayRope<Reassignment> reassignments;
   private final long sequenceId;
 
+  /** The last reassignment of this warning, reused when reassigned at the same location again. */
+  private ReassignedAt lastReassigned;
+
   private Warning(Object value, Object origin, long sequenceId) {
     this(value, origin, sequenceId, new ArrayRope<>());
   }
@@ -232,12 +235,20 @@ public final class Warning implements EnsoObject {
 
   @CompilerDirectives.TruffleBoundary
   public Warning reassign(Node location) {
+    var last = lastReassigned;
+    if (last != null && last.location() == location) {
+      return last.warning();
+    }
     RootNode root = location.getRootNode();
     SourceSection section = location.getEncapsulatingSourceSection();
     Reassignment reassignment = new Reassignment(root == null ? "" : root.getName(), section);
-    return new Warning(value, origin, sequenceId, reassignments.prepend(reassignment));
+    var warning = new Warning(value, origin, sequenceId, reassignments.prepend(reassignment));
+    lastReassigned = new ReassignedAt(location, warning);
+    return warning;
   }
 
+  private record ReassignedAt(Node location, Warning warning) {}
+
   @ExportMessage
   boolean hasType() {
     return true;
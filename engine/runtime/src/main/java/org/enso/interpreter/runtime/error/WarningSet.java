@@ -0,0 +1,132 @@
+package org.enso.interpreter.runtime.error;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import java.util.Arrays;
+
+/**
+ * An immutable set of warnings attached to a value. Warnings are identified by their {@link
+ * Warning#getSequenceId() sequence id}, so reassigned copies of a warning count as the same
+ * warning.
+ *
+ * <p>Adding warnings creates a new set that shares the warnings of the original one instead of
+ * copying them. Adding warnings that are all present already returns the original set, so values
+ * propagating the same warnings through many operations do not allocate new sets at all.
+ */
+final class WarningSet {
+  /** The number of links after which the chain of shared sets is flattened into one array. */
+  private static final int MAX_DEPTH = 8;
+
+  private static final WarningSet EMPTY = new WarningSet(null, new Warning[0]);
+
+  private final WarningSet parent;
+  private final Warning[] added;
+  private final int size;
+  private final int depth;
+
+  private WarningSet(WarningSet parent, Warning[] added) {
+    this.parent = parent;
+    this.added = added;
+    this.size = (parent == null ? 0 : parent.size) + added.length;
+    this.depth = parent == null ? 0 : parent.depth + 1;
+  }
+
+  /**
+   * Creates a set of warnings.
+   *
+   * @param maxWarnings the maximal number of warnings kept in the set
+   * @param warnings the warnings, duplicates are ignored
+   * @return a set holding at most {@code maxWarnings} of the warnings
+   */
+  static WarningSet create(int maxWarnings, Warning[] warnings) {
+    return EMPTY.addAll(maxWarnings, warnings);
+  }
+
+  /**
+   * @return the number of warnings in this set
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Creates a set with the additional warnings.
+   *
+   * @param maxWarnings the maximal number of warnings kept in the set
+   * @param warnings the warnings to add
+   * @return this set if no warning was added, a new set sharing the warnings of this set otherwise
+   */
+  @CompilerDirectives.TruffleBoundary
+  WarningSet addAll(int maxWarnings, Warning[] warnings) {
+    Warning[] fresh = null;
+    int count = 0;
+    for (var warning : warnings) {
+      if (size + count >= maxWarnings) {
+        break;
+      }
+      if (contains(warning) || indexOf(fresh, count, warning.getSequenceId()) >= 0) {
+        continue;
+      }
+      if (fresh == null) {
+        fresh = new Warning[Math.min(warnings.length, maxWarnings - size)];
+      }
+      fresh[count++] = warning;
+    }
+    if (count == 0) {
+      return this;
+    }
+    if (count < fresh.length) {
+      fresh = Arrays.copyOf(fresh, count);
+    }
+    if (size == 0) {
+      return new WarningSet(null, fresh);
+    }
+    if (depth >= MAX_DEPTH) {
+      var all = Arrays.copyOf(toArray(), size + count);
+      System.arraycopy(fresh, 0, all, size, count);
+      return new WarningSet(null, all);
+    }
+    return new WarningSet(this, fresh);
+  }
+
+  /**
+   * Checks whether a warning, or a reassigned copy of it, is in this set.
+   *
+   * @param warning the warning to look for
+   * @return {@code true} if the set contains the warning
+   */
+  @CompilerDirectives.TruffleBoundary
+  boolean contains(Warning warning) {
+    var id = warning.getSequenceId();
+    for (var set = this; set != null; set = set.parent) {
+      if (indexOf(set.added, set.added.length, id) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Copies the warnings to a new array, in the order they were added.
+   *
+   * @return an array of the warnings
+   */
+  @CompilerDirectives.TruffleBoundary
+  Warning[] toArray() {
+    var result = new Warning[size];
+    var end = size;
+    for (var set = this; set != null; set = set.parent) {
+      end -= set.added.length;
+      System.arraycopy(set.added, 0, result, end, set.added.length);
+    }
+    return result;
+  }
+
+  private static int indexOf(Warning[] warnings, int length, long sequenceId) {
+    for (int i = 0; i < length; i++) {
+      if (warnings[i].getSequenceId() == sequenceId) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
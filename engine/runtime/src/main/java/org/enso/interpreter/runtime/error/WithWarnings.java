@@ -22,7 +22,6 @@ import org.enso.interpreter.runtime.data.Type;
 import org.enso.interpreter.runtime.data.text.Text;
 import org.enso.interpreter.runtime.library.dispatch.TypesLibrary;
 import org.enso.interpreter.runtime.state.State;
-import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
 
 /**
@@ -49,7 +48,7 @@ import org.graalvm.collections.Equivalence;
 @ExportLibrary(value = InteropLibrary.class, delegateTo = "value")
 public final class WithWarnings implements EnsoObject {
   final Object value;
-  private final EconomicSet<Warning> warnings;
+  private final WarningSet warnings;
 
   private final boolean limitReached;
   private final int maxWarnings;
@@ -60,52 +59,25 @@ public final class WithWarnings implements EnsoObject {
    *
    * @param value value to be wrapped in warnings
    * @param maxWarnings maximal number of warnings allowed to be attached to the value
+   * @param warnings non-empty warnings to be attached to a value
    * @param limitReached if `true`, indicates that `warnings` have already been limited for a
    *     custom-method, `false` otherwise
-   * @param warnings non-empty warnings to be attached to a value
    */
-  private WithWarnings(Object value, int maxWarnings, boolean limitReached, Warning... warnings) {
+  private WithWarnings(Object value, int maxWarnings, WarningSet warnings, boolean limitReached) {
     assert isAcceptableValue(value);
-    this.warnings = createSetFromArray(maxWarnings, warnings);
+    this.warnings = warnings;
     assert this.warnings.size() > 0;
     this.value = value;
     this.limitReached = limitReached || this.warnings.size() >= maxWarnings;
     this.maxWarnings = maxWarnings;
   }
 
-  private WithWarnings(Object value, int maxWarnings, Warning... warnings) {
-    this(value, maxWarnings, false, warnings);
-  }
-
-  /**
-   * Creates a new instance of value wrapped in warnings. `limitReached` parameter allows for
-   * indicating if some custom warnings filtering on `additionalWarnings` have already been
-   * performed.
-   *
-   * @param value value to be wrapped in warnings
-   * @param maxWarnings maximal number of warnings allowed to be attached to the value
-   * @param warnings warnings originally attached to a value
-   * @param limitReached if `true`, indicates that `warnings` have already been limited for a
-   *     custom-method, `false` otherwise
-   * @param additionalWarnings additional warnings to be appended to the list of `warnings`
-   */
-  private WithWarnings(
-      Object value,
-      int maxWarnings,
-      EconomicSet<Warning> warnings,
-      boolean limitReached,
-      Warning... additionalWarnings) {
-    assert isAcceptableValue(value);
-    this.warnings = cloneSetAndAppend(maxWarnings, warnings, additionalWarnings);
-    assert this.warnings.size() > 0;
-    this.value = value;
-    this.limitReached = limitReached || this.warnings.size() >= maxWarnings;
-    this.maxWarnings = maxWarnings;
+  private WithWarnings(Object value, int maxWarnings, boolean limitReached, Warning... warnings) {
+    this(value, maxWarnings, WarningSet.create(maxWarnings, warnings), limitReached);
   }
 
-  private WithWarnings(
-      Object value, int maxWarnings, EconomicSet<Warning> warnings, Warning... additionalWarnings) {
-    this(value, maxWarnings, warnings, false, additionalWarnings);
+  private WithWarnings(Object value, int maxWarnings, Warning... warnings) {
+    this(value, maxWarnings, false, warnings);
   }
 
   private static boolean isAcceptableValue(Object value) {
@@ -133,16 +105,21 @@ public final class WithWarnings implements EnsoObject {
   }
 
   public WithWarnings append(EnsoContext ctx, boolean limitReached, Warning... newWarnings) {
-    return new WithWarnings(value, ctx.getWarningsLimit(), warnings, limitReached, newWarnings);
+    var max = ctx.getWarningsLimit();
+    var newSet = warnings.addAll(max, newWarnings);
+    if (newSet == warnings && max == maxWarnings && (this.limitReached || !limitReached)) {
+      // all the warnings are already attached, share this instance
+      return this;
+    }
+    return new WithWarnings(value, max, newSet, limitReached);
   }
 
   public WithWarnings append(EnsoContext ctx, Warning... newWarnings) {
-    return new WithWarnings(value, ctx.getWarningsLimit(), warnings, newWarnings);
+    return append(ctx, false, newWarnings);
   }
 
   public WithWarnings append(EnsoContext ctx, ArrayRope<Warning> newWarnings) {
-    return new WithWarnings(
-        value, ctx.getWarningsLimit(), warnings, newWarnings.toArray(Warning[]::new));
+    return append(ctx, false, newWarnings.toArray(Warning[]::new));
   }
 
   // Ignore the warnings cache in .value and re-fetch them using the WarningsLibrary.
@@ -155,7 +132,7 @@ public final class WithWarnings implements EnsoObject {
         throw EnsoContext.get(warningsLibrary).raiseAssertionPanic(warningsLibrary, null, e);
       }
     } else {
-      return Warning.fromSetToArray(warnings);
+      return warnings.toArray();
     }
   }
 
@@ -164,13 +141,12 @@ public final class WithWarnings implements EnsoObject {
     if (warningsLibrary != null && warningsLibrary.hasWarnings(value)) {
       try {
         Warning[] valueWarnings = warningsLibrary.getWarnings(value, null, shouldWrap);
-        EconomicSet<Warning> tmp = cloneSetAndAppend(maxWarnings, warnings, valueWarnings);
-        allWarnings = Warning.fromSetToArray(tmp);
+        allWarnings = warnings.addAll(maxWarnings, valueWarnings).toArray();
       } catch (UnsupportedMessageException e) {
         throw EnsoContext.get(warningsLibrary).raiseAssertionPanic(warningsLibrary, null, e);
       }
     } else {
-      allWarnings = Warning.fromSetToArray(warnings);
+      allWarnings = warnings.toArray();
     }
     return allWarnings;
   }
@@ -263,7 +239,7 @@ public final class WithWarnings implements EnsoObject {
         // it contains unwrapped warnings. Instead, we fetch them again.
         return getWarningsNoCache(warningsLibrary);
       } else {
-        return Warning.fromSetToArray(warnings);
+        return warnings.toArray();
       }
     }
   }
@@ -324,44 +300,6 @@ public final class WithWarnings implements EnsoObject {
     }
   }
 
-  @CompilerDirectives.TruffleBoundary
-  private EconomicSet<Warning> createSetFromArray(int maxWarnings, Warning[] entries) {
-    EconomicSet<Warning> set = EconomicSet.create(new WarningEquivalence());
-    for (int i = 0; i < entries.length; i++) {
-      if (set.size() == maxWarnings) {
-        return set;
-      }
-      set.add(entries[i]);
-    }
-    return set;
-  }
-
-  private EconomicSet<Warning> cloneSetAndAppend(
-      int maxWarnings, EconomicSet<Warning> initial, Warning[] entries) {
-    return initial.size() == maxWarnings
-        ? initial
-        : cloneSetAndAppendSlow(maxWarnings, initial, entries);
-  }
-
-  @CompilerDirectives.TruffleBoundary
-  private EconomicSet<Warning> cloneSetAndAppendSlow(
-      int maxWarnings, EconomicSet<Warning> initial, Warning[] entries) {
-    EconomicSet<Warning> set = EconomicSet.create(new WarningEquivalence());
-    for (Warning warning : initial) {
-      if (set.size() == maxWarnings) {
-        return set;
-      }
-      set.add(warning);
-    }
-    for (int i = 0; i < entries.length; i++) {
-      if (set.size() == maxWarnings) {
-        return set;
-      }
-      set.add(entries[i]);
-    }
-    return set;
-  }
-
   @Override
   public String toString() {
     return "WithWarnings{"
@@ -7,6 +7,7 @@ import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.enso.compiler.context.CompilerContext;
+import org.enso.interpreter.runtime.EnsoContext;
 import org.enso.interpreter.runtime.Module;
 import org.enso.interpreter.runtime.callable.function.Function;
 import org.enso.interpreter.runtime.data.EnsoObject;
@@ -40,6 +41,18 @@ public final class ModuleScope implements EnsoObject {
     noTypeKey = Type.noType();
   }
 
+  /**
+   * Invalidates the methods resolved in the current context, as the definitions they were resolved
+   * from have changed. There is no context yet while the builtins are being created, but then no
+   * method has been resolved either.
+   */
+  private static void invalidateResolvedMethods() {
+    var ctx = EnsoContext.get(null);
+    if (ctx != null) {
+      ctx.invalidateResolvedMethods();
+    }
+  }
+
   public ModuleScope(
       Module module,
       Type associatedType,
@@ -299,6 +312,7 @@ public final class ModuleScope implements EnsoObject {
       this.imports = new LinkedHashSet<>();
       this.exports = new LinkedHashSet<>();
       this.associatedType = Type.createSingleton(module.getName().item(), this, null, false, false);
+      invalidateResolvedMethods();
     }
 
     public Builder(Module module, Map<String, Type> types) {
@@ -310,6 +324,7 @@ public final class ModuleScope implements EnsoObject {
       this.imports = new LinkedHashSet<>();
       this.exports = new LinkedHashSet<>();
       this.associatedType = Type.createSingleton(module.getName().item(), this, null, false, false);
+      invalidateResolvedMethods();
     }
 
     public Builder(
@@ -329,6 +344,7 @@ public final class ModuleScope implements EnsoObject {
       this.conversions = conversions;
       this.imports = imports;
       this.exports = exports;
+      invalidateResolvedMethods();
     }
 
     public Type registerType(Type type) {
@@ -365,6 +381,7 @@ public final class ModuleScope implements EnsoObject {
         throw new RedefinedMethodException(type.getName(), method);
       } else {
         methodMap.put(method, new CachingSupplier<>(function));
+        invalidateResolvedMethods();
       }
     }
 
@@ -385,6 +402,7 @@ public final class ModuleScope implements EnsoObject {
         throw new RedefinedMethodException(type.getName(), method);
       } else {
         methodMap.put(method, new CachingSupplier<>(supply));
+        invalidateResolvedMethods();
       }
     }
 
@@ -439,6 +457,7 @@ public final class ModuleScope implements EnsoObject {
     public void addImport(ImportExportScope scope) {
       assert moduleScope == null;
       imports.add(scope);
+      invalidateResolvedMethods();
     }
 
     /**
@@ -449,6 +468,7 @@ public final class ModuleScope implements EnsoObject {
     public void addExport(ImportExportScope scope) {
       assert moduleScope == null;
       exports.add(scope);
+      invalidateResolvedMethods();
     }
 
     public Module getModule() {
@@ -42,6 +42,7 @@ public class System {
   @Builtin.Method(description = "Gets the nanosecond resolution system time.", autoRegister = false)
   @CompilerDirectives.TruffleBoundary
   public static long nanoTime() {
+    EnsoContext.get(null).notifyVolatileRead();
     return java.lang.System.nanoTime();
   }
 
@@ -81,6 +82,7 @@ public class System {
     for (int i = 1; i <= arrArguments.length; i++) {
       cmd[i] = expectStringNode.execute(arrArguments[i - 1]);
     }
+    ctx.notifyVolatileRead();
     TruffleProcessBuilder pb = ctx.newProcessBuilder(cmd);
 
     Process p = pb.start();
@@ -11,4 +11,13 @@ public @interface LayoutSpec {
   int minFields();
 
   int maxFields();
+
+  /**
+   * The maximum number of fields of atoms using padded storage. Atoms with more than {@link
+   * #maxFields()} fields round the number of their unboxed and boxed fields up to a multiple of
+   * {@link #paddingGroup()}, so that a few storage classes serve all the wider field combinations.
+   */
+  int maxPaddedFields() default 0;
+
+  int paddingGroup() default 1;
 }
@@ -3,6 +3,8 @@ package org.enso.interpreter.dsl.atom;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
@@ -49,11 +51,39 @@ public class LayoutSpecProcessor extends AbstractProcessor {
   }
 
   private void writeAtoms(String pkg, String layoutName, LayoutSpec spec) throws IOException {
-    for (int arity = spec.minFields(); arity <= spec.maxFields(); arity++) {
+    for (var shape : storageShapes(spec).entrySet()) {
+      for (var boxed : shape.getValue()) {
+        writeAtom(pkg, layoutName, shape.getKey(), boxed);
+      }
+    }
+  }
+
+  /**
+   * Computes the storage classes to generate. Atoms of up to {@link LayoutSpec#maxFields()} fields
+   * get a class for every combination of unboxed and boxed fields. Wider atoms round both numbers
+   * up to a multiple of {@link LayoutSpec#paddingGroup()} and leave the extra fields unused.
+   *
+   * @return the numbers of boxed fields of the classes, keyed by their numbers of unboxed fields
+   */
+  private static TreeMap<Integer, TreeSet<Integer>> storageShapes(LayoutSpec spec) {
+    var shapes = new TreeMap<Integer, TreeSet<Integer>>();
+    var maxArity = Math.max(spec.maxFields(), spec.maxPaddedFields());
+    for (int arity = spec.minFields(); arity <= maxArity; arity++) {
       for (int unbox = 0; unbox <= arity; unbox++) {
-        writeAtom(pkg, layoutName, unbox, arity - unbox);
+        var unboxedSlots = unbox;
+        var boxedSlots = arity - unbox;
+        if (arity > spec.maxFields()) {
+          unboxedSlots = padded(unboxedSlots, spec.paddingGroup());
+          boxedSlots = padded(boxedSlots, spec.paddingGroup());
+        }
+        shapes.computeIfAbsent(unboxedSlots, k -> new TreeSet<>()).add(boxedSlots);
       }
     }
+    return shapes;
+  }
+
+  private static int padded(int count, int group) {
+    return (count + group - 1) / group * group;
   }
 
   private String fieldName(int index) {
@@ -267,17 +297,16 @@ public class LayoutSpecProcessor extends AbstractProcessor {
     out.println("  @SuppressWarnings(\"unchecked\")");
     out.println(
         "  public static NodeFactory<UnboxingAtom.FieldGetterNode>[]"
-            + " getFieldGetterNodeFactories(int numDoubles, int numLongs, int numBoxed) {");
-    out.println("    var arity = numDoubles + numLongs + numBoxed;");
+            + " getFieldGetterNodeFactories(int numDoubles, int numLongs, int numBoxed, int"
+            + " unboxedSlots, int boxedSlots) {");
     out.println("    var numUnboxed = numDoubles + numLongs;");
-    out.println("    var result = new NodeFactory[arity];");
-    out.println("    switch (numUnboxed) {");
-    for (int unboxedCase = 0; unboxedCase <= spec.maxFields(); unboxedCase++) {
+    out.println("    var result = new NodeFactory[unboxedSlots + boxedSlots];");
+    out.println("    switch (unboxedSlots) {");
+    for (var shape : storageShapes(spec).entrySet()) {
+      var unboxedCase = shape.getKey();
       out.println("      case " + unboxedCase + ":");
-      out.println("        switch (numBoxed) {");
-      for (int boxedCase = Math.max(spec.minFields() - unboxedCase, 0);
-          boxedCase + unboxedCase <= spec.maxFields();
-          boxedCase++) {
+      out.println("        switch (boxedSlots) {");
+      for (var boxedCase : shape.getValue()) {
         out.println("          case " + boxedCase + ":");
         out.println("            for (int i = 0; i < numDoubles; i++) {");
         out.println(
@@ -291,7 +320,8 @@ public class LayoutSpecProcessor extends AbstractProcessor {
                 + atomClassName(layoutName, unboxedCase, boxedCase)
                 + ".getFieldGetterNodeFactory(i, false);");
         out.println("            }");
-        out.println("            for (int i = numUnboxed; i < arity; i++) {");
+        out.println(
+            "            for (int i = unboxedSlots; i < unboxedSlots + numBoxed; i++) {");
         out.println(
             "              result[i] = "
                 + atomClassName(layoutName, unboxedCase, boxedCase)
@@ -312,19 +342,17 @@ public class LayoutSpecProcessor extends AbstractProcessor {
     out.println("  @SuppressWarnings(\"unchecked\")");
     out.println(
         "  public static NodeFactory<UnboxingAtom.FieldSetterNode>[]"
-            + " getFieldSetterNodeFactories(int numDoubles, int numLongs, int numBoxed) {");
-    out.println("    var arity = numDoubles + numLongs + numBoxed;");
-    out.println("    var numUnboxed = numDoubles + numLongs;");
-    out.println("    var result = new NodeFactory[arity];");
-    out.println("    switch (numUnboxed) {");
-    for (int unboxedCase = 0; unboxedCase <= spec.maxFields(); unboxedCase++) {
+            + " getFieldSetterNodeFactories(int numBoxed, int unboxedSlots, int boxedSlots) {");
+    out.println("    var result = new NodeFactory[unboxedSlots + boxedSlots];");
+    out.println("    switch (unboxedSlots) {");
+    for (var shape : storageShapes(spec).entrySet()) {
+      var unboxedCase = shape.getKey();
       out.println("      case " + unboxedCase + ":");
-      out.println("        switch (numBoxed) {");
-      for (int boxedCase = Math.max(spec.minFields() - unboxedCase, 0);
-          boxedCase + unboxedCase <= spec.maxFields();
-          boxedCase++) {
+      out.println("        switch (boxedSlots) {");
+      for (var boxedCase : shape.getValue()) {
         out.println("          case " + boxedCase + ":");
-        out.println("            for (int i = numUnboxed; i < arity; i++) {");
+        out.println(
+            "            for (int i = unboxedSlots; i < unboxedSlots + numBoxed; i++) {");
         out.println(
             "              result[i] = "
                 + atomClassName(layoutName, unboxedCase, boxedCase)
@@ -344,13 +372,12 @@ public class LayoutSpecProcessor extends AbstractProcessor {
   private void writeInstantiatorFactory(PrintWriter out, String layoutName, LayoutSpec spec) {
     out.println(
         "  public static NodeFactory<? extends UnboxingAtom.InstantiatorNode>"
-            + " getInstantiatorNodeFactory(int numUnboxed, int numBoxed) {");
-    out.println("    return switch (numUnboxed) {");
-    for (int unboxedCase = 0; unboxedCase <= spec.maxFields(); unboxedCase++) {
-      out.println("      case " + unboxedCase + " -> switch (numBoxed) {");
-      for (int boxedCase = Math.max(spec.minFields() - unboxedCase, 0);
-          boxedCase + unboxedCase <= spec.maxFields();
-          boxedCase++) {
+            + " getInstantiatorNodeFactory(int unboxedSlots, int boxedSlots) {");
+    out.println("    return switch (unboxedSlots) {");
+    for (var shape : storageShapes(spec).entrySet()) {
+      var unboxedCase = shape.getKey();
+      out.println("      case " + unboxedCase + " -> switch (boxedSlots) {");
+      for (var boxedCase : shape.getValue()) {
         out.println(
             "        case "
                 + boxedCase
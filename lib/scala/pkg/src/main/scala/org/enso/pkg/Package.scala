@@ -45,6 +45,9 @@ class Package[F](
   val suggestionsCacheDirectory: F = internalDirectory
     .getChild(Package.cacheDirName)
     .getChild(Package.suggestionsCacheDirName)
+  val valuesCacheDirectory: F = internalDirectory
+    .getChild(Package.cacheDirName)
+    .getChild(Package.valuesCacheDirName)
 
   private[this] var config: Config = initialConfig
   def getConfig(): Config          = config
@@ -120,6 +123,16 @@ class Package[F](
     suggestionsCacheDirectory.getChild(ensoVersion)
   }
 
+  /** Gets the location of the persisted computed values within this package
+    * for a given Enso version.
+    *
+    * @param ensoVersion the enso version to get the cache root for
+    * @return the cache root location
+    */
+  def getValuesCacheRootForPackage(ensoVersion: String): F = {
+    valuesCacheDirectory.getChild(ensoVersion)
+  }
+
   /** Changes the package name.
     *
     * @param newName the new package name
@@ -545,4 +558,5 @@ object Package {
   val irCacheDirName            = "ir"
   val bindingsCacheDirName      = "bindings"
   val suggestionsCacheDirName   = "suggestions"
+  val valuesCacheDirName        = "values"
 }
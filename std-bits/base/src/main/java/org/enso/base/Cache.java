@@ -1,50 +1,114 @@
 package org.enso.base;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
-import org.graalvm.collections.Pair;
 
+/**
+ * A thread-safe least-recently-used cache.
+ *
+ * <p>Entries are indexed by their key's hash, so lookups are constant-time regardless of the cache
+ * size. When the cache is full, the entry that was least recently read or written is evicted.
+ */
 public abstract class Cache<Key, Value> {
-  protected static final int DEFAULT_LRU_SIZE = 5;
-  protected final int lruSize;
+  protected static final int DEFAULT_LRU_SIZE = 64;
+  protected volatile int lruSize;
 
-  // Circular buffer containing the most recent cache keys.
-  private final List<Pair<Key, Value>> lru;
+  // Access-ordered map: iteration starts at the least recently used entry.
+  private final LinkedHashMap<Key, Value> lru;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
 
   protected Cache(int lruSize) {
-    this.lruSize = lruSize;
-    lru = new ArrayList<>(lruSize);
-    for (int i = 0; i < lruSize; ++i) {
-      lru.add(null);
+    if (lruSize < 1) {
+      throw new IllegalArgumentException("The LRU size must be positive, but was " + lruSize + ".");
     }
+    this.lruSize = lruSize;
+    lru =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+            return size() > Cache.this.lruSize;
+          }
+        };
   }
 
-  // Index into the circular buffer.
-  private int nextSlot = 0;
-
+  /**
+   * Returns the value cached for the key, computing and caching it if it is not present.
+   *
+   * <p>The producer is run outside of the cache lock, so concurrent misses on the same key may both
+   * compute the value; the first result to be stored wins.
+   */
   public Value get_or_set(Key key, Function<Void, Value> value_producer) {
-    Value value = get(key);
-    if (value == null) {
-      value = value_producer.apply(null);
-      lru.set(nextSlot, Pair.create(key, value));
-      nextSlot = (nextSlot + 1) % lruSize;
+    Value value = lookup(key);
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+
+    misses.increment();
+    Value computed = value_producer.apply(null);
+    synchronized (lru) {
+      Value existing = lru.putIfAbsent(key, computed);
+      return existing != null ? existing : computed;
     }
-    return value;
   }
 
   // Visible for testing.
   public Value get(Key key) {
-    for (int i = 0; i < lruSize; ++i) {
-      Pair<Key, Value> pair = lru.get(i);
-      if (pair != null && pair.getLeft().equals(key)) {
-        return lru.get(i).getRight();
-      }
+    return lookup(key);
+  }
+
+  private Value lookup(Key key) {
+    synchronized (lru) {
+      return lru.get(key);
     }
-    return null;
   }
 
   public int getLruSize() {
     return lruSize;
   }
+
+  /** Changes the maximum number of entries, evicting the least recently used ones if needed. */
+  public void setLruSize(int newSize) {
+    if (newSize < 1) {
+      throw new IllegalArgumentException("The LRU size must be positive, but was " + newSize + ".");
+    }
+    synchronized (lru) {
+      lruSize = newSize;
+      var it = lru.entrySet().iterator();
+      while (lru.size() > lruSize && it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    }
+  }
+
+  /** The number of entries currently in the cache. */
+  public int size() {
+    synchronized (lru) {
+      return lru.size();
+    }
+  }
+
+  /** The number of {@link #get_or_set} calls that were served from the cache. */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /** The number of {@link #get_or_set} calls that had to compute the value. */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Removes all entries and resets the hit/miss counters. */
+  public void clear() {
+    synchronized (lru) {
+      lru.clear();
+    }
+    hits.reset();
+    misses.reset();
+  }
 }
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
+import org.graalvm.polyglot.Value;
 
 public final class Stream_Utils {
   private Stream_Utils() {}
@@ -80,6 +81,27 @@ public final class Stream_Utils {
     return new GuestOutputStream(outputStreamLike);
   }
 
+  /**
+   * Checks whether a guest object exposes its bytes as a buffer, e.g. a memory-mapped file.
+   *
+   * @param bytes the guest object
+   * @return {@code true} if the object can be read by {@link #fromBuffer}
+   */
+  public static boolean isBuffer(Value bytes) {
+    return bytes.hasBufferElements();
+  }
+
+  /**
+   * Conversion of a guest buffer to {@link InputStream}. The bytes are copied from the buffer as
+   * they are read, without converting the whole buffer to a Java array first.
+   *
+   * @param buffer a guest object with buffer elements
+   * @return a stream reading the buffer
+   */
+  public static InputStream fromBuffer(Value buffer) {
+    return new GuestBufferInputStream(buffer);
+  }
+
   public static byte[] peek(InputStream stream, int n) throws IOException {
     assert n >= 0;
     assert stream.markSupported();
@@ -141,6 +163,67 @@ public final class Stream_Utils {
     }
   }
 
+  private static final class GuestBufferInputStream extends InputStream {
+    private final Value buffer;
+    private final long size;
+    private long position = 0;
+    private long mark = 0;
+
+    private GuestBufferInputStream(Value buffer) {
+      this.buffer = buffer;
+      this.size = buffer.getBufferSize();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (position >= size) {
+        return -1;
+      }
+      int n = (int) Math.min(len, size - position);
+      buffer.readBuffer(position, b, off, n);
+      position += n;
+      return n;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (position >= size) {
+        return -1;
+      }
+      return buffer.readBufferByte(position++) & 0xFF;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = Math.max(0, Math.min(n, size - position));
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+      mark = position;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+      position = mark;
+    }
+  }
+
   private static final class GuestOutputStream extends OutputStream {
 
     private final OutputStreamLike outputStreamLike;
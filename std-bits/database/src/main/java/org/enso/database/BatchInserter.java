@@ -0,0 +1,214 @@
+package org.enso.database;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Inserts the rows of in-memory columns into a database table using batches of a prepared insert
+ * statement.
+ *
+ * <p>The values are bound directly from the column storages, using the primitive setters for
+ * integer, float and boolean columns. The size of the batches adapts to the speed of the database:
+ * starting from the requested size, it grows while batches execute quickly and shrinks when they
+ * take long, so that round trips are amortized without building huge batches in memory.
+ */
+public final class BatchInserter {
+  private static final Logger logger = Logger.getLogger("Standard.Database.Upload");
+
+  /** The smallest size a batch shrinks to, unless the first batch was already smaller. */
+  static final int MIN_BATCH_SIZE = 100;
+
+  /** The largest number of rows sent in one batch. */
+  static final int MAX_BATCH_SIZE = 10_000;
+
+  /** The time a single batch should take to execute. */
+  private static final long TARGET_BATCH_NANOS = 250_000_000L;
+
+  private final PreparedStatement statement;
+  private final ColumnBinder[] binders;
+  private final LongSupplier nanoClock;
+  private final int minBatchSize;
+  private int batchSize;
+
+  private BatchInserter(
+      PreparedStatement statement,
+      ColumnBinder[] binders,
+      int initialBatchSize,
+      LongSupplier nanoClock) {
+    this.statement = statement;
+    this.binders = binders;
+    this.nanoClock = nanoClock;
+    this.batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, initialBatchSize));
+    this.minBatchSize = Math.min(MIN_BATCH_SIZE, batchSize);
+  }
+
+  /**
+   * Inserts rows of the columns using the prepared statement.
+   *
+   * <p>The statement must have one parameter for every column, in the same order.
+   *
+   * @param statement the prepared insert statement
+   * @param columns the storages of the columns to insert
+   * @param withTimezone for every column, whether date-time values should be sent with their
+   *     timezone, or converted to local date-times
+   * @param rowCount the number of rows to insert, starting from the first one
+   * @param initialBatchSize the number of rows in the first batch
+   * @throws IllegalStateException if the database reports a number of affected rows other than
+   *     one for an inserted row
+   */
+  public static void insert(
+      PreparedStatement statement,
+      List<Storage<?>> columns,
+      List<Boolean> withTimezone,
+      int rowCount,
+      int initialBatchSize)
+      throws SQLException {
+    insert(statement, columns, withTimezone, rowCount, initialBatchSize, System::nanoTime);
+  }
+
+  // Visible for testing.
+  public static void insert(
+      PreparedStatement statement,
+      List<Storage<?>> columns,
+      List<Boolean> withTimezone,
+      int rowCount,
+      int initialBatchSize,
+      LongSupplier nanoClock)
+      throws SQLException {
+    var binders = new ColumnBinder[columns.size()];
+    for (int i = 0; i < binders.length; i++) {
+      binders[i] = binderFor(columns.get(i), withTimezone.get(i));
+    }
+    new BatchInserter(statement, binders, initialBatchSize, nanoClock).insertRows(rowCount);
+  }
+
+  private void insertRows(int rowCount) throws SQLException {
+    Context context = Context.getCurrent();
+    int row = 0;
+    while (row < rowCount) {
+      int batchStart = row;
+      int batchEnd = Math.min(rowCount, row + batchSize);
+      for (; row < batchEnd; row++) {
+        for (int i = 0; i < binders.length; i++) {
+          binders[i].bind(statement, i + 1, row);
+        }
+        statement.addBatch();
+        context.safepoint();
+      }
+      executeBatch(batchEnd - batchStart);
+      logger.log(Level.FINE, "Uploaded {0} of {1} rows.", new Object[] {row, rowCount});
+    }
+  }
+
+  private void executeBatch(int expectedSize) throws SQLException {
+    long start = nanoClock.getAsLong();
+    int[] updates = statement.executeBatch();
+    long elapsed = Math.max(1, nanoClock.getAsLong() - start);
+    checkUpdates(updates, expectedSize);
+    if (expectedSize == batchSize) {
+      adaptBatchSize(elapsed);
+    }
+  }
+
+  /**
+   * Scales the batch size towards the number of rows that can be inserted in {@link
+   * #TARGET_BATCH_NANOS}, changing it at most by a factor of two at a time.
+   */
+  private void adaptBatchSize(long elapsedNanos) {
+    double scale = (double) TARGET_BATCH_NANOS / elapsedNanos;
+    scale = Math.max(0.5, Math.min(2.0, scale));
+    int newSize = (int) (batchSize * scale);
+    batchSize = Math.max(minBatchSize, Math.min(MAX_BATCH_SIZE, newSize));
+  }
+
+  private static void checkUpdates(int[] updates, int expectedSize) {
+    if (updates.length != expectedSize) {
+      throw new IllegalStateException(
+          "The batch update unexpectedly affected "
+              + updates.length
+              + " rows instead of "
+              + expectedSize
+              + ".");
+    }
+    for (int affectedRows : updates) {
+      if (affectedRows != 1 && affectedRows != Statement.SUCCESS_NO_INFO) {
+        throw new IllegalStateException(
+            "A single update within the batch unexpectedly affected " + affectedRows + " rows.");
+      }
+    }
+  }
+
+  private static ColumnBinder binderFor(Storage<?> storage, boolean withTimezone) {
+    return switch (storage) {
+      case AbstractLongStorage longs -> (statement, index, row) -> {
+        if (longs.isNothing(row)) {
+          statement.setNull(index, Types.NULL);
+        } else {
+          statement.setLong(index, longs.getItem(row));
+        }
+      };
+      case DoubleStorage doubles -> (statement, index, row) -> {
+        if (doubles.isNothing(row)) {
+          statement.setNull(index, Types.NULL);
+        } else {
+          statement.setDouble(index, doubles.getItemAsDouble(row));
+        }
+      };
+      case BoolStorage booleans -> (statement, index, row) -> {
+        if (booleans.isNothing(row)) {
+          statement.setNull(index, Types.NULL);
+        } else {
+          statement.setBoolean(index, booleans.getItem(row));
+        }
+      };
+      default -> (statement, index, row) ->
+          setObject(statement, index, storage.getItemBoxed(row), withTimezone);
+    };
+  }
+
+  /** Binds a value the same way as the default {@code Statement_Setter} of the Database library. */
+  private static void setObject(
+      PreparedStatement statement, int index, Object value, boolean withTimezone)
+      throws SQLException {
+    switch (value) {
+      case null -> statement.setNull(index, Types.NULL);
+      case Boolean b -> statement.setBoolean(index, b);
+      case Long l -> statement.setLong(index, l);
+      case BigInteger bigInteger -> statement.setBigDecimal(index, new BigDecimal(bigInteger));
+      case BigDecimal bigDecimal -> statement.setBigDecimal(index, bigDecimal);
+      case Double d -> statement.setDouble(index, d);
+      case String s -> statement.setString(index, s);
+      case ZonedDateTime dateTime -> {
+        if (withTimezone) {
+          JDBCUtils.setZonedDateTime(statement, index, dateTime);
+        } else {
+          JDBCUtils.setLocalDateTime(statement, index, dateTime);
+        }
+      }
+      case LocalTime time -> JDBCUtils.setLocalTime(statement, index, time);
+      case LocalDate date -> JDBCUtils.setLocalDate(statement, index, date);
+      default -> statement.setObject(index, value);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ColumnBinder {
+    void bind(PreparedStatement statement, int index, int row) throws SQLException;
+  }
+}
@@ -0,0 +1,254 @@
+package org.enso.database;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.List;
+import org.enso.table.data.column.builder.BigDecimalBuilder;
+import org.enso.table.data.column.builder.BigIntegerBuilder;
+import org.enso.table.data.column.builder.BoolBuilder;
+import org.enso.table.data.column.builder.Builder;
+import org.enso.table.data.column.builder.DateBuilder;
+import org.enso.table.data.column.builder.DateTimeBuilder;
+import org.enso.table.data.column.builder.DoubleBuilder;
+import org.enso.table.data.column.builder.LongBuilder;
+import org.enso.table.data.column.builder.NumericBuilder;
+import org.enso.table.data.column.builder.StringBuilder;
+import org.enso.table.data.column.builder.TimeOfDayBuilder;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Reads all the rows of a {@link ResultSet} into column storages.
+ *
+ * <p>Every column is read by a {@link ColumnReader} that fetches the values with the primitive
+ * getters of the result set and appends them to a typed builder, so no value passes through the
+ * interpreter.
+ */
+public final class ResultSetMaterializer {
+  /** The number of rows the driver is asked to fetch at once, if it would fetch fewer. */
+  public static final int FETCH_SIZE = 10_000;
+
+  private static final int INITIAL_SIZE = 128;
+
+  private final ColumnAppender[] appenders;
+  private final List<SQLWarning> warnings = new ArrayList<>();
+
+  /**
+   * Creates a materializer.
+   *
+   * @param readers the readers of the consecutive columns of the result set
+   * @param problemAggregator the aggregator for problems reported by the builders; the
+   *     materializer must not outlive it
+   */
+  public ResultSetMaterializer(List<ColumnReader> readers, ProblemAggregator problemAggregator) {
+    appenders = new ColumnAppender[readers.size()];
+    for (int i = 0; i < appenders.length; i++) {
+      appenders[i] = readers.get(i).makeAppender(INITIAL_SIZE, problemAggregator);
+    }
+  }
+
+  /**
+   * Reads all the remaining rows of the result set.
+   *
+   * <p>The warnings reported by the result set while reading each row are gathered and can be
+   * retrieved with {@link #getWarnings()}.
+   */
+  public void readAll(ResultSet resultSet) throws SQLException {
+    tuneFetchSize(resultSet);
+    Context context = Context.getCurrent();
+    while (resultSet.next()) {
+      for (int i = 0; i < appenders.length; i++) {
+        appenders[i].append(resultSet, i + 1);
+      }
+      for (var warning = resultSet.getWarnings();
+          warning != null;
+          warning = warning.getNextWarning()) {
+        warnings.add(warning);
+      }
+      context.safepoint();
+    }
+  }
+
+  /**
+   * @return the warnings reported by the result set while reading the rows
+   */
+  public List<SQLWarning> getWarnings() {
+    return warnings;
+  }
+
+  /**
+   * @return the storages of the columns holding the rows read so far
+   */
+  public Storage<?>[] seal() {
+    var storages = new Storage<?>[appenders.length];
+    for (int i = 0; i < appenders.length; i++) {
+      storages[i] = appenders[i].builder().seal();
+    }
+    return storages;
+  }
+
+  private static void tuneFetchSize(ResultSet resultSet) {
+    try {
+      if (resultSet.getFetchSize() < FETCH_SIZE) {
+        resultSet.setFetchSize(FETCH_SIZE);
+      }
+    } catch (SQLException e) {
+      // The fetch size is only a hint, some drivers do not support changing it.
+    }
+  }
+
+  /** Reads integers with {@link ResultSet#getLong(int)}. */
+  public static ColumnReader longReader(IntegerType type) {
+    return (initialSize, problemAggregator) -> {
+      LongBuilder builder = NumericBuilder.createLongBuilder(initialSize, type, problemAggregator);
+      return new ColumnAppender(builder) {
+        @Override
+        void append(ResultSet resultSet, int columnIndex) throws SQLException {
+          long value = resultSet.getLong(columnIndex);
+          if (resultSet.wasNull()) {
+            builder.appendNulls(1);
+          } else {
+            builder.appendLong(value);
+          }
+        }
+      };
+    };
+  }
+
+  /** Reads floating point numbers with {@link ResultSet#getDouble(int)}. */
+  public static ColumnReader doubleReader() {
+    return (initialSize, problemAggregator) -> {
+      DoubleBuilder builder = NumericBuilder.createDoubleBuilder(initialSize, problemAggregator);
+      return new ColumnAppender(builder) {
+        @Override
+        void append(ResultSet resultSet, int columnIndex) throws SQLException {
+          double value = resultSet.getDouble(columnIndex);
+          if (resultSet.wasNull()) {
+            builder.appendNulls(1);
+          } else {
+            builder.appendDouble(value);
+          }
+        }
+      };
+    };
+  }
+
+  /** Reads booleans with {@link ResultSet#getBoolean(int)}. */
+  public static ColumnReader booleanReader() {
+    return (initialSize, problemAggregator) -> {
+      BoolBuilder builder = new BoolBuilder(initialSize);
+      return new ColumnAppender(builder) {
+        @Override
+        void append(ResultSet resultSet, int columnIndex) throws SQLException {
+          boolean value = resultSet.getBoolean(columnIndex);
+          if (resultSet.wasNull()) {
+            builder.appendNulls(1);
+          } else {
+            builder.appendBoolean(value);
+          }
+        }
+      };
+    };
+  }
+
+  /** Reads text with {@link ResultSet#getString(int)}. */
+  public static ColumnReader textReader(TextType type) {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(new StringBuilder(initialSize, type), ResultSet::getString);
+  }
+
+  /** Reads integers of arbitrary size from {@link ResultSet#getBigDecimal(int)}. */
+  public static ColumnReader bigIntegerReader() {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(
+            new BigIntegerBuilder(initialSize, problemAggregator),
+            (resultSet, columnIndex) -> {
+              BigDecimal value = resultSet.getBigDecimal(columnIndex);
+              return value == null ? null : value.toBigIntegerExact();
+            });
+  }
+
+  /** Reads decimals with {@link ResultSet#getBigDecimal(int)}. */
+  public static ColumnReader bigDecimalReader() {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(new BigDecimalBuilder(initialSize), ResultSet::getBigDecimal);
+  }
+
+  /** Reads dates with {@link JDBCUtils#getLocalDate}. */
+  public static ColumnReader dateReader() {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(new DateBuilder(initialSize), JDBCUtils::getLocalDate);
+  }
+
+  /** Reads times of day with {@link JDBCUtils#getLocalTime}. */
+  public static ColumnReader timeOfDayReader() {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(new TimeOfDayBuilder(initialSize), JDBCUtils::getLocalTime);
+  }
+
+  /** Reads timestamps with a timezone with {@link JDBCUtils#getZonedDateTime}. */
+  public static ColumnReader zonedDateTimeReader() {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(new DateTimeBuilder(initialSize), JDBCUtils::getZonedDateTime);
+  }
+
+  /**
+   * Reads timestamps without a timezone with {@link JDBCUtils#getLocalDateTimeAsZoned}, adding
+   * the system default timezone.
+   */
+  public static ColumnReader localDateTimeReader() {
+    return (initialSize, problemAggregator) ->
+        new ObjectAppender(new DateTimeBuilder(initialSize), JDBCUtils::getLocalDateTimeAsZoned);
+  }
+
+  /** Creates a builder for a column and describes how to read its values from a result set. */
+  @FunctionalInterface
+  public interface ColumnReader {
+    ColumnAppender makeAppender(int initialSize, ProblemAggregator problemAggregator);
+  }
+
+  /** Appends the values of a column of the current row of a result set to a builder. */
+  public abstract static class ColumnAppender {
+    private final Builder builder;
+
+    ColumnAppender(Builder builder) {
+      this.builder = builder;
+    }
+
+    Builder builder() {
+      return builder;
+    }
+
+    abstract void append(ResultSet resultSet, int columnIndex) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface ObjectGetter {
+    Object get(ResultSet resultSet, int columnIndex) throws SQLException;
+  }
+
+  private static final class ObjectAppender extends ColumnAppender {
+    private final ObjectGetter getter;
+
+    ObjectAppender(Builder builder, ObjectGetter getter) {
+      super(builder);
+      this.getter = getter;
+    }
+
+    @Override
+    void append(ResultSet resultSet, int columnIndex) throws SQLException {
+      Object value = getter.get(resultSet, columnIndex);
+      if (value == null || resultSet.wasNull()) {
+        builder().appendNulls(1);
+      } else {
+        builder().append(value);
+      }
+    }
+  }
+}
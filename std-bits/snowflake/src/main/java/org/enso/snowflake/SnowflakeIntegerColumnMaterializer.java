@@ -6,7 +6,7 @@ import java.util.BitSet;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.BigIntegerStorage;
-import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.numeric.CompactLongStorage;
 import org.enso.table.data.column.storage.type.BigIntegerType;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.column.storage.type.StorageType;
@@ -111,7 +111,8 @@ public class SnowflakeIntegerColumnMaterializer extends Builder {
   public Storage<?> seal() {
     resize(currentSize);
     return switch (mode) {
-      case LONG -> new LongStorage(ints, currentSize, intsMissing, IntegerType.INT_64);
+      case LONG ->
+          CompactLongStorage.fromLongs(ints, currentSize, intsMissing, IntegerType.INT_64);
       case BIG_INTEGER -> new BigIntegerStorage(bigInts, currentSize);
     };
   }
@@ -0,0 +1,104 @@
+package org.enso.table.aggregations;
+
+import java.util.List;
+import org.enso.base.polyglot.EnsoObjectWrapper;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.problems.FloatingPointGrouping;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
+import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.HyperLogLog;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Aggregate Column estimating the number of distinct non-missing items in a group, using a {@link
+ * HyperLogLog} sketch.
+ *
+ * <p>Values are considered equal in the same way as in {@link CountDistinct} - texts are compared
+ * after folding and numbers with no fractional part are equal to the corresponding integers.
+ */
+public class ApproximateCountDistinct extends Aggregator {
+  /** Distinguishes hashes of fractional floats from hashes of integers with the same bits. */
+  private static final long FLOAT_HASH_SEED = 0x5bd1e9955bd1e995L;
+
+  /** Distinguishes hashes of other objects from hashes of integers equal to their hash codes. */
+  private static final long OBJECT_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+  private final Storage<?> storage;
+  private final TextFoldingStrategy textFoldingStrategy = TextFoldingStrategy.unicodeNormalizedFold;
+
+  public ApproximateCountDistinct(String name, Column column) {
+    super(name, IntegerType.INT_64);
+    this.storage = column.getStorage();
+  }
+
+  @Override
+  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+    ColumnAggregatedProblemAggregator innerAggregator =
+        new ColumnAggregatedProblemAggregator(problemAggregator);
+    return sketch(indexes, innerAggregator).estimate();
+  }
+
+  /**
+   * Computes the sketch of the given rows.
+   *
+   * <p>Sketches of disjoint parts of a group can be {@link HyperLogLog#merge(HyperLogLog) merged}
+   * to get the sketch of the whole group.
+   */
+  public HyperLogLog sketch(
+      List<Integer> indexes, ColumnAggregatedProblemAggregator innerAggregator) {
+    Context context = Context.getCurrent();
+    HyperLogLog sketch = new HyperLogLog();
+    for (int row : indexes) {
+      if (!storage.isNothing(row)) {
+        if (storage instanceof AbstractLongStorage longStorage) {
+          sketch.add(HyperLogLog.hash(longStorage.getItem(row)));
+        } else if (storage instanceof DoubleStorage doubleStorage) {
+          innerAggregator.reportColumnAggregatedProblem(
+              new FloatingPointGrouping(this.getName(), row));
+          sketch.add(hashDouble(doubleStorage.getItemAsDouble(row)));
+        } else {
+          Object value = storage.getItemBoxed(row);
+          if (value instanceof Double || value instanceof Float) {
+            innerAggregator.reportColumnAggregatedProblem(
+                new FloatingPointGrouping(this.getName(), row));
+          }
+          sketch.add(hashObject(EnsoObjectWrapper.foldObject(value, textFoldingStrategy)));
+        }
+      }
+
+      context.safepoint();
+    }
+    return sketch;
+  }
+
+  private static long hashDouble(double value) {
+    if (value % 1.0 == 0.0) {
+      return HyperLogLog.hash((long) value);
+    }
+    return HyperLogLog.hash(Double.doubleToLongBits(value) ^ FLOAT_HASH_SEED);
+  }
+
+  private static long hashObject(Object folded) {
+    return switch (folded) {
+      case Long l -> HyperLogLog.hash(l);
+      case Double d -> hashDouble(d);
+      case String s -> HyperLogLog.hash(s);
+      default -> hashTagged(folded);
+    };
+  }
+
+  /**
+   * Hashes an object together with its type, so that e.g. {@code True} does not count as the same
+   * value as the integer {@code 1231} sharing its hash code.
+   */
+  private static long hashTagged(Object folded) {
+    long typeTag = folded.getClass().getName().hashCode();
+    long tagged = (typeTag << 32) | (folded.hashCode() & 0xFFFFFFFFL);
+    return HyperLogLog.hash(tagged ^ OBJECT_HASH_SEED);
+  }
+}
@@ -0,0 +1,161 @@
+package org.enso.table.aggregations;
+
+import java.util.List;
+import org.enso.base.polyglot.NumericConverter;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.problems.InvalidAggregation;
+import org.enso.table.problems.ColumnAggregatedProblemAggregator;
+import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.TDigest;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Aggregate Column estimating a percentile value in a group, using a {@link TDigest} sketch.
+ *
+ * <p>The percentile is defined as in {@link Percentile}. Infinite values are counted exactly, next
+ * to the sketch of the finite ones, so they are handled the same way as in the exact aggregate. If
+ * any value is NaN, the result is NaN.
+ */
+public class ApproximatePercentile extends Aggregator {
+  private final Storage<?> storage;
+  private final double percentile;
+
+  public ApproximatePercentile(String name, Column column, double percentile) {
+    super(name, FloatType.FLOAT_64);
+    this.storage = column.getStorage();
+    this.percentile = percentile;
+  }
+
+  /**
+   * A mergeable summary of the values of a group.
+   *
+   * <p>The {@code hasNaN} flag is set if any of the values was NaN, in which case the other fields
+   * are irrelevant.
+   */
+  public static final class Sketch {
+    private final TDigest finite = new TDigest();
+    private long negativeInfinities = 0;
+    private long positiveInfinities = 0;
+    private boolean hasNaN = false;
+
+    /** Adds a value to the sketch. */
+    public void add(double value) {
+      if (Double.isNaN(value)) {
+        hasNaN = true;
+      } else if (value == Double.NEGATIVE_INFINITY) {
+        negativeInfinities++;
+      } else if (value == Double.POSITIVE_INFINITY) {
+        positiveInfinities++;
+      } else {
+        finite.add(value);
+      }
+    }
+
+    /** Adds all the values of another sketch to this one. */
+    public void merge(Sketch other) {
+      finite.merge(other.finite);
+      negativeInfinities += other.negativeInfinities;
+      positiveInfinities += other.positiveInfinities;
+      hasNaN |= other.hasNaN;
+    }
+
+    /**
+     * @return the number of values added to the sketch
+     */
+    public long count() {
+      return negativeInfinities + finite.count() + positiveInfinities;
+    }
+
+    /**
+     * Estimates the percentile of the values added to the sketch.
+     *
+     * @return the estimated percentile, or {@code null} if the sketch is empty
+     */
+    public Double estimate(double percentile) {
+      if (hasNaN) {
+        return Double.NaN;
+      }
+
+      long count = count();
+      if (count == 0) {
+        return null;
+      }
+
+      double rank = (count - 1) * percentile;
+      long firstFinite = negativeInfinities;
+      long lastFinite = negativeInfinities + finite.count() - 1;
+      if (rank >= firstFinite && rank <= lastFinite) {
+        return finite.valueAtRank(rank - firstFinite);
+      }
+
+      // The rank falls on an infinite value or between an infinite value and its neighbour, so the
+      // result only depends on which neighbours these are.
+      long below = (long) Math.floor(rank);
+      long above = (long) Math.ceil(rank);
+      double first = valueNextToFinite(below, firstFinite, lastFinite);
+      if (below == above) {
+        return first;
+      }
+      double second = valueNextToFinite(above, firstFinite, lastFinite);
+      return Percentile.interpolate(first, second, rank - below);
+    }
+
+    /**
+     * @return the value at a rank outside the finite values, or the closest finite value
+     */
+    private double valueNextToFinite(long rank, long firstFinite, long lastFinite) {
+      if (rank < firstFinite) {
+        return Double.NEGATIVE_INFINITY;
+      } else if (rank > lastFinite) {
+        return Double.POSITIVE_INFINITY;
+      } else {
+        return finite.valueAtRank(rank == firstFinite ? 0 : lastFinite - firstFinite);
+      }
+    }
+  }
+
+  @Override
+  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+    ColumnAggregatedProblemAggregator innerAggregator =
+        new ColumnAggregatedProblemAggregator(problemAggregator);
+    Sketch sketch = sketch(indexes, innerAggregator);
+    return sketch == null ? null : sketch.estimate(percentile);
+  }
+
+  /**
+   * Computes the sketch of the given rows.
+   *
+   * <p>Sketches of disjoint parts of a group can be {@link Sketch#merge(Sketch) merged} to get the
+   * sketch of the whole group.
+   *
+   * @return the sketch, or {@code null} if some value could not be converted to a number
+   */
+  public Sketch sketch(List<Integer> indexes, ColumnAggregatedProblemAggregator innerAggregator) {
+    Context context = Context.getCurrent();
+    Sketch sketch = new Sketch();
+    for (int row : indexes) {
+      if (!storage.isNothing(row)) {
+        if (storage instanceof DoubleStorage doubleStorage) {
+          sketch.add(doubleStorage.getItemAsDouble(row));
+        } else if (storage instanceof AbstractLongStorage longStorage) {
+          sketch.add(longStorage.getItem(row));
+        } else {
+          Double dValue = NumericConverter.tryConvertingToDouble(storage.getItemBoxed(row));
+          if (dValue == null) {
+            innerAggregator.reportColumnAggregatedProblem(
+                new InvalidAggregation(this.getName(), row, "Cannot convert to a number."));
+            return null;
+          }
+          sketch.add(dValue);
+        }
+      }
+
+      context.safepoint();
+    }
+    return sketch;
+  }
+}
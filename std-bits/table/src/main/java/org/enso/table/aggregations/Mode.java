@@ -5,13 +5,21 @@ import java.util.List;
 import java.util.Map;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.FloatingPointGrouping;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.LongCountMap;
 import org.graalvm.polyglot.Context;
 
-/** Aggregate Column computing the most common value in a group (ignoring Nothing). */
+/**
+ * Aggregate Column computing the most common value in a group (ignoring Nothing).
+ *
+ * <p>If several values are equally common, the one which reached that count first is returned.
+ * Integer and float columns are counted in a {@link LongCountMap}, without boxing the values.
+ */
 public class Mode extends Aggregator {
   private final Storage<?> storage;
 
@@ -24,6 +32,12 @@ public class Mode extends Aggregator {
   public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
+    if (storage instanceof AbstractLongStorage longStorage) {
+      return aggregateLongs(longStorage, indexes);
+    } else if (storage instanceof DoubleStorage doubleStorage) {
+      return aggregateDoubles(doubleStorage, indexes, innerAggregator);
+    }
+
     Context context = Context.getCurrent();
     Object current = null;
     int count = 0;
@@ -63,4 +77,71 @@ public class Mode extends Aggregator {
     }
     return current;
   }
+
+  private static Object aggregateLongs(AbstractLongStorage longStorage, List<Integer> indexes) {
+    Context context = Context.getCurrent();
+    long current = 0;
+    int count = 0;
+    LongCountMap counts = new LongCountMap();
+    for (int row : indexes) {
+      if (!longStorage.isNothing(row)) {
+        long value = longStorage.getItem(row);
+        int newCount = counts.increment(value);
+        if (newCount > count) {
+          count = newCount;
+          current = value;
+        }
+      }
+
+      context.safepoint();
+    }
+    return count == 0 ? null : current;
+  }
+
+  /**
+   * Doubles with no fractional part are counted as the corresponding integers, consistently with
+   * the general case. Other doubles are counted by their bit patterns, which matches {@link
+   * Double#equals}.
+   */
+  private Object aggregateDoubles(
+      DoubleStorage doubleStorage,
+      List<Integer> indexes,
+      ColumnAggregatedProblemAggregator innerAggregator) {
+    Context context = Context.getCurrent();
+    long current = 0;
+    boolean currentIsInteger = true;
+    int count = 0;
+    LongCountMap integerCounts = new LongCountMap();
+    LongCountMap fractionalCounts = new LongCountMap();
+    for (int row : indexes) {
+      if (!doubleStorage.isNothing(row)) {
+        double value = doubleStorage.getItemAsDouble(row);
+        boolean isInteger = value % 1.0 == 0.0;
+        long key;
+        int newCount;
+        if (isInteger) {
+          key = (long) value;
+          newCount = integerCounts.increment(key);
+        } else {
+          innerAggregator.reportColumnAggregatedProblem(
+              new FloatingPointGrouping(this.getName(), row));
+          key = Double.doubleToLongBits(value);
+          newCount = fractionalCounts.increment(key);
+        }
+
+        if (newCount > count) {
+          count = newCount;
+          current = key;
+          currentIsInteger = isInteger;
+        }
+      }
+
+      context.safepoint();
+    }
+
+    if (count == 0) {
+      return null;
+    }
+    return currentIsInteger ? (Object) current : (Object) Double.longBitsToDouble(current);
+  }
 }
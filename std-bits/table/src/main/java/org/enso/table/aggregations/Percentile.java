@@ -1,19 +1,24 @@
 package org.enso.table.aggregations;
 
 import java.util.List;
-import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.DoubleSelection;
 import org.graalvm.polyglot.Context;
 
-/** Aggregate Column computing a percentile value in a group. */
+/**
+ * Aggregate Column computing a percentile value in a group.
+ *
+ * <p>The values of a group are gathered into a {@code double[]} and the ones needed for the
+ * percentile are found using {@link DoubleSelection}, without sorting the whole group.
+ */
 public class Percentile extends Aggregator {
   private final Storage<?> storage;
   private final double percentile;
@@ -30,23 +35,36 @@ public class Percentile extends Aggregator {
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     int count = 0;
-    SortedMap<Double, Integer> currentMap = new TreeMap<>();
+    double[] values = new double[indexes.size()];
     for (int row : indexes) {
-      Object value = storage.getItemBoxed(row);
-      if (value != null) {
-        Double dValue = NumericConverter.tryConvertingToDouble(value);
-
-        if (dValue == null) {
-          innerAggregator.reportColumnAggregatedProblem(
-              new InvalidAggregation(this.getName(), row, "Cannot convert to a number."));
-          return null;
-        } else if (dValue.isNaN()) {
-          // If any of the input values is a NaN, we do not know where in the ordering it should be
-          // and so we return NaN.
-          return Double.NaN;
-        } else {
-          count++;
-          currentMap.put(dValue, currentMap.getOrDefault(dValue, 0) + 1);
+      if (storage instanceof DoubleStorage doubleStorage) {
+        if (!doubleStorage.isNothing(row)) {
+          double value = doubleStorage.getItemAsDouble(row);
+          if (Double.isNaN(value)) {
+            return Double.NaN;
+          }
+          values[count++] = value;
+        }
+      } else if (storage instanceof AbstractLongStorage longStorage) {
+        if (!longStorage.isNothing(row)) {
+          values[count++] = longStorage.getItem(row);
+        }
+      } else {
+        Object value = storage.getItemBoxed(row);
+        if (value != null) {
+          Double dValue = NumericConverter.tryConvertingToDouble(value);
+
+          if (dValue == null) {
+            innerAggregator.reportColumnAggregatedProblem(
+                new InvalidAggregation(this.getName(), row, "Cannot convert to a number."));
+            return null;
+          } else if (dValue.isNaN()) {
+            // If any of the input values is a NaN, we do not know where in the ordering it should
+            // be and so we return NaN.
+            return Double.NaN;
+          } else {
+            values[count++] = dValue;
+          }
         }
       }
 
@@ -59,37 +77,22 @@ public class Percentile extends Aggregator {
 
     double mid_value = (count - 1) * percentile + 1;
     if (mid_value <= 1) {
-      return currentMap.firstKey();
+      return DoubleSelection.min(values, 0, count);
     } else if (mid_value >= count) {
-      return currentMap.lastKey();
+      return DoubleSelection.select(values, count, count - 1);
     }
 
     double mid = Math.floor(mid_value);
 
-    double first = 0;
-    int current = 0;
-    for (Map.Entry<Double, Integer> entry : currentMap.entrySet()) {
-      int nextCurrent = current + entry.getValue();
-
-      if (current <= mid - 1 && nextCurrent > mid - 1) {
-        first = entry.getKey();
-      }
-
-      if (current <= mid && nextCurrent > mid) {
-        double second = entry.getKey();
-        return interpolate(first, second, mid_value - mid);
-      }
-
-      current = nextCurrent;
-      context.safepoint();
-    }
-
-    innerAggregator.reportColumnAggregatedProblem(
-        new InvalidAggregation(this.getName(), -1, "Failed calculating the percentile."));
-    return null;
+    // After selecting the value at 0-based index `mid - 1`, all the values after it are not smaller,
+    // so the next value in the ordering is the smallest of them.
+    int firstIndex = (int) mid - 1;
+    double first = DoubleSelection.select(values, count, firstIndex);
+    double second = DoubleSelection.min(values, firstIndex + 1, count);
+    return interpolate(first, second, mid_value - mid);
   }
 
-  double interpolate(double first, double second, double alpha) {
+  static double interpolate(double first, double second, double alpha) {
     if (Double.isInfinite(first) && Double.isInfinite(second)) {
       if (first == second) return first;
       else return Double.NaN;
@@ -1,21 +1,18 @@
 package org.enso.table.data.column.builder;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.datetime.DateStorage;
 import org.enso.table.data.column.storage.type.DateType;
 import org.enso.table.data.column.storage.type.StorageType;
-import org.enso.table.error.ValueTypeMismatchException;
 
 /** A builder for LocalDate columns. */
-public class DateBuilder extends TypedBuilderImpl<LocalDate> {
-  @Override
-  protected LocalDate[] newArray(int size) {
-    return new LocalDate[size];
-  }
+public class DateBuilder extends TemporalBuilder<LocalDate> {
+  private int[] epochDays;
 
   public DateBuilder(int size) {
-    super(size);
+    this.epochDays = new int[size];
   }
 
   @Override
@@ -24,12 +21,32 @@ public class DateBuilder extends TypedBuilderImpl<LocalDate> {
   }
 
   @Override
-  public void appendNoGrow(Object o) {
-    try {
-      data[currentSize++] = (LocalDate) o;
-    } catch (ClassCastException e) {
-      throw new ValueTypeMismatchException(getType(), o);
-    }
+  protected int capacity() {
+    return epochDays.length;
+  }
+
+  @Override
+  protected void resize(int desiredCapacity) {
+    epochDays = Arrays.copyOf(epochDays, desiredCapacity);
+  }
+
+  @Override
+  protected LocalDate cast(Object o) {
+    return (LocalDate) o;
+  }
+
+  /**
+   * @throws ArithmeticException if the date is more than about 5.8 million years away from the
+   *     epoch, so its epoch day does not fit an {@code int}
+   */
+  @Override
+  protected void store(int idx, LocalDate value) {
+    epochDays[idx] = Math.toIntExact(value.toEpochDay());
+  }
+
+  @Override
+  protected LocalDate load(int idx) {
+    return LocalDate.ofEpochDay(epochDays[idx]);
   }
 
   public void appendDate(LocalDate date) {
@@ -43,6 +60,6 @@ public class DateBuilder extends TypedBuilderImpl<LocalDate> {
 
   @Override
   protected Storage<LocalDate> doSeal() {
-    return new DateStorage(data, currentSize);
+    return new DateStorage(epochDays, isNothing, currentSize);
   }
 }
@@ -1,26 +1,36 @@
 package org.enso.table.data.column.builder;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.datetime.DateStorage;
 import org.enso.table.data.column.storage.datetime.DateTimeStorage;
 import org.enso.table.data.column.storage.type.DateTimeType;
 import org.enso.table.data.column.storage.type.DateType;
 import org.enso.table.data.column.storage.type.StorageType;
-import org.enso.table.error.ValueTypeMismatchException;
 import org.graalvm.polyglot.Context;
 
 /** A builder for ZonedDateTime columns. */
-public class DateTimeBuilder extends TypedBuilderImpl<ZonedDateTime> {
-  @Override
-  protected ZonedDateTime[] newArray(int size) {
-    return new ZonedDateTime[size];
-  }
+public class DateTimeBuilder extends TemporalBuilder<ZonedDateTime> {
+  private long[] epochSeconds;
+  private int[] nanos;
+  private int[] zoneIndices;
+  private final List<ZoneId> zones = new ArrayList<>();
+  private final Map<ZoneId, Integer> zoneIndex = new HashMap<>();
+  private ZoneId lastZone = null;
+  private int lastZoneIndex = -1;
 
   public DateTimeBuilder(int size) {
-    super(size);
+    this.epochSeconds = new long[size];
+    this.nanos = new int[size];
+    this.zoneIndices = new int[size];
   }
 
   @Override
@@ -28,6 +38,51 @@ public class DateTimeBuilder extends TypedBuilderImpl<ZonedDateTime> {
     return DateTimeType.INSTANCE;
   }
 
+  @Override
+  protected int capacity() {
+    return epochSeconds.length;
+  }
+
+  @Override
+  protected void resize(int desiredCapacity) {
+    epochSeconds = Arrays.copyOf(epochSeconds, desiredCapacity);
+    nanos = Arrays.copyOf(nanos, desiredCapacity);
+    zoneIndices = Arrays.copyOf(zoneIndices, desiredCapacity);
+  }
+
+  @Override
+  protected ZonedDateTime cast(Object o) {
+    return (ZonedDateTime) o;
+  }
+
+  @Override
+  protected void store(int idx, ZonedDateTime value) {
+    epochSeconds[idx] = value.toEpochSecond();
+    nanos[idx] = value.getNano();
+    zoneIndices[idx] = indexOfZone(value.getZone());
+  }
+
+  @Override
+  protected ZonedDateTime load(int idx) {
+    Instant instant = Instant.ofEpochSecond(epochSeconds[idx], nanos[idx]);
+    return ZonedDateTime.ofInstant(instant, zones.get(zoneIndices[idx]));
+  }
+
+  /** Columns usually have values in one or a few timezones, so the last one is remembered. */
+  private int indexOfZone(ZoneId zone) {
+    if (zone != lastZone) {
+      lastZone = zone;
+      lastZoneIndex =
+          zoneIndex.computeIfAbsent(
+              zone,
+              z -> {
+                zones.add(z);
+                return zones.size() - 1;
+              });
+    }
+    return lastZoneIndex;
+  }
+
   /**
    * TODO DRY {@link org.enso.table.data.column.operation.cast.ToDateTimeStorageConverter}
    * convertDate.
@@ -36,26 +91,21 @@ public class DateTimeBuilder extends TypedBuilderImpl<ZonedDateTime> {
     return date.atStartOfDay().atZone(ZoneId.systemDefault());
   }
 
-  @Override
-  public void appendNoGrow(Object o) {
-    try {
-      data[currentSize++] = (ZonedDateTime) o;
-    } catch (ClassCastException e) {
-      throw new ValueTypeMismatchException(getType(), o);
-    }
-  }
-
   @Override
   public void appendBulkStorage(Storage<?> storage) {
     if (storage.getType() instanceof DateType) {
       if (storage instanceof DateStorage dateStorage) {
+        if (currentSize + dateStorage.size() > capacity()) {
+          resize(currentSize + dateStorage.size());
+        }
+
         Context context = Context.getCurrent();
         for (int i = 0; i < dateStorage.size(); ++i) {
-          LocalDate date = dateStorage.getItemBoxed(i);
-          if (date == null) {
-            data[currentSize++] = null;
+          if (dateStorage.isNothing(i)) {
+            appendNulls(1);
           } else {
-            data[currentSize++] = convertDate(date);
+            LocalDate date = LocalDate.ofEpochDay(dateStorage.getEpochDay(i));
+            store(currentSize++, convertDate(date));
           }
 
           context.safepoint();
@@ -80,6 +130,12 @@ public class DateTimeBuilder extends TypedBuilderImpl<ZonedDateTime> {
 
   @Override
   protected Storage<ZonedDateTime> doSeal() {
-    return new DateTimeStorage(data, currentSize);
+    return new DateTimeStorage(
+        epochSeconds,
+        nanos,
+        zoneIndices,
+        zones.toArray(new ZoneId[0]),
+        isNothing,
+        currentSize);
   }
 }
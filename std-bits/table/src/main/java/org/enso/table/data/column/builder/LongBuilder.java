@@ -7,6 +7,7 @@ import org.enso.table.data.column.operation.cast.ToIntegerStorageConverter;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.CompactLongStorage;
 import org.enso.table.data.column.storage.numeric.LongStorage;
 import org.enso.table.data.column.storage.type.BigIntegerType;
 import org.enso.table.data.column.storage.type.BooleanType;
@@ -147,6 +148,6 @@ public abstract class LongBuilder extends NumericBuilder {
 
   @Override
   public Storage<Long> seal() {
-    return new LongStorage(data, currentSize, isNothing, getType());
+    return CompactLongStorage.fromLongs(data, currentSize, isNothing, getType());
   }
 }
@@ -0,0 +1,156 @@
+package org.enso.table.data.column.builder;
+
+import java.util.BitSet;
+import java.util.Objects;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.AnyObjectType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.error.ValueTypeMismatchException;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A common base for builders of date and time columns.
+ *
+ * <p>The values are encoded into primitive arrays as they are appended, so the builder does not
+ * keep the appended objects alive. See {@link
+ * org.enso.table.data.column.storage.datetime.TemporalStorage}.
+ *
+ * @param <T> the type of the values
+ */
+public abstract class TemporalBuilder<T> extends TypedBuilder {
+  protected final BitSet isNothing = new BitSet();
+  protected int currentSize = 0;
+
+  /**
+   * @return the number of values the underlying arrays can hold
+   */
+  protected abstract int capacity();
+
+  /** Resizes the underlying arrays to the given capacity. */
+  protected abstract void resize(int desiredCapacity);
+
+  /**
+   * Casts a value appended to the builder.
+   *
+   * @throws ClassCastException if the value is not of the type of the builder
+   */
+  protected abstract T cast(Object o);
+
+  /** Encodes a value at the given index of the underlying arrays. */
+  protected abstract void store(int idx, T value);
+
+  /** Decodes the value stored at the given index of the underlying arrays. */
+  protected abstract T load(int idx);
+
+  protected abstract Storage<T> doSeal();
+
+  @Override
+  public void appendNoGrow(Object o) {
+    if (o == null) {
+      isNothing.set(currentSize++);
+      return;
+    }
+
+    T value;
+    try {
+      value = cast(o);
+    } catch (ClassCastException e) {
+      throw new ValueTypeMismatchException(getType(), o);
+    }
+    store(currentSize++, value);
+  }
+
+  @Override
+  public void append(Object o) {
+    if (currentSize >= capacity()) {
+      grow();
+    }
+
+    appendNoGrow(o);
+  }
+
+  @Override
+  public void appendNulls(int count) {
+    isNothing.set(currentSize, currentSize + count);
+    currentSize += count;
+  }
+
+  @Override
+  public void appendBulkStorage(Storage<?> storage) {
+    if (storage.getType().equals(getType())) {
+      if (currentSize + storage.size() > capacity()) {
+        resize(currentSize + storage.size());
+      }
+
+      Context context = Context.getCurrent();
+      for (int i = 0; i < storage.size(); i++) {
+        appendNoGrow(storage.getItemBoxed(i));
+        context.safepoint();
+      }
+    } else {
+      throw new StorageTypeMismatchException(getType(), storage.getType());
+    }
+  }
+
+  @Override
+  public void retypeToMixed(Object[] items) {
+    for (int i = 0; i < currentSize; i++) {
+      items[i] = isNothing.get(i) ? null : load(i);
+    }
+  }
+
+  @Override
+  public boolean canRetypeTo(StorageType type) {
+    return Objects.equals(type, AnyObjectType.INSTANCE);
+  }
+
+  @Override
+  public TypedBuilder retypeTo(StorageType type) {
+    if (Objects.equals(type, AnyObjectType.INSTANCE)) {
+      Object[] widenedData = new Object[Math.max(capacity(), currentSize)];
+      retypeToMixed(widenedData);
+      ObjectBuilder res = new MixedBuilder(widenedData);
+      res.setCurrentSize(currentSize);
+      return res;
+    } else {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Override
+  public int getCurrentSize() {
+    return currentSize;
+  }
+
+  /**
+   * Grows the underlying arrays.
+   *
+   * <p>The method grows the arrays by 50% by default to amortize the re-allocation time over
+   * appends. It tries to keep the invariant that after calling `grow` the arrays have at least one
+   * free slot.
+   */
+  private void grow() {
+    int desiredCapacity = 3;
+    if (capacity() > 1) {
+      desiredCapacity = (capacity() * 3 / 2);
+    }
+
+    // It is possible for the `currentSize` to grow arbitrarily larger than
+    // the capacity, because when nulls are being added the arrays are not
+    // resized, only the counter is incremented. Thus, we need to ensure
+    // that we have allocated enough space for at least one element.
+    if (currentSize >= desiredCapacity) {
+      desiredCapacity = currentSize + 1;
+    }
+
+    resize(desiredCapacity);
+  }
+
+  @Override
+  public Storage<T> seal() {
+    // We resize the arrays to the exact size, so that nulls appended past the capacity are
+    // covered and no memory is wasted.
+    resize(currentSize);
+    return doSeal();
+  }
+}
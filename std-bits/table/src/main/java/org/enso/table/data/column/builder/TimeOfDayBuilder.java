@@ -1,21 +1,18 @@
 package org.enso.table.data.column.builder;
 
 import java.time.LocalTime;
+import java.util.Arrays;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
 import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.column.storage.type.TimeOfDayType;
-import org.enso.table.error.ValueTypeMismatchException;
 
 /** A builder for LocalTime columns. */
-public class TimeOfDayBuilder extends TypedBuilderImpl<LocalTime> {
-  @Override
-  protected LocalTime[] newArray(int size) {
-    return new LocalTime[size];
-  }
+public class TimeOfDayBuilder extends TemporalBuilder<LocalTime> {
+  private long[] nanosOfDay;
 
   public TimeOfDayBuilder(int size) {
-    super(size);
+    this.nanosOfDay = new long[size];
   }
 
   @Override
@@ -24,12 +21,28 @@ public class TimeOfDayBuilder extends TypedBuilderImpl<LocalTime> {
   }
 
   @Override
-  public void appendNoGrow(Object o) {
-    try {
-      data[currentSize++] = (LocalTime) o;
-    } catch (ClassCastException e) {
-      throw new ValueTypeMismatchException(getType(), o);
-    }
+  protected int capacity() {
+    return nanosOfDay.length;
+  }
+
+  @Override
+  protected void resize(int desiredCapacity) {
+    nanosOfDay = Arrays.copyOf(nanosOfDay, desiredCapacity);
+  }
+
+  @Override
+  protected LocalTime cast(Object o) {
+    return (LocalTime) o;
+  }
+
+  @Override
+  protected void store(int idx, LocalTime value) {
+    nanosOfDay[idx] = value.toNanoOfDay();
+  }
+
+  @Override
+  protected LocalTime load(int idx) {
+    return LocalTime.ofNanoOfDay(nanosOfDay[idx]);
   }
 
   @Override
@@ -39,6 +52,6 @@ public class TimeOfDayBuilder extends TypedBuilderImpl<LocalTime> {
 
   @Override
   protected Storage<LocalTime> doSeal() {
-    return new TimeOfDayStorage(data, currentSize);
+    return new TimeOfDayStorage(nanosOfDay, isNothing, currentSize);
   }
 }
@@ -56,8 +56,12 @@ public class ToDateTimeStorageConverter implements StorageConverter<ZonedDateTim
     Context context = Context.getCurrent();
     DateTimeBuilder builder = new DateTimeBuilder(dateStorage.size());
     for (int i = 0; i < dateStorage.size(); i++) {
-      LocalDate date = dateStorage.getItem(i);
-      builder.append(convertDate(date));
+      if (dateStorage.isNothing(i)) {
+        builder.appendNulls(1);
+      } else {
+        LocalDate date = dateStorage.getItem(i);
+        builder.append(convertDate(date));
+      }
       context.safepoint();
     }
 
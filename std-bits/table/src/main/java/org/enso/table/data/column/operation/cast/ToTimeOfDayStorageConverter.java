@@ -55,8 +55,12 @@ public class ToTimeOfDayStorageConverter implements StorageConverter<LocalTime>
     Context context = Context.getCurrent();
     TimeOfDayBuilder builder = new TimeOfDayBuilder(dateTimeStorage.size());
     for (int i = 0; i < dateTimeStorage.size(); i++) {
-      ZonedDateTime dateTime = dateTimeStorage.getItem(i);
-      builder.append(convertDateTime(dateTime));
+      if (dateTimeStorage.isNothing(i)) {
+        builder.appendNulls(1);
+      } else {
+        ZonedDateTime dateTime = dateTimeStorage.getItem(i);
+        builder.append(convertDateTime(dateTime));
+      }
 
       context.safepoint();
     }
@@ -1,14 +1,19 @@
 package org.enso.table.data.column.operation.unary;
 
+import java.time.LocalDate;
 import java.time.temporal.ChronoField;
 import java.time.temporal.IsoFields;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalField;
+import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.builder.LongBuilder;
 import org.enso.table.data.column.operation.UnaryOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.storage.ColumnStorage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
 import org.enso.table.data.column.storage.type.IntegerType;
+import org.graalvm.polyglot.Context;
 
 public class DatePartOperation extends AbstractUnaryLongOperation {
   public static final String YEAR = "year";
@@ -69,12 +74,82 @@ public class DatePartOperation extends AbstractUnaryLongOperation {
     return timeField ? storage.getType().hasTime() : storage.getType().hasDate();
   }
 
+  /**
+   * Adjusts the value of the field before it is returned.
+   *
+   * @param fieldValue the value of the field
+   * @return the value of the date part
+   */
+  protected long adjust(long fieldValue) {
+    return fieldValue;
+  }
+
+  @Override
+  protected void applyObject(
+      ColumnStorage storage, Builder builder, MapOperationProblemAggregator problemAggregator) {
+    if (storage instanceof DateStorage dateStorage && !timeField) {
+      applyEpochDays(dateStorage, (LongBuilder) builder);
+    } else if (storage instanceof TimeOfDayStorage timeOfDayStorage
+        && field instanceof ChronoField chronoField
+        && chronoField.isTimeBased()) {
+      applyNanosOfDay(timeOfDayStorage, chronoField, (LongBuilder) builder);
+    } else {
+      super.applyObject(storage, builder, problemAggregator);
+    }
+  }
+
+  /**
+   * Computes the part of every date without keeping the dates around. Consecutive equal dates are
+   * common, e.g. in sorted columns, so the part of the previous date is reused.
+   */
+  private void applyEpochDays(DateStorage storage, LongBuilder builder) {
+    Context context = Context.getCurrent();
+    int size = storage.size();
+    boolean hasPrevious = false;
+    int previousEpochDay = 0;
+    long previousPart = 0;
+    for (int i = 0; i < size; i++) {
+      if (storage.isNothing(i)) {
+        builder.appendNulls(1);
+      } else {
+        int epochDay = storage.getEpochDay(i);
+        if (!hasPrevious || epochDay != previousEpochDay) {
+          previousPart = adjust(LocalDate.ofEpochDay(epochDay).getLong(field));
+          previousEpochDay = epochDay;
+          hasPrevious = true;
+        }
+        builder.appendLong(previousPart);
+      }
+
+      context.safepoint();
+    }
+  }
+
+  /** Computes the part of every time of day arithmetically from its nanosecond of day. */
+  private void applyNanosOfDay(
+      TimeOfDayStorage storage, ChronoField chronoField, LongBuilder builder) {
+    long unitNanos = chronoField.getBaseUnit().getDuration().toNanos();
+    long rangeNanos = chronoField.getRangeUnit().getDuration().toNanos();
+    Context context = Context.getCurrent();
+    int size = storage.size();
+    for (int i = 0; i < size; i++) {
+      if (storage.isNothing(i)) {
+        builder.appendNulls(1);
+      } else {
+        long nanoOfDay = storage.getNanoOfDay(i);
+        builder.appendLong(adjust((nanoOfDay % rangeNanos) / unitNanos));
+      }
+
+      context.safepoint();
+    }
+  }
+
   @Override
   protected void applyObjectRow(
       Object value, LongBuilder builder, MapOperationProblemAggregator problemAggregator) {
     if (value instanceof Temporal s) {
       var longValue = s.getLong(field);
-      builder.appendLong(longValue);
+      builder.appendLong(adjust(longValue));
     } else {
       throw new IllegalArgumentException(
           "Unsupported type: " + value.getClass() + " (expected date/time type).");
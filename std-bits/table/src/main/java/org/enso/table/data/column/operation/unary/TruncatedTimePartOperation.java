@@ -1,11 +1,8 @@
 package org.enso.table.data.column.operation.unary;
 
 import java.time.temporal.ChronoField;
-import java.time.temporal.Temporal;
 import java.time.temporal.TemporalField;
-import org.enso.table.data.column.builder.LongBuilder;
 import org.enso.table.data.column.operation.UnaryOperation;
-import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 
 public class TruncatedTimePartOperation extends DatePartOperation {
   public static final String MICROSECOND = "microsecond";
@@ -24,14 +21,7 @@ public class TruncatedTimePartOperation extends DatePartOperation {
   }
 
   @Override
-  protected void applyObjectRow(
-      Object value, LongBuilder builder, MapOperationProblemAggregator problemAggregator) {
-    if (value instanceof Temporal s) {
-      var longValue = s.getLong(field);
-      builder.appendLong(longValue % truncation);
-    } else {
-      throw new IllegalArgumentException(
-          "Unsupported type: " + value.getClass() + " (expected date/time type).");
-    }
+  protected long adjust(long fieldValue) {
+    return fieldValue % truncation;
   }
 }
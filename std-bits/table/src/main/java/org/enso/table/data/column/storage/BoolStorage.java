@@ -51,6 +51,11 @@ public final class BoolStorage extends Storage<Boolean>
     return size;
   }
 
+  @Override
+  public long estimateMemorySize() {
+    return estimateMemorySize(values) + estimateMemorySize(isNothing);
+  }
+
   @Override
   public StorageType getType() {
     return BooleanType.INSTANCE;
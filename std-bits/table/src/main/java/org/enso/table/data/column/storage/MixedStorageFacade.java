@@ -26,6 +26,11 @@ public class MixedStorageFacade extends Storage<Object> {
     return underlyingStorage.size();
   }
 
+  @Override
+  public long estimateMemorySize() {
+    return underlyingStorage.estimateMemorySize();
+  }
+
   @Override
   public StorageType getType() {
     return AnyObjectType.INSTANCE;
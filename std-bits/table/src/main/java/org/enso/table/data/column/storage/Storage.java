@@ -23,6 +23,9 @@ public abstract class Storage<T> implements ColumnStorage {
   /** A constant representing the index of a missing value in a column. */
   public static final int NOT_FOUND_INDEX = -1;
 
+  /** The estimated size of a reference to a boxed item together with the item itself. */
+  protected static final long BYTES_PER_BOXED_ITEM = 32;
+
   /**
    * @return the number of elements in this column (including NAs)
    */
@@ -33,6 +36,25 @@ public abstract class Storage<T> implements ColumnStorage {
     return size();
   }
 
+  /**
+   * Estimates the memory retained by this storage.
+   *
+   * <p>The estimate is cheap to compute and only meant to compare the costs of keeping storages in
+   * memory. The default assumes that each item is a reference to a separate small object.
+   *
+   * @return the estimated size in bytes
+   */
+  public long estimateMemorySize() {
+    return (long) size() * BYTES_PER_BOXED_ITEM;
+  }
+
+  /**
+   * @return the estimated size in bytes of a bit set, or 0 if it is {@code null}
+   */
+  protected static long estimateMemorySize(BitSet bitSet) {
+    return bitSet == null ? 0 : bitSet.size() / 8;
+  }
+
   @Override
   public abstract StorageType getType();
 
@@ -19,6 +19,9 @@ public final class StringStorage extends SpecializedStorage<String> {
 
   private final TextType type;
 
+  /** The number of items sampled by {@link #estimateMemorySize()}. */
+  private static final int SIZE_ESTIMATE_SAMPLES = 64;
+
   /**
    * @param data the underlying data
    * @param size the number of items stored
@@ -44,6 +47,32 @@ public final class StringStorage extends SpecializedStorage<String> {
     return type;
   }
 
+  /**
+   * Estimates the memory retained by the texts from the average length of up to {@link
+   * #SIZE_ESTIMATE_SAMPLES} evenly spaced items.
+   */
+  @Override
+  public long estimateMemorySize() {
+    if (size == 0) {
+      return 0;
+    }
+
+    long sampledChars = 0;
+    int sampled = 0;
+    int step = Math.max(1, size / SIZE_ESTIMATE_SAMPLES);
+    for (int i = 0; i < size; i += step) {
+      String item = data[i];
+      if (item != null) {
+        sampledChars += item.length();
+      }
+      sampled++;
+    }
+
+    // The String object and its array come on top of the reference and the characters.
+    long averageBytes = BYTES_PER_BOXED_ITEM + 16 + 2 * (sampledChars / sampled);
+    return size * averageBytes;
+  }
+
   private static MapOperationStorage<String, SpecializedStorage<String>> buildOps() {
     MapOperationStorage<String, SpecializedStorage<String>> t = ObjectStorage.buildObjectOps();
     t.add(
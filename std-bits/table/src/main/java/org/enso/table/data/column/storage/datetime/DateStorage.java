@@ -1,37 +1,68 @@
 package org.enso.table.data.column.storage.datetime;
 
 import java.time.LocalDate;
+import java.util.BitSet;
 import org.enso.table.data.column.operation.map.MapOperationStorage;
 import org.enso.table.data.column.operation.map.datetime.DateTimeIsInOp;
-import org.enso.table.data.column.storage.ObjectStorage;
-import org.enso.table.data.column.storage.SpecializedStorage;
 import org.enso.table.data.column.storage.type.DateType;
 import org.enso.table.data.column.storage.type.StorageType;
 
-public final class DateStorage extends SpecializedStorage<LocalDate> {
+/** A column storing dates, encoded as the number of days since the epoch. */
+public final class DateStorage extends TemporalStorage<LocalDate> {
+  private final int[] epochDays;
+
   /**
-   * @param data the underlying data
+   * @param epochDays the underlying data, as returned by {@link LocalDate#toEpochDay()}
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
    * @param size the number of items stored
    */
-  public DateStorage(LocalDate[] data, int size) {
-    super(data, size, buildOps());
+  public DateStorage(int[] epochDays, BitSet isNothing, int size) {
+    super(isNothing, size, buildOps());
+    this.epochDays = epochDays;
   }
 
-  private static MapOperationStorage<LocalDate, SpecializedStorage<LocalDate>> buildOps() {
-    MapOperationStorage<LocalDate, SpecializedStorage<LocalDate>> t =
-        ObjectStorage.buildObjectOps();
+  private static MapOperationStorage<LocalDate, TemporalStorage<LocalDate>> buildOps() {
+    MapOperationStorage<LocalDate, TemporalStorage<LocalDate>> t = new MapOperationStorage<>();
     t.add(new DateTimeIsInOp<>(LocalDate.class));
     return t;
   }
 
+  /**
+   * @param idx an index of a value that is not missing
+   * @return the number of days since the epoch of the date at the given index
+   */
+  public int getEpochDay(int idx) {
+    return epochDays[idx];
+  }
+
+  @Override
+  public long estimateMemorySize() {
+    return 4L * epochDays.length + estimateMemorySize(isNothing);
+  }
+
+  @Override
+  protected LocalDate decode(int idx) {
+    return LocalDate.ofEpochDay(epochDays[idx]);
+  }
+
   @Override
-  protected SpecializedStorage<LocalDate> newInstance(LocalDate[] data, int size) {
-    return new DateStorage(data, size);
+  protected DateStorage gather(int[] positions, BitSet newIsNothing) {
+    int[] newEpochDays = new int[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      int position = positions[i];
+      if (position >= 0) {
+        newEpochDays[i] = epochDays[position];
+      }
+    }
+    return new DateStorage(newEpochDays, newIsNothing, positions.length);
   }
 
   @Override
-  protected LocalDate[] newUnderlyingArray(int size) {
-    return new LocalDate[size];
+  protected DateStorage copyRange(int offset, int newSize, BitSet newIsNothing) {
+    int[] newEpochDays = new int[newSize];
+    System.arraycopy(epochDays, offset, newEpochDays, 0, newSize);
+    return new DateStorage(newEpochDays, newIsNothing, newSize);
   }
 
   @Override
@@ -1,33 +1,62 @@
 package org.enso.table.data.column.storage.datetime;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.BitSet;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.builder.ObjectBuilder;
 import org.enso.table.data.column.operation.map.GenericBinaryObjectMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationStorage;
 import org.enso.table.data.column.operation.map.datetime.DateTimeIsInOp;
-import org.enso.table.data.column.storage.ObjectStorage;
-import org.enso.table.data.column.storage.SpecializedStorage;
 import org.enso.table.data.column.storage.type.DateTimeType;
 import org.enso.table.data.column.storage.type.StorageType;
 
-public final class DateTimeStorage extends SpecializedStorage<ZonedDateTime> {
+/**
+ * A column storing date-times with a timezone.
+ *
+ * <p>Every value is encoded as the instant it denotes - seconds since the epoch and the adjustment
+ * in nanoseconds - and the index of its timezone in a dictionary of timezones shared by the storage
+ * and all the storages derived from it. The instant and the timezone determine the offset, so the
+ * values are restored exactly.
+ */
+public final class DateTimeStorage extends TemporalStorage<ZonedDateTime> {
+  private final long[] epochSeconds;
+  private final int[] nanos;
+  private final int[] zoneIndices;
+  private final ZoneId[] zones;
+
   /**
-   * @param data the underlying data
+   * @param epochSeconds the seconds since the epoch of the consecutive values
+   * @param nanos the nanosecond adjustments of the consecutive values
+   * @param zoneIndices the indices of the timezones of the consecutive values in {@code zones}
+   * @param zones the dictionary of timezones
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
    * @param size the number of items stored
    */
-  public DateTimeStorage(ZonedDateTime[] data, int size) {
-    super(data, size, buildOps());
+  public DateTimeStorage(
+      long[] epochSeconds,
+      int[] nanos,
+      int[] zoneIndices,
+      ZoneId[] zones,
+      BitSet isNothing,
+      int size) {
+    super(isNothing, size, buildOps());
+    this.epochSeconds = epochSeconds;
+    this.nanos = nanos;
+    this.zoneIndices = zoneIndices;
+    this.zones = zones;
   }
 
-  private static MapOperationStorage<ZonedDateTime, SpecializedStorage<ZonedDateTime>> buildOps() {
-    MapOperationStorage<ZonedDateTime, SpecializedStorage<ZonedDateTime>> t =
-        ObjectStorage.buildObjectOps();
+  private static MapOperationStorage<ZonedDateTime, TemporalStorage<ZonedDateTime>> buildOps() {
+    MapOperationStorage<ZonedDateTime, TemporalStorage<ZonedDateTime>> t =
+        new MapOperationStorage<>();
     t.add(new DateTimeIsInOp<>(ZonedDateTime.class));
     t.add(
         new GenericBinaryObjectMapOperation<
-            ZonedDateTime, SpecializedStorage<ZonedDateTime>, Duration>(
+            ZonedDateTime, TemporalStorage<ZonedDateTime>, Duration>(
             Maps.SUB, ZonedDateTime.class, DateTimeStorage.class) {
           @Override
           protected Builder createOutputBuilder(int size) {
@@ -42,14 +71,71 @@ public final class DateTimeStorage extends SpecializedStorage<ZonedDateTime> {
     return t;
   }
 
+  /**
+   * @param idx an index of a value that is not missing
+   * @return the seconds since the epoch of the instant at the given index
+   */
+  public long getEpochSecond(int idx) {
+    return epochSeconds[idx];
+  }
+
+  /**
+   * @param idx an index of a value that is not missing
+   * @return the nanosecond adjustment of the instant at the given index
+   */
+  public int getNano(int idx) {
+    return nanos[idx];
+  }
+
+  /**
+   * @param idx an index of a value that is not missing
+   * @return the timezone of the value at the given index
+   */
+  public ZoneId getZone(int idx) {
+    return zones[zoneIndices[idx]];
+  }
+
+  @Override
+  public long estimateMemorySize() {
+    return 8L * epochSeconds.length
+        + 4L * nanos.length
+        + 4L * zoneIndices.length
+        + estimateMemorySize(isNothing);
+  }
+
+  @Override
+  protected ZonedDateTime decode(int idx) {
+    Instant instant = Instant.ofEpochSecond(epochSeconds[idx], nanos[idx]);
+    return ZonedDateTime.ofInstant(instant, zones[zoneIndices[idx]]);
+  }
+
   @Override
-  protected SpecializedStorage<ZonedDateTime> newInstance(ZonedDateTime[] data, int size) {
-    return new DateTimeStorage(data, size);
+  protected DateTimeStorage gather(int[] positions, BitSet newIsNothing) {
+    long[] newEpochSeconds = new long[positions.length];
+    int[] newNanos = new int[positions.length];
+    int[] newZoneIndices = new int[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      int position = positions[i];
+      if (position >= 0) {
+        newEpochSeconds[i] = epochSeconds[position];
+        newNanos[i] = nanos[position];
+        newZoneIndices[i] = zoneIndices[position];
+      }
+    }
+    return new DateTimeStorage(
+        newEpochSeconds, newNanos, newZoneIndices, zones, newIsNothing, positions.length);
   }
 
   @Override
-  protected ZonedDateTime[] newUnderlyingArray(int size) {
-    return new ZonedDateTime[size];
+  protected DateTimeStorage copyRange(int offset, int newSize, BitSet newIsNothing) {
+    long[] newEpochSeconds = new long[newSize];
+    int[] newNanos = new int[newSize];
+    int[] newZoneIndices = new int[newSize];
+    System.arraycopy(epochSeconds, offset, newEpochSeconds, 0, newSize);
+    System.arraycopy(nanos, offset, newNanos, 0, newSize);
+    System.arraycopy(zoneIndices, offset, newZoneIndices, 0, newSize);
+    return new DateTimeStorage(
+        newEpochSeconds, newNanos, newZoneIndices, zones, newIsNothing, newSize);
   }
 
   @Override
@@ -0,0 +1,210 @@
+package org.enso.table.data.column.storage.datetime;
+
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.operation.CountNothing;
+import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.operation.map.MapOperationStorage;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.ColumnStorageWithNothingMap;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.SliceRange;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A common base for storages of date and time values.
+ *
+ * <p>The values are kept in an encoded, primitive form (e.g. as a number of days since the epoch)
+ * and the Java objects representing them are only created when a value is accessed with {@link
+ * #getItemBoxed(int)}. Missing values are marked in a bit set.
+ *
+ * @param <T> the type of the values, as seen from the outside
+ */
+public abstract class TemporalStorage<T> extends Storage<T>
+    implements ColumnStorageWithNothingMap {
+  protected final BitSet isNothing;
+  protected final int size;
+  private final MapOperationStorage<T, TemporalStorage<T>> ops;
+
+  /**
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing
+   * @param size the number of items stored
+   * @param ops the vectorized operations supported by the storage
+   */
+  protected TemporalStorage(
+      BitSet isNothing, int size, MapOperationStorage<T, TemporalStorage<T>> ops) {
+    this.isNothing = isNothing;
+    this.size = size;
+    this.ops = ops;
+  }
+
+  /**
+   * Creates the value stored at the given index.
+   *
+   * @param idx an index of a value that is not missing
+   * @return the value
+   */
+  protected abstract T decode(int idx);
+
+  /**
+   * Creates a storage containing the encoded values from the given positions of this storage.
+   *
+   * @param positions the positions to copy the values from, {@link Storage#NOT_FOUND_INDEX} or the
+   *     position of a missing value denote a missing value
+   * @param newIsNothing the missing values of the new storage, already computed from {@code
+   *     positions}
+   * @return the new storage
+   */
+  protected abstract TemporalStorage<T> gather(int[] positions, BitSet newIsNothing);
+
+  /**
+   * Creates a storage containing a contiguous range of the encoded values of this storage.
+   *
+   * @param offset the first position to copy
+   * @param newSize the number of values to copy
+   * @param newIsNothing the missing values of the new storage
+   * @return the new storage
+   */
+  protected abstract TemporalStorage<T> copyRange(int offset, int newSize, BitSet newIsNothing);
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param idx an index
+   * @return the data item contained at the given index.
+   */
+  public T getItem(long idx) {
+    return getItemBoxed((int) idx);
+  }
+
+  @Override
+  public T getItemBoxed(int idx) {
+    return isNothing.get(idx) ? null : decode(idx);
+  }
+
+  @Override
+  public boolean isNothing(long idx) {
+    return isNothing.get((int) idx);
+  }
+
+  @Override
+  public BitSet getIsNothingMap() {
+    return isNothing;
+  }
+
+  @Override
+  public boolean isBinaryOpVectorized(String name) {
+    return ops.isSupportedBinary(name);
+  }
+
+  @Override
+  public Storage<?> runVectorizedBinaryMap(
+      String name, Object argument, MapOperationProblemAggregator problemAggregator) {
+    return ops.runBinaryMap(name, this, argument, problemAggregator);
+  }
+
+  @Override
+  public Storage<?> runVectorizedZip(
+      String name, Storage<?> argument, MapOperationProblemAggregator problemAggregator) {
+    return ops.runZip(name, this, argument, problemAggregator);
+  }
+
+  @Override
+  public TemporalStorage<T> applyFilter(BitSet filterMask, int newLength) {
+    Context context = Context.getCurrent();
+    int[] positions = new int[newLength];
+    int resIx = 0;
+    for (int i = 0; i < size; i++) {
+      if (filterMask.get(i)) {
+        positions[resIx++] = i;
+      }
+
+      context.safepoint();
+    }
+    return gatherPositions(positions);
+  }
+
+  @Override
+  public TemporalStorage<T> applyMask(OrderMask mask) {
+    Context context = Context.getCurrent();
+    int[] positions = new int[mask.length()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = mask.get(i);
+      context.safepoint();
+    }
+    return gatherPositions(positions);
+  }
+
+  @Override
+  public TemporalStorage<T> slice(int offset, int limit) {
+    int newSize = Math.min(size - offset, limit);
+    return copyRange(offset, newSize, isNothing.get(offset, offset + newSize));
+  }
+
+  @Override
+  public TemporalStorage<T> slice(List<SliceRange> ranges) {
+    Context context = Context.getCurrent();
+    int[] positions = new int[SliceRange.totalLength(ranges)];
+    int offset = 0;
+    for (SliceRange range : ranges) {
+      for (int i = range.start(); i < range.end(); i++) {
+        positions[offset++] = i;
+      }
+      context.safepoint();
+    }
+    return gatherPositions(positions);
+  }
+
+  @Override
+  public Storage<?> appendNulls(int count) {
+    int[] positions = new int[size + count];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = i < size ? i : Storage.NOT_FOUND_INDEX;
+    }
+    return gatherPositions(positions);
+  }
+
+  @Override
+  public Storage<T> fillMissingFromPrevious(BoolStorage missingIndicator) {
+    if (missingIndicator != null && CountNothing.anyNothing(missingIndicator)) {
+      throw new IllegalArgumentException(
+          "Missing indicator must not contain missing values itself.");
+    }
+
+    int[] positions = new int[size];
+    int previous = Storage.NOT_FOUND_INDEX;
+
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      boolean isCurrentValueMissing =
+          missingIndicator == null ? isNothing(i) : missingIndicator.getItem(i);
+      if (!isCurrentValueMissing) {
+        previous = i;
+      }
+
+      positions[i] = previous == Storage.NOT_FOUND_INDEX ? i : previous;
+      context.safepoint();
+    }
+
+    return gatherPositions(positions);
+  }
+
+  private TemporalStorage<T> gatherPositions(int[] positions) {
+    BitSet newIsNothing = new BitSet();
+    for (int i = 0; i < positions.length; i++) {
+      int position = positions[i];
+      if (position == Storage.NOT_FOUND_INDEX || isNothing.get(position)) {
+        newIsNothing.set(i);
+      }
+    }
+    return gather(positions, newIsNothing);
+  }
+}
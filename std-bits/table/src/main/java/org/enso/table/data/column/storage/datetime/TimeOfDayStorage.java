@@ -2,31 +2,35 @@ package org.enso.table.data.column.storage.datetime;
 
 import java.time.Duration;
 import java.time.LocalTime;
+import java.util.BitSet;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.builder.ObjectBuilder;
 import org.enso.table.data.column.operation.map.GenericBinaryObjectMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationStorage;
 import org.enso.table.data.column.operation.map.datetime.DateTimeIsInOp;
-import org.enso.table.data.column.storage.ObjectStorage;
-import org.enso.table.data.column.storage.SpecializedStorage;
 import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.column.storage.type.TimeOfDayType;
 
-public final class TimeOfDayStorage extends SpecializedStorage<LocalTime> {
+/** A column storing times of day, encoded as the number of nanoseconds since midnight. */
+public final class TimeOfDayStorage extends TemporalStorage<LocalTime> {
+  private final long[] nanosOfDay;
+
   /**
-   * @param data the underlying data
+   * @param nanosOfDay the underlying data, as returned by {@link LocalTime#toNanoOfDay()}
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
    * @param size the number of items stored
    */
-  public TimeOfDayStorage(LocalTime[] data, int size) {
-    super(data, size, buildOps());
+  public TimeOfDayStorage(long[] nanosOfDay, BitSet isNothing, int size) {
+    super(isNothing, size, buildOps());
+    this.nanosOfDay = nanosOfDay;
   }
 
-  private static MapOperationStorage<LocalTime, SpecializedStorage<LocalTime>> buildOps() {
-    MapOperationStorage<LocalTime, SpecializedStorage<LocalTime>> t =
-        ObjectStorage.buildObjectOps();
+  private static MapOperationStorage<LocalTime, TemporalStorage<LocalTime>> buildOps() {
+    MapOperationStorage<LocalTime, TemporalStorage<LocalTime>> t = new MapOperationStorage<>();
     t.add(new DateTimeIsInOp<>(LocalTime.class));
     t.add(
-        new GenericBinaryObjectMapOperation<LocalTime, SpecializedStorage<LocalTime>, Duration>(
+        new GenericBinaryObjectMapOperation<LocalTime, TemporalStorage<LocalTime>, Duration>(
             Maps.SUB, LocalTime.class, TimeOfDayStorage.class) {
           @Override
           protected Builder createOutputBuilder(int size) {
@@ -41,14 +45,41 @@ public final class TimeOfDayStorage extends SpecializedStorage<LocalTime> {
     return t;
   }
 
+  /**
+   * @param idx an index of a value that is not missing
+   * @return the number of nanoseconds since midnight of the time at the given index
+   */
+  public long getNanoOfDay(int idx) {
+    return nanosOfDay[idx];
+  }
+
+  @Override
+  public long estimateMemorySize() {
+    return 8L * nanosOfDay.length + estimateMemorySize(isNothing);
+  }
+
+  @Override
+  protected LocalTime decode(int idx) {
+    return LocalTime.ofNanoOfDay(nanosOfDay[idx]);
+  }
+
   @Override
-  protected SpecializedStorage<LocalTime> newInstance(LocalTime[] data, int size) {
-    return new TimeOfDayStorage(data, size);
+  protected TimeOfDayStorage gather(int[] positions, BitSet newIsNothing) {
+    long[] newNanosOfDay = new long[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      int position = positions[i];
+      if (position >= 0) {
+        newNanosOfDay[i] = nanosOfDay[position];
+      }
+    }
+    return new TimeOfDayStorage(newNanosOfDay, newIsNothing, positions.length);
   }
 
   @Override
-  protected LocalTime[] newUnderlyingArray(int size) {
-    return new LocalTime[size];
+  protected TimeOfDayStorage copyRange(int offset, int newSize, BitSet newIsNothing) {
+    long[] newNanosOfDay = new long[newSize];
+    System.arraycopy(nanosOfDay, offset, newNanosOfDay, 0, newSize);
+    return new TimeOfDayStorage(newNanosOfDay, newIsNothing, newSize);
   }
 
   @Override
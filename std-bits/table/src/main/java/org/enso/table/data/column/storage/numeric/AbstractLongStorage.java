@@ -1,6 +1,10 @@
 package org.enso.table.data.column.storage.numeric;
 
+import java.math.BigInteger;
 import java.util.BitSet;
+import org.enso.base.polyglot.NumericConverter;
+import org.enso.table.data.column.builder.BigIntegerBuilder;
+import org.enso.table.data.column.builder.NumericBuilder;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.MapOperationStorage;
 import org.enso.table.data.column.operation.map.numeric.LongRoundOp;
@@ -19,7 +23,9 @@ import org.enso.table.data.column.operation.map.numeric.isin.LongIsInOp;
 import org.enso.table.data.column.storage.*;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
 
 public abstract class AbstractLongStorage extends NumericStorage<Long>
     implements ColumnLongStorage, ColumnStorageWithNothingMap {
@@ -119,6 +125,74 @@ public abstract class AbstractLongStorage extends NumericStorage<Long>
     return ops;
   }
 
+  private Storage<?> fillMissingDouble(double arg, ProblemAggregator problemAggregator) {
+    final var builder = NumericBuilder.createDoubleBuilder(size(), problemAggregator);
+    long rawArg = Double.doubleToRawLongBits(arg);
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size(); i++) {
+      if (isNothing(i)) {
+        builder.appendRawNoGrow(rawArg);
+      } else {
+        double coerced = getItem(i);
+        builder.appendRawNoGrow(Double.doubleToRawLongBits(coerced));
+      }
+
+      context.safepoint();
+    }
+
+    return builder.seal();
+  }
+
+  private Storage<?> fillMissingLong(long arg, ProblemAggregator problemAggregator) {
+    final var builder =
+        NumericBuilder.createLongBuilder(size(), IntegerType.INT_64, problemAggregator);
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size(); i++) {
+      if (isNothing(i)) {
+        builder.appendRawNoGrow(arg);
+      } else {
+        builder.appendRawNoGrow(getItem(i));
+      }
+
+      context.safepoint();
+    }
+
+    return builder.seal();
+  }
+
+  private Storage<?> fillMissingBigInteger(
+      BigInteger bigInteger, ProblemAggregator problemAggregator) {
+    final var builder = new BigIntegerBuilder(size(), problemAggregator);
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size(); i++) {
+      if (isNothing(i)) {
+        builder.appendRawNoGrow(bigInteger);
+      } else {
+        builder.appendRawNoGrow(BigInteger.valueOf(getItem(i)));
+      }
+
+      context.safepoint();
+    }
+
+    return builder.seal();
+  }
+
+  @Override
+  public Storage<?> fillMissing(
+      Value arg, StorageType commonType, ProblemAggregator problemAggregator) {
+    if (arg.isNumber()) {
+      if (NumericConverter.isCoercibleToLong(arg.as(Object.class))) {
+        return fillMissingLong(arg.asLong(), problemAggregator);
+      } else if (NumericConverter.isBigInteger(arg)) {
+        return fillMissingBigInteger(arg.asBigInteger(), problemAggregator);
+      } else {
+        return fillMissingDouble(arg.asDouble(), problemAggregator);
+      }
+    }
+
+    return super.fillMissing(arg, commonType, problemAggregator);
+  }
+
   @Override
   public AbstractLongStorage fillMissingFromPrevious(BoolStorage missingIndicator) {
     if (missingIndicator != null) {
@@ -0,0 +1,150 @@
+package org.enso.table.data.column.storage.numeric;
+
+import java.util.BitSet;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A common base for integer storages keeping their values in an array narrower than {@code
+ * long[]}.
+ *
+ * <p>The width of the array depends only on the stored values, not on the type of the column - a
+ * 64-bit integer column whose values all fit in a byte is kept in a {@code byte[]} and still
+ * reports {@link IntegerType#INT_64} as its type. The type only ever has at least as many bits as
+ * the array.
+ */
+public abstract class CompactLongStorage extends AbstractLongStorage {
+  protected final BitSet isNothing;
+  protected final int size;
+  protected final IntegerType type;
+
+  /**
+   * @param size the number of items stored
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
+   * @param type the type specifying the bit-width of integers that are allowed in this storage
+   */
+  protected CompactLongStorage(int size, BitSet isNothing, IntegerType type) {
+    assert type.fits(width());
+    this.size = size;
+    this.isNothing = isNothing;
+    this.type = type;
+  }
+
+  /**
+   * Creates an integer storage using the narrowest array that fits all the values.
+   *
+   * @param data the values, only the first {@code size} elements are used
+   * @param size the number of items stored
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
+   * @param type the type of the storage
+   * @return a compact storage, or a {@link LongStorage} if some value does not fit in an {@code
+   *     int}
+   */
+  public static AbstractLongStorage fromLongs(
+      long[] data, int size, BitSet isNothing, IntegerType type) {
+    IntegerType width = narrowestWidth(data, size, isNothing, type);
+    Context context = Context.getCurrent();
+    switch (width.bits()) {
+      case BITS_8 -> {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+          bytes[i] = (byte) data[i];
+          context.safepoint();
+        }
+        return new ByteStorage(bytes, size, isNothing, type);
+      }
+      case BITS_16 -> {
+        short[] shorts = new short[size];
+        for (int i = 0; i < size; i++) {
+          shorts[i] = (short) data[i];
+          context.safepoint();
+        }
+        return new ShortStorage(shorts, size, isNothing, type);
+      }
+      case BITS_32 -> {
+        int[] ints = new int[size];
+        for (int i = 0; i < size; i++) {
+          ints[i] = (int) data[i];
+          context.safepoint();
+        }
+        return new IntStorage(ints, size, isNothing, type);
+      }
+      default -> {
+        return new LongStorage(data, size, isNothing, type);
+      }
+    }
+  }
+
+  private static IntegerType narrowestWidth(
+      long[] data, int size, BitSet isNothing, IntegerType type) {
+    if (type.bits().toInteger() <= 8) {
+      return type;
+    }
+
+    long min = 0;
+    long max = 0;
+    Context context = Context.getCurrent();
+    for (int i = isNothing.nextClearBit(0); i < size; i = isNothing.nextClearBit(i + 1)) {
+      long value = data[i];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      context.safepoint();
+    }
+
+    IntegerType minWidth = IntegerType.smallestFitting(min);
+    IntegerType maxWidth = IntegerType.smallestFitting(max);
+    return minWidth.fits(maxWidth) ? minWidth : maxWidth;
+  }
+
+  /**
+   * @return the integer type corresponding to the width of the underlying array
+   */
+  protected abstract IntegerType width();
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Long getItemBoxed(int idx) {
+    return isNothing.get(idx) ? null : getItem(idx);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public IntegerType getType() {
+    return type;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean isNothing(long idx) {
+    return isNothing.get((int) idx);
+  }
+
+  @Override
+  public BitSet getIsNothingMap() {
+    return isNothing;
+  }
+
+  /** The width of the array bounds the values, so 8- and 16-bit arrays need no scan. */
+  @Override
+  public StorageType inferPreciseTypeShrunk() {
+    if (getType().bits().toInteger() > 16 && width().bits().toInteger() <= 16) {
+      return IntegerType.INT_16;
+    }
+
+    return super.inferPreciseTypeShrunk();
+  }
+}
@@ -27,6 +27,12 @@ public abstract class ComputedLongStorage extends AbstractLongStorage {
     return size;
   }
 
+  @Override
+  public long estimateMemorySize() {
+    // The values are computed on demand.
+    return 0;
+  }
+
   @Override
   public IntegerType getType() {
     return IntegerType.INT_64;
@@ -30,6 +30,12 @@ public abstract class ComputedNullableLongStorage extends AbstractLongStorage {
     return size;
   }
 
+  @Override
+  public long estimateMemorySize() {
+    // The values are computed on demand, only the missing values may be cached.
+    return estimateMemorySize(isNothing);
+  }
+
   @Override
   public IntegerType getType() {
     return IntegerType.INT_64;
@@ -273,6 +273,11 @@ public final class DoubleStorage extends NumericStorage<Double>
     return data;
   }
 
+  @Override
+  public long estimateMemorySize() {
+    return 8L * data.length + estimateMemorySize(isNothing);
+  }
+
   private static MapOperationStorage<Double, DoubleStorage> buildOps() {
     MapOperationStorage<Double, DoubleStorage> ops = new MapOperationStorage<>();
     ops.add(new AddOp<>())
@@ -1,26 +1,21 @@
 package org.enso.table.data.column.storage.numeric;
 
-import java.math.BigInteger;
 import java.util.BitSet;
 import java.util.List;
-import org.enso.base.polyglot.NumericConverter;
-import org.enso.table.data.column.builder.BigIntegerBuilder;
-import org.enso.table.data.column.builder.NumericBuilder;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.IntegerType;
-import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.mask.OrderMask;
 import org.enso.table.data.mask.SliceRange;
-import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.BitSets;
 import org.graalvm.polyglot.Context;
-import org.graalvm.polyglot.Value;
 
-/** A column storing 64-bit integers. */
+/**
+ * A column storing integers in a {@code long[]}.
+ *
+ * <p>Columns whose values all fit in a narrower primitive are usually kept in a {@link
+ * CompactLongStorage} instead.
+ */
 public final class LongStorage extends AbstractLongStorage {
-  // TODO [RW] at some point we will want to add separate storage classes for byte, short and int,
-  // for more compact storage and more efficient handling of smaller integers; for now we will be
-  // handling this just by checking the bounds
   private final long[] data;
   private final BitSet isNothing;
   private final int size;
@@ -92,74 +87,6 @@ public final class LongStorage extends AbstractLongStorage {
     return isNothing.get((int) idx);
   }
 
-  private Storage<?> fillMissingDouble(double arg, ProblemAggregator problemAggregator) {
-    final var builder = NumericBuilder.createDoubleBuilder(size, problemAggregator);
-    long rawArg = Double.doubleToRawLongBits(arg);
-    Context context = Context.getCurrent();
-    for (int i = 0; i < size(); i++) {
-      if (isNothing.get(i)) {
-        builder.appendRawNoGrow(rawArg);
-      } else {
-        double coerced = data[i];
-        builder.appendRawNoGrow(Double.doubleToRawLongBits(coerced));
-      }
-
-      context.safepoint();
-    }
-
-    return builder.seal();
-  }
-
-  private Storage<?> fillMissingLong(long arg, ProblemAggregator problemAggregator) {
-    final var builder =
-        NumericBuilder.createLongBuilder(size, IntegerType.INT_64, problemAggregator);
-    Context context = Context.getCurrent();
-    for (int i = 0; i < size(); i++) {
-      if (isNothing.get(i)) {
-        builder.appendRawNoGrow(arg);
-      } else {
-        builder.appendRawNoGrow(data[i]);
-      }
-
-      context.safepoint();
-    }
-
-    return builder.seal();
-  }
-
-  private Storage<?> fillMissingBigInteger(
-      BigInteger bigInteger, ProblemAggregator problemAggregator) {
-    final var builder = new BigIntegerBuilder(size, problemAggregator);
-    Context context = Context.getCurrent();
-    for (int i = 0; i < size(); i++) {
-      if (isNothing.get(i)) {
-        builder.appendRawNoGrow(bigInteger);
-      } else {
-        builder.appendRawNoGrow(BigInteger.valueOf(data[i]));
-      }
-
-      context.safepoint();
-    }
-
-    return builder.seal();
-  }
-
-  @Override
-  public Storage<?> fillMissing(
-      Value arg, StorageType commonType, ProblemAggregator problemAggregator) {
-    if (arg.isNumber()) {
-      if (NumericConverter.isCoercibleToLong(arg.as(Object.class))) {
-        return fillMissingLong(arg.asLong(), problemAggregator);
-      } else if (NumericConverter.isBigInteger(arg)) {
-        return fillMissingBigInteger(arg.asBigInteger(), problemAggregator);
-      } else {
-        return fillMissingDouble(arg.asDouble(), problemAggregator);
-      }
-    }
-
-    return super.fillMissing(arg, commonType, problemAggregator);
-  }
-
   @Override
   public Storage<Long> applyFilter(BitSet filterMask, int newLength) {
     BitSet newIsNothing = new BitSet();
@@ -207,6 +134,11 @@ public final class LongStorage extends AbstractLongStorage {
     return data;
   }
 
+  @Override
+  public long estimateMemorySize() {
+    return 8L * data.length + estimateMemorySize(isNothing);
+  }
+
   @Override
   public LongStorage slice(int offset, int limit) {
     int newSize = Math.min(size - offset, limit);
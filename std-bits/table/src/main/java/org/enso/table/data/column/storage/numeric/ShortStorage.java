@@ -0,0 +1,133 @@
+package org.enso.table.data.column.storage.numeric;
+
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.SliceRange;
+import org.enso.table.util.BitSets;
+import org.graalvm.polyglot.Context;
+
+/** A column storing integers that all fit in {@code short} in a {@code short[]}. */
+public final class ShortStorage extends CompactLongStorage {
+  private final short[] data;
+
+  /**
+   * @param data the underlying data
+   * @param size the number of items stored
+   * @param isNothing a bit set denoting at index {@code i} whether or not the value at index {@code
+   *     i} is missing.
+   * @param type the type of the storage, at least as wide as {@code short}
+   */
+  public ShortStorage(short[] data, int size, BitSet isNothing, IntegerType type) {
+    super(size, isNothing, type);
+    this.data = data;
+  }
+
+  /**
+   * @param idx an index
+   * @return the data item contained at the given index.
+   */
+  @Override
+  public long getItem(int idx) {
+    return data[idx];
+  }
+
+  @Override
+  protected IntegerType width() {
+    return IntegerType.INT_16;
+  }
+
+  public short[] getRawData() {
+    return data;
+  }
+
+  @Override
+  public long estimateMemorySize() {
+    return 2L * data.length + estimateMemorySize(isNothing);
+  }
+
+  @Override
+  public Storage<Long> applyFilter(BitSet filterMask, int newLength) {
+    BitSet newIsNothing = new BitSet();
+    short[] newData = new short[newLength];
+    int resIx = 0;
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      if (filterMask.get(i)) {
+        if (isNothing.get(i)) {
+          newIsNothing.set(resIx++);
+        } else {
+          newData[resIx++] = data[i];
+        }
+      }
+
+      context.safepoint();
+    }
+    return new ShortStorage(newData, newLength, newIsNothing, type);
+  }
+
+  @Override
+  public Storage<Long> applyMask(OrderMask mask) {
+    short[] newData = new short[mask.length()];
+    BitSet newIsNothing = new BitSet();
+    Context context = Context.getCurrent();
+    for (int i = 0; i < mask.length(); i++) {
+      int position = mask.get(i);
+      if (position == Storage.NOT_FOUND_INDEX || isNothing.get(position)) {
+        newIsNothing.set(i);
+      } else {
+        newData[i] = data[position];
+      }
+
+      context.safepoint();
+    }
+    return new ShortStorage(newData, newData.length, newIsNothing, type);
+  }
+
+  @Override
+  public ShortStorage slice(int offset, int limit) {
+    int newSize = Math.min(size - offset, limit);
+    short[] newData = new short[newSize];
+    System.arraycopy(data, offset, newData, 0, newSize);
+    BitSet newMask = isNothing.get(offset, offset + newSize);
+    return new ShortStorage(newData, newSize, newMask, type);
+  }
+
+  @Override
+  public ShortStorage appendNulls(int count) {
+    BitSet newIsNothing = BitSets.makeDuplicate(isNothing);
+    newIsNothing.set(size, size + count);
+    short[] newData = new short[size + count];
+    System.arraycopy(data, 0, newData, 0, size);
+    return new ShortStorage(newData, size + count, newIsNothing, type);
+  }
+
+  @Override
+  public ShortStorage slice(List<SliceRange> ranges) {
+    int newSize = SliceRange.totalLength(ranges);
+    short[] newData = new short[newSize];
+    BitSet newIsNothing = new BitSet(newSize);
+    int offset = 0;
+    Context context = Context.getCurrent();
+    for (SliceRange range : ranges) {
+      int length = range.end() - range.start();
+      System.arraycopy(data, range.start(), newData, offset, length);
+      for (int i = 0; i < length; ++i) {
+        newIsNothing.set(offset + i, isNothing.get(range.start() + i));
+        context.safepoint();
+      }
+      offset += length;
+    }
+
+    return new ShortStorage(newData, newSize, newIsNothing, type);
+  }
+
+  /** Widening to a bigger type can be done without copying the data. */
+  @Override
+  public ShortStorage widen(IntegerType widerType) {
+    assert widerType.fits(type);
+    return new ShortStorage(data, size, isNothing, widerType);
+  }
+}
@@ -0,0 +1,108 @@
+package org.enso.table.data.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.mask.OrderMask;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Sorts the rows of a table that has too many rows to keep a sort key for each of them in memory.
+ *
+ * <p>The rows are split into consecutive runs fitting in the {@link MemoryBudget}. Each run is
+ * sorted in memory and only its sorted row indices are kept, so the keys of a single run exist at
+ * a time. The runs are then merged, keeping only the current key of each run. Ties are resolved in
+ * favour of the earlier run, so just like the in-memory sort the result is stable.
+ */
+public class ChunkedSort {
+  /**
+   * Computes the order of the rows of the given key storages.
+   *
+   * @param storages the storages of the key columns
+   * @param rowCount the number of rows to sort
+   * @param directions the direction of each of the key columns, as in {@link
+   *     OrderedMultiValueKey}
+   * @param objectComparator the comparator of the key values
+   * @param runLength the maximum number of rows sorted in memory at once
+   * @return a mask reordering the rows into the sorted order
+   */
+  public static OrderMask sort(
+      Storage<?>[] storages,
+      int rowCount,
+      int[] directions,
+      Comparator<Object> objectComparator,
+      int runLength) {
+    Context context = Context.getCurrent();
+    int runCount = (int) (((long) rowCount + runLength - 1) / runLength);
+    int[][] runs = new int[runCount][];
+    for (int r = 0; r < runCount; r++) {
+      int start = r * runLength;
+      int end = Math.min(rowCount, start + runLength);
+      OrderedMultiValueKey[] keys = new OrderedMultiValueKey[end - start];
+      for (int i = start; i < end; i++) {
+        keys[i - start] = new OrderedMultiValueKey(storages, i, directions, objectComparator);
+        context.safepoint();
+      }
+      Arrays.sort(keys);
+      runs[r] = Arrays.stream(keys).mapToInt(OrderedMultiValueKey::getRowIndex).toArray();
+    }
+
+    return OrderMask.fromArray(merge(runs, storages, rowCount, directions, objectComparator));
+  }
+
+  private static int[] merge(
+      int[][] runs,
+      Storage<?>[] storages,
+      int rowCount,
+      int[] directions,
+      Comparator<Object> objectComparator) {
+    Context context = Context.getCurrent();
+    PriorityQueue<RunCursor> queue =
+        new PriorityQueue<>(
+            Comparator.<RunCursor, OrderedMultiValueKey>comparing(cursor -> cursor.key)
+                .thenComparingInt(cursor -> cursor.runIndex));
+    for (int r = 0; r < runs.length; r++) {
+      RunCursor cursor = new RunCursor(r, runs[r]);
+      if (cursor.hasNext()) {
+        cursor.key = new OrderedMultiValueKey(storages, cursor.next(), directions, objectComparator);
+        queue.add(cursor);
+      }
+    }
+
+    int[] positions = new int[rowCount];
+    int count = 0;
+    while (!queue.isEmpty()) {
+      RunCursor cursor = queue.poll();
+      positions[count++] = cursor.key.getRowIndex();
+      if (cursor.hasNext()) {
+        cursor.key = new OrderedMultiValueKey(storages, cursor.next(), directions, objectComparator);
+        queue.add(cursor);
+      }
+      context.safepoint();
+    }
+
+    assert count == rowCount;
+    return positions;
+  }
+
+  private static class RunCursor {
+    private final int runIndex;
+    private final int[] rows;
+    private int position = 0;
+    private OrderedMultiValueKey key;
+
+    private RunCursor(int runIndex, int[] rows) {
+      this.runIndex = runIndex;
+      this.rows = rows;
+    }
+
+    private boolean hasNext() {
+      return position < rows.length;
+    }
+
+    private int next() {
+      return rows[position++];
+    }
+  }
+}
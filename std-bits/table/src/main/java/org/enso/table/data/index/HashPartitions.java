@@ -0,0 +1,76 @@
+package org.enso.table.data.index;
+
+import java.util.Arrays;
+import java.util.List;
+import org.enso.base.arrays.IntArrayBuilder;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.table.Column;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Splits the rows of a table into partitions by the hash of their key.
+ *
+ * <p>All the rows with equal keys end up in the same partition, so grouping-like operations can
+ * process the partitions one by one, only ever keeping the index of a single partition in memory.
+ * The partitions themselves are plain arrays of row indices, taking 4 bytes per row. Within each
+ * partition the row indices are in ascending order. A single key that is shared by many rows cannot
+ * be split though, so a partition may still exceed the memory budget if the keys are heavily
+ * skewed.
+ */
+public class HashPartitions {
+  private final IntArrayBuilder[] partitions;
+
+  /**
+   * Partitions the rows of the given key columns.
+   *
+   * @param keyColumns the columns making up the key; there must be at least one
+   * @param textFoldingStrategies the folding strategy for each of the key columns, consistent with
+   *     the one used to compare keys within the partitions
+   * @param partitionCount the number of partitions, a power of two
+   */
+  public HashPartitions(
+      Column[] keyColumns, List<TextFoldingStrategy> textFoldingStrategies, int partitionCount) {
+    assert keyColumns.length > 0;
+    assert Integer.bitCount(partitionCount) == 1;
+
+    Storage<?>[] storages =
+        Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
+    int shift = 64 - Integer.numberOfTrailingZeros(partitionCount);
+    int size = keyColumns[0].getSize();
+    partitions = new IntArrayBuilder[partitionCount];
+    for (int p = 0; p < partitionCount; p++) {
+      partitions[p] = new IntArrayBuilder(size / partitionCount + 1);
+    }
+
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      int hash = new UnorderedMultiValueKey(storages, i, textFoldingStrategies).hashCode();
+      // The partition is chosen by the high bits of a mixed hash, so that the lower bits, used by
+      // the hash maps built for each partition, stay well distributed.
+      int partition = shift == 64 ? 0 : (int) ((hash * 0x9E3779B97F4A7C15L) >>> shift);
+      partitions[partition].add(i);
+      context.safepoint();
+    }
+  }
+
+  public int partitionCount() {
+    return partitions.length;
+  }
+
+  /**
+   * Takes the indices of the rows belonging to the given partition.
+   *
+   * <p>Each partition can only be taken once, so that its memory is released as soon as the caller
+   * is done with it.
+   *
+   * @param partition the index of the partition
+   * @return the row indices, in ascending order
+   */
+  public int[] takePartition(int partition) {
+    IntArrayBuilder builder = partitions[partition];
+    partitions[partition] = null;
+    int length = builder.getLength();
+    return Arrays.copyOf(builder.unsafeGetResultAndInvalidate(), length);
+  }
+}
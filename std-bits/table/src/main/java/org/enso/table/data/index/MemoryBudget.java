@@ -0,0 +1,62 @@
+package org.enso.table.data.index;
+
+import org.enso.base.Environment_Utils;
+
+/**
+ * Decides how many rows an index-building operation (grouping, distinct, sorting) may process at
+ * once before it has to split the work into parts.
+ *
+ * <p>The budget can be set explicitly with the {@value #ROW_LIMIT_VARIABLE} environment variable.
+ * Otherwise it is derived from the maximum heap size, assuming each indexed row takes about {@value
+ * #BYTES_PER_INDEXED_ROW} bytes (the key object, the boxed row index and the hash map entry) and
+ * that at most a quarter of the heap may be used by a single index.
+ *
+ * <p>Nothing is written to disk. Splitting the work only bounds the number of keys and hash map
+ * entries alive at once, while the column storages, the row indices of the parts (4 bytes per row)
+ * and the columns of the results all stay on the heap. Joins do not use this budget at all. So a
+ * table that does not fit in memory still cannot be processed.
+ */
+public class MemoryBudget {
+  public static final String ROW_LIMIT_VARIABLE = "ENSO_TABLE_INDEX_ROW_LIMIT";
+
+  private static final long BYTES_PER_INDEXED_ROW = 160;
+
+  /** The smallest budget, so that tiny heaps do not cause spilling of tiny tables. */
+  private static final int MIN_ROW_LIMIT = 1 << 16;
+
+  /**
+   * @return the maximum number of rows that should be indexed in memory at once
+   */
+  public static int rowLimit() {
+    String configured = Environment_Utils.get_environment_variable(ROW_LIMIT_VARIABLE);
+    if (configured != null && !configured.isBlank()) {
+      try {
+        int limit = Integer.parseInt(configured.strip());
+        if (limit > 0) {
+          return limit;
+        }
+      } catch (NumberFormatException e) {
+        // An invalid setting is ignored and the default budget is used.
+      }
+    }
+
+    long fromHeap = Runtime.getRuntime().maxMemory() / 4 / BYTES_PER_INDEXED_ROW;
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_ROW_LIMIT, fromHeap));
+  }
+
+  /**
+   * Computes into how many parts the rows of a table should be split, so that each part fits in the
+   * budget.
+   *
+   * @param rowCount the number of rows to process
+   * @return the number of parts, a power of two; {@code 1} if all the rows fit in the budget
+   */
+  public static int partitionCount(int rowCount) {
+    int limit = rowLimit();
+    int count = 1;
+    while ((long) count * limit < rowCount) {
+      count *= 2;
+    }
+    return count;
+  }
+}
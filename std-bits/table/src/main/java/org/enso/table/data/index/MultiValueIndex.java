@@ -40,7 +40,14 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
         Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
     IntFunction<OrderedMultiValueKey> keyFactory =
         i -> new OrderedMultiValueKey(storage, i, ordering, objectComparator);
-    return new MultiValueIndex<>(keyColumns, tableSize, locs, keyFactory, problemAggregator);
+    return new MultiValueIndex<>(
+        keyColumns,
+        tableSize,
+        null,
+        locs,
+        keyFactory,
+        problemAggregator,
+        new ColumnAggregatedProblemAggregator(problemAggregator));
   }
 
   public static MultiValueIndex<UnorderedMultiValueKey> makeUnorderedIndex(
@@ -53,7 +60,14 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
         Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
     IntFunction<UnorderedMultiValueKey> keyFactory =
         i -> new UnorderedMultiValueKey(storage, i, textFoldingStrategies);
-    return new MultiValueIndex<>(keyColumns, tableSize, locs, keyFactory, problemAggregator);
+    return new MultiValueIndex<>(
+        keyColumns,
+        tableSize,
+        null,
+        locs,
+        keyFactory,
+        problemAggregator,
+        new ColumnAggregatedProblemAggregator(problemAggregator));
   }
 
   public static MultiValueIndex<UnorderedMultiValueKey> makeUnorderedIndex(
@@ -66,24 +80,87 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
     return makeUnorderedIndex(keyColumns, tableSize, strategies, problemAggregator);
   }
 
+  /**
+   * Groups and aggregates the rows of a table, like {@code makeUnorderedIndex(...).makeTable(...)}.
+   *
+   * <p>If the table has more rows than allowed by the {@link MemoryBudget}, its rows are first
+   * split into {@link HashPartitions}, and each partition is indexed and aggregated separately. This
+   * way only the index of a single partition is kept in memory at a time, and the aggregated groups
+   * are streamed into the result builders. The order of the resulting groups is unspecified in
+   * either case.
+   *
+   * @param keyColumns the columns to group by
+   * @param tableSize the number of rows in the table
+   * @param commonTextFoldingStrategy the strategy for folding text keys
+   * @param columns the aggregates to compute for each group
+   * @param problemAggregator an aggregator for problems
+   * @return a table with one row for each group
+   */
+  public static Table aggregate(
+      Column[] keyColumns,
+      int tableSize,
+      TextFoldingStrategy commonTextFoldingStrategy,
+      Aggregator[] columns,
+      ProblemAggregator problemAggregator) {
+    int partitionCount = MemoryBudget.partitionCount(tableSize);
+    if (keyColumns.length == 0 || partitionCount == 1) {
+      return makeUnorderedIndex(keyColumns, tableSize, commonTextFoldingStrategy, problemAggregator)
+          .makeTable(columns);
+    }
+
+    List<TextFoldingStrategy> strategies =
+        ConstantList.make(commonTextFoldingStrategy, keyColumns.length);
+    Storage<?>[] storage =
+        Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
+    IntFunction<UnorderedMultiValueKey> keyFactory =
+        i -> new UnorderedMultiValueKey(storage, i, strategies);
+    ColumnAggregatedProblemAggregator groupingProblemAggregator =
+        new ColumnAggregatedProblemAggregator(problemAggregator);
+
+    int initialSize = tableSize / partitionCount;
+    Builder[] builders =
+        Arrays.stream(columns)
+            .map(c -> Builder.getForType(c.getType(), initialSize, problemAggregator))
+            .toArray(Builder[]::new);
+    HashPartitions partitions = new HashPartitions(keyColumns, strategies, partitionCount);
+    for (int p = 0; p < partitionCount; p++) {
+      MultiValueIndex<UnorderedMultiValueKey> index =
+          new MultiValueIndex<>(
+              keyColumns,
+              tableSize,
+              partitions.takePartition(p),
+              new HashMap<>(),
+              keyFactory,
+              problemAggregator,
+              groupingProblemAggregator);
+      index.appendGroups(columns, builders, true);
+    }
+
+    return buildTable(columns, builders);
+  }
+
+  /**
+   * @param rows the rows to index, or {@code null} to index all the rows of the key columns
+   */
   private MultiValueIndex(
       Column[] keyColumns,
       int tableSize,
+      int[] rows,
       Map<KeyType, List<Integer>> initialLocs,
       IntFunction<KeyType> keyFactory,
-      ProblemAggregator problemAggregator) {
+      ProblemAggregator problemAggregator,
+      ColumnAggregatedProblemAggregator groupingProblemAggregator) {
     this.keyColumns = keyColumns;
     this.locs = initialLocs;
     this.problemAggregator = problemAggregator;
 
     if (keyColumns.length != 0) {
       boolean isUnique = true;
-      int size = keyColumns[0].getSize();
-      ColumnAggregatedProblemAggregator groupingProblemAggregator =
-          new ColumnAggregatedProblemAggregator(problemAggregator);
+      int size = rows == null ? keyColumns[0].getSize() : rows.length;
 
       Context context = Context.getCurrent();
-      for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        int i = rows == null ? j : rows[j];
         KeyType key = keyFactory.apply(i);
         key.checkAndReportFloatingEquality(
             groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
@@ -126,17 +203,30 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
         context.safepoint();
       }
     } else {
-      for (List<Integer> group_locs : this.locs.values()) {
-        for (int i = 0; i < length; i++) {
-          Object value = columns[i].aggregate(group_locs, problemAggregator);
+      appendGroups(columns, storage, false);
+    }
+
+    return buildTable(columns, storage);
+  }
+
+  private void appendGroups(Aggregator[] columns, Builder[] storage, boolean grow) {
+    Context context = Context.getCurrent();
+    for (List<Integer> group_locs : this.locs.values()) {
+      for (int i = 0; i < columns.length; i++) {
+        Object value = columns[i].aggregate(group_locs, problemAggregator);
+        if (grow) {
+          storage[i].append(value);
+        } else {
           storage[i].appendNoGrow(value);
-          context.safepoint();
         }
+        context.safepoint();
       }
     }
+  }
 
+  private static Table buildTable(Aggregator[] columns, Builder[] storage) {
     return new Table(
-        IntStream.range(0, length)
+        IntStream.range(0, columns.length)
             .mapToObj(i -> new Column(columns[i].getName(), storage[i].seal()))
             .toArray(Column[]::new));
   }
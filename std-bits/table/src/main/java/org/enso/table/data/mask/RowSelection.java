@@ -0,0 +1,160 @@
+package org.enso.table.data.mask;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.storage.Storage;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A selection vector: describes which rows of a source storage, and in which order, form a derived
+ * storage, without copying any data.
+ *
+ * <p>Filtering, slicing and reordering a selection composes it with the new operation, so a chain
+ * of such operations is applied to the source storage only once, when it is {@link
+ * #applyTo(Storage) materialized}.
+ *
+ * <p>A selection is either a contiguous range of the source rows, or an array of positions in the
+ * source storage. The positions may contain {@link Storage#NOT_FOUND_INDEX} to denote a missing
+ * value.
+ */
+public final class RowSelection {
+  private final int start;
+  private final int length;
+  private final int[] positions;
+  private final boolean ascending;
+
+  private RowSelection(int start, int length, int[] positions, boolean ascending) {
+    this.start = start;
+    this.length = length;
+    this.positions = positions;
+    this.ascending = ascending;
+  }
+
+  /**
+   * Selects a contiguous range of rows.
+   *
+   * @param start the first selected row
+   * @param length the number of selected rows
+   */
+  public static RowSelection range(int start, int length) {
+    return new RowSelection(start, length, null, true);
+  }
+
+  /**
+   * @return the number of rows in the derived storage
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * @return the estimated memory taken by the selection itself, in bytes
+   */
+  public long estimateMemorySize() {
+    return positions == null ? 0 : (long) Integer.BYTES * positions.length;
+  }
+
+  /**
+   * Selects the rows marked in the mask.
+   *
+   * @param filterMask the mask of rows to keep, relative to this selection
+   * @param newLength the number of rows set in the mask
+   * @return a selection of the filtered rows
+   */
+  public RowSelection filter(BitSet filterMask, int newLength) {
+    Context context = Context.getCurrent();
+    int[] newPositions = new int[newLength];
+    int resIx = 0;
+    for (int i = filterMask.nextSetBit(0);
+        i >= 0 && i < length && resIx < newLength;
+        i = filterMask.nextSetBit(i + 1)) {
+      newPositions[resIx++] = positionAt(i);
+      context.safepoint();
+    }
+    return new RowSelection(0, resIx, newPositions, ascending);
+  }
+
+  /**
+   * Selects a contiguous range of rows of this selection.
+   *
+   * @param offset the first row to keep
+   * @param limit the maximal number of rows to keep
+   * @return a selection of the sliced rows
+   */
+  public RowSelection slice(int offset, int limit) {
+    int from = Math.min(offset, length);
+    int newLength = Math.max(0, Math.min(length - from, limit));
+    if (positions == null) {
+      return range(start + from, newLength);
+    }
+    int[] newPositions = Arrays.copyOfRange(positions, from, from + newLength);
+    return new RowSelection(0, newLength, newPositions, ascending);
+  }
+
+  /**
+   * Selects consecutive ranges of rows of this selection.
+   *
+   * @param ranges the ranges of rows to keep
+   * @return a selection of the sliced rows
+   */
+  public RowSelection slice(List<SliceRange> ranges) {
+    Context context = Context.getCurrent();
+    int newLength = SliceRange.totalLength(ranges);
+    int[] newPositions = new int[newLength];
+    int offset = 0;
+    boolean newAscending = ascending;
+    int previousEnd = 0;
+    for (SliceRange range : ranges) {
+      newAscending &= range.start() >= previousEnd;
+      previousEnd = range.end();
+      for (int i = range.start(); i < range.end(); i++) {
+        newPositions[offset++] = positionAt(i);
+      }
+      context.safepoint();
+    }
+    return new RowSelection(0, newLength, newPositions, newAscending);
+  }
+
+  /**
+   * Reorders the rows of this selection.
+   *
+   * @param mask the reordering to apply
+   * @return a selection of the reordered rows
+   */
+  public RowSelection reorder(OrderMask mask) {
+    Context context = Context.getCurrent();
+    int newLength = mask.length();
+    int[] newPositions = new int[newLength];
+    for (int i = 0; i < newLength; i++) {
+      int position = mask.get(i);
+      newPositions[i] = position == Storage.NOT_FOUND_INDEX ? position : positionAt(position);
+      context.safepoint();
+    }
+    return new RowSelection(0, newLength, newPositions, false);
+  }
+
+  /**
+   * Creates a storage containing the selected rows of the source storage.
+   *
+   * @param source the storage the selection refers to
+   * @return the derived storage
+   */
+  public Storage<?> applyTo(Storage<?> source) {
+    if (positions == null) {
+      return start == 0 && length == source.size() ? source : source.slice(start, length);
+    }
+    if (ascending) {
+      BitSet mask = new BitSet(source.size());
+      for (int i = 0; i < length; i++) {
+        mask.set(positions[i]);
+      }
+      return source.applyFilter(mask, length);
+    }
+    return source.applyMask(OrderMask.fromArray(positions, length));
+  }
+
+  private int positionAt(int i) {
+    return positions == null ? start + i : positions[i];
+  }
+}
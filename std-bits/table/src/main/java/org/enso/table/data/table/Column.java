@@ -2,23 +2,39 @@ package org.enso.table.data.table;
 
 import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import org.enso.base.polyglot.Polyglot_Utils;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.builder.InferredBuilder;
 import org.enso.table.data.column.builder.MixedBuilder;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.column.storage.type.StorageType;
 import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.RowSelection;
 import org.enso.table.data.mask.SliceRange;
 import org.enso.table.error.InvalidColumnNameException;
 import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
-/** A representation of a column. Consists of a column name and the underlying storage. */
+/**
+ * A representation of a column. Consists of a column name and the underlying storage.
+ *
+ * <p>A column derived by selecting rows of another one may be created lazily, holding just the
+ * source storage and a {@link RowSelection}. The storage is then materialized the first time it is
+ * accessed, so columns that are never read are never copied. Similarly, a column read from a file
+ * may be {@link #deferred deferred} - its storage is only loaded once it is accessed.
+ */
 public class Column {
   private final String name;
-  private final Storage<?> storage;
+  private volatile Storage<?> storage;
+  private volatile Selected selected;
 
   /**
    * Creates a new column.
@@ -32,6 +48,75 @@ public class Column {
     this.storage = storage;
   }
 
+  private Column(String name, Selected selected) {
+    ensureNameIsValid(name);
+    this.name = name;
+    this.selected = selected;
+  }
+
+  /**
+   * Creates a column whose storage is loaded the first time it is accessed.
+   *
+   * @param name the column name
+   * @param size the number of items in the column
+   * @param loader loads the storage; it is called at most once
+   * @return a lazily loaded column
+   */
+  public static Column deferred(String name, int size, Supplier<Storage<?>> loader) {
+    return new Column(name, new Selected(new Loaded(loader), RowSelection.range(0, size)));
+  }
+
+  /** The rows of a source storage that form the storage of a lazily derived column. */
+  private record Selected(Source source, RowSelection selection) {}
+
+  /** The storage a lazily derived column selects its rows from. */
+  private interface Source extends Supplier<Storage<?>> {
+    /**
+     * @return the estimated memory retained by the source, without loading it
+     */
+    long estimateMemorySize();
+  }
+
+  /** A source storage that is already in memory. */
+  private record Retained(Storage<?> storage) implements Source {
+    @Override
+    public Storage<?> get() {
+      return storage;
+    }
+
+    @Override
+    public long estimateMemorySize() {
+      return storage.estimateMemorySize();
+    }
+  }
+
+  /**
+   * Memoizes the result of a loader, so that the storage is loaded once even if columns derived
+   * from a deferred column are materialized separately.
+   */
+  private static final class Loaded implements Source {
+    private Supplier<Storage<?>> loader;
+    private Storage<?> storage;
+
+    private Loaded(Supplier<Storage<?>> loader) {
+      this.loader = loader;
+    }
+
+    @Override
+    public synchronized Storage<?> get() {
+      if (storage == null) {
+        storage = loader.get();
+        loader = null;
+      }
+      return storage;
+    }
+
+    @Override
+    public synchronized long estimateMemorySize() {
+      return storage == null ? 0 : storage.estimateMemorySize();
+    }
+  }
+
   public static boolean isColumnNameValid(String name) {
     boolean invalid = (name == null) || name.isEmpty() || (name.indexOf('\0') >= 0);
     return !invalid;
@@ -67,10 +152,33 @@ public class Column {
     return name;
   }
 
+  /**
+   * Loads the storage a {@link #deferred deferred} column selects its rows from, without
+   * materializing the selected rows, so that a failure to load is reported right away.
+   *
+   * @return this column
+   */
+  public Column loadSource() {
+    Selected current = selected;
+    if (current != null) {
+      current.source().get();
+    }
+    return this;
+  }
+
   /**
    * @return the underlying storage
    */
   public Storage<?> getStorage() {
+    Storage<?> result = storage;
+    return result != null ? result : materialize();
+  }
+
+  private synchronized Storage<?> materialize() {
+    if (storage == null) {
+      storage = selected.selection().applyTo(selected.source().get());
+      selected = null;
+    }
     return storage;
   }
 
@@ -78,7 +186,51 @@ public class Column {
    * @return the number of items in this column.
    */
   public int getSize() {
-    return getStorage().size();
+    Selected current = selected;
+    return current != null ? current.selection().length() : storage.size();
+  }
+
+  /**
+   * Estimates the memory retained by this column, without materializing or loading its storage.
+   * A column that is not materialized yet retains its selection and the whole storage it selects
+   * from, unless that storage is not loaded yet.
+   *
+   * @return the estimated size in bytes
+   */
+  public long estimateMemorySize() {
+    Storage<?> current = storage;
+    if (current != null) {
+      return current.estimateMemorySize();
+    }
+    Selected pending = selected;
+    if (pending == null) {
+      return storage.estimateMemorySize();
+    }
+    return pending.selection().estimateMemorySize() + pending.source().estimateMemorySize();
+  }
+
+  /**
+   * Derives a column selecting rows of this one, without copying its data.
+   *
+   * <p>Columns of a table usually share their selection, so the derived selections are memoized in
+   * {@code derived}, keyed by the selection they were derived from. This way, a filter applied to
+   * a table computes the positions of the selected rows once for all its columns.
+   *
+   * @param all the selection of all rows of the table, used for materialized columns
+   * @param derived the selections derived so far
+   * @param operation the operation deriving the new selection from the current one
+   * @return a lazily materialized column
+   */
+  Column select(
+      RowSelection all,
+      Map<RowSelection, RowSelection> derived,
+      UnaryOperator<RowSelection> operation) {
+    Selected current = selected;
+    Storage<?> materialized = storage;
+    Source source = current != null ? current.source() : new Retained(materialized);
+    RowSelection base = current != null ? current.selection() : all;
+    RowSelection selection = derived.computeIfAbsent(base, operation);
+    return new Column(name, new Selected(source, selection));
   }
 
   /**
@@ -89,7 +241,7 @@ public class Column {
    * @return a new column, masked with the given mask
    */
   public Column applyFilter(BitSet filterMask, int newLength) {
-    return new Column(name, storage.applyFilter(filterMask, newLength));
+    return new Column(name, getStorage().applyFilter(filterMask, newLength));
   }
 
   /**
@@ -99,7 +251,8 @@ public class Column {
    * @return a new column with the given name
    */
   public Column rename(String name) {
-    return new Column(name, storage);
+    Selected current = selected;
+    return current != null ? new Column(name, current) : new Column(name, storage);
   }
 
   /** Creates a column from an Enso array, ensuring Enso dates are converted to Java dates. */
@@ -156,6 +309,64 @@ public class Column {
     return new Column(name, builder.seal());
   }
 
+  /**
+   * Creates a column from a primitive array, without going through a builder.
+   *
+   * @param name the name to use
+   * @param array a {@code long[]} or a {@code double[]}; the column takes ownership of it
+   * @return a column with given name and items
+   */
+  public static Column fromPrimitiveArray(String name, Object array) {
+    return switch (array) {
+      case long[] longs -> new Column(name, new LongStorage(longs, IntegerType.INT_64));
+      case double[] doubles -> {
+        long[] bits = new long[doubles.length];
+        for (int i = 0; i < doubles.length; i++) {
+          bits[i] = Double.doubleToRawLongBits(doubles[i]);
+        }
+        yield new Column(name, new DoubleStorage(bits, bits.length, new BitSet()));
+      }
+      default -> throw new IllegalArgumentException(
+          "Expected a long[] or a double[], but got " + array + ".");
+    };
+  }
+
+  /**
+   * Copies the values of this column into a primitive array, if possible.
+   *
+   * @return a {@code long[]} for integer columns, a {@code double[]} for float columns, or {@code
+   *     null} if the column has another type or contains missing values
+   */
+  public Object toPrimitiveArray() {
+    Storage<?> storage = getStorage();
+    int n = storage.size();
+    switch (storage) {
+      case AbstractLongStorage longStorage -> {
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) {
+          if (longStorage.isNothing(i)) {
+            return null;
+          }
+          result[i] = longStorage.getItem(i);
+        }
+        return result;
+      }
+      case DoubleStorage doubleStorage -> {
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+          if (doubleStorage.isNothing(i)) {
+            return null;
+          }
+          result[i] = doubleStorage.getItemAsDouble(i);
+        }
+        return result;
+      }
+      default -> {
+        return null;
+      }
+    }
+  }
+
   /**
    * Creates a new column with given name and an element to repeat.
    *
@@ -193,7 +404,7 @@ public class Column {
    * @return a new column, resulting from reordering this column according to {@code mask}.
    */
   public Column applyMask(OrderMask mask) {
-    Storage<?> newStorage = storage.applyMask(mask);
+    Storage<?> newStorage = getStorage().applyMask(mask);
     return new Column(name, newStorage);
   }
 
@@ -201,21 +412,21 @@ public class Column {
    * @return a copy of the Column containing a slice of the original data
    */
   public Column slice(int offset, int limit) {
-    return new Column(name, storage.slice(offset, limit));
+    return new Column(name, getStorage().slice(offset, limit));
   }
 
   /**
    * @return a copy of the Column consisting of slices of the original data
    */
   public Column slice(List<SliceRange> ranges) {
-    return new Column(name, storage.slice(ranges));
+    return new Column(name, getStorage().slice(ranges));
   }
 
   /**
    * @return a column counting value repetitions in this column.
    */
   public Column duplicateCount() {
-    return new Column(name + "_duplicate_count", storage.duplicateCount());
+    return new Column(name + "_duplicate_count", getStorage().duplicateCount());
   }
 
   /**
@@ -231,7 +442,7 @@ public class Column {
       return slice(0, newSize);
     } else {
       int nullsToAdd = newSize - getSize();
-      return new Column(name, storage.appendNulls(nullsToAdd));
+      return new Column(name, getStorage().appendNulls(nullsToAdd));
     }
   }
 }
@@ -1,12 +1,17 @@
 package org.enso.table.data.table;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.enso.base.Text_Utils;
@@ -19,10 +24,13 @@ import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.TextType;
 import org.enso.table.data.index.CrossTabIndex;
+import org.enso.table.data.index.ChunkedSort;
+import org.enso.table.data.index.MemoryBudget;
 import org.enso.table.data.index.MultiValueIndex;
 import org.enso.table.data.index.MultiValueKeyBase;
 import org.enso.table.data.index.OrderedMultiValueKey;
 import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.RowSelection;
 import org.enso.table.data.mask.SliceRange;
 import org.enso.table.data.table.join.CrossJoin;
 import org.enso.table.data.table.join.JoinKind;
@@ -32,7 +40,9 @@ import org.enso.table.data.table.join.conditions.JoinCondition;
 import org.enso.table.error.UnexpectedColumnTypeException;
 import org.enso.table.operations.Distinct;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.read.BinaryTableReader;
 import org.enso.table.util.NameDeduplicator;
+import org.enso.table.write.BinaryTableWriter;
 import org.graalvm.polyglot.Context;
 
 /** A representation of a table structure. */
@@ -76,6 +86,41 @@ public class Table {
     return columns[0].getSize();
   }
 
+  /**
+   * Estimates the memory retained by this table, without materializing or loading its columns.
+   *
+   * @return the estimated size in bytes
+   */
+  public long estimateMemorySize() {
+    long total = 0;
+    for (Column column : columns) {
+      total += column.estimateMemorySize();
+    }
+    return total;
+  }
+
+  /**
+   * Encodes this table in the binary table format, so that it can be stored outside of the process
+   * and restored with {@link #fromPersistentBytes(byte[])}.
+   *
+   * @return the encoded table
+   */
+  public byte[] toPersistentBytes() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryTableWriter.write(this, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Restores a table encoded by {@link #toPersistentBytes()}.
+   *
+   * @param data the encoded table
+   * @return the restored table
+   */
+  public static Table fromPersistentBytes(byte[] data) throws IOException {
+    return BinaryTableReader.open(new ByteArrayInputStream(data)).readTable();
+  }
+
   /**
    * @return the columns of this table
    */
@@ -115,9 +160,23 @@ public class Table {
     localStorageMask.set(0, rowCount());
     mask.and(localStorageMask);
     int cardinality = mask.cardinality();
+    return select(selection -> selection.filter(mask, cardinality));
+  }
+
+  /**
+   * Derives a table selecting rows of this one. The columns are materialized only when accessed,
+   * and selections applied to a chain of derived tables are composed.
+   *
+   * @param operation the operation deriving the selection of rows of the new table from the
+   *     selection of rows of this table
+   * @return a table with lazily materialized columns
+   */
+  private Table select(UnaryOperator<RowSelection> operation) {
+    var all = RowSelection.range(0, rowCount());
+    var derived = new IdentityHashMap<RowSelection, RowSelection>();
     Column[] newColumns = new Column[columns.length];
     for (int i = 0; i < columns.length; i++) {
-      newColumns[i] = columns[i].applyFilter(mask, cardinality);
+      newColumns[i] = columns[i].select(all, derived, operation);
     }
     return new Table(newColumns);
   }
@@ -169,6 +228,25 @@ public class Table {
         columns, this.rowCount(), TextFoldingStrategy.unicodeNormalizedFold, problemAggregator);
   }
 
+  /**
+   * Groups the rows of this table by the given key columns and computes the aggregates for each
+   * group. Tables exceeding the {@link MemoryBudget} are aggregated partition by partition.
+   *
+   * @param keyColumns the columns to group by
+   * @param aggregates the aggregates to compute
+   * @param problemAggregator an aggregator for problems
+   * @return a table with a row for each group
+   */
+  public Table aggregate(
+      Column[] keyColumns, Aggregator[] aggregates, ProblemAggregator problemAggregator) {
+    return MultiValueIndex.aggregate(
+        keyColumns,
+        this.rowCount(),
+        TextFoldingStrategy.unicodeNormalizedFold,
+        aggregates,
+        problemAggregator);
+  }
+
   /**
    * Build a cross-tab table on the given grouping and naming columns, aggregating across the
    * aggregate columns.
@@ -205,6 +283,12 @@ public class Table {
     Context context = Context.getCurrent();
     final Storage<?>[] storages =
         Arrays.stream(columns).map(Column::getStorage).toArray(Storage[]::new);
+    if (MemoryBudget.partitionCount(n) > 1) {
+      OrderMask mask =
+          ChunkedSort.sort(storages, n, directionInts, objectComparator, MemoryBudget.rowLimit());
+      return this.applyMask(mask);
+    }
+
     OrderedMultiValueKey[] keys = new OrderedMultiValueKey[n];
     for (int i = 0; i < n; i++) {
       keys[i] = new OrderedMultiValueKey(storages, i, directionInts, objectComparator);
@@ -231,12 +315,7 @@ public class Table {
         Distinct.buildDistinctRowsMask(
             rowCount(), keyColumns, textFoldingStrategy, problemAggregator);
     int cardinality = rowsToKeep.cardinality();
-    Column[] newColumns = new Column[this.columns.length];
-    for (int i = 0; i < this.columns.length; i++) {
-      newColumns[i] = this.columns[i].applyFilter(rowsToKeep, cardinality);
-    }
-
-    return new Table(newColumns);
+    return select(selection -> selection.filter(rowsToKeep, cardinality));
   }
 
   /**
@@ -255,12 +334,7 @@ public class Table {
         Distinct.buildDuplicatesRowsMask(
             rowCount(), keyColumns, textFoldingStrategy, problemAggregator);
     int cardinality = rowsToKeep.cardinality();
-    Column[] newColumns = new Column[this.columns.length];
-    for (int i = 0; i < this.columns.length; i++) {
-      newColumns[i] = this.columns[i].applyFilter(rowsToKeep, cardinality);
-    }
-
-    return new Table(newColumns);
+    return select(selection -> selection.filter(rowsToKeep, cardinality));
   }
 
   /**
@@ -407,15 +481,7 @@ public class Table {
    * @return a new table, with all columns and indexes reordered accordingly
    */
   public Table applyMask(OrderMask orderMask) {
-    Column[] newColumns =
-        Arrays.stream(columns)
-            .map(
-                column -> {
-                  Storage<?> newStorage = column.getStorage().applyMask(orderMask);
-                  return new Column(column.getName(), newStorage);
-                })
-            .toArray(Column[]::new);
-    return new Table(newColumns);
+    return select(selection -> selection.reorder(orderMask));
   }
 
   /**
@@ -491,21 +557,13 @@ public class Table {
    * @return a copy of the Table containing a slice of the original data
    */
   public Table slice(int offset, int limit) {
-    Column[] newColumns = new Column[columns.length];
-    for (int i = 0; i < columns.length; i++) {
-      newColumns[i] = columns[i].slice(offset, limit);
-    }
-    return new Table(newColumns);
+    return select(selection -> selection.slice(offset, limit));
   }
 
   /**
    * @return a copy of the Table consisting of slices of the original data
    */
   public Table slice(List<SliceRange> ranges) {
-    Column[] newColumns = new Column[columns.length];
-    for (int i = 0; i < columns.length; i++) {
-      newColumns[i] = columns[i].slice(ranges);
-    }
-    return new Table(newColumns);
+    return select(selection -> selection.slice(ranges));
   }
 }
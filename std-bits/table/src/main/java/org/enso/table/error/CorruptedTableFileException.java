@@ -0,0 +1,28 @@
+package org.enso.table.error;
+
+/** Thrown when a binary table file is malformed or was written by an incompatible version. */
+public class CorruptedTableFileException extends RuntimeException {
+  private final String path;
+
+  public CorruptedTableFileException(String message) {
+    super(message);
+    this.path = null;
+  }
+
+  public CorruptedTableFileException(String message, Throwable cause) {
+    super(message, cause);
+    this.path = null;
+  }
+
+  public CorruptedTableFileException(String message, String path) {
+    super(message);
+    this.path = path;
+  }
+
+  /**
+   * @return the path of the affected file, or {@code null} if it is not known
+   */
+  public String getPath() {
+    return path;
+  }
+}
@@ -62,6 +62,16 @@ public class ExpressionVisitorImpl extends ExpressionBaseVisitor<Value> {
       String typeName,
       String[] variableArgumentFunctions)
       throws UnsupportedOperationException, IllegalArgumentException {
+    var visitor =
+        new ExpressionVisitorImpl(
+            getColumn, makeConstantColumn, moduleName, typeName, variableArgumentFunctions);
+
+    var expr = parse(expression);
+    return visitor.visit(expr);
+  }
+
+  /** Parses an expression, throwing a {@link SyntaxErrorException} if it is invalid. */
+  static ExpressionParser.ProgContext parse(String expression) throws SyntaxErrorException {
     var lexer = new ExpressionLexer(CharStreams.fromString(expression));
     lexer.removeErrorListeners();
     lexer.addErrorListener(ThrowOnErrorListener.INSTANCE);
@@ -71,12 +81,7 @@ public class ExpressionVisitorImpl extends ExpressionBaseVisitor<Value> {
     parser.removeErrorListeners();
     parser.addErrorListener(ThrowOnErrorListener.INSTANCE);
 
-    var visitor =
-        new ExpressionVisitorImpl(
-            getColumn, makeConstantColumn, moduleName, typeName, variableArgumentFunctions);
-
-    var expr = parser.prog();
-    return visitor.visit(expr);
+    return parser.prog();
   }
 
   private final Function<String, Value> getColumn;
@@ -0,0 +1,106 @@
+package org.enso.table.expressions;
+
+import java.util.BitSet;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * An expression over an in-memory table compiled into a single pass over its rows.
+ *
+ * <p>Evaluating an expression operation by operation allocates a full intermediate storage for
+ * every operation. A fused expression instead processes the rows in chunks of {@link #CHUNK_SIZE}:
+ * each operation computes its values for a chunk into small registers that are reused across
+ * chunks, and only the result of the whole expression is materialized as a storage.
+ */
+public final class FusedExpression {
+  static final int CHUNK_SIZE = 1024;
+
+  private final FusedNode root;
+  private final int rowCount;
+
+  private FusedExpression(FusedNode root, int rowCount) {
+    this.root = root;
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * Compiles an expression against a table.
+   *
+   * @param expression the expression to compile
+   * @param table the table whose columns the expression refers to
+   * @return the compiled expression, or {@code null} if it uses constructs that cannot be fused,
+   *     refers to missing columns, or is not a valid expression; such expressions should be
+   *     evaluated by {@link ExpressionVisitorImpl}, which also reports any errors
+   */
+  public static FusedExpression compile(String expression, Table table) {
+    ExpressionParser.ProgContext prog;
+    try {
+      prog = ExpressionVisitorImpl.parse(expression);
+    } catch (ExpressionVisitorImpl.SyntaxErrorException e) {
+      return null;
+    }
+
+    FusedNode root = new FusedExpressionCompiler(table::getColumnByName).visit(prog);
+    // A lone column or literal needs no computation.
+    if (root == null
+        || root instanceof FusedNode.LongColumn
+        || root instanceof FusedNode.DoubleColumn
+        || root instanceof FusedNode.BooleanColumn
+        || root instanceof FusedNode.Constant) {
+      return null;
+    }
+
+    return new FusedExpression(root, table.rowCount());
+  }
+
+  /**
+   * Evaluates the expression.
+   *
+   * @param name the name of the resulting column
+   * @param problemAggregator the aggregator to report arithmetic problems to
+   * @return the computed column
+   */
+  public Column evaluate(String name, ProblemAggregator problemAggregator) {
+    root.prepare(Math.max(1, Math.min(CHUNK_SIZE, rowCount)), problemAggregator);
+    Context context = Context.getCurrent();
+    long[] data = root.kind == FusedNode.Kind.BOOLEAN ? null : new long[rowCount];
+    BitSet values = new BitSet();
+    BitSet isNothing = new BitSet();
+    for (int start = 0; start < rowCount; start += CHUNK_SIZE) {
+      int length = Math.min(CHUNK_SIZE, rowCount - start);
+      root.evaluate(start, length);
+      for (int i = 0; i < length; i++) {
+        if (root.isNothing[i]) {
+          isNothing.set(start + i);
+        } else {
+          switch (root.kind) {
+            case LONG -> data[start + i] = root.longs[i];
+            case DOUBLE -> data[start + i] = Double.doubleToRawLongBits(root.doubles[i]);
+            case BOOLEAN -> {
+              if (root.booleans[i]) {
+                values.set(start + i);
+              }
+            }
+          }
+        }
+      }
+
+      context.safepoint();
+    }
+
+    Storage<?> storage =
+        switch (root.kind) {
+          case LONG -> new LongStorage(data, rowCount, isNothing, IntegerType.INT_64);
+          case DOUBLE -> new DoubleStorage(data, rowCount, isNothing);
+          case BOOLEAN -> new BoolStorage(values, isNothing, rowCount, false);
+        };
+    return new Column(name, storage);
+  }
+}
@@ -0,0 +1,224 @@
+package org.enso.table.expressions;
+
+import java.util.function.Function;
+import org.antlr.v4.runtime.tree.RuleNode;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.table.Column;
+
+/**
+ * Translates a parsed expression into a tree of {@link FusedNode}s.
+ *
+ * <p>Only element-wise arithmetic, comparisons and logical operators on integer, float and boolean
+ * columns and literals are supported. Any other construct makes the visitor return {@code null},
+ * in which case the expression is evaluated operation by operation by {@link
+ * ExpressionVisitorImpl}.
+ */
+class FusedExpressionCompiler extends ExpressionBaseVisitor<FusedNode> {
+  private final Function<String, Column> getColumn;
+
+  FusedExpressionCompiler(Function<String, Column> getColumn) {
+    this.getColumn = getColumn;
+  }
+
+  /** Any construct that is not explicitly handled below cannot be fused. */
+  @Override
+  public FusedNode visitChildren(RuleNode node) {
+    return null;
+  }
+
+  @Override
+  public FusedNode visitProg(ExpressionParser.ProgContext ctx) {
+    return visit(ctx.expr());
+  }
+
+  @Override
+  public FusedNode visitParen(ExpressionParser.ParenContext ctx) {
+    return visit(ctx.expr());
+  }
+
+  @Override
+  public FusedNode visitLiteral(ExpressionParser.LiteralContext ctx) {
+    return visit(ctx.value());
+  }
+
+  @Override
+  public FusedNode visitColumn(ExpressionParser.ColumnContext ctx) {
+    var text = ctx.getText();
+    var name = text.substring(1, text.length() - 1).replace("]]", "]");
+    Column column = getColumn.apply(name);
+    if (column == null) {
+      return null;
+    }
+
+    Storage<?> storage = column.getStorage();
+    return switch (storage) {
+      case AbstractLongStorage s -> new FusedNode.LongColumn(name, s);
+      case DoubleStorage s -> new FusedNode.DoubleColumn(name, s);
+      case BoolStorage s -> new FusedNode.BooleanColumn(name, s);
+      default -> null;
+    };
+  }
+
+  @Override
+  public FusedNode visitNumber(ExpressionParser.NumberContext ctx) {
+    var text = ctx.getText().replace("_", "");
+    try {
+      if (text.contains(".")) {
+        return new FusedNode.Constant(text, Double.parseDouble(text));
+      } else {
+        return new FusedNode.Constant(text, Long.parseLong(text));
+      }
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public FusedNode visitBoolean(ExpressionParser.BooleanContext ctx) {
+    return new FusedNode.Constant(ctx.getText(), ctx.TRUE() != null);
+  }
+
+  @Override
+  public FusedNode visitPower(ExpressionParser.PowerContext ctx) {
+    return arithmetic(ctx, FusedNode.ArithmeticOp.POWER, ctx.expr(0), ctx.expr(1));
+  }
+
+  @Override
+  public FusedNode visitMultDivMod(ExpressionParser.MultDivModContext ctx) {
+    var op =
+        switch (ctx.op.getText()) {
+          case "*" -> FusedNode.ArithmeticOp.MUL;
+          case "/" -> FusedNode.ArithmeticOp.DIV;
+          default -> FusedNode.ArithmeticOp.MOD;
+        };
+    return arithmetic(ctx, op, ctx.expr(0), ctx.expr(1));
+  }
+
+  @Override
+  public FusedNode visitAddSub(ExpressionParser.AddSubContext ctx) {
+    var op = ctx.op.getText().equals("+") ? FusedNode.ArithmeticOp.ADD : FusedNode.ArithmeticOp.SUB;
+    return arithmetic(ctx, op, ctx.expr(0), ctx.expr(1));
+  }
+
+  @Override
+  public FusedNode visitUnaryMinus(ExpressionParser.UnaryMinusContext ctx) {
+    var operand = visit(ctx.expr());
+    if (!isNumeric(operand)) {
+      return null;
+    }
+
+    var minusOne = new FusedNode.Constant("-1", -1L);
+    return new FusedNode.Arithmetic(
+        binaryOperationName("*", operand, minusOne),
+        FusedNode.ArithmeticOp.MUL,
+        operand,
+        minusOne);
+  }
+
+  @Override
+  public FusedNode visitCompare(ExpressionParser.CompareContext ctx) {
+    var left = visit(ctx.expr(0));
+    var right = visit(ctx.expr(1));
+    if (!isNumeric(left) || !isNumeric(right)) {
+      return null;
+    }
+
+    var op =
+        switch (ctx.op.getText()) {
+          case "=", "==" -> FusedNode.ComparisonOp.EQ;
+          case "!=", "<>" -> FusedNode.ComparisonOp.NEQ;
+          case "<" -> FusedNode.ComparisonOp.LT;
+          case "<=" -> FusedNode.ComparisonOp.LTE;
+          case ">" -> FusedNode.ComparisonOp.GT;
+          default -> FusedNode.ComparisonOp.GTE;
+        };
+
+    // Equality of floats reports a `Floating_Point_Equality` problem naming the column, which is
+    // left to the regular evaluation.
+    boolean isEquality = op == FusedNode.ComparisonOp.EQ || op == FusedNode.ComparisonOp.NEQ;
+    if (isEquality
+        && (left.kind != FusedNode.Kind.LONG || right.kind != FusedNode.Kind.LONG)) {
+      return null;
+    }
+
+    var symbol =
+        switch (op) {
+          case EQ -> "==";
+          case NEQ -> "!=";
+          default -> ctx.op.getText();
+        };
+    return new FusedNode.Comparison(binaryOperationName(symbol, left, right), op, left, right);
+  }
+
+  @Override
+  public FusedNode visitAnd(ExpressionParser.AndContext ctx) {
+    return logical(ctx, true, ctx.expr(0), ctx.expr(1));
+  }
+
+  @Override
+  public FusedNode visitOr(ExpressionParser.OrContext ctx) {
+    return logical(ctx, false, ctx.expr(0), ctx.expr(1));
+  }
+
+  @Override
+  public FusedNode visitUnaryNot(ExpressionParser.UnaryNotContext ctx) {
+    var operand = visit(ctx.expr());
+    if (operand == null || operand.kind != FusedNode.Kind.BOOLEAN) {
+      return null;
+    }
+
+    return new FusedNode.Not("not(" + expressionText(operand) + ")", operand);
+  }
+
+  private FusedNode arithmetic(
+      ExpressionParser.ExprContext ctx,
+      FusedNode.ArithmeticOp op,
+      ExpressionParser.ExprContext leftExpr,
+      ExpressionParser.ExprContext rightExpr) {
+    var left = visit(leftExpr);
+    var right = visit(rightExpr);
+    if (!isNumeric(left) || !isNumeric(right)) {
+      return null;
+    }
+
+    return new FusedNode.Arithmetic(binaryOperationName(op.symbol, left, right), op, left, right);
+  }
+
+  private FusedNode logical(
+      ExpressionParser.ExprContext ctx,
+      boolean isAnd,
+      ExpressionParser.ExprContext leftExpr,
+      ExpressionParser.ExprContext rightExpr) {
+    var left = visit(leftExpr);
+    var right = visit(rightExpr);
+    if (left == null
+        || right == null
+        || left.kind != FusedNode.Kind.BOOLEAN
+        || right.kind != FusedNode.Kind.BOOLEAN) {
+      return null;
+    }
+
+    return new FusedNode.Logical(
+        binaryOperationName(isAnd ? "&&" : "||", left, right), isAnd, left, right);
+  }
+
+  /**
+   * Names an operation the way {@code Column_Naming_Helper.binary_operation_name} names the column
+   * computed by the same operation evaluated on its own, e.g. {@code [A] / [B]}.
+   */
+  private static String binaryOperationName(String symbol, FusedNode left, FusedNode right) {
+    return expressionText(left) + " " + symbol + " " + expressionText(right);
+  }
+
+  /** Columns and the results of operations are referred to as columns, constants by value. */
+  private static String expressionText(FusedNode node) {
+    return node instanceof FusedNode.Constant ? node.name : "[" + node.name + "]";
+  }
+
+  private static boolean isNumeric(FusedNode node) {
+    return node != null && node.kind != FusedNode.Kind.BOOLEAN;
+  }
+}
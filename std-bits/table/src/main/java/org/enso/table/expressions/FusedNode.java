@@ -0,0 +1,428 @@
+package org.enso.table.expressions;
+
+import java.util.Arrays;
+import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.problems.ProblemAggregator;
+
+/**
+ * A node of a fused expression.
+ *
+ * <p>Each node owns a set of registers holding its values and missing value flags for a single
+ * chunk of rows. Evaluating a node for a chunk first evaluates its operands for the same chunk, so
+ * the intermediate values never leave these small, reused arrays.
+ *
+ * <p>The operations replicate the semantics of the corresponding vectorized storage operations
+ * (e.g. {@link org.enso.table.data.column.operation.map.numeric.arithmetic.AddOp}), including the
+ * problems they report.
+ */
+abstract class FusedNode {
+  /** The type of values held in the registers of a node. */
+  enum Kind {
+    LONG,
+    DOUBLE,
+    BOOLEAN
+  }
+
+  final Kind kind;
+  final String name;
+  long[] longs;
+  double[] doubles;
+  boolean[] booleans;
+  boolean[] isNothing;
+
+  FusedNode(Kind kind, String name) {
+    this.kind = kind;
+    this.name = name;
+  }
+
+  /**
+   * Allocates the registers of this node and its operands.
+   *
+   * @param chunkSize the maximum number of rows evaluated at once
+   * @param problemAggregator the aggregator to report the problems of the evaluation to
+   */
+  void prepare(int chunkSize, ProblemAggregator problemAggregator) {
+    isNothing = new boolean[chunkSize];
+    switch (kind) {
+      case LONG -> longs = new long[chunkSize];
+      case DOUBLE -> doubles = new double[chunkSize];
+      case BOOLEAN -> booleans = new boolean[chunkSize];
+    }
+  }
+
+  /**
+   * Computes the values of rows {@code start} to {@code start + length} (exclusive) into the
+   * registers.
+   */
+  abstract void evaluate(int start, int length);
+
+  /** Returns the value at the given register index as a double; only valid for numeric nodes. */
+  final double doubleAt(int i) {
+    return kind == Kind.LONG ? (double) longs[i] : doubles[i];
+  }
+
+  /** Loads the values of an integer column. */
+  static final class LongColumn extends FusedNode {
+    private final AbstractLongStorage storage;
+
+    LongColumn(String name, AbstractLongStorage storage) {
+      super(Kind.LONG, name);
+      this.storage = storage;
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      for (int i = 0; i < length; i++) {
+        boolean nothing = storage.isNothing(start + i);
+        isNothing[i] = nothing;
+        longs[i] = nothing ? 0 : storage.getItem(start + i);
+      }
+    }
+  }
+
+  /** Loads the values of a floating point column. */
+  static final class DoubleColumn extends FusedNode {
+    private final DoubleStorage storage;
+
+    DoubleColumn(String name, DoubleStorage storage) {
+      super(Kind.DOUBLE, name);
+      this.storage = storage;
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      for (int i = 0; i < length; i++) {
+        boolean nothing = storage.isNothing(start + i);
+        isNothing[i] = nothing;
+        doubles[i] = nothing ? 0.0 : storage.getItemAsDouble(start + i);
+      }
+    }
+  }
+
+  /** Loads the values of a boolean column. */
+  static final class BooleanColumn extends FusedNode {
+    private final BoolStorage storage;
+
+    BooleanColumn(String name, BoolStorage storage) {
+      super(Kind.BOOLEAN, name);
+      this.storage = storage;
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      for (int i = 0; i < length; i++) {
+        boolean nothing = storage.isNothing(start + i);
+        isNothing[i] = nothing;
+        booleans[i] = !nothing && storage.getItem(start + i);
+      }
+    }
+  }
+
+  /** A literal value, filled into the registers once. */
+  static final class Constant extends FusedNode {
+    private final Object value;
+
+    Constant(String name, long value) {
+      super(Kind.LONG, name);
+      this.value = value;
+    }
+
+    Constant(String name, double value) {
+      super(Kind.DOUBLE, name);
+      this.value = value;
+    }
+
+    Constant(String name, boolean value) {
+      super(Kind.BOOLEAN, name);
+      this.value = value;
+    }
+
+    @Override
+    void prepare(int chunkSize, ProblemAggregator problemAggregator) {
+      super.prepare(chunkSize, problemAggregator);
+      switch (kind) {
+        case LONG -> Arrays.fill(longs, (Long) value);
+        case DOUBLE -> Arrays.fill(doubles, (Double) value);
+        case BOOLEAN -> Arrays.fill(booleans, (Boolean) value);
+      }
+    }
+
+    @Override
+    void evaluate(int start, int length) {}
+  }
+
+  /** The arithmetic operations that can be fused. */
+  enum ArithmeticOp {
+    ADD("+"),
+    SUB("-"),
+    MUL("*"),
+    DIV("/"),
+    MOD("%"),
+    POWER("^");
+
+    final String symbol;
+
+    ArithmeticOp(String symbol) {
+      this.symbol = symbol;
+    }
+
+    /** Division and power always return a floating point result. */
+    boolean returnsDouble() {
+      return this == DIV || this == POWER;
+    }
+  }
+
+  /**
+   * An arithmetic operation on two numeric operands. If both operands are integers (and the
+   * operation does not always return a float), the result is a 64-bit integer and an overflow makes
+   * the value missing; otherwise the result is a float.
+   */
+  static final class Arithmetic extends FusedNode {
+    private final ArithmeticOp op;
+    private final FusedNode left;
+    private final FusedNode right;
+    private MapOperationProblemAggregator problemAggregator;
+
+    Arithmetic(String name, ArithmeticOp op, FusedNode left, FusedNode right) {
+      super(
+          !op.returnsDouble() && left.kind == Kind.LONG && right.kind == Kind.LONG
+              ? Kind.LONG
+              : Kind.DOUBLE,
+          name);
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void prepare(int chunkSize, ProblemAggregator problemAggregator) {
+      super.prepare(chunkSize, problemAggregator);
+      left.prepare(chunkSize, problemAggregator);
+      right.prepare(chunkSize, problemAggregator);
+      // Each operation reports under its own name, so that the problems of different operations
+      // are not merged, the same as when they are evaluated separately.
+      this.problemAggregator = new MapOperationProblemAggregator(problemAggregator, name);
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      left.evaluate(start, length);
+      right.evaluate(start, length);
+      if (kind == Kind.LONG) {
+        for (int i = 0; i < length; i++) {
+          if (left.isNothing[i] || right.isNothing[i]) {
+            isNothing[i] = true;
+          } else {
+            isNothing[i] = !computeLong(left.longs[i], right.longs[i], i, start + i);
+          }
+        }
+      } else {
+        for (int i = 0; i < length; i++) {
+          boolean nothing = left.isNothing[i] || right.isNothing[i];
+          isNothing[i] = nothing;
+          if (!nothing) {
+            doubles[i] = computeDouble(left.doubleAt(i), right.doubleAt(i), start + i);
+          }
+        }
+      }
+    }
+
+    /**
+     * Computes the integer result into register {@code i}.
+     *
+     * @return {@code false} if the result is missing
+     */
+    private boolean computeLong(long a, long b, int i, int row) {
+      try {
+        switch (op) {
+          case ADD -> longs[i] = Math.addExact(a, b);
+          case SUB -> longs[i] = Math.subtractExact(a, b);
+          case MUL -> longs[i] = Math.multiplyExact(a, b);
+          case MOD -> {
+            if (b == 0) {
+              problemAggregator.reportDivisionByZero(row);
+              return false;
+            }
+            longs[i] = a % b;
+          }
+          default -> throw new IllegalStateException("Unexpected integer operation: " + op);
+        }
+        return true;
+      } catch (ArithmeticException e) {
+        problemAggregator.reportOverflow(IntegerType.INT_64, a, op.symbol, b);
+        return false;
+      }
+    }
+
+    private double computeDouble(double a, double b, int row) {
+      return switch (op) {
+        case ADD -> a + b;
+        case SUB -> a - b;
+        case MUL -> a * b;
+        case DIV -> {
+          if (b == 0.0) {
+            problemAggregator.reportDivisionByZero(row);
+          }
+          yield a / b;
+        }
+        case MOD -> {
+          if (b == 0.0) {
+            problemAggregator.reportDivisionByZero(row);
+          }
+          yield a % b;
+        }
+        case POWER -> Math.pow(a, b);
+      };
+    }
+  }
+
+  /** The comparisons that can be fused. */
+  enum ComparisonOp {
+    EQ,
+    NEQ,
+    LT,
+    LTE,
+    GT,
+    GTE
+  }
+
+  /**
+   * A comparison of two numeric operands. Integers are compared exactly, while comparing an integer
+   * with a float converts the integer to a float.
+   */
+  static final class Comparison extends FusedNode {
+    private final ComparisonOp op;
+    private final FusedNode left;
+    private final FusedNode right;
+
+    Comparison(String name, ComparisonOp op, FusedNode left, FusedNode right) {
+      super(Kind.BOOLEAN, name);
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void prepare(int chunkSize, ProblemAggregator problemAggregator) {
+      super.prepare(chunkSize, problemAggregator);
+      left.prepare(chunkSize, problemAggregator);
+      right.prepare(chunkSize, problemAggregator);
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      left.evaluate(start, length);
+      right.evaluate(start, length);
+      boolean integers = left.kind == Kind.LONG && right.kind == Kind.LONG;
+      for (int i = 0; i < length; i++) {
+        boolean nothing = left.isNothing[i] || right.isNothing[i];
+        isNothing[i] = nothing;
+        if (nothing) {
+          booleans[i] = false;
+        } else if (integers) {
+          booleans[i] = compare(Long.compare(left.longs[i], right.longs[i]));
+        } else {
+          booleans[i] = compare(left.doubleAt(i), right.doubleAt(i));
+        }
+      }
+    }
+
+    private boolean compare(int order) {
+      return switch (op) {
+        case EQ -> order == 0;
+        case NEQ -> order != 0;
+        case LT -> order < 0;
+        case LTE -> order <= 0;
+        case GT -> order > 0;
+        case GTE -> order >= 0;
+      };
+    }
+
+    // Primitive comparisons, so that NaN compares as false, like in the storage operations.
+    private boolean compare(double a, double b) {
+      return switch (op) {
+        case EQ -> a == b;
+        case NEQ -> a != b;
+        case LT -> a < b;
+        case LTE -> a <= b;
+        case GT -> a > b;
+        case GTE -> a >= b;
+      };
+    }
+  }
+
+  /** A logical conjunction or disjunction, using three-valued logic for missing values. */
+  static final class Logical extends FusedNode {
+    private final boolean isAnd;
+    private final FusedNode left;
+    private final FusedNode right;
+
+    Logical(String name, boolean isAnd, FusedNode left, FusedNode right) {
+      super(Kind.BOOLEAN, name);
+      this.isAnd = isAnd;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void prepare(int chunkSize, ProblemAggregator problemAggregator) {
+      super.prepare(chunkSize, problemAggregator);
+      left.prepare(chunkSize, problemAggregator);
+      right.prepare(chunkSize, problemAggregator);
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      left.evaluate(start, length);
+      right.evaluate(start, length);
+      // A present value equal to `dominant` decides the result regardless of the other operand.
+      boolean dominant = !isAnd;
+      for (int i = 0; i < length; i++) {
+        boolean leftNothing = left.isNothing[i];
+        boolean rightNothing = right.isNothing[i];
+        boolean a = left.booleans[i];
+        boolean b = right.booleans[i];
+        if ((!leftNothing && a == dominant) || (!rightNothing && b == dominant)) {
+          isNothing[i] = false;
+          booleans[i] = dominant;
+        } else if (leftNothing || rightNothing) {
+          isNothing[i] = true;
+          booleans[i] = false;
+        } else {
+          isNothing[i] = false;
+          booleans[i] = !dominant;
+        }
+      }
+    }
+  }
+
+  /** A logical negation; missing values stay missing. */
+  static final class Not extends FusedNode {
+    private final FusedNode operand;
+
+    Not(String name, FusedNode operand) {
+      super(Kind.BOOLEAN, name);
+      this.operand = operand;
+    }
+
+    @Override
+    void prepare(int chunkSize, ProblemAggregator problemAggregator) {
+      super.prepare(chunkSize, problemAggregator);
+      operand.prepare(chunkSize, problemAggregator);
+    }
+
+    @Override
+    void evaluate(int start, int length) {
+      operand.evaluate(start, length);
+      for (int i = 0; i < length; i++) {
+        boolean nothing = operand.isNothing[i];
+        isNothing[i] = nothing;
+        booleans[i] = !nothing && !operand.booleans[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package org.enso.table.format.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes little-endian primitives to an output stream, keeping track of the current position so
+ * that the written sections can be located in the footer.
+ */
+public class BinaryOutput {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final OutputStream output;
+  private final ByteBuffer buffer =
+      ByteBuffer.allocate(BUFFER_SIZE).order(BinaryTableLayout.BYTE_ORDER);
+  private long flushedBytes = 0;
+
+  public BinaryOutput(OutputStream output) {
+    this.output = output;
+  }
+
+  /**
+   * @return the number of bytes written so far
+   */
+  public long position() {
+    return flushedBytes + buffer.position();
+  }
+
+  public void writeByte(byte value) throws IOException {
+    ensureSpace(1);
+    buffer.put(value);
+  }
+
+  public void writeShort(short value) throws IOException {
+    ensureSpace(2);
+    buffer.putShort(value);
+  }
+
+  public void writeInt(int value) throws IOException {
+    ensureSpace(4);
+    buffer.putInt(value);
+  }
+
+  public void writeLong(long value) throws IOException {
+    ensureSpace(8);
+    buffer.putLong(value);
+  }
+
+  public void writeBytes(byte[] bytes) throws IOException {
+    if (bytes.length > buffer.remaining()) {
+      flush();
+      if (bytes.length > buffer.capacity()) {
+        output.write(bytes);
+        flushedBytes += bytes.length;
+        return;
+      }
+    }
+    buffer.put(bytes);
+  }
+
+  /** Writes a text as its 4-byte length followed by its UTF-8 bytes. */
+  public void writeText(String text) throws IOException {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    writeInt(bytes.length);
+    writeBytes(bytes);
+  }
+
+  /** Pads the output with zeros up to the next multiple of {@link BinaryTableLayout#ALIGNMENT}. */
+  public void align() throws IOException {
+    while (position() % BinaryTableLayout.ALIGNMENT != 0) {
+      writeByte((byte) 0);
+    }
+  }
+
+  /** Writes out all the buffered bytes. */
+  public void flush() throws IOException {
+    output.write(buffer.array(), 0, buffer.position());
+    flushedBytes += buffer.position();
+    buffer.clear();
+  }
+
+  private void ensureSpace(int bytes) throws IOException {
+    if (buffer.remaining() < bytes) {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package org.enso.table.format.binary;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants describing the layout of the binary columnar table file format.
+ *
+ * <p>A file consists of:
+ *
+ * <ul>
+ *   <li>the 8-byte {@link #MAGIC} header,
+ *   <li>the sections of the consecutive columns - each starting at an offset aligned to 8 bytes,
+ *   <li>the footer describing the table and the location of every section,
+ *   <li>the 8-byte length of the footer and the {@link #MAGIC} again.
+ * </ul>
+ *
+ * <p>All numbers are stored in {@link #BYTE_ORDER little-endian} order, and texts as a 4-byte
+ * length followed by their UTF-8 bytes. The footer contains the {@link #VERSION}, the number of
+ * rows and columns and then a {@link ColumnMetadata} entry for each column: its name, {@link
+ * #kindName kind}, type parameters, the offsets and lengths of its sections and its statistics.
+ *
+ * <p>Every column may have a bitmap of missing values, stored as {@code long} words like in {@link
+ * java.util.BitSet#toLongArray()}. Missing values are stored as zeros in the data sections. The
+ * data sections of each kind of column are:
+ *
+ * <ul>
+ *   <li>{@link #BOOLEAN}: a bitmap of the values,
+ *   <li>{@link #INTEGER}: the values, each taking 1, 2, 4 or 8 bytes - the narrowest width fitting
+ *       all the values of the column,
+ *   <li>{@link #FLOAT}: the 8-byte IEEE 754 representations of the values,
+ *   <li>{@link #DATE}: the 4-byte days since the epoch,
+ *   <li>{@link #TIME_OF_DAY}: the 8-byte nanoseconds of the day,
+ *   <li>{@link #DATE_TIME}: the 8-byte seconds since the epoch, the 4-byte nanosecond adjustments,
+ *       the 4-byte indices into the dictionary of timezones and the dictionary itself,
+ *   <li>{@link #TEXT}, {@link #BIG_INTEGER} and {@link #BIG_DECIMAL}: either the plain texts, or
+ *       4-byte indices into a dictionary of distinct texts followed by that dictionary. Big
+ *       numbers are stored as their exact decimal representations.
+ * </ul>
+ *
+ * <p>A list of texts (plain values or a dictionary) takes two sections: {@code count + 1} 8-byte
+ * offsets into the second section, which holds the concatenated UTF-8 bytes of the texts.
+ */
+public final class BinaryTableLayout {
+  private BinaryTableLayout() {}
+
+  public static final byte[] MAGIC = "ENSOTBL1".getBytes(StandardCharsets.US_ASCII);
+  public static final int VERSION = 1;
+  public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  public static final int ALIGNMENT = 8;
+
+  /** The length of the trailer: the footer length and the magic. */
+  public static final int TRAILER_LENGTH = 8 + MAGIC.length;
+
+  public static final byte BOOLEAN = 1;
+  public static final byte INTEGER = 2;
+  public static final byte FLOAT = 3;
+  public static final byte TEXT = 4;
+  public static final byte DATE = 5;
+  public static final byte TIME_OF_DAY = 6;
+  public static final byte DATE_TIME = 7;
+  public static final byte BIG_INTEGER = 8;
+  public static final byte BIG_DECIMAL = 9;
+
+  /** Texts stored one after another. */
+  public static final byte PLAIN_ENCODING = 0;
+
+  /** Texts stored as indices into a dictionary of the distinct texts. */
+  public static final byte DICTIONARY_ENCODING = 1;
+
+  /**
+   * @return a human-readable name of the kind of column, used in error messages
+   */
+  public static String kindName(byte kind) {
+    return switch (kind) {
+      case BOOLEAN -> "Boolean";
+      case INTEGER -> "Integer";
+      case FLOAT -> "Float";
+      case TEXT -> "Text";
+      case DATE -> "Date";
+      case TIME_OF_DAY -> "Time_Of_Day";
+      case DATE_TIME -> "Date_Time";
+      case BIG_INTEGER -> "Big_Integer";
+      case BIG_DECIMAL -> "Decimal";
+      default -> "unknown kind " + kind;
+    };
+  }
+}
@@ -0,0 +1,179 @@
+package org.enso.table.format.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The contents of a binary table file, or of a part of it, held in memory and addressed by {@code
+ * long} offsets within the file.
+ *
+ * <p>A single {@link ByteBuffer} cannot span more than 2GB, so the contents are split into chunks
+ * of {@link #CHUNK_SIZE} bytes. The chunk size is a multiple of {@link
+ * BinaryTableLayout#ALIGNMENT}, so if the buffer starts at an aligned offset, a primitive value
+ * stored at an aligned offset never crosses a chunk boundary.
+ */
+public final class ChunkedBuffer {
+  static final int CHUNK_SIZE = 1 << 30;
+
+  private final ByteBuffer[] chunks;
+  private final long start;
+  private final long size;
+
+  private ChunkedBuffer(ByteBuffer[] chunks, long start, long size) {
+    this.chunks = chunks;
+    this.start = start;
+    this.size = size;
+    for (ByteBuffer chunk : chunks) {
+      chunk.order(BinaryTableLayout.BYTE_ORDER);
+    }
+  }
+
+  /**
+   * Reads a part of a file into memory. The file is read with positional reads, so the channel can
+   * be closed afterwards and the file does not stay mapped or locked.
+   *
+   * @param channel the channel to read from
+   * @param offset the offset of the first byte to read
+   * @param length the number of bytes to read
+   * @return a buffer addressed by the offsets within the file
+   */
+  public static ChunkedBuffer read(FileChannel channel, long offset, long length)
+      throws IOException {
+    int count = (int) ((length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    ByteBuffer[] chunks = new ByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      long chunkStart = (long) i * CHUNK_SIZE;
+      long chunkOffset = offset + chunkStart;
+      ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, length - chunkStart));
+      while (chunk.hasRemaining()) {
+        if (channel.read(chunk, chunkOffset + chunk.position()) < 0) {
+          throw new EOFException(
+              "The file ended before offset " + (chunkOffset + chunk.limit()) + ".");
+        }
+      }
+      chunks[i] = chunk.flip();
+    }
+    return new ChunkedBuffer(chunks, offset, length);
+  }
+
+  /** Reads the whole stream into memory. */
+  public static ChunkedBuffer read(InputStream stream) throws IOException {
+    List<ByteBuffer> chunks = new ArrayList<>();
+    long size = 0;
+    while (true) {
+      byte[] bytes = stream.readNBytes(CHUNK_SIZE);
+      if (bytes.length > 0) {
+        chunks.add(ByteBuffer.wrap(bytes));
+        size += bytes.length;
+      }
+      if (bytes.length < CHUNK_SIZE) {
+        break;
+      }
+    }
+    return new ChunkedBuffer(chunks.toArray(ByteBuffer[]::new), 0, size);
+  }
+
+  /**
+   * @return the number of bytes held by this buffer
+   */
+  public long size() {
+    return size;
+  }
+
+  /** Copies bytes starting at the given offset, which may span multiple chunks. */
+  public void getBytes(long offset, byte[] destination, int destinationOffset, int length) {
+    while (length > 0) {
+      ByteBuffer chunk = chunk(offset);
+      int index = index(offset);
+      int count = Math.min(length, chunk.limit() - index);
+      chunk.get(index, destination, destinationOffset, count);
+      offset += count;
+      destinationOffset += count;
+      length -= count;
+    }
+  }
+
+  /** Reads {@code count} consecutive 2-byte values starting at an aligned offset. */
+  public void getShorts(long offset, short[] destination, int count) {
+    int done = 0;
+    while (done < count) {
+      ByteBuffer chunk = chunk(offset);
+      int index = index(offset);
+      int n = Math.min(count - done, (chunk.limit() - index) / Short.BYTES);
+      if (n == 0) {
+        throw truncated(offset);
+      }
+      chunk.slice(index, n * Short.BYTES)
+          .order(BinaryTableLayout.BYTE_ORDER)
+          .asShortBuffer()
+          .get(destination, done, n);
+      done += n;
+      offset += (long) n * Short.BYTES;
+    }
+  }
+
+  /** Reads {@code count} consecutive 4-byte values starting at an aligned offset. */
+  public void getInts(long offset, int[] destination, int count) {
+    int done = 0;
+    while (done < count) {
+      ByteBuffer chunk = chunk(offset);
+      int index = index(offset);
+      int n = Math.min(count - done, (chunk.limit() - index) / Integer.BYTES);
+      if (n == 0) {
+        throw truncated(offset);
+      }
+      chunk.slice(index, n * Integer.BYTES)
+          .order(BinaryTableLayout.BYTE_ORDER)
+          .asIntBuffer()
+          .get(destination, done, n);
+      done += n;
+      offset += (long) n * Integer.BYTES;
+    }
+  }
+
+  /** Reads {@code count} consecutive 8-byte values starting at an aligned offset. */
+  public void getLongs(long offset, long[] destination, int count) {
+    int done = 0;
+    while (done < count) {
+      ByteBuffer chunk = chunk(offset);
+      int index = index(offset);
+      int n = Math.min(count - done, (chunk.limit() - index) / Long.BYTES);
+      if (n == 0) {
+        throw truncated(offset);
+      }
+      chunk.slice(index, n * Long.BYTES)
+          .order(BinaryTableLayout.BYTE_ORDER)
+          .asLongBuffer()
+          .get(destination, done, n);
+      done += n;
+      offset += (long) n * Long.BYTES;
+    }
+  }
+
+  private ByteBuffer chunk(long offset) {
+    if (offset < start || offset - start >= size) {
+      throw truncated(offset);
+    }
+    return chunks[(int) ((offset - start) / CHUNK_SIZE)];
+  }
+
+  private IndexOutOfBoundsException truncated(long offset) {
+    return new IndexOutOfBoundsException(
+        "Cannot read at offset "
+            + offset
+            + " of the data between offsets "
+            + start
+            + " and "
+            + (start + size)
+            + ".");
+  }
+
+  private int index(long offset) {
+    return (int) ((offset - start) % CHUNK_SIZE);
+  }
+}
@@ -0,0 +1,112 @@
+package org.enso.table.format.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The footer entry describing a single column of a binary table file.
+ *
+ * @param name the name of the column
+ * @param kind the kind of the column, one of the kinds defined in {@link BinaryTableLayout}
+ * @param typeSize the number of bits of an integer column, or the maximum length of a text column
+ *     ({@code -1} if unbounded); unused for other kinds
+ * @param fixedLength whether a text column has fixed length; unused for other kinds
+ * @param encoding the width in bytes of the values of an integer column, or the encoding of a text
+ *     column; unused for other kinds
+ * @param nullCount the number of missing values
+ * @param distinctCount the number of distinct non-missing values if known, {@code -1} otherwise
+ * @param min the raw representation of the smallest non-missing value if known (see {@link
+ *     #hasRange()}), the same as in the data sections
+ * @param max the raw representation of the largest non-missing value if known
+ * @param hasRange whether {@code min} and {@code max} are known
+ * @param nulls the bitmap of missing values, or {@code null} if there are none
+ * @param sections the data sections of the column
+ */
+public record ColumnMetadata(
+    String name,
+    byte kind,
+    long typeSize,
+    boolean fixedLength,
+    byte encoding,
+    long nullCount,
+    long distinctCount,
+    boolean hasRange,
+    long min,
+    long max,
+    Section nulls,
+    List<Section> sections) {
+
+  /** A contiguous range of the file. */
+  public record Section(long offset, long length) {}
+
+  /** Writes this entry to the footer. */
+  public void write(BinaryOutput output) throws IOException {
+    output.writeText(name);
+    output.writeByte(kind);
+    output.writeLong(typeSize);
+    output.writeByte((byte) (fixedLength ? 1 : 0));
+    output.writeByte(encoding);
+    output.writeLong(nullCount);
+    output.writeLong(distinctCount);
+    output.writeByte((byte) (hasRange ? 1 : 0));
+    output.writeLong(min);
+    output.writeLong(max);
+    writeSection(output, nulls == null ? new Section(-1, 0) : nulls);
+    output.writeInt(sections.size());
+    for (Section section : sections) {
+      writeSection(output, section);
+    }
+  }
+
+  /** Reads an entry from the footer, advancing its position. */
+  public static ColumnMetadata read(ByteBuffer footer) {
+    String name = readText(footer);
+    byte kind = footer.get();
+    long typeSize = footer.getLong();
+    boolean fixedLength = footer.get() != 0;
+    byte encoding = footer.get();
+    long nullCount = footer.getLong();
+    long distinctCount = footer.getLong();
+    boolean hasRange = footer.get() != 0;
+    long min = footer.getLong();
+    long max = footer.getLong();
+    Section nulls = readSection(footer);
+    int sectionCount = footer.getInt();
+    List<Section> sections = new ArrayList<>(sectionCount);
+    for (int i = 0; i < sectionCount; i++) {
+      sections.add(readSection(footer));
+    }
+    return new ColumnMetadata(
+        name,
+        kind,
+        typeSize,
+        fixedLength,
+        encoding,
+        nullCount,
+        distinctCount,
+        hasRange,
+        min,
+        max,
+        nulls.offset() < 0 ? null : nulls,
+        sections);
+  }
+
+  private static void writeSection(BinaryOutput output, Section section) throws IOException {
+    output.writeLong(section.offset());
+    output.writeLong(section.length());
+  }
+
+  private static Section readSection(ByteBuffer footer) {
+    return new Section(footer.getLong(), footer.getLong());
+  }
+
+  private static String readText(ByteBuffer footer) {
+    int length = footer.getInt();
+    byte[] bytes = new byte[length];
+    footer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -6,8 +6,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.index.HashPartitions;
+import org.enso.table.data.index.MemoryBudget;
 import org.enso.table.data.index.MultiValueKeyBase;
 import org.enso.table.data.index.UnorderedMultiValueKey;
 import org.enso.table.data.table.Column;
@@ -29,23 +33,27 @@ public class Distinct {
     Context context = Context.getCurrent();
     var mask = new BitSet();
     if (keyColumns.length != 0) {
-      HashSet<MultiValueKeyBase> visitedRows = new HashSet<>();
-      int size = keyColumns[0].getSize();
       Storage<?>[] storage =
           Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
       List<TextFoldingStrategy> strategies = ConstantList.make(textFoldingStrategy, storage.length);
-      for (int i = 0; i < size; i++) {
-        UnorderedMultiValueKey key = new UnorderedMultiValueKey(storage, i, strategies);
-        key.checkAndReportFloatingEquality(
-            groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
+      forEachPartition(
+          keyColumns,
+          strategies,
+          () -> {
+            HashSet<MultiValueKeyBase> visitedRows = new HashSet<>();
+            return i -> {
+              UnorderedMultiValueKey key = new UnorderedMultiValueKey(storage, i, strategies);
+              key.checkAndReportFloatingEquality(
+                  groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
 
-        if (!visitedRows.contains(key)) {
-          mask.set(i);
-          visitedRows.add(key);
-        }
+              if (!visitedRows.contains(key)) {
+                mask.set(i);
+                visitedRows.add(key);
+              }
 
-        context.safepoint();
-      }
+              context.safepoint();
+            };
+          });
     } else {
       // If there are no columns to distinct-by we just return the whole table.
       mask.set(0, tableSize);
@@ -64,26 +72,30 @@ public class Distinct {
     Context context = Context.getCurrent();
     var mask = new BitSet();
     if (keyColumns.length != 0) {
-      Map<MultiValueKeyBase, Integer> visitedRows = new HashMap<>();
-      int size = keyColumns[0].getSize();
       Storage<?>[] storage =
           Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
       List<TextFoldingStrategy> strategies = ConstantList.make(textFoldingStrategy, storage.length);
-      for (int i = 0; i < size; i++) {
-        UnorderedMultiValueKey key = new UnorderedMultiValueKey(storage, i, strategies);
-        key.checkAndReportFloatingEquality(
-            groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
+      forEachPartition(
+          keyColumns,
+          strategies,
+          () -> {
+            Map<MultiValueKeyBase, Integer> visitedRows = new HashMap<>();
+            return i -> {
+              UnorderedMultiValueKey key = new UnorderedMultiValueKey(storage, i, strategies);
+              key.checkAndReportFloatingEquality(
+                  groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
 
-        var keyIndex = visitedRows.get(key);
-        if (keyIndex == null) {
-          visitedRows.put(key, i);
-        } else {
-          mask.set(i);
-          mask.set(keyIndex);
-        }
+              var keyIndex = visitedRows.get(key);
+              if (keyIndex == null) {
+                visitedRows.put(key, i);
+              } else {
+                mask.set(i);
+                mask.set(keyIndex);
+              }
 
-        context.safepoint();
-      }
+              context.safepoint();
+            };
+          });
     } else {
       // If there are no columns to distinct-by we just return the whole table.
       mask.set(0, tableSize);
@@ -91,4 +103,36 @@ public class Distinct {
 
     return mask;
   }
+
+  /**
+   * Visits groups of rows such that rows with equal keys always end up in the same group. Every
+   * group is visited by a fresh visitor, which gets the row indices in ascending order.
+   *
+   * <p>If the table fits in the {@link MemoryBudget}, there is a single group of all rows.
+   * Otherwise, the row indices are split into {@link HashPartitions}, so that only the visited keys
+   * of a single partition need to be kept in memory at a time. The key columns themselves stay in
+   * memory either way.
+   */
+  private static void forEachPartition(
+      Column[] keyColumns,
+      List<TextFoldingStrategy> strategies,
+      Supplier<IntConsumer> partitionVisitor) {
+    int size = keyColumns[0].getSize();
+    int partitionCount = MemoryBudget.partitionCount(size);
+    if (partitionCount == 1) {
+      IntConsumer visitor = partitionVisitor.get();
+      for (int i = 0; i < size; i++) {
+        visitor.accept(i);
+      }
+      return;
+    }
+
+    HashPartitions partitions = new HashPartitions(keyColumns, strategies, partitionCount);
+    for (int p = 0; p < partitionCount; p++) {
+      IntConsumer visitor = partitionVisitor.get();
+      for (int i : partitions.takePartition(p)) {
+        visitor.accept(i);
+      }
+    }
+  }
 }
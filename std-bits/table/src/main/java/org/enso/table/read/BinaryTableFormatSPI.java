@@ -0,0 +1,16 @@
+package org.enso.table.read;
+
+import org.enso.base.file_format.FileFormatSPI;
+
+@org.openide.util.lookup.ServiceProvider(service = FileFormatSPI.class)
+public class BinaryTableFormatSPI extends FileFormatSPI {
+  @Override
+  protected String getModuleName() {
+    return "Standard.Table.Binary.Binary_Table_Format";
+  }
+
+  @Override
+  protected String getTypeName() {
+    return "Binary_Table_Format";
+  }
+}
@@ -0,0 +1,497 @@
+package org.enso.table.read;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.BigDecimalStorage;
+import org.enso.table.data.column.storage.numeric.BigIntegerStorage;
+import org.enso.table.data.column.storage.numeric.ByteStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.IntStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.numeric.ShortStorage;
+import org.enso.table.data.column.storage.type.Bits;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.error.CorruptedTableFileException;
+import org.enso.table.format.binary.BinaryTableLayout;
+import org.enso.table.format.binary.ChunkedBuffer;
+import org.enso.table.format.binary.ColumnMetadata;
+import org.enso.table.format.binary.ColumnMetadata.Section;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Reads tables written by {@link org.enso.table.write.BinaryTableWriter}.
+ *
+ * <p>Opening a file only parses its footer. The data of each column is read into memory the first
+ * time the column is accessed, so reading a table and using only a few of its columns does not
+ * touch the data of the other ones. The file is only open while it is being read, so it can be
+ * overwritten or deleted while the table is in use. If the file changes before all columns are
+ * loaded, loading the remaining ones fails instead of returning the new data. A change is detected
+ * by the identity, size and modification time of the file, and by a checksum of the footer, which
+ * describes the offsets and statistics of every column.
+ */
+public class BinaryTableReader {
+  private final Source source;
+  private final int rowCount;
+  private final ColumnMetadata[] columns;
+  private final long footerStart;
+  private final long footerChecksum;
+
+  private BinaryTableReader(Source source) throws IOException {
+    this.source = source;
+    try {
+      long size = source.size();
+      if (size < BinaryTableLayout.MAGIC.length + BinaryTableLayout.TRAILER_LENGTH
+          || !hasMagicAt(source.read(0, BinaryTableLayout.MAGIC.length), 0)) {
+        throw new CorruptedTableFileException("The file is not a binary table file.");
+      }
+
+      long trailerStart = size - BinaryTableLayout.TRAILER_LENGTH;
+      ChunkedBuffer trailer = source.read(trailerStart, BinaryTableLayout.TRAILER_LENGTH);
+      if (!hasMagicAt(trailer, size - BinaryTableLayout.MAGIC.length)) {
+        throw new CorruptedTableFileException("The file is not a binary table file.");
+      }
+
+      long footerLength = readLong(trailer, trailerStart);
+      footerStart = trailerStart - footerLength;
+      if (footerLength < 0
+          || footerLength > Integer.MAX_VALUE
+          || footerStart < BinaryTableLayout.MAGIC.length) {
+        throw new CorruptedTableFileException("The footer of the binary table file is malformed.");
+      }
+
+      byte[] footerBytes = new byte[(int) footerLength];
+      ChunkedBuffer footerBuffer = source.read(footerStart, footerLength);
+      footerBuffer.getBytes(footerStart, footerBytes, 0, footerBytes.length);
+      footerChecksum = checksum(footerBytes);
+      ByteBuffer footer = ByteBuffer.wrap(footerBytes).order(BinaryTableLayout.BYTE_ORDER);
+      int version = footer.getInt();
+      if (version != BinaryTableLayout.VERSION) {
+        throw new CorruptedTableFileException(
+            "Unsupported version "
+                + version
+                + " of the binary table format, only version "
+                + BinaryTableLayout.VERSION
+                + " is supported.");
+      }
+
+      long rows = footer.getLong();
+      int columnCount = footer.getInt();
+      if (rows < 0 || rows > Integer.MAX_VALUE || columnCount < 0) {
+        throw new CorruptedTableFileException("The footer of the binary table file is malformed.");
+      }
+      rowCount = (int) rows;
+      columns = new ColumnMetadata[columnCount];
+      for (int i = 0; i < columnCount; i++) {
+        columns[i] = ColumnMetadata.read(footer);
+        checkSections(columns[i], footerStart);
+      }
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+      throw new CorruptedTableFileException("The binary table file is truncated or malformed.", e);
+    }
+  }
+
+  /** Checks that the sections of a column lie between the leading magic bytes and the footer. */
+  private static void checkSections(ColumnMetadata column, long footerStart) {
+    List<Section> sections = new ArrayList<>(column.sections());
+    if (column.nulls() != null) {
+      sections.add(column.nulls());
+    }
+    for (Section section : sections) {
+      if (section.offset() < BinaryTableLayout.MAGIC.length
+          || section.length() < 0
+          || section.length() > footerStart - section.offset()) {
+        throw new CorruptedTableFileException(
+            "The column " + column.name() + " refers to data outside of the file.");
+      }
+    }
+  }
+
+  /**
+   * Opens a binary table file, reading only its footer.
+   *
+   * @param file the file to read
+   * @return a reader of the file
+   */
+  public static BinaryTableReader open(File file) throws IOException {
+    Path path = file.toPath();
+    return new BinaryTableReader(new FileSource(path, FileStamp.of(path)));
+  }
+
+  /**
+   * Reads a binary table from a stream. As a stream cannot be read at random offsets, its whole
+   * contents are read into memory.
+   *
+   * @param stream the stream to read
+   * @return a reader of the contents of the stream
+   */
+  public static BinaryTableReader open(InputStream stream) throws IOException {
+    return new BinaryTableReader(new InMemorySource(ChunkedBuffer.read(stream)));
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return the footer entries of the columns, including their statistics
+   */
+  public List<ColumnMetadata> getColumnMetadata() {
+    return List.of(columns);
+  }
+
+  /**
+   * @return the table stored in the file, with each column loaded the first time it is accessed
+   */
+  public Table readTable() {
+    Column[] result = new Column[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      ColumnMetadata metadata = columns[i];
+      result[i] = Column.deferred(metadata.name(), rowCount, () -> loadColumn(metadata));
+    }
+    return new Table(result);
+  }
+
+  private Storage<?> loadColumn(ColumnMetadata column) {
+    ChunkedBuffer buffer = readColumnData(column);
+    try {
+      BitSet nulls = column.nulls() == null ? new BitSet() : readBitmap(buffer, column.nulls());
+      return switch (column.kind()) {
+        case BinaryTableLayout.BOOLEAN -> new BoolStorage(
+            readBitmap(buffer, section(column, 0)), nulls, rowCount, false);
+        case BinaryTableLayout.INTEGER -> readIntegers(buffer, column, nulls);
+        case BinaryTableLayout.FLOAT -> new DoubleStorage(
+            readLongs(buffer, section(column, 0), rowCount), rowCount, nulls);
+        case BinaryTableLayout.TEXT -> {
+          TextType type = new TextType(column.typeSize(), column.fixedLength());
+          yield new StringStorage(readTexts(buffer, column, nulls), rowCount, type);
+        }
+        case BinaryTableLayout.DATE -> new DateStorage(
+            readInts(buffer, section(column, 0), rowCount), nulls, rowCount);
+        case BinaryTableLayout.TIME_OF_DAY -> new TimeOfDayStorage(
+            readLongs(buffer, section(column, 0), rowCount), nulls, rowCount);
+        case BinaryTableLayout.DATE_TIME -> readDateTimes(buffer, column, nulls);
+        case BinaryTableLayout.BIG_INTEGER -> new BigIntegerStorage(
+            Arrays.stream(readTexts(buffer, column, nulls))
+                .map(s -> s == null ? null : new BigInteger(s))
+                .toArray(BigInteger[]::new),
+            rowCount);
+        case BinaryTableLayout.BIG_DECIMAL -> new BigDecimalStorage(
+            Arrays.stream(readTexts(buffer, column, nulls))
+                .map(s -> s == null ? null : new BigDecimal(s))
+                .toArray(BigDecimal[]::new),
+            rowCount);
+        default -> throw new CorruptedTableFileException(
+            "The column "
+                + column.name()
+                + " has an unsupported kind: "
+                + BinaryTableLayout.kindName(column.kind())
+                + ".");
+      };
+    } catch (IndexOutOfBoundsException | IllegalArgumentException | DateTimeException e) {
+      throw new CorruptedTableFileException(
+          "The data of the column " + column.name() + " is malformed.", e);
+    }
+  }
+
+  /** Reads all the sections of a column into memory at once. */
+  private ChunkedBuffer readColumnData(ColumnMetadata column) {
+    List<Section> sections = new ArrayList<>(column.sections());
+    if (column.nulls() != null) {
+      sections.add(column.nulls());
+    }
+    long start = sections.stream().mapToLong(Section::offset).min().orElse(0);
+    long end = sections.stream().mapToLong(s -> s.offset() + s.length()).max().orElse(0);
+    try {
+      ChunkedBuffer data = source.read(start, end - start);
+      checkFooterUnchanged();
+      return data;
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to read the data of the column " + column.name() + ".", e);
+    }
+  }
+
+  private Storage<?> readIntegers(ChunkedBuffer buffer, ColumnMetadata column, BitSet nulls) {
+    IntegerType type = IntegerType.create(Bits.fromInteger((int) column.typeSize()));
+    Section section = section(column, 0);
+    if (column.encoding() * 8 > column.typeSize()
+        || section.length() != (long) column.encoding() * rowCount) {
+      throw new CorruptedTableFileException(
+          "The column " + column.name() + " has an invalid integer width.");
+    }
+
+    long offset = section.offset();
+    return switch (column.encoding()) {
+      case 1 -> {
+        byte[] data = new byte[rowCount];
+        buffer.getBytes(offset, data, 0, rowCount);
+        yield new ByteStorage(data, rowCount, nulls, type);
+      }
+      case 2 -> {
+        short[] data = new short[rowCount];
+        buffer.getShorts(offset, data, rowCount);
+        yield new ShortStorage(data, rowCount, nulls, type);
+      }
+      case 4 -> {
+        int[] data = new int[rowCount];
+        buffer.getInts(offset, data, rowCount);
+        yield new IntStorage(data, rowCount, nulls, type);
+      }
+      case 8 -> {
+        long[] data = new long[rowCount];
+        buffer.getLongs(offset, data, rowCount);
+        yield new LongStorage(data, rowCount, nulls, type);
+      }
+      default -> throw new CorruptedTableFileException(
+          "The column " + column.name() + " has an invalid integer width.");
+    };
+  }
+
+  private Storage<?> readDateTimes(ChunkedBuffer buffer, ColumnMetadata column, BitSet nulls) {
+    long[] epochSeconds = readLongs(buffer, section(column, 0), rowCount);
+    int[] nanos = readInts(buffer, section(column, 1), rowCount);
+    int[] zoneIndices = readInts(buffer, section(column, 2), rowCount);
+    String[] zoneIds = readTextList(buffer, section(column, 3), section(column, 4));
+    ZoneId[] zones = Arrays.stream(zoneIds).map(ZoneId::of).toArray(ZoneId[]::new);
+    return new DateTimeStorage(epochSeconds, nanos, zoneIndices, zones, nulls, rowCount);
+  }
+
+  private String[] readTexts(ChunkedBuffer buffer, ColumnMetadata column, BitSet nulls) {
+    String[] result;
+    if (column.encoding() == BinaryTableLayout.DICTIONARY_ENCODING) {
+      int[] codes = readInts(buffer, section(column, 0), rowCount);
+      String[] dictionary = readTextList(buffer, section(column, 1), section(column, 2));
+      result = new String[rowCount];
+      Context context = Context.getCurrent();
+      for (int i = 0; i < rowCount; i++) {
+        if (!nulls.get(i)) {
+          result[i] = dictionary[codes[i]];
+        }
+        context.safepoint();
+      }
+    } else {
+      result = readTextList(buffer, section(column, 0), section(column, 1));
+      if (result.length != rowCount) {
+        throw new CorruptedTableFileException(
+            "The column " + column.name() + " has an invalid number of values.");
+      }
+      for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+        result[i] = null;
+      }
+    }
+    return result;
+  }
+
+  private String[] readTextList(
+      ChunkedBuffer buffer, Section offsetsSection, Section bytesSection) {
+    long[] offsets = readLongs(buffer, offsetsSection);
+    if (offsets.length == 0) {
+      throw new CorruptedTableFileException("A text section is malformed.");
+    }
+
+    Context context = Context.getCurrent();
+    String[] result = new String[offsets.length - 1];
+    byte[] bytes = new byte[0];
+    for (int i = 0; i < result.length; i++) {
+      long length = offsets[i + 1] - offsets[i];
+      if (length < 0 || offsets[i + 1] > bytesSection.length()) {
+        throw new CorruptedTableFileException("A text section is malformed.");
+      }
+      if (bytes.length < length) {
+        bytes = new byte[Math.toIntExact(Math.max(length, 2L * bytes.length))];
+      }
+      buffer.getBytes(bytesSection.offset() + offsets[i], bytes, 0, (int) length);
+      result[i] = new String(bytes, 0, (int) length, StandardCharsets.UTF_8);
+      context.safepoint();
+    }
+    return result;
+  }
+
+  private static BitSet readBitmap(ChunkedBuffer buffer, Section section) {
+    return BitSet.valueOf(readLongs(buffer, section));
+  }
+
+  private static long[] readLongs(ChunkedBuffer buffer, Section section) {
+    return readLongs(buffer, section, Math.toIntExact(section.length() / Long.BYTES));
+  }
+
+  private static long[] readLongs(ChunkedBuffer buffer, Section section, int count) {
+    checkLength(section, (long) count * Long.BYTES);
+    long[] result = new long[count];
+    buffer.getLongs(section.offset(), result, count);
+    return result;
+  }
+
+  private static int[] readInts(ChunkedBuffer buffer, Section section, int count) {
+    checkLength(section, (long) count * Integer.BYTES);
+    int[] result = new int[count];
+    buffer.getInts(section.offset(), result, count);
+    return result;
+  }
+
+  private static void checkLength(Section section, long expectedLength) {
+    if (section.length() != expectedLength) {
+      throw new CorruptedTableFileException(
+          "A section of length "
+              + section.length()
+              + " was expected to have "
+              + expectedLength
+              + " bytes.");
+    }
+  }
+
+  private static Section section(ColumnMetadata column, int index) {
+    List<Section> sections = column.sections();
+    if (index >= sections.size()) {
+      throw new CorruptedTableFileException(
+          "The column " + column.name() + " is missing some of its data.");
+    }
+    return sections.get(index);
+  }
+
+  /**
+   * Checks that the footer still matches the one read when the table was opened, so that the data
+   * of a file that was replaced by one of the same size and modification time is not mixed with the
+   * original footer.
+   */
+  private void checkFooterUnchanged() throws IOException {
+    long trailerStart = source.size() - BinaryTableLayout.TRAILER_LENGTH;
+    int footerLength = (int) (trailerStart - footerStart);
+    byte[] footerBytes = new byte[footerLength];
+    source.read(footerStart, footerLength).getBytes(footerStart, footerBytes, 0, footerLength);
+    if (checksum(footerBytes) != footerChecksum) {
+      throw source.modified();
+    }
+  }
+
+  private static long checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  private static boolean hasMagicAt(ChunkedBuffer buffer, long offset) {
+    byte[] magic = new byte[BinaryTableLayout.MAGIC.length];
+    buffer.getBytes(offset, magic, 0, magic.length);
+    return Arrays.equals(magic, BinaryTableLayout.MAGIC);
+  }
+
+  private static long readLong(ChunkedBuffer buffer, long offset) {
+    byte[] bytes = new byte[Long.BYTES];
+    buffer.getBytes(offset, bytes, 0, bytes.length);
+    return ByteBuffer.wrap(bytes).order(BinaryTableLayout.BYTE_ORDER).getLong();
+  }
+
+  /** Where the contents of a binary table are read from. */
+  private interface Source {
+    long size();
+
+    /**
+     * Reads a part of the contents. The returned buffer is addressed by the offsets within the
+     * contents and may hold more than the requested part.
+     */
+    ChunkedBuffer read(long offset, long length) throws IOException;
+
+    /**
+     * @return the exception reporting that the contents have changed since the table was opened
+     */
+    CorruptedTableFileException modified();
+  }
+
+  /** Contents that have been read into memory as a whole. */
+  private record InMemorySource(ChunkedBuffer buffer) implements Source {
+    @Override
+    public long size() {
+      return buffer.size();
+    }
+
+    @Override
+    public ChunkedBuffer read(long offset, long length) {
+      return buffer;
+    }
+
+    @Override
+    public CorruptedTableFileException modified() {
+      throw new IllegalStateException("Contents read into memory cannot change.");
+    }
+  }
+
+  /**
+   * A file that is opened for every read. The stamp of the file seen when the table was opened is
+   * checked after every read, so that data of a file that has been overwritten or replaced since is
+   * never mixed with the footer of the original one.
+   */
+  private record FileSource(Path path, FileStamp stamp) implements Source {
+    @Override
+    public long size() {
+      return stamp.size();
+    }
+
+    @Override
+    public ChunkedBuffer read(long offset, long length) throws IOException {
+      ChunkedBuffer result;
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        result = ChunkedBuffer.read(channel, offset, length);
+      }
+      if (!FileStamp.of(path).equals(stamp)) {
+        throw modified();
+      }
+      return result;
+    }
+
+    @Override
+    public CorruptedTableFileException modified() {
+      return new CorruptedTableFileException(
+          "The file "
+              + path
+              + " has been modified since the table was read from it. Read the table again to use"
+              + " the new contents.",
+          path.toString());
+    }
+  }
+
+  /**
+   * The attributes identifying a version of a file.
+   *
+   * @param size the size of the file
+   * @param lastModified the modification time of the file
+   * @param fileKey the key identifying the file, e.g. its inode, so that a file replaced by another
+   *     one is detected even if its size and modification time are the same; {@code null} if the
+   *     file system does not provide one
+   */
+  private record FileStamp(long size, FileTime lastModified, Object fileKey) {
+    private static FileStamp of(Path path) throws IOException {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return new FileStamp(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+    }
+  }
+}
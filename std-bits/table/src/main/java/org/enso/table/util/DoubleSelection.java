@@ -0,0 +1,107 @@
+package org.enso.table.util;
+
+import java.util.Arrays;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Finds order statistics (e.g. the median) of a {@code double[]} without sorting it.
+ *
+ * <p>The values are ordered as by {@link Double#compare}, which is also the order of {@link
+ * Arrays#sort(double[])} - in particular {@code -0.0} is considered smaller than {@code 0.0}.
+ */
+public class DoubleSelection {
+  /**
+   * Finds the {@code k}-th smallest of the first {@code length} values of the array.
+   *
+   * <p>The array is partially reordered in place: afterwards, the value at index {@code k} is the
+   * one that would be there if the range was sorted, the values before it are not greater and the
+   * values after it are not smaller. This takes expected linear time. If the partitioning makes
+   * too little progress, the remaining range is sorted instead, bounding the worst case to {@code
+   * O(n log n)}.
+   *
+   * @param values the values to select from
+   * @param length the number of values to consider
+   * @param k the 0-based rank of the value to find
+   * @return the {@code k}-th smallest value
+   */
+  public static double select(double[] values, int length, int k) {
+    if (k < 0 || k >= length) {
+      throw new IndexOutOfBoundsException(k);
+    }
+
+    Context context = Context.getCurrent();
+    int lo = 0;
+    int hi = length - 1;
+    int remainingPartitions = 2 * (32 - Integer.numberOfLeadingZeros(length));
+    while (lo < hi) {
+      if (remainingPartitions-- == 0) {
+        Arrays.sort(values, lo, hi + 1);
+        return values[k];
+      }
+
+      // Three-way partitioning, so that runs of equal values are excluded in a single step.
+      double pivot = medianOfThree(values[lo], values[(lo + hi) >>> 1], values[hi]);
+      int lt = lo;
+      int gt = hi;
+      int i = lo;
+      while (i <= gt) {
+        int cmp = Double.compare(values[i], pivot);
+        if (cmp < 0) {
+          swap(values, lt++, i++);
+        } else if (cmp > 0) {
+          swap(values, i, gt--);
+        } else {
+          i++;
+        }
+      }
+
+      if (k < lt) {
+        hi = lt - 1;
+      } else if (k > gt) {
+        lo = gt + 1;
+      } else {
+        return values[k];
+      }
+
+      context.safepoint();
+    }
+
+    return values[k];
+  }
+
+  /**
+   * Finds the smallest of the values in the given range of the array.
+   *
+   * @param values the values to search
+   * @param from the first index of the range, inclusive
+   * @param to the last index of the range, exclusive; must be greater than {@code from}
+   * @return the smallest value in the range
+   */
+  public static double min(double[] values, int from, int to) {
+    double result = values[from];
+    for (int i = from + 1; i < to; i++) {
+      if (Double.compare(values[i], result) < 0) {
+        result = values[i];
+      }
+    }
+    return result;
+  }
+
+  private static double medianOfThree(double a, double b, double c) {
+    if (Double.compare(a, b) > 0) {
+      double tmp = a;
+      a = b;
+      b = tmp;
+    }
+    if (Double.compare(b, c) > 0) {
+      b = c;
+    }
+    return Double.compare(a, b) > 0 ? a : b;
+  }
+
+  private static void swap(double[] values, int i, int j) {
+    double tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  }
+}
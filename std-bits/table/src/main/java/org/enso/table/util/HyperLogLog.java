@@ -0,0 +1,215 @@
+package org.enso.table.util;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct values in a stream using a fixed amount
+ * of memory.
+ *
+ * <p>Values are added as 64-bit hashes, see {@link #hash(long)} and {@link #hash(CharSequence)}.
+ * While the sketch has seen at most {@link #EXACT_LIMIT} distinct hashes, it keeps them in a small
+ * hash set and the estimate is exact. Past that point the hashes are folded into {@code 2^p}
+ * one-byte registers, and the estimate has a relative standard error of about {@code 1.04 /
+ * sqrt(2^p)} - about 1.6% for the {@link #DEFAULT_PRECISION default precision}.
+ *
+ * <p>Two sketches of the same precision can be {@link #merge(HyperLogLog) merged}, giving the same
+ * result as if all the values were added to a single sketch. This allows computing partial
+ * sketches in parallel.
+ */
+public class HyperLogLog {
+  public static final int DEFAULT_PRECISION = 12;
+
+  /** The number of distinct hashes up to which the sketch counts exactly. */
+  public static final int EXACT_LIMIT = 256;
+
+  private final int precision;
+
+  /** The exactly counted hashes in an open-addressing set, or {@code null} once dense. */
+  private long[] exactHashes;
+
+  private boolean exactHasZero = false;
+  private int exactSize = 0;
+
+  /** The registers, allocated once the exact set overflows. */
+  private byte[] registers = null;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * @param precision the number of bits of the hash selecting a register, between 4 and 18
+   */
+  public HyperLogLog(int precision) {
+    if (precision < 4 || precision > 18) {
+      throw new IllegalArgumentException(
+          "The precision must be between 4 and 18, but got " + precision + ".");
+    }
+    this.precision = precision;
+    this.exactHashes = new long[2 * EXACT_LIMIT];
+  }
+
+  /**
+   * @return the precision of the sketch
+   */
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Adds a value to the sketch.
+   *
+   * @param hash a well-distributed 64-bit hash of the value
+   */
+  public void add(long hash) {
+    if (registers != null) {
+      addToRegisters(hash);
+    } else if (hash == 0) {
+      if (!exactHasZero) {
+        exactHasZero = true;
+        exactSize++;
+      }
+    } else {
+      int mask = exactHashes.length - 1;
+      int slot = (int) hash & mask;
+      while (exactHashes[slot] != 0) {
+        if (exactHashes[slot] == hash) {
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      exactHashes[slot] = hash;
+      exactSize++;
+    }
+
+    if (registers == null && exactSize > EXACT_LIMIT) {
+      densify();
+    }
+  }
+
+  /**
+   * Adds all the values seen by another sketch to this one.
+   *
+   * @param other a sketch of the same precision
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException(
+          "Cannot merge sketches of different precisions: "
+              + precision
+              + " and "
+              + other.precision
+              + ".");
+    }
+
+    if (other.registers == null) {
+      if (other.exactHasZero) {
+        add(0);
+      }
+      for (long hash : other.exactHashes) {
+        if (hash != 0) {
+          add(hash);
+        }
+      }
+    } else {
+      if (registers == null) {
+        densify();
+      }
+      for (int i = 0; i < registers.length; i++) {
+        if (other.registers[i] > registers[i]) {
+          registers[i] = other.registers[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the estimated number of distinct values added to the sketch
+   */
+  public long estimate() {
+    if (registers == null) {
+      return exactSize;
+    }
+
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += Math.scalb(1.0, -register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+
+    double alpha =
+        switch (m) {
+          case 16 -> 0.673;
+          case 32 -> 0.697;
+          case 64 -> 0.709;
+          default -> 0.7213 / (1 + 1.079 / m);
+        };
+    double estimate = alpha * m * m / sum;
+
+    // For small cardinalities the raw estimate is biased, linear counting is more accurate there.
+    // No correction is needed for large cardinalities, as the hashes have 64 bits.
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log((double) m / zeros);
+    }
+
+    return Math.round(estimate);
+  }
+
+  private void densify() {
+    registers = new byte[1 << precision];
+    if (exactHasZero) {
+      addToRegisters(0);
+    }
+    for (long hash : exactHashes) {
+      if (hash != 0) {
+        addToRegisters(hash);
+      }
+    }
+    exactHashes = null;
+  }
+
+  private void addToRegisters(long hash) {
+    int index = (int) (hash >>> (64 - precision));
+    // The sentinel bit bounds the rank if all the remaining bits are zero.
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * Hashes a {@code long}, spreading its bits over the whole result.
+   *
+   * @param value the value to hash
+   * @return a 64-bit hash of the value
+   */
+  public static long hash(long value) {
+    // The finalizer of MurmurHash3.
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Hashes a sequence of characters.
+   *
+   * @param text the text to hash
+   * @return a 64-bit hash of the text
+   */
+  public static long hash(CharSequence text) {
+    // FNV-1a, with the final mixing making up for its weak avalanche.
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < text.length(); i++) {
+      h ^= text.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return hash(h);
+  }
+}
@@ -0,0 +1,94 @@
+package org.enso.table.util;
+
+/**
+ * Counts occurrences of {@code long} keys.
+ *
+ * <p>Unlike a {@code HashMap<Long, Integer>}, the keys and counts are kept in primitive arrays using
+ * open addressing with linear probing, so counting does not allocate any objects per value.
+ */
+public class LongCountMap {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] keys;
+  private int[] counts;
+  private int size = 0;
+
+  public LongCountMap() {
+    this(DEFAULT_CAPACITY / 2);
+  }
+
+  /**
+   * @param expectedSize the number of distinct keys expected to be counted; the map grows as
+   *     needed if there are more of them
+   */
+  public LongCountMap(int expectedSize) {
+    int capacity = DEFAULT_CAPACITY;
+    while (capacity < 2 * expectedSize) {
+      capacity *= 2;
+    }
+    keys = new long[capacity];
+    counts = new int[capacity];
+  }
+
+  /**
+   * Increments the count of the given key.
+   *
+   * @param key the key to count
+   * @return the count of the key, including this occurrence
+   */
+  public int increment(long key) {
+    int slot = findSlot(keys, counts, key);
+    if (counts[slot] != 0) {
+      return ++counts[slot];
+    }
+
+    if (2 * (size + 1) > keys.length) {
+      grow();
+      slot = findSlot(keys, counts, key);
+    }
+
+    keys[slot] = key;
+    counts[slot] = 1;
+    size++;
+    return 1;
+  }
+
+  /**
+   * @return the number of distinct keys counted
+   */
+  public int size() {
+    return size;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldCounts = counts;
+    keys = new long[oldKeys.length * 2];
+    counts = new int[oldCounts.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldCounts[i] != 0) {
+        int slot = findSlot(keys, counts, oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        counts[slot] = oldCounts[i];
+      }
+    }
+  }
+
+  /**
+   * Finds the slot holding the key, or the empty slot where it should be inserted. A slot is empty
+   * if its count is 0, so any key, including 0, can be stored.
+   */
+  private static int findSlot(long[] keys, int[] counts, long key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (counts[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,230 @@
+package org.enso.table.util;
+
+import java.util.Arrays;
+
+/**
+ * A t-digest sketch estimating quantiles of a stream of finite {@code double} values using a
+ * bounded amount of memory.
+ *
+ * <p>The values are summarized by centroids - a mean and a weight each - which are kept small near
+ * the ends of the distribution and larger in its middle, as bounded by the arcsine scale function
+ * of the merging t-digest. The sketch never keeps more than about {@code 2 * compression}
+ * centroids. Up to {@code compression / 2} values are always kept as single-value centroids, so
+ * quantiles of such small inputs are exact. For larger inputs the rank of the estimated value
+ * typically differs from the requested rank by well under 1% of the number of values, and much
+ * less than that near the extremes.
+ *
+ * <p>Two sketches can be {@link #merge(TDigest) merged}, so partial sketches can be computed in
+ * parallel.
+ */
+public class TDigest {
+  public static final double DEFAULT_COMPRESSION = 100;
+
+  private final double compression;
+
+  /** The means of the centroids, in ascending order. */
+  private double[] means = new double[0];
+
+  private double[] weights = new double[0];
+  private int centroidCount = 0;
+
+  /** Values added since the centroids were last recomputed. */
+  private final double[] buffer;
+
+  private int bufferSize = 0;
+
+  private long count = 0;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public TDigest() {
+    this(DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * @param compression bounds the number of centroids; higher values give more accurate estimates
+   *     at the cost of memory
+   */
+  public TDigest(double compression) {
+    if (!(compression >= 10)) {
+      throw new IllegalArgumentException(
+          "The compression must be at least 10, but got " + compression + ".");
+    }
+    this.compression = compression;
+    this.buffer = new double[(int) Math.ceil(5 * compression)];
+  }
+
+  /**
+   * Adds a value to the sketch.
+   *
+   * @param value a finite value
+   */
+  public void add(double value) {
+    assert Double.isFinite(value);
+    if (bufferSize == buffer.length) {
+      compress();
+    }
+
+    buffer[bufferSize++] = value;
+    count++;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Adds all the values seen by another sketch to this one.
+   *
+   * @param other the sketch to merge; it is compressed but otherwise not modified
+   */
+  public void merge(TDigest other) {
+    if (other.count == 0) {
+      return;
+    }
+
+    other.compress();
+    compress();
+    count += other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    cluster(means, weights, centroidCount, other.means, other.weights, other.centroidCount);
+  }
+
+  /**
+   * @return the number of values added to the sketch
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Estimates the value at the given rank, interpolating linearly between neighbouring values.
+   *
+   * <p>For example, the rank {@code 0} gives the smallest value, the rank {@code count() - 1} the
+   * largest one and the rank {@code 1.5} is half-way between the second and third smallest values.
+   *
+   * @param rank the 0-based rank, between {@code 0} and {@code count() - 1}
+   * @return the estimated value
+   */
+  public double valueAtRank(double rank) {
+    if (count == 0) {
+      throw new IllegalStateException("The sketch is empty.");
+    }
+
+    compress();
+    if (rank <= 0) {
+      return min;
+    } else if (rank >= count - 1) {
+      return max;
+    }
+
+    // Each centroid is assumed to be centered on the middle rank of the values it summarizes. The
+    // smallest and largest value are known exactly.
+    double previousRank = 0;
+    double previousValue = min;
+    double cumulativeWeight = 0;
+    for (int i = 0; i < centroidCount; i++) {
+      double centerRank = cumulativeWeight + (weights[i] - 1) / 2;
+      if (rank < centerRank) {
+        return interpolate(previousRank, previousValue, centerRank, means[i], rank);
+      }
+
+      previousRank = centerRank;
+      previousValue = means[i];
+      cumulativeWeight += weights[i];
+    }
+
+    return interpolate(previousRank, previousValue, count - 1, max, rank);
+  }
+
+  private static double interpolate(double x0, double y0, double x1, double y1, double x) {
+    if (x1 <= x0) {
+      return y0;
+    }
+
+    return y0 + (y1 - y0) * ((x - x0) / (x1 - x0));
+  }
+
+  /** Merges the buffered values into the centroids. */
+  private void compress() {
+    if (bufferSize == 0) {
+      return;
+    }
+
+    Arrays.sort(buffer, 0, bufferSize);
+    double[] bufferWeights = new double[bufferSize];
+    Arrays.fill(bufferWeights, 1.0);
+    cluster(means, weights, centroidCount, buffer, bufferWeights, bufferSize);
+    bufferSize = 0;
+  }
+
+  /**
+   * Replaces the centroids with a clustering of the two given sorted runs of weighted points.
+   *
+   * <p>Points are greedily merged into the current centroid as long as the centroid spans at most
+   * one unit of the scale function {@code k(q) = compression / (2 * PI) * asin(2 * q - 1)}.
+   */
+  private void cluster(
+      double[] means1,
+      double[] weights1,
+      int size1,
+      double[] means2,
+      double[] weights2,
+      int size2) {
+    double totalWeight = 0;
+    for (int i = 0; i < size1; i++) {
+      totalWeight += weights1[i];
+    }
+    for (int i = 0; i < size2; i++) {
+      totalWeight += weights2[i];
+    }
+
+    double[] newMeans = new double[size1 + size2];
+    double[] newWeights = new double[size1 + size2];
+    int newCount = 0;
+
+    double weightSoFar = 0;
+    double weightLimit = totalWeight * maxQuantile(0);
+    int i1 = 0;
+    int i2 = 0;
+    while (i1 < size1 || i2 < size2) {
+      double mean;
+      double weight;
+      if (i2 >= size2 || (i1 < size1 && means1[i1] <= means2[i2])) {
+        mean = means1[i1];
+        weight = weights1[i1++];
+      } else {
+        mean = means2[i2];
+        weight = weights2[i2++];
+      }
+
+      if (newCount > 0 && weightSoFar + newWeights[newCount - 1] + weight <= weightLimit) {
+        int last = newCount - 1;
+        newWeights[last] += weight;
+        newMeans[last] += (mean - newMeans[last]) * weight / newWeights[last];
+      } else {
+        if (newCount > 0) {
+          weightSoFar += newWeights[newCount - 1];
+          weightLimit = totalWeight * maxQuantile(weightSoFar / totalWeight);
+        }
+        newMeans[newCount] = mean;
+        newWeights[newCount] = weight;
+        newCount++;
+      }
+    }
+
+    means = Arrays.copyOf(newMeans, newCount);
+    weights = Arrays.copyOf(newWeights, newCount);
+    centroidCount = newCount;
+  }
+
+  /**
+   * @return the largest quantile that a centroid starting at quantile {@code q} may reach
+   */
+  private double maxQuantile(double q) {
+    double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+    if (k >= compression / 4) {
+      return 1;
+    }
+    return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+  }
+}
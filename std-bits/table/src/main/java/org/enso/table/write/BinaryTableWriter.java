@@ -0,0 +1,462 @@
+package org.enso.table.write;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.DateTimeStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.type.AnyObjectType;
+import org.enso.table.data.column.storage.type.BigDecimalType;
+import org.enso.table.data.column.storage.type.BigIntegerType;
+import org.enso.table.data.column.storage.type.BooleanType;
+import org.enso.table.data.column.storage.type.DateTimeType;
+import org.enso.table.data.column.storage.type.DateType;
+import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.column.storage.type.TimeOfDayType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.format.binary.BinaryOutput;
+import org.enso.table.format.binary.BinaryTableLayout;
+import org.enso.table.format.binary.ColumnMetadata;
+import org.enso.table.format.binary.ColumnMetadata.Section;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Writes tables in the binary columnar format described in {@link BinaryTableLayout}.
+ *
+ * <p>The values are written in their in-memory representations, so reading them back requires
+ * neither parsing nor type inference. Text columns with many repeated values are dictionary
+ * encoded.
+ */
+public class BinaryTableWriter {
+  private final BinaryOutput output;
+  private final Context context = Context.getCurrent();
+
+  private BinaryTableWriter(OutputStream stream) {
+    this.output = new BinaryOutput(stream);
+  }
+
+  /**
+   * Writes the table to the stream.
+   *
+   * @param table the table to write
+   * @param stream the stream to write to; it is flushed but not closed
+   * @throws IllegalArgumentException if a column has a type that cannot be stored in the format,
+   *     e.g. a column of mixed values
+   */
+  public static void write(Table table, OutputStream stream) throws IOException {
+    Column[] columns = table.getColumns();
+    for (Column column : columns) {
+      kindOf(column);
+    }
+
+    BinaryTableWriter writer = new BinaryTableWriter(stream);
+    writer.output.writeBytes(BinaryTableLayout.MAGIC);
+    List<ColumnMetadata> metadata = new ArrayList<>(columns.length);
+    for (Column column : columns) {
+      metadata.add(writer.writeColumn(column));
+    }
+
+    writer.writeFooter(table.rowCount(), metadata);
+    writer.output.flush();
+    stream.flush();
+  }
+
+  private static byte kindOf(Column column) {
+    StorageType type = column.getStorage().getType();
+    return switch (type) {
+      case BooleanType b -> BinaryTableLayout.BOOLEAN;
+      case IntegerType i -> BinaryTableLayout.INTEGER;
+      case FloatType f -> BinaryTableLayout.FLOAT;
+      case TextType t -> BinaryTableLayout.TEXT;
+      case DateType d -> BinaryTableLayout.DATE;
+      case TimeOfDayType t -> BinaryTableLayout.TIME_OF_DAY;
+      case DateTimeType d -> BinaryTableLayout.DATE_TIME;
+      case BigIntegerType b -> BinaryTableLayout.BIG_INTEGER;
+      case BigDecimalType b -> BinaryTableLayout.BIG_DECIMAL;
+      case AnyObjectType a -> throw new IllegalArgumentException(
+          "The column "
+              + column.getName()
+              + " has the Mixed type, which cannot be stored in the binary table format. Cast it to"
+              + " a more specific type first.");
+    };
+  }
+
+  private void writeFooter(int rowCount, List<ColumnMetadata> metadata) throws IOException {
+    output.align();
+    long footerStart = output.position();
+    output.writeInt(BinaryTableLayout.VERSION);
+    output.writeLong(rowCount);
+    output.writeInt(metadata.size());
+    for (ColumnMetadata column : metadata) {
+      column.write(output);
+    }
+    output.writeLong(output.position() - footerStart);
+    output.writeBytes(BinaryTableLayout.MAGIC);
+  }
+
+  private ColumnMetadata writeColumn(Column column) throws IOException {
+    Storage<?> storage = column.getStorage();
+    int size = storage.size();
+    BitSet nulls = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      if (storage.isNothing(i)) {
+        nulls.set(i);
+      }
+    }
+    int nullCount = nulls.cardinality();
+    Section nullsSection = nullCount == 0 ? null : writeBitmap(nulls, size);
+
+    ColumnWriter writer = new ColumnWriter(column.getName(), kindOf(column), nullCount);
+    writer.nulls = nullsSection;
+    switch (storage.getType()) {
+      case BooleanType b -> writeBooleans(storage, nulls, writer);
+      case IntegerType type -> writeIntegers(storage, nulls, type, writer);
+      case FloatType f -> writeFloats(storage, nulls, writer);
+      case TextType type -> {
+        writer.typeSize = type.maxLength();
+        writer.fixedLength = type.fixedLength();
+        writeTexts(size, nulls, i -> (String) storage.getItemBoxed(i), writer);
+      }
+      case DateType d -> writeDates(storage, nulls, writer);
+      case TimeOfDayType t -> writeTimesOfDay(storage, nulls, writer);
+      case DateTimeType d -> writeDateTimes(storage, nulls, writer);
+      case BigIntegerType b -> writeTexts(
+          size, nulls, i -> ((BigInteger) storage.getItemBoxed(i)).toString(), writer);
+      case BigDecimalType b -> writeTexts(
+          size, nulls, i -> ((BigDecimal) storage.getItemBoxed(i)).toString(), writer);
+      case AnyObjectType a -> throw new IllegalStateException("Checked by kindOf.");
+    }
+    return writer.build();
+  }
+
+  private void writeBooleans(Storage<?> storage, BitSet nulls, ColumnWriter writer)
+      throws IOException {
+    int size = storage.size();
+    BitSet values = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      if (!nulls.get(i) && (Boolean) storage.getItemBoxed(i)) {
+        values.set(i);
+      }
+    }
+    writer.sections.add(writeBitmap(values, size));
+  }
+
+  private void writeIntegers(
+      Storage<?> storage, BitSet nulls, IntegerType type, ColumnWriter writer) throws IOException {
+    int size = storage.size();
+    long[] values = new long[size];
+    for (int i = 0; i < size; i++) {
+      if (!nulls.get(i)) {
+        values[i] =
+            storage instanceof AbstractLongStorage longStorage
+                ? longStorage.getItem(i)
+                : ((Number) storage.getItemBoxed(i)).longValue();
+        writer.includeInRange(values[i]);
+      }
+      context.safepoint();
+    }
+
+    writer.typeSize = type.bits().toInteger();
+    int width = widthFor(writer.hasRange ? writer.min : 0, writer.hasRange ? writer.max : 0);
+    writer.encoding = (byte) width;
+
+    long start = output.position();
+    for (long value : values) {
+      switch (width) {
+        case 1 -> output.writeByte((byte) value);
+        case 2 -> output.writeShort((short) value);
+        case 4 -> output.writeInt((int) value);
+        default -> output.writeLong(value);
+      }
+    }
+    writer.sections.add(endSection(start));
+  }
+
+  private static int widthFor(long min, long max) {
+    if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+      return 1;
+    } else if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+      return 2;
+    } else if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE) {
+      return 4;
+    } else {
+      return 8;
+    }
+  }
+
+  private void writeFloats(Storage<?> storage, BitSet nulls, ColumnWriter writer)
+      throws IOException {
+    int size = storage.size();
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    long start = output.position();
+    for (int i = 0; i < size; i++) {
+      double value = 0.0;
+      if (!nulls.get(i)) {
+        value =
+            storage instanceof DoubleStorage doubleStorage
+                ? doubleStorage.getItemAsDouble(i)
+                : ((Number) storage.getItemBoxed(i)).doubleValue();
+        if (!Double.isNaN(value)) {
+          min = Math.min(min, value);
+          max = Math.max(max, value);
+        }
+      }
+      output.writeLong(Double.doubleToRawLongBits(value));
+      context.safepoint();
+    }
+    writer.sections.add(endSection(start));
+
+    if (min <= max) {
+      writer.hasRange = true;
+      writer.min = Double.doubleToRawLongBits(min);
+      writer.max = Double.doubleToRawLongBits(max);
+    }
+  }
+
+  private void writeDates(Storage<?> storage, BitSet nulls, ColumnWriter writer)
+      throws IOException {
+    int size = storage.size();
+    long start = output.position();
+    for (int i = 0; i < size; i++) {
+      int epochDay = 0;
+      if (!nulls.get(i)) {
+        epochDay =
+            storage instanceof DateStorage dateStorage
+                ? dateStorage.getEpochDay(i)
+                : (int) ((LocalDate) storage.getItemBoxed(i)).toEpochDay();
+        writer.includeInRange(epochDay);
+      }
+      output.writeInt(epochDay);
+      context.safepoint();
+    }
+    writer.sections.add(endSection(start));
+  }
+
+  private void writeTimesOfDay(Storage<?> storage, BitSet nulls, ColumnWriter writer)
+      throws IOException {
+    int size = storage.size();
+    long start = output.position();
+    for (int i = 0; i < size; i++) {
+      long nanoOfDay = 0;
+      if (!nulls.get(i)) {
+        nanoOfDay =
+            storage instanceof TimeOfDayStorage timeStorage
+                ? timeStorage.getNanoOfDay(i)
+                : ((LocalTime) storage.getItemBoxed(i)).toNanoOfDay();
+        writer.includeInRange(nanoOfDay);
+      }
+      output.writeLong(nanoOfDay);
+      context.safepoint();
+    }
+    writer.sections.add(endSection(start));
+  }
+
+  private void writeDateTimes(Storage<?> storage, BitSet nulls, ColumnWriter writer)
+      throws IOException {
+    int size = storage.size();
+    DateTimeStorage dateTimes = storage instanceof DateTimeStorage s ? s : null;
+    long[] epochSeconds = new long[size];
+    int[] nanos = new int[size];
+    ZoneId[] zones = new ZoneId[size];
+    for (int i = 0; i < size; i++) {
+      if (nulls.get(i)) {
+        continue;
+      }
+
+      if (dateTimes != null) {
+        epochSeconds[i] = dateTimes.getEpochSecond(i);
+        nanos[i] = dateTimes.getNano(i);
+        zones[i] = dateTimes.getZone(i);
+      } else {
+        ZonedDateTime value = (ZonedDateTime) storage.getItemBoxed(i);
+        epochSeconds[i] = value.toEpochSecond();
+        nanos[i] = value.getNano();
+        zones[i] = value.getZone();
+      }
+      context.safepoint();
+    }
+
+    long start = output.position();
+    for (long epochSecond : epochSeconds) {
+      output.writeLong(epochSecond);
+    }
+    writer.sections.add(endSection(start));
+
+    start = output.position();
+    for (int nano : nanos) {
+      output.writeInt(nano);
+    }
+    writer.sections.add(endSection(start));
+
+    Map<String, Integer> zoneIndices = new HashMap<>();
+    List<String> zoneIds = new ArrayList<>();
+    start = output.position();
+    for (ZoneId zone : zones) {
+      int index = 0;
+      if (zone != null) {
+        index =
+            zoneIndices.computeIfAbsent(
+                zone.getId(),
+                id -> {
+                  zoneIds.add(id);
+                  return zoneIds.size() - 1;
+                });
+      }
+      output.writeInt(index);
+    }
+    writer.sections.add(endSection(start));
+    writeTextList(zoneIds.size(), zoneIds::get, writer);
+  }
+
+  /**
+   * Writes texts, dictionary encoded if at most half of the present values are distinct.
+   *
+   * @param values gives the text at the given index; only called for present values
+   */
+  private void writeTexts(int size, BitSet nulls, IntFunction<String> values, ColumnWriter writer)
+      throws IOException {
+    Map<String, Integer> dictionary = new HashMap<>();
+    List<String> distinct = new ArrayList<>();
+    int presentCount = size - nulls.cardinality();
+    int[] codes = new int[size];
+    for (int i = 0; i < size && distinct.size() * 2 <= presentCount; i++) {
+      if (!nulls.get(i)) {
+        String value = values.apply(i);
+        Integer code = dictionary.get(value);
+        if (code == null) {
+          code = distinct.size();
+          dictionary.put(value, code);
+          distinct.add(value);
+        }
+        codes[i] = code;
+      }
+      context.safepoint();
+    }
+
+    if (distinct.size() * 2 <= presentCount) {
+      writer.encoding = BinaryTableLayout.DICTIONARY_ENCODING;
+      writer.distinctCount = distinct.size();
+      long start = output.position();
+      for (int code : codes) {
+        output.writeInt(code);
+      }
+      writer.sections.add(endSection(start));
+      writeTextList(distinct.size(), distinct::get, writer);
+    } else {
+      writer.encoding = BinaryTableLayout.PLAIN_ENCODING;
+      writeTextList(size, i -> nulls.get(i) ? "" : values.apply(i), writer);
+    }
+  }
+
+  /**
+   * Writes a list of texts as two sections: the offsets of the consecutive texts and their
+   * concatenated UTF-8 bytes. The bytes are written first, so that the texts are encoded only once
+   * - the footer records the location of each section, so their order in the file does not matter.
+   */
+  private void writeTextList(int count, IntFunction<String> texts, ColumnWriter writer)
+      throws IOException {
+    long[] offsets = new long[count + 1];
+    long bytesStart = output.position();
+    for (int i = 0; i < count; i++) {
+      byte[] bytes = texts.apply(i).getBytes(StandardCharsets.UTF_8);
+      output.writeBytes(bytes);
+      offsets[i + 1] = offsets[i] + bytes.length;
+      context.safepoint();
+    }
+    Section bytesSection = endSection(bytesStart);
+
+    long offsetsStart = output.position();
+    for (long offset : offsets) {
+      output.writeLong(offset);
+    }
+    writer.sections.add(endSection(offsetsStart));
+    writer.sections.add(bytesSection);
+  }
+
+  private Section writeBitmap(BitSet bits, int size) throws IOException {
+    long[] words = bits.toLongArray();
+    int wordCount = (size + 63) / 64;
+    long start = output.position();
+    for (int i = 0; i < wordCount; i++) {
+      output.writeLong(i < words.length ? words[i] : 0);
+    }
+    return endSection(start);
+  }
+
+  /** Finishes a section started at the given position, padding it to the alignment. */
+  private Section endSection(long start) throws IOException {
+    long length = output.position() - start;
+    output.align();
+    return new Section(start, length);
+  }
+
+  /** Collects the footer entry of a column while it is being written. */
+  private static class ColumnWriter {
+    private final String name;
+    private final byte kind;
+    private final long nullCount;
+    private long typeSize = 0;
+    private boolean fixedLength = false;
+    private byte encoding = 0;
+    private long distinctCount = -1;
+    private boolean hasRange = false;
+    private long min = 0;
+    private long max = 0;
+    private Section nulls = null;
+    private final List<Section> sections = new ArrayList<>();
+
+    private ColumnWriter(String name, byte kind, long nullCount) {
+      this.name = name;
+      this.kind = kind;
+      this.nullCount = nullCount;
+    }
+
+    private void includeInRange(long value) {
+      if (!hasRange) {
+        hasRange = true;
+        min = value;
+        max = value;
+      } else {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+    }
+
+    private ColumnMetadata build() {
+      return new ColumnMetadata(
+          name,
+          kind,
+          typeSize,
+          fixedLength,
+          encoding,
+          nullCount,
+          distinctCount,
+          hasRange,
+          min,
+          max,
+          nulls,
+          sections);
+    }
+  }
+}
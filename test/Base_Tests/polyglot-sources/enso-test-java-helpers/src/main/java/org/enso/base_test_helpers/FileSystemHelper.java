@@ -1,6 +1,9 @@
 package org.enso.base_test_helpers;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class FileSystemHelper {
   public static void setWritable(String path, boolean writable) {
@@ -10,4 +13,22 @@ public class FileSystemHelper {
           "Failed to set file " + file + " writable: " + writable);
     }
   }
+
+  public static void setReadable(String path, boolean readable) {
+    File file = new File(path);
+    if (!file.setReadable(readable)) {
+      throw new UnsupportedOperationException(
+          "Failed to set file " + file + " readable: " + readable);
+    }
+  }
+
+  /** Checks whether the directory can be listed, which may be the case even if it is not readable,
+   * e.g. when running as a superuser. */
+  public static boolean canList(String path) {
+    return new File(path).list() != null;
+  }
+
+  public static void createSymbolicLink(String link, String target) throws IOException {
+    Files.createSymbolicLink(Path.of(link), Path.of(target));
+  }
 }
@@ -0,0 +1,71 @@
+package org.enso.table_test_helpers;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.enso.database.BatchInserter;
+import org.enso.table.data.column.storage.Storage;
+
+/**
+ * A helper class used in the Batch_Inserter_Spec test to check how {@link BatchInserter} adapts the size of
+ * its batches. It runs the inserter against a statement that only records the sizes of the executed
+ * batches, on a simulated clock where every row takes the same time to insert.
+ */
+public class BatchInsertRecorder {
+  private final long nanosPerRow;
+  private final List<Integer> batchSizes = new ArrayList<>();
+  private long now = 0;
+  private int pendingRows = 0;
+
+  private BatchInsertRecorder(long nanosPerRow) {
+    this.nanosPerRow = nanosPerRow;
+  }
+
+  /**
+   * Inserts the rows of the columns and returns the sizes of the executed batches.
+   *
+   * @param columns the storages of the columns to insert
+   * @param rowCount the number of rows to insert
+   * @param initialBatchSize the size of the first batch
+   * @param nanosPerRow the simulated time it takes to insert one row
+   * @return the sizes of the batches, in the order they were executed
+   */
+  public static int[] recordBatchSizes(
+      List<Storage<?>> columns, int rowCount, int initialBatchSize, long nanosPerRow)
+      throws SQLException {
+    var recorder = new BatchInsertRecorder(nanosPerRow);
+    var withTimezone = Collections.nCopies(columns.size(), true);
+    BatchInserter.insert(
+        recorder.statement(), columns, withTimezone, rowCount, initialBatchSize, () -> recorder.now);
+    return recorder.batchSizes.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private PreparedStatement statement() {
+    return (PreparedStatement)
+        Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                  case "addBatch" -> {
+                    pendingRows++;
+                    yield null;
+                  }
+                  case "executeBatch" -> executeBatch();
+                  default -> null;
+                });
+  }
+
+  private int[] executeBatch() {
+    batchSizes.add(pendingRows);
+    now += pendingRows * nanosPerRow;
+    var updates = new int[pendingRows];
+    Arrays.fill(updates, 1);
+    pendingRows = 0;
+    return updates;
+  }
+}
@@ -2,6 +2,7 @@ package org.enso.exploratory_benchmark_helpers;
 
 import java.util.BitSet;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.enso.table.data.column.storage.numeric.LongStorage;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.problems.BlackholeProblemAggregator;
@@ -10,7 +11,9 @@ import org.enso.table.problems.ProblemAggregator;
 public class LongNullHandling {
   public interface Operation {
     LongStorage run(
-        LongStorage storage, LongStorage arg, MapOperationProblemAggregator problemAggregator);
+        AbstractLongStorage storage,
+        AbstractLongStorage arg,
+        MapOperationProblemAggregator problemAggregator);
   }
 
   public abstract static class NoNulls implements Operation {
@@ -20,7 +23,9 @@ public class LongNullHandling {
 
     @Override
     public LongStorage run(
-        LongStorage storage, LongStorage arg, MapOperationProblemAggregator problemAggregator) {
+        AbstractLongStorage storage,
+        AbstractLongStorage arg,
+        MapOperationProblemAggregator problemAggregator) {
       int n = storage.size();
       long[] newVals = new long[n];
       BitSet isNothing = new BitSet();
@@ -42,7 +47,9 @@ public class LongNullHandling {
 
     @Override
     public LongStorage run(
-        LongStorage storage, LongStorage arg, MapOperationProblemAggregator problemAggregator) {
+        AbstractLongStorage storage,
+        AbstractLongStorage arg,
+        MapOperationProblemAggregator problemAggregator) {
       int n = storage.size();
       long[] newVals = new long[n];
       BitSet isNothing = new BitSet();
@@ -80,7 +87,9 @@ public class LongNullHandling {
 
     @Override
     public LongStorage run(
-        LongStorage storage, LongStorage arg, MapOperationProblemAggregator problemAggregator) {
+        AbstractLongStorage storage,
+        AbstractLongStorage arg,
+        MapOperationProblemAggregator problemAggregator) {
       int n = storage.size();
       long[] newVals = new long[n];
       BitSet isNothing = new BitSet();
@@ -109,7 +118,7 @@ public class LongNullHandling {
   private static final ProblemAggregator parentAggregatorForBenchmarks =
       BlackholeProblemAggregator.INSTANCE;
 
-  public static LongStorage runNoNulls(LongStorage arg1, LongStorage arg2) {
+  public static LongStorage runNoNulls(AbstractLongStorage arg1, AbstractLongStorage arg2) {
     MapOperationProblemAggregator problemAggregator =
         new MapOperationProblemAggregator(parentAggregatorForBenchmarks, null);
     NoNulls operation =
@@ -129,7 +138,7 @@ public class LongNullHandling {
     return operation.run(arg1, arg2, problemAggregator);
   }
 
-  public static LongStorage runBoxingNulls(LongStorage arg1, LongStorage arg2) {
+  public static LongStorage runBoxingNulls(AbstractLongStorage arg1, AbstractLongStorage arg2) {
     MapOperationProblemAggregator problemAggregator =
         new MapOperationProblemAggregator(parentAggregatorForBenchmarks, null);
     BoxingNulls operation =
@@ -149,7 +158,7 @@ public class LongNullHandling {
     return operation.run(arg1, arg2, problemAggregator);
   }
 
-  public static LongStorage runReportingNulls(LongStorage arg1, LongStorage arg2) {
+  public static LongStorage runReportingNulls(AbstractLongStorage arg1, AbstractLongStorage arg2) {
     MapOperationProblemAggregator problemAggregator =
         new MapOperationProblemAggregator(parentAggregatorForBenchmarks, null);
     ReportingNulls operation =
@@ -9,6 +9,7 @@ import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.StringStorage;
 import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.enso.table.data.column.storage.numeric.LongStorage;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.column.storage.type.StorageType;
@@ -33,7 +34,8 @@ public class MapHelpers {
     return new StringStorage(result, n, TextType.VARIABLE_LENGTH);
   }
 
-  public static LongStorage longAddBimap(LongStorage storage1, LongStorage storage2) {
+  public static LongStorage longAddBimap(
+      AbstractLongStorage storage1, AbstractLongStorage storage2) {
     if (storage1.size() != storage2.size()) {
       throw new IllegalArgumentException("Storage sizes must match");
     }
@@ -67,7 +69,7 @@ public class MapHelpers {
     return new BoolStorage(result, isNothing, n, false);
   }
 
-  public static LongStorage longAdd(LongStorage storage, long shift) {
+  public static LongStorage longAdd(AbstractLongStorage storage, long shift) {
     int n = storage.size();
     long[] result = new long[n];
     BitSet isNothing = new BitSet();
@@ -4,10 +4,10 @@ import java.time.LocalDate;
 import org.enso.base.Text_Utils;
 import org.enso.table.data.column.storage.StringStorage;
 import org.enso.table.data.column.storage.datetime.DateStorage;
-import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 
 public class SimpleStorageAggregateHelpers {
-  public static long sumLongStorage(LongStorage storage) {
+  public static long sumLongStorage(AbstractLongStorage storage) {
     long sum = 0;
     for (int i = 0; i < storage.size(); i++) {
       if (!storage.isNothing(i)) {
@@ -19,9 +19,9 @@ public class SimpleStorageAggregateHelpers {
 
   public static long sumMonthsOfDateStorage(DateStorage storage) {
     long sum = 0;
-    for (LocalDate date : storage.getData()) {
-      if (date != null) {
-        sum += date.getMonthValue();
+    for (int i = 0; i < storage.size(); i++) {
+      if (!storage.isNothing(i)) {
+        sum += LocalDate.ofEpochDay(storage.getEpochDay(i)).getMonthValue();
       }
     }
     return sum;